@@ -0,0 +1,105 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Measures bytes allocated per operation in a sustained insert/deleteMin loop
+ * at a fixed heap size, for FibonacciHeap with and without node recycling and
+ * for IntFibonacciHeap.
+ *
+ * Usage: java AllocationBenchmark [heapSize] [operations]
+ */
+public class AllocationBenchmark {
+
+    private static final String INFO = "payload";
+
+    public static void main(String[] args) {
+        int heapSize = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        System.out.println("heap size: " + heapSize + ", insert+deleteMin pairs: " + operations);
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+
+            FibonacciHeap plain = new FibonacciHeap();
+            fill(plain, heapSize);
+            long before = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            churn(plain, operations);
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(thread) - before;
+            if (report) {
+                print("FibonacciHeap", allocated, elapsed, operations);
+            }
+
+            FibonacciHeap pooled = new FibonacciHeap(true);
+            fill(pooled, heapSize);
+            before = threads.getThreadAllocatedBytes(thread);
+            long nodesBefore = pooled.nodesAllocated();
+            start = System.nanoTime();
+            churn(pooled, operations);
+            elapsed = System.nanoTime() - start;
+            allocated = threads.getThreadAllocatedBytes(thread) - before;
+            if (report) {
+                print("FibonacciHeap(recycle)", allocated, elapsed, operations);
+                System.out.println("    nodes allocated during churn: " + (pooled.nodesAllocated() - nodesBefore)
+                        + ", recycled: " + pooled.nodesRecycled());
+            }
+
+            IntFibonacciHeap packed = new IntFibonacciHeap(heapSize + 1);
+            fill(packed, heapSize);
+            before = threads.getThreadAllocatedBytes(thread);
+            start = System.nanoTime();
+            churn(packed, operations);
+            elapsed = System.nanoTime() - start;
+            allocated = threads.getThreadAllocatedBytes(thread) - before;
+            if (report) {
+                print("IntFibonacciHeap", allocated, elapsed, operations);
+            }
+        }
+    }
+
+    private static void fill(FibonacciHeap heap, int n) {
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            heap.insert(random.nextInt(1 << 30) + 1, INFO);
+        }
+        heap.deleteMin();
+        heap.insert(random.nextInt(1 << 30) + 1, INFO);
+    }
+
+    private static void fill(IntFibonacciHeap heap, int n) {
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            heap.insert(random.nextInt(1 << 30) + 1, INFO);
+        }
+        heap.deleteMin();
+        heap.insert(random.nextInt(1 << 30) + 1, INFO);
+    }
+
+    private static void churn(FibonacciHeap heap, int operations) {
+        int seed = 12345;
+        for (int i = 0; i < operations; i++) {
+            seed = seed * 1103515245 + 12345;
+            heap.insert((seed >>> 2) + 1, INFO);
+            heap.deleteMin();
+        }
+    }
+
+    private static void churn(IntFibonacciHeap heap, int operations) {
+        int seed = 12345;
+        for (int i = 0; i < operations; i++) {
+            seed = seed * 1103515245 + 12345;
+            heap.insert((seed >>> 2) + 1, INFO);
+            heap.deleteMin();
+        }
+    }
+
+    private static void print(String name, long allocated, long elapsed, int operations) {
+        System.out.printf("%-24s %10.2f bytes/op  %,12.0f ops/s%n",
+                name, (double) allocated / operations, operations * 1e9 / elapsed);
+    }
+}
@@ -0,0 +1,69 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Runs the TheoryPart workload on BinomialHeap: insert a random permutation of 1..n,
+ * then deleteMin n/2 times, for n = 3^(i+5) - 1 with i = 1..6. Reports the time and
+ * bytes allocated per insert, the time per deleteMin and the links of each phase.
+ *
+ * Usage: java BinomialInsertBenchmark [rounds]
+ */
+public class BinomialInsertBenchmark {
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            for (int i = 1; i < 7; i++) {
+                int n = (int) Math.pow(3, i + 5) - 1;
+                int[] keys = permutation(n, new Random(i));
+                String[] infos = new String[n];
+                for (int j = 0; j < n; j++) {
+                    infos[j] = Integer.toString(keys[j]);
+                }
+
+                BinomialHeap heap = new BinomialHeap();
+                long before = threads.getThreadAllocatedBytes(thread);
+                long start = System.nanoTime();
+                for (int j = 0; j < n; j++) {
+                    heap.insert(keys[j], infos[j]);
+                }
+                long insertTime = System.nanoTime() - start;
+                long allocated = threads.getThreadAllocatedBytes(thread) - before;
+                long insertLinks = heap.linkCounter;
+
+                start = System.nanoTime();
+                for (int k = 1; k <= n / 2; k++) {
+                    heap.deleteMin();
+                }
+                long deleteTime = System.nanoTime() - start;
+
+                if (round == rounds) {
+                    System.out.printf("n %,8d  insert %6.1f ns %5.1f B (%,d links)  deleteMin %7.1f ns"
+                                    + "  total links %,d  trees %d  deleted ranks %,d%n",
+                            n, (double) insertTime / n, (double) allocated / n, insertLinks,
+                            (double) deleteTime / (n / 2), heap.linkCounter, heap.numTrees(), heap.rankSum);
+                }
+            }
+        }
+    }
+
+    private static int[] permutation(int n, Random random) {
+        int[] keys = new int[n];
+        for (int j = 0; j < n; j++) {
+            keys[j] = j + 1;
+        }
+        for (int j = n - 1; j > 0; j--) {
+            int swap = random.nextInt(j + 1);
+            int temp = keys[j];
+            keys[j] = keys[swap];
+            keys[swap] = temp;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,78 @@
+import java.lang.management.ManagementFactory;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Streams random keys through a buffer that keeps the capacity smallest ones, comparing
+ * DoubleEndedFibonacciHeap.insertBounded against the usual PriorityQueue max-heap,
+ * which evicts with poll and offer. Reports throughput and bytes allocated per key.
+ *
+ * Usage: java BoundedBufferBenchmark [stream length] [rounds]
+ */
+public class BoundedBufferBenchmark {
+
+    private static final int[] CAPACITIES = {100, 10_000, 1_000_000};
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        int[] keys = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+        System.out.println("stream: " + n);
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            for (int capacity : CAPACITIES) {
+                runFibonacci(keys, capacity, round == rounds);
+                runPriorityQueue(keys, capacity, round == rounds);
+            }
+        }
+    }
+
+    private static void runFibonacci(int[] keys, int capacity, boolean report) {
+        DoubleEndedFibonacciHeap heap = new DoubleEndedFibonacciHeap();
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int key : keys) {
+            heap.insertBounded(key, null, capacity);
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+        if (report) {
+            print("double-ended", capacity, keys.length, elapsed, allocated);
+        }
+    }
+
+    private static void runPriorityQueue(int[] keys, int capacity, boolean report) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(capacity, (a, b) -> Integer.compare(b, a));
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int key : keys) {
+            if (heap.size() < capacity) {
+                heap.offer(key);
+            } else if (key < heap.peek()) {
+                heap.poll();
+                heap.offer(key);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+        if (report) {
+            print("PriorityQueue", capacity, keys.length, elapsed, allocated);
+        }
+    }
+
+    private static void print(String name, int capacity, int n, long nanos, long allocated) {
+        System.out.printf("%-13s capacity %,10d  %,14.0f keys/s  %8.2f bytes/key%n",
+                name, capacity, n * 1e9 / nanos, (double) allocated / n);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,69 @@
+import java.util.Random;
+
+/**
+ * Compares loading a heap with n separate inserts against one insertAll call,
+ * for FibonacciHeap and BinomialHeap.
+ *
+ * Usage: java BulkLoadBenchmark [n] [rounds]
+ */
+public class BulkLoadBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        int[] keys = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(Integer.MAX_VALUE) + 1;
+        }
+
+        System.out.println("n: " + n);
+        for (int round = 1; round <= rounds; round++) {
+            boolean report = round == rounds;
+
+            // Both variants keep the handles, as a loader that later calls decreaseKey would
+            long start = System.nanoTime();
+            FibonacciHeap fibonacci = new FibonacciHeap();
+            FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[n];
+            for (int i = 0; i < n; i++) {
+                nodes[i] = fibonacci.insert(keys[i], null);
+            }
+            fibonacci.deleteMin();
+            report(report, "FibonacciHeap insert loop", start, n);
+
+            start = System.nanoTime();
+            fibonacci = new FibonacciHeap();
+            nodes = fibonacci.insertAll(keys, null);
+            fibonacci.deleteMin();
+            report(report, "FibonacciHeap insertAll", start, n);
+
+            start = System.nanoTime();
+            BinomialHeap binomial = new BinomialHeap();
+            BinomialHeap.HeapItem[] items = new BinomialHeap.HeapItem[n];
+            for (int i = 0; i < n; i++) {
+                items[i] = binomial.insert(keys[i], null);
+            }
+            binomial.deleteMin();
+            report(report, "BinomialHeap insert loop", start, n);
+
+            start = System.nanoTime();
+            binomial = new BinomialHeap();
+            items = binomial.insertAll(keys, null);
+            binomial.deleteMin();
+            report(report, "BinomialHeap insertAll", start, n);
+
+            if (nodes.length != items.length) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private static void report(boolean report, String name, long start, int n) {
+        long nanos = System.nanoTime() - start;
+        if (report) {
+            System.out.printf("%-26s %,8d ms  %,14.0f elements/s (load + first deleteMin)%n",
+                    name, nanos / 1_000_000, n * 1e9 / nanos);
+        }
+    }
+}
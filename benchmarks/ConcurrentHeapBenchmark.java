@@ -0,0 +1,114 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Throughput of a 50/50 insert/deleteMin mix from 1 to N threads for
+ * ConcurrentFibonacciHeap, a FibonacciHeap behind one monitor, and
+ * PriorityBlockingQueue.
+ *
+ * Usage: java ConcurrentHeapBenchmark [maxThreads] [operationsPerThread] [prefill]
+ */
+public class ConcurrentHeapBenchmark {
+
+    interface Queue {
+        void insert(int key);
+
+        void deleteMin();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int prefill = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+        System.out.println("cpus: " + Runtime.getRuntime().availableProcessors()
+                + ", operations/thread: " + operations + ", prefill: " + prefill);
+        System.out.printf("%8s %18s %18s %18s%n", "threads", "flat combining", "synchronized", "PBQ");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double combining = 0;
+            double monitor = 0;
+            double blocking = 0;
+            // Keep the best of three runs to filter scheduler noise
+            for (int run = 0; run < 3; run++) {
+                combining = Math.max(combining, measure(flatCombining(), threads, operations, prefill));
+                monitor = Math.max(monitor, measure(synchronizedHeap(), threads, operations, prefill));
+                blocking = Math.max(blocking, measure(priorityBlockingQueue(), threads, operations, prefill));
+            }
+            System.out.printf("%8d %,18.0f %,18.0f %,18.0f  ops/s%n", threads, combining, monitor, blocking);
+        }
+    }
+
+    private static Queue flatCombining() {
+        ConcurrentFibonacciHeap heap = new ConcurrentFibonacciHeap();
+        return new Queue() {
+            public void insert(int key) {
+                heap.insert(key, null);
+            }
+
+            public void deleteMin() {
+                heap.deleteMin();
+            }
+        };
+    }
+
+    private static Queue synchronizedHeap() {
+        FibonacciHeap heap = new FibonacciHeap();
+        return new Queue() {
+            public synchronized void insert(int key) {
+                heap.insert(key, null);
+            }
+
+            public synchronized void deleteMin() {
+                heap.deleteMin();
+            }
+        };
+    }
+
+    private static Queue priorityBlockingQueue() {
+        PriorityBlockingQueue<Integer> queue = new PriorityBlockingQueue<>();
+        return new Queue() {
+            public void insert(int key) {
+                queue.add(key);
+            }
+
+            public void deleteMin() {
+                queue.poll();
+            }
+        };
+    }
+
+    private static double measure(Queue queue, int threads, int operations, int prefill)
+            throws InterruptedException {
+        for (int i = 0; i < prefill; i++) {
+            queue.insert(ThreadLocalRandom.current().nextInt(1 << 30) + 1);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    if ((i & 1) == 0) {
+                        queue.insert(random.nextInt(1 << 30) + 1);
+                    } else {
+                        queue.deleteMin();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        return (double) threads * operations * 1e9 / elapsed;
+    }
+}
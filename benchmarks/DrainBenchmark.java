@@ -0,0 +1,72 @@
+import java.util.Random;
+
+/**
+ * Runs a consumer that takes the smallest k elements per tick from a heap of n elements
+ * and then refills it with k new ones, either by k calls to deleteMin or by one drainTo.
+ * Reports the time per tick and, for FibonacciHeap, the links per tick.
+ *
+ * Usage: java DrainBenchmark [n] [k] [ticks] [rounds]
+ */
+public class DrainBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            boolean report = round == rounds;
+            run("fibonacci deleteMin", new FibonacciHeap(), null, n, k, ticks, false, report);
+            run("fibonacci drainTo  ", new FibonacciHeap(), null, n, k, ticks, true, report);
+            run("binomial deleteMin ", null, new BinomialHeap(), n, k, ticks, false, report);
+            run("binomial drainTo   ", null, new BinomialHeap(), n, k, ticks, true, report);
+        }
+    }
+
+    private static void run(String name, FibonacciHeap fibonacci, BinomialHeap binomial,
+                            int n, int k, int ticks, boolean drain, boolean report) {
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            insert(fibonacci, binomial, random.nextInt(Integer.MAX_VALUE - 1) + 1);
+        }
+        long[] checksum = {0};
+        long links = fibonacci == null ? 0 : fibonacci.totalLinks();
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            if (drain && fibonacci != null) {
+                fibonacci.drainTo(k, key -> checksum[0] += key);
+            } else if (drain) {
+                binomial.drainTo(k, key -> checksum[0] += key);
+            } else {
+                for (int i = 0; i < k; i++) {
+                    checksum[0] += fibonacci != null ? fibonacci.findMin().key : binomial.findMin().key;
+                    if (fibonacci != null) {
+                        fibonacci.deleteMin();
+                    } else {
+                        binomial.deleteMin();
+                    }
+                }
+            }
+            for (int i = 0; i < k; i++) {
+                insert(fibonacci, binomial, random.nextInt(Integer.MAX_VALUE - 1) + 1);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (report) {
+            String linkColumn = fibonacci == null ? ""
+                    : String.format("  %,9d links/tick", (fibonacci.totalLinks() - links) / ticks);
+            System.out.printf("%s %8.2f ms/tick%s  (checksum %d)%n",
+                    name, elapsed / 1e6 / ticks, linkColumn, checksum[0]);
+        }
+    }
+
+    private static void insert(FibonacciHeap fibonacci, BinomialHeap binomial, int key) {
+        if (fibonacci != null) {
+            fibonacci.insert(key, null);
+        } else {
+            binomial.insert(key, null);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Compares ExternalSorter against a plain external sort: runs sorted with Arrays.sort and
+ * written to one file each through buffered streams, then merged with a
+ * PriorityQueue<Long> over the run heads. Both use the same run length and report MB/s
+ * of input sorted. The input stays in the page cache across runs, so the numbers show
+ * CPU and copying cost more than disk speed.
+ *
+ * Usage: java ExternalSortBenchmark [ints] [run elements] [rounds] [directory]
+ */
+public class ExternalSortBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        long n = args.length > 0 ? Long.parseLong(args[0]) : 64L << 20;
+        int runElements = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 18;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        Path root = args.length > 3 ? Path.of(args[3]) : Path.of(System.getProperty("java.io.tmpdir"));
+
+        Path dir = Files.createTempDirectory(root, "external-sort-benchmark");
+        Path input = dir.resolve("input.bin");
+        Path output = dir.resolve("output.bin");
+        Path baseline = dir.resolve("baseline.bin");
+        try {
+            writeInput(input, n);
+            System.out.printf("ints: %,d  runs: %,d  input: %,d MB%n", n, (n + runElements - 1) / runElements,
+                    n * 4 >> 20);
+
+            // The first rounds warm up the JIT, only the last one is reported
+            for (int round = 1; round <= rounds; round++) {
+                boolean report = round == rounds;
+                long start = System.nanoTime();
+                new ExternalSorter(dir, runElements, ExternalSorter.DEFAULT_BLOCK_BYTES).sort(input, output);
+                report(report, "ExternalSorter", n, start);
+
+                start = System.nanoTime();
+                baselineSort(input, baseline, dir, runElements);
+                report(report, "Arrays.sort+PriorityQueue", n, start);
+            }
+            if (Files.mismatch(output, baseline) != -1) {
+                throw new IllegalStateException("outputs differ");
+            }
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            Files.deleteIfExists(baseline);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void writeInput(Path input, long n) throws IOException {
+        Random random = new Random(42);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(input), 1 << 16))) {
+            for (long i = 0; i < n; i++) {
+                out.writeInt(random.nextInt());
+            }
+        }
+    }
+
+    private static void baselineSort(Path input, Path output, Path dir, int runElements) throws IOException {
+        long n = Files.size(input) / 4;
+        int runs = (int) ((n + runElements - 1) / runElements);
+        Path[] runFiles = new Path[runs];
+        int[] run = new int[(int) Math.min(runElements, n)];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(input), 1 << 16))) {
+            for (int r = 0; r < runs; r++) {
+                int count = (int) Math.min(runElements, n - (long) r * runElements);
+                for (int i = 0; i < count; i++) {
+                    run[i] = in.readInt();
+                }
+                Arrays.sort(run, 0, count);
+                runFiles[r] = dir.resolve("baseline-run-" + r + ".bin");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(runFiles[r]), 1 << 16))) {
+                    for (int i = 0; i < count; i++) {
+                        out.writeInt(run[i]);
+                    }
+                }
+            }
+        }
+
+        DataInputStream[] readers = new DataInputStream[runs];
+        long[] remaining = new long[runs];
+        // A head packs its value in the high half and its run in the low half
+        PriorityQueue<Long> heads = new PriorityQueue<>(Math.max(runs, 1));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(output), 1 << 16))) {
+            for (int r = 0; r < runs; r++) {
+                readers[r] = new DataInputStream(new BufferedInputStream(Files.newInputStream(runFiles[r]), 1 << 16));
+                remaining[r] = Files.size(runFiles[r]) / 4 - 1;
+                heads.add((long) readers[r].readInt() << 32 | r);
+            }
+            while (!heads.isEmpty()) {
+                long head = heads.poll();
+                out.writeInt((int) (head >> 32));
+                int r = (int) head;
+                if (remaining[r]-- > 0) {
+                    heads.add((long) readers[r].readInt() << 32 | r);
+                }
+            }
+        } finally {
+            for (int r = 0; r < runs; r++) {
+                if (readers[r] != null) {
+                    readers[r].close();
+                }
+                Files.deleteIfExists(runFiles[r]);
+            }
+        }
+    }
+
+    private static void report(boolean report, String name, long n, long start) {
+        if (report) {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-26s %8.1f MB/s  %6.2f s%n", name, n * 4 / 1e6 / seconds, seconds);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Runs Dijkstra and Prim on a random graph and a grid graph over every VertexQueue,
+ * and reports the time per search.
+ *
+ * Usage: java GraphBenchmark [vertices] [averageDegree] [rounds]
+ */
+public class GraphBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        int side = (int) Math.sqrt(n);
+        CsrGraph random = GraphGenerators.random(n, degree, 1000, 42);
+        CsrGraph grid = GraphGenerators.grid(side, side, 1000, 42);
+        System.out.printf("random: %,d vertices, %,d edges  grid: %dx%d%n",
+                random.vertexCount(), random.edgeCount() / 2, side, side);
+
+        String[] names = {"FibonacciHeap", "FibonacciHeap lazy", "BinomialHeap", "PriorityQueue", "PairingHeap",
+                "RankPairingHeap"};
+        List<IntFunction<VertexQueue>> queues = List.of(
+                FibonacciVertexQueue::new,
+                v -> new FibonacciVertexQueue(v, true),
+                BinomialVertexQueue::new,
+                PriorityVertexQueue::new,
+                v -> AddressableVertexQueue.of("pairing", v),
+                v -> AddressableVertexQueue.of("rank-pairing", v)
+        );
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            boolean report = round == rounds;
+            for (int i = 0; i < queues.size(); i++) {
+                long start = System.nanoTime();
+                int[] dist = GraphAlgorithms.dijkstra(random, 0, queues.get(i).apply(random.vertexCount()));
+                long dijkstraRandom = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int[] gridDist = GraphAlgorithms.dijkstra(grid, 0, queues.get(i).apply(grid.vertexCount()));
+                long dijkstraGrid = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                long weight = GraphAlgorithms.prim(random, null, queues.get(i).apply(random.vertexCount()));
+                long primRandom = System.nanoTime() - start;
+
+                if (report) {
+                    System.out.printf("%-19s dijkstra random: %5d ms  dijkstra grid: %5d ms  prim random: %5d ms"
+                                    + "  (checksum %d)%n",
+                            names[i], dijkstraRandom / 1_000_000, dijkstraGrid / 1_000_000, primRandom / 1_000_000,
+                            dist[n - 1] + gridDist[gridDist.length - 1] + weight);
+                }
+            }
+        }
+    }
+}
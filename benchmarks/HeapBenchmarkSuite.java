@@ -0,0 +1,449 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Throughput, allocation and GC cost of FibonacciHeap, BinomialHeap, PairingHeap,
+ * RankPairingHeap and java.util.PriorityQueue over five workloads and a sweep of sizes.
+ *
+ * Each (engine, workload, size) cell runs in its own JVM, so JIT profiles and heap
+ * state of one cell do not leak into the next. The fork runs warmup iterations, then
+ * measured iterations, and reports the mean throughput with its spread, the bytes
+ * allocated per operation and the collections per iteration.
+ *
+ * Workloads:
+ *   insert       n inserts.
+ *   deletemin    n inserts, then n deleteMins.
+ *   decreasekey  n inserts, one deleteMin, n decreaseKeys, then n / 10 deleteMins.
+ *   meld         16 heaps of n / 16 elements melded into one, then n / 10 deleteMins.
+ *   mixed        n random operations: 50% insert, 30% deleteMin, 20% decreaseKey.
+ *
+ * PriorityQueue has no decreaseKey; its engine pushes a new entry and skips stale ones
+ * on deleteMin, which is how it is used in practice.
+ *
+ * Usage: java HeapBenchmarkSuite [options]
+ *   --engines fibonacci,binomial,pairing,rank-pairing,pq
+ *   --workloads insert,deletemin,decreasekey,meld,mixed
+ *   --sizes 1000,100000,1000000       (up to 10000000 needs a larger --jvm heap)
+ *   --warmup 5 --iterations 5 --forks 1
+ *   --jvm -Xmx4g                      (extra JVM options for the forks, comma separated)
+ *   --csv results.csv                 (also write the results as CSV)
+ *   --in-process                      (run the cells in this JVM instead of forking)
+ */
+public class HeapBenchmarkSuite {
+
+    private static final String[] ENGINES = {"fibonacci", "binomial", "pairing", "rank-pairing", "pq"};
+    private static final String[] WORKLOADS = {"insert", "deletemin", "decreasekey", "meld", "mixed"};
+    private static final int MELD_PARTS = 16;
+    private static final String RESULT = "RESULT";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String[] engines = ENGINES;
+        String[] workloads = WORKLOADS;
+        int[] sizes = {1_000, 100_000, 1_000_000};
+        int warmup = 5;
+        int iterations = 5;
+        int forks = 1;
+        List<String> jvmOptions = new ArrayList<>();
+        String csv = null;
+        boolean inProcess = false;
+        boolean child = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--engines":
+                    engines = args[++i].split(",");
+                    break;
+                case "--workloads":
+                    workloads = args[++i].split(",");
+                    break;
+                case "--sizes":
+                    sizes = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--forks":
+                    forks = Integer.parseInt(args[++i]);
+                    break;
+                case "--jvm":
+                    jvmOptions.addAll(Arrays.asList(args[++i].split(",")));
+                    break;
+                case "--csv":
+                    csv = args[++i];
+                    break;
+                case "--in-process":
+                    inProcess = true;
+                    break;
+                case "--child":
+                    child = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        if (child) {
+            // A forked child: measure one cell and report it on stdout
+            System.out.println(measure(engines[0], workloads[0], sizes[0], warmup, iterations));
+            return;
+        }
+
+        System.out.printf("%-12s %-12s %10s %16s %8s %12s %10s %10s%n",
+                "engine", "workload", "n", "ops/s", "+-%", "bytes/op", "gc/iter", "gc ms/iter");
+        PrintWriter out = csv == null ? null : new PrintWriter(csv);
+        if (out != null) {
+            out.println("engine,workload,n,opsPerSecond,errorPercent,bytesPerOp,gcPerIteration,gcMillisPerIteration");
+        }
+        for (int n : sizes) {
+            for (String workload : workloads) {
+                for (String engine : engines) {
+                    for (int fork = 0; fork < forks; fork++) {
+                        String line = inProcess
+                                ? measure(engine, workload, n, warmup, iterations)
+                                : fork(engine, workload, n, warmup, iterations, jvmOptions);
+                        String[] f = line.split(" ");
+                        System.out.printf("%-12s %-12s %,10d %,16.0f %8s %12s %10s %10s%n",
+                                f[1], f[2], Integer.parseInt(f[3]), Double.parseDouble(f[4]), f[5], f[6], f[7], f[8]);
+                        if (out != null) {
+                            out.println(String.join(",", Arrays.copyOfRange(f, 1, f.length)));
+                        }
+                    }
+                }
+            }
+        }
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    // Forking
+
+    private static String fork(String engine, String workload, int n, int warmup, int iterations,
+                               List<String> jvmOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(HeapBenchmarkSuite.class.getName());
+        command.addAll(Arrays.asList("--child", "--engines", engine, "--workloads", workload,
+                "--sizes", Integer.toString(n), "--warmup", Integer.toString(warmup),
+                "--iterations", Integer.toString(iterations)));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT)) {
+                    result = line;
+                } else {
+                    output.append(line).append(System.lineSeparator());
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("fork failed for " + engine + " " + workload + " " + n
+                    + System.lineSeparator() + output);
+        }
+        return result;
+    }
+
+    // Measurement
+
+    private static String measure(String engine, String workload, int n, int warmup, int iterations) {
+        Random random = new Random(42);
+        int[] keys = new int[n];
+        int[] picks = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(Integer.MAX_VALUE / 2) + 2;
+            picks[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocation = threads instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threads : null;
+        long thread = Thread.currentThread().getId();
+
+        long checksum = 0;
+        for (int i = 0; i < warmup; i++) {
+            checksum += run(engine, workload, keys, picks);
+        }
+
+        double[] opsPerSecond = new double[iterations];
+        long ops = 0;
+        long allocated = 0;
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (int i = 0; i < iterations; i++) {
+            System.gc();
+            long gcCountBefore = gcCount();
+            long gcMillisBefore = gcMillis();
+            long allocatedBefore = allocation == null ? 0 : allocation.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            long result = run(engine, workload, keys, picks);
+            long nanos = System.nanoTime() - start;
+            allocated += allocation == null ? 0 : allocation.getThreadAllocatedBytes(thread) - allocatedBefore;
+            gcCount += gcCount() - gcCountBefore;
+            gcMillis += gcMillis() - gcMillisBefore;
+
+            // run returns the operation count in the high bits and a checksum in the low bits
+            ops = result >>> 32;
+            checksum += result;
+            opsPerSecond[i] = ops * 1e9 / Math.max(nanos, 1);
+        }
+
+        double mean = Arrays.stream(opsPerSecond).average().orElse(0);
+        double variance = Arrays.stream(opsPerSecond).map(x -> (x - mean) * (x - mean)).sum()
+                / Math.max(iterations - 1, 1);
+        return String.format("%s %s %s %d %.0f %.1f %s %.2f %.1f %d", RESULT, engine, workload, n, mean,
+                mean == 0 ? 0 : 100 * Math.sqrt(variance) / mean,
+                allocation == null ? "n/a" : String.format("%.1f", (double) allocated / Math.max(ops * iterations, 1)),
+                (double) gcCount / iterations, (double) gcMillis / iterations, checksum & 0xff);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(gc.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+
+    // Workloads
+
+    private static long run(String engine, String workload, int[] keys, int[] picks) {
+        switch (workload) {
+            case "insert":
+                return insert(queues(engine), keys);
+            case "deletemin":
+                return deleteMin(queues(engine), keys);
+            case "decreasekey":
+                return decreaseKey(queues(engine), keys, picks);
+            case "meld":
+                return meld(engine, keys);
+            case "mixed":
+                return mixed(queues(engine), keys, picks);
+            default:
+                throw new IllegalArgumentException("unknown workload " + workload);
+        }
+    }
+
+    private static IntFunction<VertexQueue> queues(String engine) {
+        switch (engine) {
+            case "fibonacci":
+                return FibonacciVertexQueue::new;
+            case "binomial":
+                return BinomialVertexQueue::new;
+            case "pairing":
+            case "rank-pairing":
+                return n -> AddressableVertexQueue.of(engine, n);
+            case "pq":
+                return PriorityVertexQueue::new;
+            default:
+                throw new IllegalArgumentException("unknown engine " + engine);
+        }
+    }
+
+    private static long result(long ops, long checksum) {
+        return (ops << 32) | (checksum & 0xffffffffL);
+    }
+
+    private static long insert(IntFunction<VertexQueue> queues, int[] keys) {
+        int n = keys.length;
+        VertexQueue queue = queues.apply(n);
+        for (int i = 0; i < n; i++) {
+            queue.insert(i, keys[i]);
+        }
+        return result(n, queue.isEmpty() ? 0 : 1);
+    }
+
+    private static long deleteMin(IntFunction<VertexQueue> queues, int[] keys) {
+        int n = keys.length;
+        VertexQueue queue = queues.apply(n);
+        for (int i = 0; i < n; i++) {
+            queue.insert(i, keys[i]);
+        }
+        long checksum = 0;
+        for (int i = 0; i < n; i++) {
+            checksum += queue.deleteMin();
+        }
+        return result(2L * n, checksum);
+    }
+
+    private static long decreaseKey(IntFunction<VertexQueue> queues, int[] keys, int[] picks) {
+        int n = keys.length;
+        VertexQueue queue = queues.apply(n);
+        int[] current = keys.clone();
+        for (int i = 0; i < n; i++) {
+            queue.insert(i, current[i]);
+        }
+        int removed = queue.deleteMin();
+        long ops = n + 1;
+        for (int i = 0; i < n; i++) {
+            int v = picks[i] % n;
+            if (v != removed && current[v] > 1) {
+                current[v] -= 1 + (current[v] >>> 1);
+                queue.decreaseKey(v, current[v]);
+                ops++;
+            }
+        }
+        long checksum = 0;
+        for (int i = 0; i < n / 10; i++) {
+            checksum += queue.deleteMin();
+        }
+        return result(ops + n / 10, checksum);
+    }
+
+    private static long mixed(IntFunction<VertexQueue> queues, int[] keys, int[] picks) {
+        int n = keys.length;
+        VertexQueue queue = queues.apply(n);
+        int[] current = new int[n];
+        // live holds the slots in the queue; position[v] is v's index in live
+        int[] live = new int[n];
+        int[] position = new int[n];
+        int liveCount = 0;
+        int next = 0;
+        long checksum = 0;
+        for (int i = 0; i < n; i++) {
+            int pick = picks[i] % 10;
+            if (pick < 5 || liveCount == 0) {
+                int v = next++;
+                current[v] = keys[v];
+                queue.insert(v, current[v]);
+                position[v] = liveCount;
+                live[liveCount++] = v;
+            } else if (pick < 8) {
+                int v = queue.deleteMin();
+                checksum += v;
+                int last = live[--liveCount];
+                live[position[v]] = last;
+                position[last] = position[v];
+            } else {
+                int v = live[picks[i] % liveCount];
+                if (current[v] > 1) {
+                    current[v] -= 1 + (current[v] >>> 1);
+                    queue.decreaseKey(v, current[v]);
+                }
+            }
+        }
+        return result(n, checksum);
+    }
+
+    private static long meld(String engine, int[] keys) {
+        int n = keys.length;
+        int part = Math.max(n / MELD_PARTS, 1);
+        int deletes = n / 10;
+        int parts = (n + part - 1) / part;
+        long checksum = 0;
+        switch (engine) {
+            case "fibonacci": {
+                FibonacciHeap target = new FibonacciHeap();
+                for (int start = 0; start < n; start += part) {
+                    FibonacciHeap heap = new FibonacciHeap();
+                    for (int i = start; i < Math.min(start + part, n); i++) {
+                        heap.insert(keys[i], null);
+                    }
+                    heap.deleteMin();
+                    target.meld(heap);
+                }
+                for (int i = 0; i < deletes; i++) {
+                    checksum += target.findMin().key;
+                    target.deleteMin();
+                }
+                break;
+            }
+            case "binomial": {
+                BinomialHeap target = new BinomialHeap();
+                for (int start = 0; start < n; start += part) {
+                    BinomialHeap heap = new BinomialHeap();
+                    for (int i = start; i < Math.min(start + part, n); i++) {
+                        heap.insert(keys[i], null);
+                    }
+                    heap.deleteMin();
+                    target.meld(heap);
+                }
+                for (int i = 0; i < deletes; i++) {
+                    checksum += target.findMin().key;
+                    target.deleteMin();
+                }
+                break;
+            }
+            case "pairing": {
+                PairingHeap target = new PairingHeap();
+                for (int start = 0; start < n; start += part) {
+                    PairingHeap heap = new PairingHeap();
+                    for (int i = start; i < Math.min(start + part, n); i++) {
+                        heap.insert(keys[i], null);
+                    }
+                    heap.deleteMin();
+                    target.meld(heap);
+                }
+                for (int i = 0; i < deletes; i++) {
+                    checksum += target.findMin().key;
+                    target.deleteMin();
+                }
+                break;
+            }
+            case "rank-pairing": {
+                RankPairingHeap target = new RankPairingHeap();
+                for (int start = 0; start < n; start += part) {
+                    RankPairingHeap heap = new RankPairingHeap();
+                    for (int i = start; i < Math.min(start + part, n); i++) {
+                        heap.insert(keys[i], null);
+                    }
+                    heap.deleteMin();
+                    target.meld(heap);
+                }
+                for (int i = 0; i < deletes; i++) {
+                    checksum += target.findMin().key;
+                    target.deleteMin();
+                }
+                break;
+            }
+            case "pq": {
+                PriorityQueue<Integer> target = new PriorityQueue<>();
+                for (int start = 0; start < n; start += part) {
+                    PriorityQueue<Integer> heap = new PriorityQueue<>();
+                    for (int i = start; i < Math.min(start + part, n); i++) {
+                        heap.add(keys[i]);
+                    }
+                    heap.poll();
+                    target.addAll(heap);
+                }
+                for (int i = 0; i < deletes; i++) {
+                    checksum += target.poll();
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("unknown engine " + engine);
+        }
+        // Every part pays its inserts and one deleteMin before its meld
+        return result(n + 2L * parts + deletes, checksum);
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares keeping a HashMap<Long, HeapNode> beside a FibonacciHeap against the heap's
+ * built-in id index: retained bytes per element and throughput of decreaseKey and
+ * delete addressed by a long id.
+ *
+ * Usage: java IdIndexBenchmark [n] [rounds]
+ */
+public class IdIndexBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        long[] ids = new long[n];
+        int[] keys = new int[n];
+        int[] targets = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            ids[i] = random.nextLong();
+            keys[i] = random.nextInt(Integer.MAX_VALUE - n) + n;
+            targets[i] = random.nextInt(n);
+        }
+
+        System.out.println("n: " + n);
+        System.out.printf("bytes/element  map: %.1f  index: %.1f%n",
+                mapBytesPerElement(ids, keys), indexBytesPerElement(ids, keys));
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            boolean report = round == rounds;
+            runMap(ids, keys, targets, report);
+            runIndex(ids, keys, targets, report);
+        }
+    }
+
+    private static double mapBytesPerElement(long[] ids, int[] keys) {
+        long before = usedMemory();
+        FibonacciHeap heap = new FibonacciHeap();
+        Map<Long, FibonacciHeap.HeapNode> nodes = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            nodes.put(ids[i], heap.insert(keys[i], null));
+        }
+        long after = usedMemory();
+        if (nodes.size() != heap.size()) {
+            throw new IllegalStateException();
+        }
+        return (double) (after - before) / ids.length;
+    }
+
+    private static double indexBytesPerElement(long[] ids, int[] keys) {
+        long before = usedMemory();
+        FibonacciHeap heap = new FibonacciHeap();
+        for (int i = 0; i < ids.length; i++) {
+            heap.insertWithId(ids[i], keys[i], null);
+        }
+        long after = usedMemory();
+        if (heap.size() != ids.length) {
+            throw new IllegalStateException();
+        }
+        return (double) (after - before) / ids.length;
+    }
+
+    private static void runMap(long[] ids, int[] keys, int[] targets, boolean report) {
+        int n = ids.length;
+        FibonacciHeap heap = new FibonacciHeap();
+        Map<Long, FibonacciHeap.HeapNode> nodes = new HashMap<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            nodes.put(ids[i], heap.insert(keys[i], null));
+        }
+        long inserted = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            FibonacciHeap.HeapNode node = nodes.get(ids[targets[i]]);
+            if (node.key > 1) {
+                heap.decreaseKey(node, 1 + node.key / 2);
+            }
+        }
+        long decreased = System.nanoTime();
+        int deletes = n / 2;
+        for (int i = 0; i < deletes; i++) {
+            FibonacciHeap.HeapNode node = nodes.remove(ids[i]);
+            heap.delete(node);
+        }
+        long end = System.nanoTime();
+
+        if (report) {
+            print("map  ", n, start, inserted, decreased, deletes, end);
+        }
+    }
+
+    private static void runIndex(long[] ids, int[] keys, int[] targets, boolean report) {
+        int n = ids.length;
+        FibonacciHeap heap = new FibonacciHeap();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            heap.insertWithId(ids[i], keys[i], null);
+        }
+        long inserted = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            long id = ids[targets[i]];
+            int key = heap.getKey(id);
+            if (key > 1) {
+                heap.decreaseKeyById(id, 1 + key / 2);
+            }
+        }
+        long decreased = System.nanoTime();
+        int deletes = n / 2;
+        for (int i = 0; i < deletes; i++) {
+            heap.deleteById(ids[i]);
+        }
+        long end = System.nanoTime();
+
+        if (report) {
+            print("index", n, start, inserted, decreased, deletes, end);
+        }
+    }
+
+    private static void print(String name, int n, long start, long inserted, long decreased,
+                              int deletes, long end) {
+        System.out.printf("%s  insert: %,.0f ops/s  decreaseKey: %,.0f ops/s  delete: %,.0f ops/s%n",
+                name,
+                opsPerSecond(n, inserted - start),
+                opsPerSecond(n, decreased - inserted),
+                opsPerSecond(deletes, end - decreased));
+    }
+
+    private static double opsPerSecond(long ops, long nanos) {
+        return ops * 1e9 / Math.max(nanos, 1);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
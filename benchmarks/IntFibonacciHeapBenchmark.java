@@ -0,0 +1,162 @@
+import java.util.Random;
+
+/**
+ * Compares the node-based FibonacciHeap with the array-based IntFibonacciHeap:
+ * retained bytes per element and throughput of insert, decreaseKey and deleteMin.
+ *
+ * Usage: java IntFibonacciHeapBenchmark [n] [rounds]
+ */
+public class IntFibonacciHeapBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        int[] keys = new int[n];
+        int[] targets = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(Integer.MAX_VALUE - n) + n;
+            targets[i] = random.nextInt(n);
+        }
+
+        System.out.println("n: " + n);
+        System.out.printf("bytes/element  node: %.1f  int: %.1f%n",
+                nodeBytesPerElement(keys), intBytesPerElement(keys));
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            boolean report = round == rounds;
+            runNodeHeap(keys, targets, report);
+            runIntHeap(keys, targets, report);
+        }
+    }
+
+    private static double nodeBytesPerElement(int[] keys) {
+        long before = usedMemory();
+        FibonacciHeap heap = new FibonacciHeap();
+        for (int key : keys) {
+            heap.insert(key, null);
+        }
+        long after = usedMemory();
+        if (heap.size() != keys.length) {
+            throw new IllegalStateException();
+        }
+        return (double) (after - before) / keys.length;
+    }
+
+    private static double intBytesPerElement(int[] keys) {
+        long before = usedMemory();
+        IntFibonacciHeap heap = new IntFibonacciHeap(keys.length);
+        for (int key : keys) {
+            heap.insert(key, null);
+        }
+        long after = usedMemory();
+        if (heap.size() != keys.length) {
+            throw new IllegalStateException();
+        }
+        return (double) (after - before) / keys.length;
+    }
+
+    private static void runNodeHeap(int[] keys, int[] targets, boolean report) {
+        int n = keys.length;
+        FibonacciHeap heap = new FibonacciHeap();
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[n];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            nodes[i] = heap.insert(keys[i], null);
+        }
+        long inserted = System.nanoTime();
+        nodes[indexOf(nodes, heap.findMin())] = null;
+        heap.deleteMin();
+        long consolidated = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            FibonacciHeap.HeapNode node = nodes[targets[i]];
+            if (node != null && node.key > 1) {
+                heap.decreaseKey(node, 1 + node.key / 2);
+            }
+        }
+        long decreased = System.nanoTime();
+        int deletes = n / 2;
+        for (int i = 0; i < deletes; i++) {
+            heap.deleteMin();
+        }
+        long end = System.nanoTime();
+
+        if (report) {
+            print("node", n, start, inserted, consolidated, decreased, deletes, end);
+        }
+    }
+
+    private static void runIntHeap(int[] keys, int[] targets, boolean report) {
+        int n = keys.length;
+        IntFibonacciHeap heap = new IntFibonacciHeap(n);
+        int[] handles = new int[n];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            handles[i] = heap.insert(keys[i], null);
+        }
+        long inserted = System.nanoTime();
+        handles[indexOf(handles, heap.findMin())] = IntFibonacciHeap.NONE;
+        heap.deleteMin();
+        long consolidated = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            int handle = handles[targets[i]];
+            if (handle != IntFibonacciHeap.NONE && heap.getKey(handle) > 1) {
+                heap.decreaseKey(handle, 1 + heap.getKey(handle) / 2);
+            }
+        }
+        long decreased = System.nanoTime();
+        int deletes = n / 2;
+        for (int i = 0; i < deletes; i++) {
+            heap.deleteMin();
+        }
+        long end = System.nanoTime();
+
+        if (report) {
+            print("int ", n, start, inserted, consolidated, decreased, deletes, end);
+        }
+    }
+
+    private static void print(String name, int n, long start, long inserted, long consolidated,
+                              long decreased, int deletes, long end) {
+        System.out.printf("%s  insert: %,.0f ops/s  first deleteMin: %d ms  decreaseKey: %,.0f ops/s  deleteMin: %,.0f ops/s%n",
+                name,
+                opsPerSecond(n, inserted - start),
+                (consolidated - inserted) / 1_000_000,
+                opsPerSecond(n, decreased - consolidated),
+                opsPerSecond(deletes, end - decreased));
+    }
+
+    private static int indexOf(FibonacciHeap.HeapNode[] nodes, FibonacciHeap.HeapNode node) {
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(int[] handles, int handle) {
+        for (int i = 0; i < handles.length; i++) {
+            if (handles[i] == handle) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double opsPerSecond(long ops, long nanos) {
+        return ops * 1e9 / Math.max(nanos, 1);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,74 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Measures durable insert throughput of JournaledFibonacciHeap for several group
+ * commit latency budgets and thread counts. A budget of 0 flushes as soon as the
+ * flusher sees a record, which is close to one fsync per operation.
+ *
+ * Every operation waits until its record is on disk, so throughput grows with the
+ * number of threads that can share one fsync.
+ *
+ * Usage: java JournalBenchmark [operations per thread] [directory]
+ */
+public class JournalBenchmark {
+
+    private static final long[] BUDGETS_MICROS = {0, 100, 1000, 5000};
+    private static final int[] THREADS = {1, 4, 16};
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Path root = args.length > 1 ? Path.of(args[1]) : Path.of(System.getProperty("java.io.tmpdir"));
+
+        System.out.printf("%-10s %8s %14s %10s %14s%n", "budget us", "threads", "ops/s", "batches", "ops/batch");
+        for (long budget : BUDGETS_MICROS) {
+            for (int threads : THREADS) {
+                run(root, budget, threads, operations);
+            }
+        }
+    }
+
+    private static void run(Path root, long budgetMicros, int threads, int operations)
+            throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory(root, "journal-benchmark");
+        try {
+            long elapsed;
+            long batches;
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir, budgetMicros * 1000, true)) {
+                List<Thread> workers = new ArrayList<>(threads);
+                for (int t = 0; t < threads; t++) {
+                    workers.add(new Thread(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < operations; i++) {
+                            heap.insert(random.nextInt(Integer.MAX_VALUE - 1) + 1, null);
+                        }
+                    }));
+                }
+                long start = System.nanoTime();
+                for (Thread worker : workers) {
+                    worker.start();
+                }
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+                elapsed = System.nanoTime() - start;
+                batches = heap.batches();
+            }
+            long total = (long) threads * operations;
+            System.out.printf("%-10d %8d %,14.0f %,10d %14.1f%n", budgetMicros, threads,
+                    total * 1e9 / elapsed, batches, (double) total / batches);
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+}
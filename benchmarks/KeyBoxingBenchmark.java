@@ -0,0 +1,108 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Measures what boxing keys costs: LongFibonacciHeap keeps primitive long keys,
+ * GenericFibonacciHeap with Long keys boxes them on insert and decreaseKey.
+ * Both run the same Dijkstra-like mix of insert, decreaseKey and deleteMin.
+ *
+ * Usage: java KeyBoxingBenchmark [n] [rounds]
+ */
+public class KeyBoxingBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        long[] keys = new long[n];
+        int[] targets = new int[n];
+        long[] diffs = new long[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = (random.nextLong() >>> 2) + 1;
+            targets[i] = random.nextInt(n);
+            diffs[i] = random.nextInt(1 << 20) + 1;
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        System.out.println("n: " + n);
+        for (int round = 1; round <= rounds; round++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            long check = runPrimitive(keys, targets, diffs);
+            long primitiveNanos = System.nanoTime() - start;
+            long primitiveBytes = threads.getThreadAllocatedBytes(thread) - before;
+
+            before = threads.getThreadAllocatedBytes(thread);
+            start = System.nanoTime();
+            long boxedCheck = runBoxed(keys, targets, diffs);
+            long boxedNanos = System.nanoTime() - start;
+            long boxedBytes = threads.getThreadAllocatedBytes(thread) - before;
+
+            if (check != boxedCheck) {
+                throw new IllegalStateException("Engines disagree");
+            }
+            if (round == rounds) {
+                System.out.printf("LongFibonacciHeap              %,8d ms  %6.1f bytes/element%n",
+                        primitiveNanos / 1_000_000, (double) primitiveBytes / n);
+                System.out.printf("GenericFibonacciHeap<Long, ?>  %,8d ms  %6.1f bytes/element%n",
+                        boxedNanos / 1_000_000, (double) boxedBytes / n);
+            }
+        }
+    }
+
+    private static long runPrimitive(long[] keys, int[] targets, long[] diffs) {
+        int n = keys.length;
+        LongFibonacciHeap<Object> heap = new LongFibonacciHeap<>();
+        @SuppressWarnings("unchecked")
+        LongFibonacciHeap.HeapNode<Object>[] nodes =
+                (LongFibonacciHeap.HeapNode<Object>[]) new LongFibonacciHeap.HeapNode<?>[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = heap.insert(keys[i], null);
+        }
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            if ((i & 3) == 0) {
+                sum += heap.findMin().key;
+                // Tag extracted nodes so later decreaseKeys skip them
+                heap.findMin().info = heap;
+                heap.deleteMin();
+            } else {
+                LongFibonacciHeap.HeapNode<Object> node = nodes[targets[i]];
+                if (node.info == null) {
+                    heap.decreaseKey(node, diffs[i]);
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static long runBoxed(long[] keys, int[] targets, long[] diffs) {
+        int n = keys.length;
+        GenericFibonacciHeap<Long, Object> heap = new GenericFibonacciHeap<>();
+        @SuppressWarnings("unchecked")
+        GenericFibonacciHeap.HeapNode<Long, Object>[] nodes =
+                (GenericFibonacciHeap.HeapNode<Long, Object>[]) new GenericFibonacciHeap.HeapNode<?, ?>[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = heap.insert(keys[i], null);
+        }
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            if ((i & 3) == 0) {
+                sum += heap.findMin().key;
+                // Tag extracted nodes so later decreaseKeys skip them
+                heap.findMin().info = heap;
+                heap.deleteMin();
+            } else {
+                GenericFibonacciHeap.HeapNode<Long, Object> node = nodes[targets[i]];
+                if (node.info == null) {
+                    heap.decreaseKey(node, node.key - diffs[i]);
+                }
+            }
+        }
+        return sum;
+    }
+}
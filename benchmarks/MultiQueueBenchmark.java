@@ -0,0 +1,69 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Throughput and rank error of MultiQueue from 1 to N threads, next to the strict
+ * ConcurrentFibonacciHeap, on a 50/50 insert/deleteMin mix.
+ *
+ * Usage: java MultiQueueBenchmark [maxThreads] [operationsPerThread] [shardsPerThread]
+ */
+public class MultiQueueBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int shardsPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        System.out.println("cpus: " + Runtime.getRuntime().availableProcessors()
+                + ", operations/thread: " + operations + ", shards/thread: " + shardsPerThread);
+        System.out.printf("%8s %18s %12s %12s %18s%n",
+                "threads", "MultiQueue", "mean error", "max error", "strict heap");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            MultiQueue queue = new MultiQueue(threads * shardsPerThread, true);
+            double relaxed = run(threads, operations, queue::insert, queue::deleteMin);
+
+            ConcurrentFibonacciHeap heap = new ConcurrentFibonacciHeap();
+            double strict = run(threads, operations, heap::insert, heap::deleteMin);
+
+            System.out.printf("%8d %,18.0f %12.2f %12d %,18.0f  ops/s%n",
+                    threads, relaxed, queue.averageRankError(), queue.maxRankError(), strict);
+        }
+    }
+
+    interface Insert {
+        void insert(int key, String info);
+    }
+
+    private static double run(int threads, int operations, Insert insert, Runnable deleteMin)
+            throws InterruptedException {
+        for (int i = 0; i < 10_000; i++) {
+            insert.insert(ThreadLocalRandom.current().nextInt(1 << 30) + 1, null);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    if ((i & 1) == 0) {
+                        insert.insert(random.nextInt(1 << 30) + 1, null);
+                    } else {
+                        deleteMin.run();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return (double) threads * operations * 1e9 / (System.nanoTime() - begin);
+    }
+}
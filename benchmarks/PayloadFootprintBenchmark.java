@@ -0,0 +1,140 @@
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the memory footprint of node payloads kept as Strings against payloads kept
+ * in a DictionaryPayloadStore or an ArenaPayloadStore, for two payload shapes:
+ * "unique" is Integer.toString of the key, as in TheoryPart, and "repeated" draws from
+ * 1000 distinct job names. FibonacciHeap, the BinomialHeap TheoryPart drives, and
+ * IntFibonacciHeap are each measured with payloads in their nodes and in both stores.
+ *
+ * Reports retained Java heap and off-heap bytes per element, the insert time including
+ * building the payloads, and the time to materialize every payload with getInfo.
+ *
+ * Run with a large enough heap, e.g. -Xmx4g for the default n of 10^7.
+ *
+ * Usage: java PayloadFootprintBenchmark [n]
+ */
+public class PayloadFootprintBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        int[] keys = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(Integer.MAX_VALUE - 1) + 1;
+        }
+        System.out.println("n: " + n);
+        System.out.printf("%-9s %-23s %12s %12s %10s %10s%n",
+                "payload", "storage", "heap B/elem", "off B/elem", "insert ms", "load ms");
+
+        for (String shape : new String[]{"unique", "repeated"}) {
+            IntFunction<String> payload = shape.equals("unique")
+                    ? Integer::toString
+                    : key -> "job-" + (key % 1000);
+            runNodeHeap(shape, "FibonacciHeap", keys, payload, null);
+            runNodeHeap(shape, "FibonacciHeap+dict", keys, payload, new DictionaryPayloadStore());
+            runNodeHeap(shape, "FibonacciHeap+arena", keys, payload, new ArenaPayloadStore());
+            runBinomialHeap(shape, "BinomialHeap", keys, payload, null);
+            runBinomialHeap(shape, "BinomialHeap+dict", keys, payload, new DictionaryPayloadStore());
+            runBinomialHeap(shape, "BinomialHeap+arena", keys, payload, new ArenaPayloadStore());
+            runIntHeap(shape, "IntFibonacciHeap", keys, payload, null);
+            runIntHeap(shape, "IntFibonacciHeap+dict", keys, payload, new DictionaryPayloadStore());
+            runIntHeap(shape, "IntFibonacciHeap+arena", keys, payload, new ArenaPayloadStore());
+        }
+    }
+
+    private static void runNodeHeap(String shape, String name, int[] keys, IntFunction<String> payload,
+                                    PayloadStore store) {
+        int n = keys.length;
+        long before = usedMemory();
+        long start = System.nanoTime();
+        FibonacciHeap heap = new FibonacciHeap(false, store);
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = heap.insert(keys[i], payload.apply(keys[i]));
+        }
+        long inserted = System.nanoTime();
+        long after = usedMemory();
+        // The handle array is the caller's, not the heap's
+        long handles = 16 + 4L * n;
+
+        long loadStart = System.nanoTime();
+        long chars = 0;
+        for (FibonacciHeap.HeapNode node : nodes) {
+            chars += heap.getInfo(node).length();
+        }
+        long loaded = System.nanoTime();
+        long offHeap = store == null ? 0 : store.offHeapBytes();
+        print(shape, name, n, after - before - handles, offHeap, inserted - start, loaded - loadStart, chars);
+    }
+
+    private static void runBinomialHeap(String shape, String name, int[] keys, IntFunction<String> payload,
+                                        PayloadStore store) {
+        int n = keys.length;
+        long before = usedMemory();
+        long start = System.nanoTime();
+        BinomialHeap heap = new BinomialHeap(store);
+        BinomialHeap.HeapItem[] items = new BinomialHeap.HeapItem[n];
+        for (int i = 0; i < n; i++) {
+            items[i] = heap.insert(keys[i], payload.apply(keys[i]));
+        }
+        long inserted = System.nanoTime();
+        long after = usedMemory();
+        // The handle array is the caller's, not the heap's
+        long handles = 16 + 4L * n;
+
+        long loadStart = System.nanoTime();
+        long chars = 0;
+        for (BinomialHeap.HeapItem item : items) {
+            chars += heap.getInfo(item).length();
+        }
+        long loaded = System.nanoTime();
+        long offHeap = store == null ? 0 : store.offHeapBytes();
+        print(shape, name, n, after - before - handles, offHeap, inserted - start, loaded - loadStart, chars);
+    }
+
+    private static void runIntHeap(String shape, String name, int[] keys, IntFunction<String> payload,
+                                   PayloadStore store) {
+        int n = keys.length;
+        long before = usedMemory();
+        long start = System.nanoTime();
+        IntFibonacciHeap heap = new IntFibonacciHeap(n, store);
+        for (int i = 0; i < n; i++) {
+            heap.insert(keys[i], payload.apply(keys[i]));
+        }
+        long inserted = System.nanoTime();
+        long after = usedMemory();
+
+        long loadStart = System.nanoTime();
+        long chars = 0;
+        for (int i = 0; i < n; i++) {
+            chars += heap.getInfo(i).length();
+        }
+        long loaded = System.nanoTime();
+        long offHeap = store == null ? 0 : store.offHeapBytes();
+        print(shape, name, n, after - before, offHeap, inserted - start, loaded - loadStart, chars);
+        if (heap.size() != n) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static void print(String shape, String name, int n, long heapBytes, long offHeapBytes,
+                              long insertNanos, long loadNanos, long chars) {
+        if (chars == 0) {
+            throw new IllegalStateException();
+        }
+        System.out.printf("%-9s %-23s %12.1f %12.1f %10d %10d%n", shape, name,
+                (double) heapBytes / n, (double) offHeapBytes / n,
+                insertNanos / 1_000_000, loadNanos / 1_000_000);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Runs Dijkstra on a random graph and a grid graph with integer weights over RadixHeap
+ * and the comparison-based queues, and reports the time per search. Dijkstra only
+ * inserts and decreases to keys at least the last one removed, so the radix heap's
+ * monotone precondition holds. Run without -ea, so the monotonicity check is off.
+ *
+ * Usage: java RadixHeapBenchmark [vertices] [averageDegree] [maxWeight] [rounds]
+ */
+public class RadixHeapBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int maxWeight = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        int side = (int) Math.sqrt(n);
+        CsrGraph random = GraphGenerators.random(n, degree, maxWeight, 42);
+        CsrGraph grid = GraphGenerators.grid(side, side, maxWeight, 42);
+        System.out.printf("random: %,d vertices, %,d edges  grid: %dx%d  weights: 1 .. %d%n",
+                random.vertexCount(), random.edgeCount() / 2, side, side, maxWeight);
+
+        String[] names = {"RadixHeap", "FibonacciHeap", "PairingHeap", "PriorityQueue"};
+        List<IntFunction<VertexQueue>> queues = List.of(
+                v -> AddressableVertexQueue.of("radix", v),
+                FibonacciVertexQueue::new,
+                v -> AddressableVertexQueue.of("pairing", v),
+                PriorityVertexQueue::new
+        );
+
+        int[] expectedRandom = GraphAlgorithms.dijkstra(random, 0, new PriorityVertexQueue(random.vertexCount()));
+        int[] expectedGrid = GraphAlgorithms.dijkstra(grid, 0, new PriorityVertexQueue(grid.vertexCount()));
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            boolean report = round == rounds;
+            for (int i = 0; i < queues.size(); i++) {
+                long start = System.nanoTime();
+                int[] dist = GraphAlgorithms.dijkstra(random, 0, queues.get(i).apply(random.vertexCount()));
+                long dijkstraRandom = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int[] gridDist = GraphAlgorithms.dijkstra(grid, 0, queues.get(i).apply(grid.vertexCount()));
+                long dijkstraGrid = System.nanoTime() - start;
+
+                if (!Arrays.equals(dist, expectedRandom) || !Arrays.equals(gridDist, expectedGrid)) {
+                    throw new IllegalStateException(names[i] + " computed wrong distances");
+                }
+                if (report) {
+                    System.out.printf("%-14s dijkstra random: %5d ms  dijkstra grid: %5d ms%n",
+                            names[i], dijkstraRandom / 1_000_000, dijkstraGrid / 1_000_000);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reschedule-heavy timer workload on HeapScheduler and ScheduledThreadPoolExecutor.
+ * A million timers are scheduled far in the future, then random timers are moved
+ * earlier or cancelled and replaced. ScheduledThreadPoolExecutor has no reschedule,
+ * so a move there is cancel and schedule again, with remove-on-cancel so cancelled
+ * tasks leave its queue. Finally every timer is pulled into the next few milliseconds
+ * and the time until all of them have run is measured.
+ *
+ * Usage: java SchedulerBenchmark [timers] [operations] [rounds]
+ */
+public class SchedulerBenchmark {
+
+    private static final long HORIZON_MS = 600_000;
+    private static final int CANCEL_PERCENT = 10;
+    private static final int FIRE_WINDOW_MS = 50;
+
+    public static void main(String[] args) throws InterruptedException {
+        int timers = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        System.out.println("timers: " + timers + "  operations: " + operations
+                + "  virtual threads: " + HeapScheduler.virtualThreadsAvailable());
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            runHeapScheduler(timers, operations, round == rounds);
+            runThreadPool(timers, operations, round == rounds);
+        }
+    }
+
+    private static void runHeapScheduler(int timers, int operations, boolean report) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(timers);
+        Runnable task = done::countDown;
+        Random random = new Random(42);
+        HeapScheduler scheduler = new HeapScheduler();
+        HeapScheduler.Timer[] handles = new HeapScheduler.Timer[timers];
+        long[] delays = new long[timers];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < timers; i++) {
+            delays[i] = HORIZON_MS;
+            handles[i] = scheduler.schedule(task, delays[i], TimeUnit.MILLISECONDS);
+        }
+        long scheduled = System.nanoTime();
+        for (int op = 0; op < operations; op++) {
+            int i = random.nextInt(timers);
+            if (random.nextInt(100) < CANCEL_PERCENT) {
+                scheduler.cancel(handles[i]);
+                handles[i] = scheduler.schedule(task, delays[i], TimeUnit.MILLISECONDS);
+            } else {
+                delays[i] -= 1 + random.nextInt(10);
+                scheduler.reschedule(handles[i], delays[i], TimeUnit.MILLISECONDS);
+            }
+        }
+        long churned = System.nanoTime();
+        for (int i = 0; i < timers; i++) {
+            scheduler.reschedule(handles[i], random.nextInt(FIRE_WINDOW_MS), TimeUnit.MILLISECONDS);
+        }
+        done.await();
+        long fired = System.nanoTime();
+        scheduler.close();
+
+        if (report) {
+            print("HeapScheduler", timers, operations, scheduled - start, churned - scheduled, fired - churned);
+        }
+    }
+
+    private static void runThreadPool(int timers, int operations, boolean report) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(timers);
+        Runnable task = done::countDown;
+        Random random = new Random(42);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        ScheduledFuture<?>[] handles = new ScheduledFuture<?>[timers];
+        long[] delays = new long[timers];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < timers; i++) {
+            delays[i] = HORIZON_MS;
+            handles[i] = executor.schedule(task, delays[i], TimeUnit.MILLISECONDS);
+        }
+        long scheduled = System.nanoTime();
+        for (int op = 0; op < operations; op++) {
+            int i = random.nextInt(timers);
+            if (random.nextInt(100) >= CANCEL_PERCENT) {
+                delays[i] -= 1 + random.nextInt(10);
+            }
+            handles[i].cancel(false);
+            handles[i] = executor.schedule(task, delays[i], TimeUnit.MILLISECONDS);
+        }
+        long churned = System.nanoTime();
+        for (int i = 0; i < timers; i++) {
+            handles[i].cancel(false);
+            handles[i] = executor.schedule(task, random.nextInt(FIRE_WINDOW_MS), TimeUnit.MILLISECONDS);
+        }
+        done.await();
+        long fired = System.nanoTime();
+        executor.shutdown();
+
+        if (report) {
+            print("ScheduledThreadPool", timers, operations, scheduled - start, churned - scheduled, fired - churned);
+        }
+    }
+
+    private static void print(String name, int timers, int operations, long schedule, long churn, long fire) {
+        System.out.printf("%-20s schedule %7.0f ns/timer   churn %7.0f ns/op (%5.2f M ops/s)   fire all %7.0f ms%n",
+                name, (double) schedule / timers, (double) churn / operations, operations * 1e3 / churn, fire / 1e6);
+    }
+}
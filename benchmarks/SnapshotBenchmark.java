@@ -0,0 +1,96 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Compares rebuilding a heap by re-inserting every element against writing a snapshot
+ * and restoring it, for FibonacciHeap and BinomialHeap.
+ *
+ * Run with -Xms equal to -Xmx, so heap growth does not dominate the restore.
+ *
+ * Usage: java SnapshotBenchmark [n] [rounds] [directory]
+ */
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        Path dir = args.length > 2 ? Path.of(args[2]) : Path.of(System.getProperty("java.io.tmpdir"));
+
+        int[] keys = new int[n];
+        String[] infos = new String[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(Integer.MAX_VALUE - 1) + 1;
+            infos[i] = "e" + i;
+        }
+        System.out.println("n: " + n);
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            run(keys, infos, dir, round == rounds);
+        }
+    }
+
+    private static void run(int[] keys, String[] infos, Path dir, boolean report) throws IOException {
+        int n = keys.length;
+        Path file = dir.resolve("fibonacci-benchmark.snap");
+        try {
+            long start = System.nanoTime();
+            FibonacciHeap fibonacci = new FibonacciHeap();
+            for (int i = 0; i < n; i++) {
+                fibonacci.insert(keys[i], infos[i]);
+            }
+            fibonacci.deleteMin();
+            report(report, "FibonacciHeap re-insert", start);
+
+            start = System.nanoTime();
+            FibonacciHeapSnapshot.write(fibonacci, file);
+            report(report, "FibonacciHeap write", start);
+            if (report) {
+                System.out.printf("%-26s %,10d bytes%n", "FibonacciHeap snapshot", Files.size(file));
+            }
+            fibonacci = null;
+
+            start = System.nanoTime();
+            FibonacciHeap restored = FibonacciHeapSnapshot.read(file).heap();
+            report(report, "FibonacciHeap restore", start);
+            if (restored.size() != n - 1) {
+                throw new IllegalStateException();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        file = dir.resolve("binomial-benchmark.snap");
+        try {
+            long start = System.nanoTime();
+            BinomialHeap binomial = new BinomialHeap();
+            for (int i = 0; i < n; i++) {
+                binomial.insert(keys[i], infos[i]);
+            }
+            report(report, "BinomialHeap re-insert", start);
+
+            start = System.nanoTime();
+            BinomialHeapSnapshot.write(binomial, file);
+            report(report, "BinomialHeap write", start);
+            binomial = null;
+
+            start = System.nanoTime();
+            BinomialHeap restored = BinomialHeapSnapshot.read(file).heap();
+            report(report, "BinomialHeap restore", start);
+            if (restored.size() != n) {
+                throw new IllegalStateException();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void report(boolean report, String name, long start) {
+        if (report) {
+            System.out.printf("%-26s %,10d ms%n", name, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
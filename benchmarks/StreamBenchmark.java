@@ -0,0 +1,92 @@
+import java.util.Random;
+
+/**
+ * Sums the keys of every element of a consolidated heap of n elements three ways: a
+ * hand-written recursive walk of the child and next rings, stream() and parallelStream().
+ * The parallel speedup is bounded by the common fork-join pool's parallelism, printed
+ * with the results.
+ *
+ * Usage: java -Xmx3g StreamBenchmark [n] [rounds]
+ */
+public class StreamBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Random random = new Random(42);
+        FibonacciHeap fibonacci = new FibonacciHeap();
+        BinomialHeap binomial = new BinomialHeap();
+        for (int i = 0; i < n; i++) {
+            int key = random.nextInt(1_000_000) + 1;
+            fibonacci.insert(key, null);
+            binomial.insert(key, null);
+        }
+        fibonacci.insert(Integer.MAX_VALUE, null);
+        fibonacci.deleteMin();
+        System.out.printf("n: %,d  fork-join parallelism: %d%n",
+                n, java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            long walk = walk(fibonacci.findMin());
+            long fibonacciWalk = System.nanoTime() - start;
+            start = System.nanoTime();
+            long sequential = fibonacci.stream().mapToLong(node -> node.key).sum();
+            long fibonacciStream = System.nanoTime() - start;
+            start = System.nanoTime();
+            long parallel = fibonacci.parallelStream().mapToLong(node -> node.key).sum();
+            long fibonacciParallel = System.nanoTime() - start;
+            if (walk != sequential || walk != parallel) {
+                throw new IllegalStateException("Fibonacci sums differ");
+            }
+
+            start = System.nanoTime();
+            walk = walk(binomial.last);
+            long binomialWalk = System.nanoTime() - start;
+            start = System.nanoTime();
+            sequential = binomial.stream().mapToLong(item -> item.key).sum();
+            long binomialStream = System.nanoTime() - start;
+            start = System.nanoTime();
+            parallel = binomial.parallelStream().mapToLong(item -> item.key).sum();
+            long binomialParallel = System.nanoTime() - start;
+            if (walk != sequential || walk != parallel) {
+                throw new IllegalStateException("Binomial sums differ");
+            }
+
+            if (round == rounds) {
+                System.out.printf("fibonacci  walk %6d ms  stream %6d ms  parallelStream %6d ms%n",
+                        fibonacciWalk / 1_000_000, fibonacciStream / 1_000_000, fibonacciParallel / 1_000_000);
+                System.out.printf("binomial   walk %6d ms  stream %6d ms  parallelStream %6d ms%n",
+                        binomialWalk / 1_000_000, binomialStream / 1_000_000, binomialParallel / 1_000_000);
+            }
+        }
+    }
+
+    private static long walk(FibonacciHeap.HeapNode first) {
+        long sum = 0;
+        if (first == null) {
+            return sum;
+        }
+        FibonacciHeap.HeapNode x = first;
+        do {
+            sum += x.key + walk(x.child);
+            x = x.next;
+        } while (x != first);
+        return sum;
+    }
+
+    private static long walk(BinomialHeap.HeapNode first) {
+        long sum = 0;
+        if (first == null) {
+            return sum;
+        }
+        BinomialHeap.HeapNode x = first;
+        do {
+            sum += x.item.key + walk(x.child);
+            x = x.next;
+        } while (x != first);
+        return sum;
+    }
+}
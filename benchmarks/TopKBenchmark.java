@@ -0,0 +1,97 @@
+import java.util.Random;
+
+/**
+ * Reads the k smallest elements of a live heap of n elements, comparing peekSmallest
+ * against the destructive way: k deleteMins followed by re-inserting what was removed.
+ * Reports the time per query and, for FibonacciHeap, the links each query adds.
+ *
+ * Usage: java TopKBenchmark [n] [queries] [rounds]
+ */
+public class TopKBenchmark {
+
+    private static final int[] KS = {10, 100, 10_000};
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        Random random = new Random(42);
+        FibonacciHeap fibonacci = new FibonacciHeap();
+        BinomialHeap binomial = new BinomialHeap();
+        for (int i = 0; i < n; i++) {
+            int key = random.nextInt(Integer.MAX_VALUE - 1) + 1;
+            fibonacci.insert(key, null);
+            binomial.insert(key, null);
+        }
+        // Consolidate once, as a live queue would be after its first deleteMin
+        fibonacci.insert(Integer.MAX_VALUE, null);
+        fibonacci.deleteMin();
+        System.out.printf("n: %,d  queries: %d  roots: fibonacci %d, binomial %d%n",
+                n, queries, fibonacci.numTrees(), binomial.numTrees());
+
+        // The first rounds warm up the JIT, only the last one is reported
+        for (int round = 1; round <= rounds; round++) {
+            boolean report = round == rounds;
+            for (int k : KS) {
+                long checksum = 0;
+                long start = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    checksum += fibonacci.peekSmallest(k)[k - 1].key;
+                }
+                long fibonacciPeek = System.nanoTime() - start;
+
+                long links = fibonacci.totalLinks();
+                start = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    checksum += destructive(fibonacci, k);
+                }
+                long fibonacciDestructive = System.nanoTime() - start;
+                links = fibonacci.totalLinks() - links;
+
+                start = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    checksum += binomial.peekSmallest(k)[k - 1].key;
+                }
+                long binomialPeek = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    checksum += destructive(binomial, k);
+                }
+                long binomialDestructive = System.nanoTime() - start;
+
+                if (report) {
+                    System.out.printf("k=%-6d fibonacci peek %9.1f us  deleteMin+reinsert %9.1f us (%,d links/query)"
+                                    + "   binomial peek %9.1f us  deleteMin+reinsert %9.1f us  (checksum %d)%n",
+                            k, fibonacciPeek / 1e3 / queries, fibonacciDestructive / 1e3 / queries, links / queries,
+                            binomialPeek / 1e3 / queries, binomialDestructive / 1e3 / queries, checksum);
+                }
+            }
+        }
+    }
+
+    private static int destructive(FibonacciHeap heap, int k) {
+        int[] keys = new int[k];
+        for (int i = 0; i < k; i++) {
+            keys[i] = heap.findMin().key;
+            heap.deleteMin();
+        }
+        for (int key : keys) {
+            heap.insert(key, null);
+        }
+        return keys[k - 1];
+    }
+
+    private static int destructive(BinomialHeap heap, int k) {
+        int[] keys = new int[k];
+        for (int i = 0; i < k; i++) {
+            keys[i] = heap.findMin().key;
+            heap.deleteMin();
+        }
+        for (int key : keys) {
+            heap.insert(key, null);
+        }
+        return keys[k - 1];
+    }
+}
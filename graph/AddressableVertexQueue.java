@@ -0,0 +1,90 @@
+/**
+ * AddressableVertexQueue
+ *
+ * A VertexQueue over any AddressableHeap engine. Each vertex's handle is kept by vertex
+ * for decreaseKey, and the element's info holds the vertex number so deleteMin can map
+ * the minimum back. Keys are stored shifted by one, since heap keys must be positive.
+ *
+ * @param <H> The engine's handle type.
+ */
+public class AddressableVertexQueue<H> implements VertexQueue {
+
+    private final AddressableHeap<H> heap;
+    private final Object[] handles;
+    private final String[] labels;
+
+    /**
+     * Constructor to initialize an empty queue over an empty heap.
+     *
+     * @param heap        The heap; the queue becomes its only user.
+     * @param vertexCount The number of vertices.
+     */
+    public AddressableVertexQueue(AddressableHeap<H> heap, int vertexCount) {
+        this.heap = heap;
+        this.handles = new Object[vertexCount];
+        this.labels = VertexLabels.of(vertexCount);
+    }
+
+    /**
+     * Create a queue over a new heap of the named engine.
+     *
+     * @param engine      The engine name, as accepted by HeapEngines.create.
+     * @param vertexCount The number of vertices.
+     * @return The queue.
+     */
+    public static VertexQueue of(String engine, int vertexCount) {
+        return wrap(HeapEngines.create(engine), vertexCount);
+    }
+
+    @Override
+    public void insert(int v, int key) {
+        handles[v] = heap.insert(key + 1, labels[v]);
+    }
+
+    @Override
+    public void decreaseKey(int v, int newKey) {
+        H handle = handle(v);
+        heap.decreaseKey(handle, heap.getKey(handle) - (newKey + 1));
+    }
+
+    @Override
+    public int deleteMin() {
+        H min = heap.findMin();
+        if (min == null) {
+            return -1;
+        }
+        int v = VertexLabels.vertex(heap.getInfo(min));
+        heap.deleteMin();
+        handles[v] = null;
+        return v;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    // Helper functions
+
+    /**
+     * Return the handle of a vertex in the queue.
+     *
+     * @param v The vertex.
+     * @return The vertex's handle.
+     */
+    @SuppressWarnings("unchecked")
+    private H handle(int v) {
+        return (H) handles[v];
+    }
+
+    /**
+     * Wrap a heap of unknown handle type, capturing the type for the constructor.
+     *
+     * @param heap        The heap.
+     * @param vertexCount The number of vertices.
+     * @return The queue.
+     */
+    private static <H> VertexQueue wrap(AddressableHeap<H> heap, int vertexCount) {
+        return new AddressableVertexQueue<>(heap, vertexCount);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * BinomialVertexQueue
+ *
+ * A VertexQueue over BinomialHeap. Each vertex's item is kept by vertex for decreaseKey;
+ * items move between nodes as keys bubble up, but an item stays the same object. The
+ * item's info holds the vertex number so deleteMin can map the minimum back.
+ */
+public class BinomialVertexQueue implements VertexQueue {
+
+    private final BinomialHeap heap;
+    private final BinomialHeap.HeapItem[] items;
+    private final String[] labels;
+
+    /**
+     * Constructor to initialize an empty queue.
+     *
+     * @param vertexCount The number of vertices.
+     */
+    public BinomialVertexQueue(int vertexCount) {
+        this.heap = new BinomialHeap();
+        this.items = new BinomialHeap.HeapItem[vertexCount];
+        this.labels = VertexLabels.of(vertexCount);
+    }
+
+    @Override
+    public void insert(int v, int key) {
+        items[v] = heap.insert(key, labels[v]);
+    }
+
+    @Override
+    public void decreaseKey(int v, int newKey) {
+        BinomialHeap.HeapItem item = items[v];
+        heap.decreaseKey(item, item.key - newKey);
+    }
+
+    @Override
+    public int deleteMin() {
+        BinomialHeap.HeapItem item = heap.findMin();
+        if (item == null) {
+            return -1;
+        }
+        heap.deleteMin();
+        int v = VertexLabels.vertex(item.info);
+        items[v] = null;
+        return v;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heap.empty();
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * CsrGraph
+ *
+ * An immutable weighted graph in compressed sparse row form. The out-edges of vertex v
+ * are the indices offsets[v] .. offsets[v + 1] - 1 of targets and weights, so a scan
+ * over a vertex's neighbours walks two contiguous arrays.
+ */
+public class CsrGraph {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    /**
+     * Constructor to wrap existing CSR arrays without copying them.
+     *
+     * @param offsets The edge range start of each vertex, of length vertexCount + 1.
+     * @param targets The target vertex of each edge.
+     * @param weights The weight of each edge (each must be >= 0).
+     */
+    public CsrGraph(int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length == 0 || targets.length != weights.length
+                || offsets[offsets.length - 1] != targets.length) {
+            throw new IllegalArgumentException("inconsistent CSR arrays");
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Build a graph from an edge list.
+     *
+     * @param vertexCount The number of vertices.
+     * @param from        The source vertex of each edge.
+     * @param to          The target vertex of each edge.
+     * @param weight      The weight of each edge (each must be >= 0).
+     * @param undirected  Whether each edge should also be added in the reverse direction.
+     * @return The graph.
+     */
+    public static CsrGraph fromEdges(int vertexCount, int[] from, int[] to, int[] weight,
+                                     boolean undirected) {
+        int edges = from.length;
+        int[] offsets = new int[vertexCount + 1];
+        for (int i = 0; i < edges; i++) {
+            offsets[from[i] + 1]++;
+            if (undirected) {
+                offsets[to[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        // Counting sort of the edges by source vertex
+        int total = offsets[vertexCount];
+        int[] targets = new int[total];
+        int[] weights = new int[total];
+        int[] fill = new int[vertexCount];
+        System.arraycopy(offsets, 0, fill, 0, vertexCount);
+        for (int i = 0; i < edges; i++) {
+            int slot = fill[from[i]]++;
+            targets[slot] = to[i];
+            weights[slot] = weight[i];
+            if (undirected) {
+                slot = fill[to[i]]++;
+                targets[slot] = from[i];
+                weights[slot] = weight[i];
+            }
+        }
+        return new CsrGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Return the number of vertices.
+     *
+     * @return The vertex count.
+     */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Return the number of directed edges; an undirected edge counts twice.
+     *
+     * @return The edge count.
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Return the index of the first out-edge of v.
+     *
+     * @param v The vertex.
+     * @return The start of v's edge range.
+     */
+    public int edgeStart(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * Return the index one past the last out-edge of v.
+     *
+     * @param v The vertex.
+     * @return The end of v's edge range.
+     */
+    public int edgeEnd(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * Return the target of an edge.
+     *
+     * @param edge The edge index.
+     * @return The target vertex.
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Return the weight of an edge.
+     *
+     * @param edge The edge index.
+     * @return The edge weight.
+     */
+    public int weight(int edge) {
+        return weights[edge];
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * FibonacciVertexQueue
+ *
+ * A VertexQueue over FibonacciHeap. Each vertex's node is kept by vertex for decreaseKey,
+ * and the node's info holds the vertex number so deleteMin can map the minimum back.
+ * Keys are stored shifted by one, since FibonacciHeap keys must be positive.
+ */
+public class FibonacciVertexQueue implements VertexQueue {
+
+    private final FibonacciHeap heap;
+    private final FibonacciHeap.HeapNode[] nodes;
+    private final String[] labels;
+
+    /**
+     * Constructor to initialize an empty queue.
+     *
+     * @param vertexCount The number of vertices.
+     */
+    public FibonacciVertexQueue(int vertexCount) {
+        this(vertexCount, false);
+    }
+
+    /**
+     * Constructor to initialize an empty queue, optionally deferring decreaseKey.
+     *
+     * @param vertexCount       The number of vertices.
+     * @param lazyDecreaseKey   Whether the heap should run in deferred decreaseKey mode.
+     */
+    public FibonacciVertexQueue(int vertexCount, boolean lazyDecreaseKey) {
+        this.heap = new FibonacciHeap();
+        this.heap.setLazyDecreaseKey(lazyDecreaseKey);
+        this.nodes = new FibonacciHeap.HeapNode[vertexCount];
+        this.labels = VertexLabels.of(vertexCount);
+    }
+
+    @Override
+    public void insert(int v, int key) {
+        nodes[v] = heap.insert(key + 1, labels[v]);
+    }
+
+    @Override
+    public void decreaseKey(int v, int newKey) {
+        FibonacciHeap.HeapNode node = nodes[v];
+        heap.decreaseKey(node, node.key - (newKey + 1));
+    }
+
+    @Override
+    public int deleteMin() {
+        FibonacciHeap.HeapNode node = heap.findMin();
+        if (node == null) {
+            return -1;
+        }
+        heap.deleteMin();
+        int v = VertexLabels.vertex(node.info);
+        nodes[v] = null;
+        return v;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heap.size() == 0;
+    }
+}
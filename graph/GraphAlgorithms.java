@@ -0,0 +1,144 @@
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * GraphAlgorithms
+ *
+ * Dijkstra, Prim and A* over a CsrGraph, each running on a caller-supplied VertexQueue
+ * so the same search can be measured on every heap. A queue must be empty and sized for
+ * the graph, and is used up by the call.
+ */
+public final class GraphAlgorithms {
+
+    /** The distance of a vertex that cannot be reached. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private GraphAlgorithms() {
+    }
+
+    /**
+     * Compute single-source shortest path distances.
+     *
+     * @param graph  The graph; weights must be >= 0 and path lengths must fit in an int.
+     * @param source The source vertex.
+     * @param queue  An empty queue for the graph's vertices.
+     * @return The distance of every vertex from source, or UNREACHABLE.
+     */
+    public static int[] dijkstra(CsrGraph graph, int source, VertexQueue queue) {
+        int[] dist = new int[graph.vertexCount()];
+        Arrays.fill(dist, UNREACHABLE);
+        dist[source] = 0;
+        queue.insert(source, 0);
+
+        while (!queue.isEmpty()) {
+            int u = queue.deleteMin();
+            int du = dist[u];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.target(e);
+                int candidate = du + graph.weight(e);
+                if (candidate < dist[v]) {
+                    if (dist[v] == UNREACHABLE) {
+                        queue.insert(v, candidate);
+                    } else {
+                        queue.decreaseKey(v, candidate);
+                    }
+                    dist[v] = candidate;
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Compute a minimum spanning forest of an undirected graph.
+     *
+     * @param graph  The graph, with every edge present in both directions.
+     * @param parent Filled with each vertex's parent in the forest, or -1 for a root;
+     *               may be null.
+     * @param queue  An empty queue for the graph's vertices.
+     * @return The total weight of the forest.
+     */
+    public static long prim(CsrGraph graph, int[] parent, VertexQueue queue) {
+        int n = graph.vertexCount();
+        int[] best = new int[n];
+        Arrays.fill(best, UNREACHABLE);
+        boolean[] inTree = new boolean[n];
+        if (parent != null) {
+            Arrays.fill(parent, -1);
+        }
+
+        long total = 0;
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) {
+                continue;
+            }
+            // Grow one tree of the forest from each vertex not reached yet
+            best[root] = 0;
+            queue.insert(root, 0);
+            while (!queue.isEmpty()) {
+                int u = queue.deleteMin();
+                inTree[u] = true;
+                total += best[u];
+                for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int v = graph.target(e);
+                    int w = graph.weight(e);
+                    if (!inTree[v] && w < best[v]) {
+                        if (best[v] == UNREACHABLE) {
+                            queue.insert(v, w);
+                        } else {
+                            queue.decreaseKey(v, w);
+                        }
+                        best[v] = w;
+                        if (parent != null) {
+                            parent[v] = u;
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Compute the distance from source to target, guided by a heuristic.
+     *
+     * The heuristic must be consistent: h(target) = 0 and h(u) <= w(u, v) + h(v) for
+     * every edge, so a vertex's distance is final once it leaves the queue.
+     *
+     * @param graph     The graph; weights must be >= 0.
+     * @param source    The source vertex.
+     * @param target    The target vertex.
+     * @param heuristic A lower bound on each vertex's distance to target.
+     * @param queue     An empty queue for the graph's vertices.
+     * @return The distance from source to target, or UNREACHABLE.
+     */
+    public static int aStar(CsrGraph graph, int source, int target,
+                            IntUnaryOperator heuristic, VertexQueue queue) {
+        int[] dist = new int[graph.vertexCount()];
+        Arrays.fill(dist, UNREACHABLE);
+        dist[source] = 0;
+        queue.insert(source, heuristic.applyAsInt(source));
+
+        while (!queue.isEmpty()) {
+            int u = queue.deleteMin();
+            if (u == target) {
+                return dist[u];
+            }
+            int du = dist[u];
+            for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.target(e);
+                int candidate = du + graph.weight(e);
+                if (candidate < dist[v]) {
+                    int key = candidate + heuristic.applyAsInt(v);
+                    if (dist[v] == UNREACHABLE) {
+                        queue.insert(v, key);
+                    } else {
+                        queue.decreaseKey(v, key);
+                    }
+                    dist[v] = candidate;
+                }
+            }
+        }
+        return UNREACHABLE;
+    }
+}
@@ -0,0 +1,103 @@
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * GraphGenerators
+ *
+ * Random and grid graphs for exercising the graph algorithms. Both are undirected and
+ * connected, with integer weights drawn uniformly from 1 .. maxWeight.
+ */
+public final class GraphGenerators {
+
+    private GraphGenerators() {
+    }
+
+    /**
+     * Generate a connected random graph.
+     *
+     * A random spanning tree (each vertex joined to an earlier one) guarantees
+     * connectivity; the remaining edges join uniformly random pairs.
+     *
+     * @param vertexCount   The number of vertices (must be > 0).
+     * @param averageDegree The average number of neighbours per vertex (must be >= 2).
+     * @param maxWeight     The largest edge weight.
+     * @param seed          The random seed.
+     * @return The graph.
+     */
+    public static CsrGraph random(int vertexCount, int averageDegree, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        int edges = Math.max(vertexCount - 1, (int) ((long) vertexCount * averageDegree / 2));
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] weight = new int[edges];
+
+        int e = 0;
+        for (int v = 1; v < vertexCount; v++, e++) {
+            from[e] = v;
+            to[e] = random.nextInt(v);
+            weight[e] = 1 + random.nextInt(maxWeight);
+        }
+        while (e < edges) {
+            int u = random.nextInt(vertexCount);
+            int v = random.nextInt(vertexCount);
+            if (u == v) {
+                continue;
+            }
+            from[e] = u;
+            to[e] = v;
+            weight[e] = 1 + random.nextInt(maxWeight);
+            e++;
+        }
+        return CsrGraph.fromEdges(vertexCount, from, to, weight, true);
+    }
+
+    /**
+     * Generate a rows x cols grid, each cell joined to its horizontal and vertical
+     * neighbours. Vertex r * cols + c is the cell in row r and column c.
+     *
+     * @param rows      The number of rows (must be > 0).
+     * @param cols      The number of columns (must be > 0).
+     * @param maxWeight The largest edge weight.
+     * @param seed      The random seed.
+     * @return The graph.
+     */
+    public static CsrGraph grid(int rows, int cols, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        int edges = rows * (cols - 1) + (rows - 1) * cols;
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        int[] weight = new int[edges];
+
+        int e = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (c + 1 < cols) {
+                    from[e] = v;
+                    to[e] = v + 1;
+                    weight[e++] = 1 + random.nextInt(maxWeight);
+                }
+                if (r + 1 < rows) {
+                    from[e] = v;
+                    to[e] = v + cols;
+                    weight[e++] = 1 + random.nextInt(maxWeight);
+                }
+            }
+        }
+        return CsrGraph.fromEdges(rows * cols, from, to, weight, true);
+    }
+
+    /**
+     * Return the Manhattan distance heuristic to a target cell of a grid graph. Every
+     * weight is at least 1, so it is consistent for A*.
+     *
+     * @param cols   The number of columns of the grid.
+     * @param target The target vertex.
+     * @return The heuristic.
+     */
+    public static IntUnaryOperator gridHeuristic(int cols, int target) {
+        int targetRow = target / cols;
+        int targetCol = target % cols;
+        return v -> Math.abs(v / cols - targetRow) + Math.abs(v % cols - targetCol);
+    }
+}
@@ -0,0 +1,71 @@
+import java.util.PriorityQueue;
+
+/**
+ * PriorityVertexQueue
+ *
+ * A VertexQueue over java.util.PriorityQueue, which has no decreaseKey. decreaseKey
+ * pushes a second entry for the vertex instead, and deleteMin skips entries whose key
+ * is no longer the vertex's current key (lazy deletion). Each entry packs the key in
+ * the high half of a long and the vertex in the low half, so entries order by key.
+ */
+public class PriorityVertexQueue implements VertexQueue {
+
+    private static final int REMOVED = -1;
+
+    private final PriorityQueue<Long> queue;
+    private final int[] keys;
+    private int size;
+
+    /**
+     * Constructor to initialize an empty queue.
+     *
+     * @param vertexCount The number of vertices.
+     */
+    public PriorityVertexQueue(int vertexCount) {
+        this.queue = new PriorityQueue<>();
+        this.keys = new int[vertexCount];
+        this.size = 0;
+    }
+
+    @Override
+    public void insert(int v, int key) {
+        keys[v] = key;
+        queue.add(((long) key << 32) | v);
+        size++;
+    }
+
+    @Override
+    public void decreaseKey(int v, int newKey) {
+        keys[v] = newKey;
+        queue.add(((long) newKey << 32) | v);
+    }
+
+    @Override
+    public int deleteMin() {
+        while (!queue.isEmpty()) {
+            long entry = queue.poll();
+            int v = (int) entry;
+            if (keys[v] == (int) (entry >>> 32)) {
+                keys[v] = REMOVED;
+                size--;
+                return v;
+            }
+            // A stale entry left behind by decreaseKey, or a vertex already removed
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return the number of entries held, including stale ones.
+     *
+     * @return The size of the underlying PriorityQueue.
+     */
+    public int entries() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * VertexLabels
+ *
+ * The heaps carry a String payload, so the heap-backed queues store each vertex number
+ * as its decimal label and parse it back on deleteMin. Labels are built once per size
+ * and shared, so a queue does not allocate a String per insert.
+ */
+final class VertexLabels {
+
+    private static String[] cache = new String[0];
+
+    private VertexLabels() {
+    }
+
+    /**
+     * Return the labels of vertices 0 .. vertexCount - 1.
+     *
+     * @param vertexCount The number of vertices.
+     * @return An array whose entry v is the label of v; it may be longer than vertexCount.
+     */
+    static synchronized String[] of(int vertexCount) {
+        if (cache.length < vertexCount) {
+            String[] grown = new String[vertexCount];
+            System.arraycopy(cache, 0, grown, 0, cache.length);
+            for (int v = cache.length; v < vertexCount; v++) {
+                grown[v] = Integer.toString(v);
+            }
+            cache = grown;
+        }
+        return cache;
+    }
+
+    /**
+     * Return the vertex a label names.
+     *
+     * @param label The label.
+     * @return The vertex number.
+     */
+    static int vertex(String label) {
+        int v = 0;
+        for (int i = 0; i < label.length(); i++) {
+            v = v * 10 + (label.charAt(i) - '0');
+        }
+        return v;
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * VertexQueue
+ *
+ * The priority queue interface the graph algorithms run on: vertices 0 .. n - 1 keyed by
+ * a non-negative int, with decreaseKey addressed by vertex.
+ */
+public interface VertexQueue {
+
+    /**
+     * Insert a vertex that is not in the queue.
+     *
+     * @param v   The vertex.
+     * @param key The key of the vertex (must be >= 0).
+     */
+    void insert(int v, int key);
+
+    /**
+     * Lower the key of a vertex that is in the queue.
+     *
+     * @param v      The vertex.
+     * @param newKey The new key (must be < the current key).
+     */
+    void decreaseKey(int v, int newKey);
+
+    /**
+     * Remove the vertex with the minimal key and return it.
+     *
+     * @return The removed vertex, or -1 if the queue is empty.
+     */
+    int deleteMin();
+
+    /**
+     * Return whether the queue holds no vertices.
+     *
+     * @return true if the queue is empty.
+     */
+    boolean isEmpty();
+}
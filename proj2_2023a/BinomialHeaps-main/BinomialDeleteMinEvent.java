@@ -0,0 +1,33 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * BinomialDeleteMinEvent
+ *
+ * A Flight Recorder event for one BinomialHeap deleteMin, including the meld of the
+ * removed root's children back into the heap.
+ */
+@Name("BinomialHeap.DeleteMin")
+@Label("Delete Min")
+@Category({"Heaps", "BinomialHeap"})
+@Description("A deleteMin and the meld of the removed root's children")
+public final class BinomialDeleteMinEvent extends jdk.jfr.Event {
+
+	/** Checked before the event is created, so a disabled event costs one call. */
+	static final EventType TYPE = EventType.getEventType(BinomialDeleteMinEvent.class);
+
+	@Label("Roots Before")
+	int rootsBefore;
+
+	@Label("Roots After")
+	int rootsAfter;
+
+	@Label("Links")
+	int links;
+
+	@Label("Removed Rank")
+	int removedRank;
+}
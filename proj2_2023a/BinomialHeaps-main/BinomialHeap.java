@@ -1,21 +1,57 @@
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * BinomialHeap
  *
  * An implementation of binomial heap over non-negative integers.
  * Based on exercise from previous semester.
+ * Implements AddressableHeap with HeapItem handles.
+ *
+ * Payloads are kept in each item's info field by default. A heap built with a
+ * PayloadStore keeps only a long reference per item instead, leaves info null and
+ * materializes the payload on getInfo, as TheoryPart can do for its Integer.toString
+ * payloads.
  */
 
- public class BinomialHeap
+ public class BinomialHeap implements AddressableHeap<BinomialHeap.HeapItem>
  {
 	 public int size;
 	 public HeapNode last;
 	 public HeapNode min;
+	 // Links performed and ranks of the deleted roots, measured by TheoryPart
+	 public long linkCounter;
+	 public long rankSum;
+	 private IdIndex<HeapItem> index;
+	 private final PayloadStore store;
 
 	 /**
 	  *
 	  * Default BinomialHeap Constructor
 	  */
-	 public BinomialHeap() { }
+	 public BinomialHeap() {
+		 this.store = null;
+	 }
+
+	/**
+	 * 
+	 * BinomialHeap Constructor for a heap that keeps its payloads in store, or in the
+	 * items when store is null. An item's payload is released when the item is removed,
+	 * so read it with getInfo before deleteMin or delete. Only heaps sharing the same
+	 * store can be melded.
+	 *
+	 */
+	public BinomialHeap(PayloadStore store) {
+		this.store = store;
+	}
  
 	 /**
 	  * 
@@ -23,10 +59,11 @@
 	  */
 	 public BinomialHeap(HeapNode n) {
 		 // n is root, therefore has no parent
+		 this.store = null;
 		 n.parent = null;
 		 last = n;
 		 min = n;
-		 size = (int)Math.pow(2, n.rank);
+		 size = 1 << n.rank;
 	 }
  
 	 /**
@@ -34,23 +71,164 @@
 	  * pre: key > 0
 	  *
 	  * Insert (key,info) into the heap and return the newly generated HeapItem.
+	  * Allocates only the item and its node: see addRankZero.
 	  *
 	  */
 	 public HeapItem insert(int key, String info) 
 	 {    
-		 // Create HeapItem and HeapNode
-		 HeapItem itemToInsert = new HeapItem(key, info);
-		 HeapNode nodeToInsert = new HeapNode(itemToInsert);
- 
-		 // Create new heap that contains only the inserted node
-		 BinomialHeap heapToInsert = new BinomialHeap(nodeToInsert);
- 
-		 // Meld new heap with this
-		 meld(heapToInsert);
+		 HeapItem itemToInsert = newItem(key, info);
+		 addRankZero(new HeapNode(itemToInsert));
  
 		 return itemToInsert;
 	 }
  
+	/**
+	 * 
+	 * pre: key > 0
+	 *
+	 * Insert (key,info) under an external id and return the newly generated HeapItem, so
+	 * the element can later be found, decreased or deleted by id alone. Ids live in a
+	 * primitive open-addressing map created by the first call. Items move between nodes
+	 * in swapItems but never change, so the map needs no update when keys shift up.
+	 * Throws IllegalArgumentException if an element with this id is already in the heap.
+	 *
+	 */
+	public HeapItem insertWithId(long id, int key, String info)
+	{
+		if (index == null) {
+			index = new IdIndex<>();
+		} else if (index.get(id) != null) {
+			throw new IllegalArgumentException("id " + id + " is already in the heap");
+		}
+
+		HeapItem itemToInsert = store == null
+				? new IndexedItem(key, info, id)
+				: new StoredIndexedItem(key, store.store(info), id);
+		addRankZero(new HeapNode(itemToInsert));
+		index.put(id, itemToInsert);
+
+		return itemToInsert;
+	}
+
+	/**
+	 * 
+	 * Return true if and only if an element with this id is in the heap.
+	 *
+	 */
+	public boolean containsId(long id)
+	{
+		return index != null && index.get(id) != null;
+	}
+
+	/**
+	 * 
+	 * Return the item of the element with this id, or null if there is none.
+	 *
+	 */
+	public HeapItem findById(long id)
+	{
+		return index == null ? null : index.get(id);
+	}
+
+	/**
+	 * 
+	 * Return the current key of the element with this id.
+	 * Throws IllegalArgumentException if no element has this id.
+	 *
+	 */
+	public int getKey(long id)
+	{
+		return itemById(id).key;
+	}
+
+	/**
+	 * 
+	 * Return the external id of an item inserted with insertWithId.
+	 * Throws IllegalArgumentException if the item has no id.
+	 *
+	 */
+	public long getId(HeapItem item)
+	{
+		if (!(item instanceof IndexedItem)) {
+			throw new IllegalArgumentException("item has no id");
+		}
+		return ((IndexedItem) item).id;
+	}
+
+	/**
+	 * 
+	 * pre: 0 < diff < key of the element
+	 *
+	 * Decrease the key of the element with this id by diff and fix the heap.
+	 * Throws IllegalArgumentException if no element has this id.
+	 *
+	 */
+	public void decreaseKeyById(long id, int diff)
+	{
+		decreaseKey(itemById(id), diff);
+	}
+
+	/**
+	 * 
+	 * Delete the element with this id from the heap.
+	 * Throws IllegalArgumentException if no element has this id.
+	 *
+	 */
+	public void deleteById(long id)
+	{
+		delete(itemById(id));
+	}
+
+	/**
+	 * 
+	 * pre: every key > 0, infos == null or infos.length == keys.length
+	 *
+	 * Insert all (keys[i], infos[i]) into the heap and return the newly generated HeapItems
+	 * in the order of keys. The new items are built into one binomial forest like a binary
+	 * counter (no temporary heap per item), which is then melded into this heap once.
+	 *
+	 */
+	public HeapItem[] insertAll(int[] keys, String[] infos)
+	{
+		if (infos != null && infos.length != keys.length) {
+			throw new IllegalArgumentException("keys and infos must have the same length");
+		}
+
+		HeapItem[] items = new HeapItem[keys.length];
+		if (keys.length == 0) {
+			return items;
+		}
+
+		// trees[r] holds the pending tree of rank r, like bit r of a binary counter
+		HeapNode[] trees = new HeapNode[32];
+		for (int i = 0; i < keys.length; i++) {
+			HeapItem item = newItem(keys[i], infos == null ? null : infos[i]);
+			items[i] = item;
+
+			// Add one to the counter, linking equal ranks as the carry moves up
+			HeapNode carry = new HeapNode(item);
+			int rank = 0;
+			while (trees[rank] != null) {
+				carry = link(trees[rank], carry);
+				trees[rank] = null;
+				rank++;
+			}
+			trees[rank] = carry;
+		}
+
+		// Chain the forest from lowest to highest rank and find its minimum
+		BinomialHeap forest = new BinomialHeap();
+		for (HeapNode tree : trees) {
+			if (tree != null) {
+				addToResult(forest, tree);
+			}
+		}
+
+		meldInPlace(forest);
+
+		return items;
+	}
+
 	/**
 	 * 
 	* Delete the minimal item
@@ -61,6 +239,17 @@
 		if (empty()) {
 			return;
 		}
+
+		releaseItem(min.item);
+
+		// Record the pass for Flight Recorder only while the event is enabled
+		BinomialDeleteMinEvent event = null;
+		if (BinomialDeleteMinEvent.TYPE.isEnabled()) {
+			event = new BinomialDeleteMinEvent();
+			event.begin();
+			event.rootsBefore = numTrees();
+			event.removedRank = min.rank;
+		}
 		
 		boolean isMinLast = last == min;
 
@@ -107,7 +296,7 @@
 			newHeap = new BinomialHeap(newLast);
 
 			// Initial new heap size - 2^rank(min.child)
-			newHeap.size = (int)Math.pow(2, min.rank) - 1;
+			newHeap.size = (1 << min.rank) - 1;
 
 			// Find minimum for new heap
 			HeapNode currMin = newLast;
@@ -131,15 +320,80 @@
 		// End of creating new heap
 		
 		// Update size for this
-		size -= Math.pow(2, min.rank);
+		size -= 1 << min.rank;
+		rankSum += min.rank;
 
 		// Update new minimum for this
 		min = newMin;
 
 		// Meld the new heap with this
-		meld(newHeap);
+		meldInPlace(newHeap);
+
+		if (event != null) {
+			// The removed root's children join the roots, every link then removes one
+			event.rootsAfter = numTrees();
+			event.links = event.rootsBefore - 1 + event.removedRank - event.rootsAfter;
+			event.commit();
+		}
 	}
  
+	/**
+	 * 
+	 * Remove the k smallest items and pass their keys to sink, smallest first.
+	 * Returns the number of items removed, min(k, size).
+	 * Throws IllegalArgumentException if k is negative. See drainBelow.
+	 *
+	 */
+	public int drainTo(int k, IntConsumer sink)
+	{
+		if (k < 0) {
+			throw new IllegalArgumentException("k must be non-negative");
+		}
+		return drain(k, Integer.MAX_VALUE, sink, null);
+	}
+
+	/**
+	 * 
+	 * Remove the k smallest items and pass their keys and infos to sink, smallest first.
+	 * Returns the number of items removed, min(k, size).
+	 * Throws IllegalArgumentException if k is negative.
+	 *
+	 */
+	public int drainTo(int k, BiConsumer<Integer, String> sink)
+	{
+		if (k < 0) {
+			throw new IllegalArgumentException("k must be non-negative");
+		}
+		return drain(k, Integer.MAX_VALUE, null, sink);
+	}
+
+	/**
+	 * 
+	 * Remove every item with a key below threshold and pass the keys to sink, smallest
+	 * first. Returns the number of items removed.
+	 * The keys come out as from calls to findMin and deleteMin, but without a meld per
+	 * removal: the roots go into a frontier PriorityQueue, each removed root's children
+	 * join the frontier, and the frontier's trees are linked into a binomial forest once
+	 * at the end. Items with equal keys may come out in a different order than deleteMin
+	 * would take them.
+	 *
+	 */
+	public int drainBelow(int threshold, IntConsumer sink)
+	{
+		return drain(Integer.MAX_VALUE, threshold, sink, null);
+	}
+
+	/**
+	 * 
+	 * Remove every item with a key below threshold and pass the keys and infos to sink,
+	 * smallest first. Returns the number of items removed.
+	 *
+	 */
+	public int drainBelow(int threshold, BiConsumer<Integer, String> sink)
+	{
+		return drain(Integer.MAX_VALUE, threshold, null, sink);
+	}
+
 	 /**
 	  * 
 	  * Return the minimal HeapItem
@@ -204,20 +458,141 @@
 		 }
 	 }
  
+	 /**
+	  * 
+	  * Return the key of the item.
+	  *
+	  */
+	 public int getKey(HeapItem item)
+	 {
+		 return item.key;
+	 }
+ 
+	 /**
+	  * 
+	  * Return the info of the item, materialized from the store if the heap has one.
+	  *
+	  */
+	 public String getInfo(HeapItem item)
+	 {
+		 return store == null ? item.info : store.load(payloadOf(item));
+	 }
+
+	/**
+	 * 
+	 * Return the k smallest items in key order without modifying the heap, as an array
+	 * of min(k, size) items, smallest first. Takes O(k log(k + log n)) time.
+	 * Throws IllegalArgumentException if k is negative.
+	 *
+	 */
+	public HeapItem[] peekSmallest(int k)
+	{
+		if (k < 0) {
+			throw new IllegalArgumentException("k must be non-negative");
+		}
+		HeapItem[] smallest = new HeapItem[Math.min(k, size)];
+		Iterator<HeapItem> items = sortedIterator();
+		for (int i = 0; i < smallest.length; i++) {
+			smallest[i] = items.next();
+		}
+		return smallest;
+	}
+
+	/**
+	 * 
+	 * Return an iterator over the items in key order that leaves the heap untouched.
+	 * A frontier PriorityQueue holds the roots and the children of every node returned
+	 * so far; heap order guarantees its minimum is the next item. The heap must not be
+	 * modified while the iterator is in use.
+	 *
+	 */
+	public Iterator<HeapItem> sortedIterator()
+	{
+		return new SortedIterator();
+	}
+
+	/**
+	 * 
+	 * Return a sequential stream over the items, in no particular order.
+	 * The stream walks the rings in place through the nodes' child, next and parent
+	 * pointers, without copying items. The heap must not be modified while the stream
+	 * is in use.
+	 *
+	 */
+	public Stream<HeapItem> stream()
+	{
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * 
+	 * Return a parallel stream over the items, in no particular order.
+	 * The spliterator splits the root list by tree sizes and a single tree into its root
+	 * and child ring, so the fork-join pool can share out a large forest. The heap must
+	 * not be modified while the stream is in use.
+	 *
+	 */
+	public Stream<HeapItem> parallelStream()
+	{
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/**
+	 * 
+	 * Return a spliterator over the items, backing stream and parallelStream.
+	 * A tree of rank r holds exactly 2^r nodes, so every split part knows its size.
+	 *
+	 */
+	public Spliterator<HeapItem> spliterator()
+	{
+		return new ItemSpliterator(null, last, Integer.bitCount(size), size);
+	}
+ 
 
 	/**
 	 * 
 	* Meld the heap with heap2
+	* The two root lists are merged by rank and added like binary numbers in place.
+	* Ids of heap2's elements move to this heap, in time linear in the smaller id map.
+	* Throws IllegalArgumentException if both heaps hold an element with the same id, or
+	* heap2 keeps its payloads in another store.
 	*
 	*/
 	public void meld(BinomialHeap heap2)
+	{
+		if (heap2 != this && heap2.store != store) {
+			throw new IllegalArgumentException("cannot meld heaps with different payload stores");
+		}
+		meldInPlace(heap2);
+	}
+
+	/**
+	 * 
+	* Meld heap2 into this heap without checking payload stores, for the store-less heaps
+	* that deleteMin and insertAll build from this heap's own items.
+	*
+	*/
+	private void meldInPlace(BinomialHeap heap2)
 	{
 		// Check if any of the heaps are empty
-		// If heap2 or both are empty, do nothing
+		// If heap2 is this, do nothing
+		if (heap2 == this) {
+			return;
+		}
+
+		// If heap2 or both are empty, only the counters move
 		if (heap2.empty()) {
+			adoptCounters(heap2);
 			return;
 		}
 
+		if (heap2.index != null) {
+			if (index != null && index.intersects(heap2.index)) {
+				throw new IllegalArgumentException("heaps share an element id");
+			}
+			adoptIds(heap2);
+		}
+
 		// If this is empty and heap2 is not empty, this = heap2
 		if (empty()) {
 			// Make this heap2
@@ -229,205 +604,422 @@
 			heap2.last = null;
 			heap2.min = null;
 			heap2.size = 0;
+			adoptCounters(heap2);
 
 			return;
 		}
 
 		// If both are not empty
 
-		// Init result heap
-		BinomialHeap result = new BinomialHeap();
-
-		// Find lower ranked heap and higher ranked heap
-		BinomialHeap high = new BinomialHeap(); 
-		BinomialHeap low = new BinomialHeap();
-
-		// If this.last is higher ranked
-		if (last.rank >= heap2.last.rank) {
-			high.last = last;
-			high.min = min;
-			high.size = size;
-			low.last = heap2.last;
-			low.min = heap2.min;
-			low.size = heap2.size;
+		// Record the pass for Flight Recorder only while the event is enabled
+		BinomialMeldEvent event = null;
+		if (BinomialMeldEvent.TYPE.isEnabled()) {
+			event = new BinomialMeldEvent();
+			event.begin();
+			event.rootsBefore = numTrees() + heap2.numTrees();
 		}
 
-		// If heap2.last is higher ranked
-		else {
-			low.last = last;
-			low.min = min;
-			low.size = size;
-			high.last = heap2.last;
-			high.min = heap2.min;
-			high.size = heap2.size;
+		// Open both root rings at their lowest ranks and merge them by rank
+		HeapNode a = last.next;
+		HeapNode b = heap2.last.next;
+		last.next = null;
+		heap2.last.next = null;
+		HeapNode head = null;
+		HeapNode tail = null;
+		while (a != null || b != null) {
+			HeapNode next;
+			if (b == null || (a != null && a.rank <= b.rank)) {
+				next = a;
+				a = a.next;
+			}
+			else {
+				next = b;
+				b = b.next;
+			}
+			if (tail == null) {
+				head = next;
+			}
+			else {
+				tail.next = next;
+			}
+			tail = next;
 		}
 
-		// Init curr and next pointers
-		HeapNode highCurr = high.last.next;
-		HeapNode lowCurr = low.last.next;
-		HeapNode highNext = null;
-		HeapNode lowNext = null;
-		HeapNode carry = null;
-
-		while (!low.empty()) {
-
-			// If carry is null
-			if (carry == null) {
-
-				// If lowCurr and highCurr have same rank
-				if (lowCurr.rank == highCurr.rank) {
-
-					// Save next pointers
-					lowNext = lowCurr.next;
-					highNext = highCurr.next;
-
-					// Update sizes
-					low.size -= (int)Math.pow(2, lowCurr.rank);
-					high.size -= (int)Math.pow(2, highCurr.rank);
-
-					// Link and save carry
-					carry = link(highCurr, lowCurr);
-
-					// Move pointers to next
-					lowCurr = lowNext;
-					highCurr = highNext;
-				}
-
-				// If low curr is lesser ranked than high curr
-				else if (lowCurr.rank < highCurr.rank) {
-					
-					// Save next
-					lowNext = lowCurr.next;
-
-					// Add low curr to result
-					addToResult(result, lowCurr);
-
-					// Update size
-					low.size -= (int)Math.pow(2, lowCurr.rank);
-
-					// Update curr pointer to next
-					lowCurr = lowNext;
+		// Link equal ranks left to right, like adding two binary numbers. When three
+		// trees share a rank (two roots and a carry), the first stays and the others link.
+		HeapNode prev = null;
+		HeapNode curr = head;
+		HeapNode next = curr.next;
+		while (next != null) {
+			if (curr.rank != next.rank || (next.next != null && next.next.rank == curr.rank)) {
+				prev = curr;
+				curr = next;
+			}
+			else {
+				HeapNode rest = next.next;
+				curr = link(curr, next);
+				curr.next = rest;
+				if (prev == null) {
+					head = curr;
 				}
-
-				// If high curr is lesser ranked than low curr
 				else {
-					
-					// Save next
-					highNext = highCurr.next;
-
-					// Add low curr to result
-					addToResult(result, highCurr);
-
-					// Update size
-					high.size -= (int)Math.pow(2, highCurr.rank);
-
-					// Update curr pointer to next
-					highCurr = highNext;
+					prev.next = curr;
 				}
 			}
+			next = curr.next;
+		}
 
-			// If carry is not null
-			else {
-				// If lowCurr and highCurr have same rank
-				if (lowCurr.rank == highCurr.rank) {
-
-					// Add carry to result
-					addToResult(result, carry);
+		// Close the ring and find the minimum among the remaining roots
+		curr.next = head;
+		last = curr;
+		min = head;
+		for (HeapNode root = head.next; root != head; root = root.next) {
+			if (root.item.key < min.item.key) {
+				min = root;
+			}
+		}
+		size += heap2.size;
+
+		// Empty heap2, its trees now belong to this
+		heap2.last = null;
+		heap2.min = null;
+		heap2.size = 0;
+		adoptCounters(heap2);
+
+		if (event != null) {
+			event.rootsAfter = numTrees();
+			event.links = event.rootsBefore - event.rootsAfter;
+			event.size = size;
+			event.commit();
+		}
+	}
 
-					// Save next pointers
-					lowNext = lowCurr.next;
-					highNext = highCurr.next;
+	/**
+	 * 
+	 * Meld the heap with all heaps in heaps.
+	 *
+	 * Instead of k sequential melds, every root of this heap and of the inputs is dropped
+	 * into a bucket by rank, linking equal ranks and carrying upward, and the root list is
+	 * rebuilt once from the buckets. Every input is left empty, as with meld.
+	 * Throws IllegalArgumentException, changing no heap, if two of the heaps hold an
+	 * element with the same id or one keeps its payloads in another store.
+	 *
+	 */
+	public void meldAll(Collection<BinomialHeap> heaps)
+	{
+		if (heaps == null) {
+			return;
+		}
+		for (BinomialHeap heap2 : heaps) {
+			if (heap2 != null && heap2.store != store) {
+				throw new IllegalArgumentException("cannot meld heaps with different payload stores");
+			}
+		}
+		checkDistinctIds(heaps);
+
+		// buckets[r] holds the tree of rank r collected so far
+		HeapNode[] buckets = new HeapNode[32];
+		addRootsToBuckets(this, buckets);
+		for (BinomialHeap heap2 : heaps) {
+			if (heap2 == null || heap2 == this) {
+				continue;
+			}
+			adoptCounters(heap2);
+			if (heap2.empty()) {
+				continue;
+			}
+			addRootsToBuckets(heap2, buckets);
+			adoptIds(heap2);
+			heap2.last = null;
+			heap2.min = null;
+			heap2.size = 0;
+		}
 
-					// Update sizes
-					low.size -= (int)Math.pow(2, lowCurr.rank);
-					high.size -= (int)Math.pow(2, highCurr.rank);
+		// Rebuild the root list from lowest to highest rank
+		BinomialHeap result = new BinomialHeap();
+		for (HeapNode tree : buckets) {
+			if (tree != null) {
+				addToResult(result, tree);
+			}
+		}
 
-					// Link and save carry
-					carry = link(highCurr, lowCurr);
+		last = result.last;
+		min = result.min;
+		size = result.size;
+	}
 
-					// Move pointers to next
-					lowCurr = lowNext;
-					highCurr = highNext;
+	/**
+	 * 
+	* Register the ids of restored items, after a snapshot's forest was built into this heap
+	*   
+	*/
+	void indexItems(HeapItem[] items) {
+		for (HeapItem item : items) {
+			if (item instanceof IndexedItem) {
+				if (index == null) {
+					index = new IdIndex<>();
 				}
+				index.put(((IndexedItem) item).id, item);
+			}
+		}
+	}
 
-				// If carry rank is low rank
-				else if (carry.rank == lowCurr.rank) {
-					// Save next
-					lowNext = lowCurr.next;
-
-					// Update size
-					low.size -= (int)Math.pow(2, lowCurr.rank);
-
-					// Link and save carry
-					carry = link(carry, lowCurr);
+	/**
+	 * 
+	* Create a detached item carrying an external id, for restoring a snapshot
+	*   
+	*/
+	HeapItem newIndexedItem(int key, String info, long id) {
+		return new IndexedItem(key, info, id);
+	}
 
-					// Update curr pointer to next
-					lowCurr = lowNext;					
-				}
+	/**
+	 * 
+	* Return the item of the element with this id, throwing if there is none
+	*   
+	*/
+	private HeapItem itemById(long id) {
+		HeapItem item = findById(id);
+		if (item == null) {
+			throw new IllegalArgumentException("no element with id " + id);
+		}
+		return item;
+	}
 
-				// If carry rank is high rank
-				else if (carry.rank == highCurr.rank) {
-					// Save next
-					highNext = highCurr.next;
+	/**
+	 * 
+	* Move heap2's ids into this heap's map, adding the smaller map into the larger one
+	*   
+	*/
+	private void adoptIds(BinomialHeap heap2) {
+		if (heap2.index == null || heap2.index.size() == 0) {
+			return;
+		}
+		IdIndex<HeapItem> larger = heap2.index;
+		IdIndex<HeapItem> smaller = index;
+		if (smaller != null && smaller.size() > larger.size()) {
+			larger = index;
+			smaller = heap2.index;
+		}
+		if (smaller != null) {
+			larger.putAll(smaller);
+			smaller.clear();
+		}
+		index = larger;
+		heap2.index = smaller;
+	}
 
-					// Update size
-					high.size -= (int)Math.pow(2, highCurr.rank);
+	/**
+	 * 
+	* Throw IllegalArgumentException if an id is held by more than one of this heap and heaps
+	*   
+	*/
+	private void checkDistinctIds(Collection<BinomialHeap> heaps) {
+		IdIndex<HeapItem> seen = null;
+		for (BinomialHeap heap2 : heaps) {
+			if (heap2 == null || heap2 == this || heap2.index == null || heap2.index.size() == 0) {
+				continue;
+			}
+			if ((index != null && index.intersects(heap2.index))
+					|| (seen != null && seen.intersects(heap2.index))) {
+				throw new IllegalArgumentException("heaps share an element id");
+			}
+			if (seen == null) {
+				seen = new IdIndex<>();
+			}
+			seen.putAll(heap2.index);
+		}
+	}
 
-					// Link and save carry
-					carry = link(carry, highCurr);
+	/**
+	 * 
+	* Move every root of heap into buckets by rank, linking a root with the tree already
+	* in its bucket and carrying the result to the next rank
+	*   
+	*/
+	private void addRootsToBuckets(BinomialHeap heap, HeapNode[] buckets) {
+		if (heap.empty()) {
+			return;
+		}
 
-					// Update curr pointer to next
-					highCurr = highNext;		
-				}
+		HeapNode curr = heap.last.next;
+		int numOfRoots = heap.numTrees();
+		for (int i = 0; i < numOfRoots; i++) {
+			// Save next before linking changes it
+			HeapNode next = curr.next;
+
+			HeapNode carry = curr;
+			int rank = carry.rank;
+			while (buckets[rank] != null) {
+				carry = link(buckets[rank], carry);
+				buckets[rank] = null;
+				rank++;
+			}
+			buckets[rank] = carry;
 
-				// Carry is the lowest ranked
-				else {
+			curr = next;
+		}
+	}
 
-					// Add to result
-					addToResult(result, carry);
+	/**
+	 * 
+	 * Remove up to k items with keys below threshold in key order, passing them to keys
+	 * or entries (whichever is not null), and rebuild the forest once.
+	 *
+	 */
+	private int drain(int k, int threshold, IntConsumer keys, BiConsumer<Integer, String> entries)
+	{
+		if (k == 0 || empty() || min.item.key >= threshold) {
+			return 0;
+		}
 
-					// Nullify carry
-					carry = null;
+		// The frontier holds exactly the roots of the remaining trees
+		PriorityQueue<HeapNode> frontier = new PriorityQueue<>((a, b) -> Integer.compare(a.item.key, b.item.key));
+		HeapNode root = last;
+		do {
+			frontier.add(root);
+			root = root.next;
+		} while (root != last);
+
+		int removed = 0;
+		try {
+			while (removed < k && !frontier.isEmpty() && frontier.peek().item.key < threshold) {
+				HeapNode x = frontier.poll();
+				if (x.child != null) {
+					HeapNode child = x.child;
+					do {
+						child.parent = null;
+						frontier.add(child);
+						child = child.next;
+					} while (child != x.child);
+				}
+				size--;
+				removed++;
+				rankSum += x.rank;
+				// Materialize the payload before releaseItem gives it back to the store
+				String info = keys != null ? null : getInfo(x.item);
+				releaseItem(x.item);
+				if (keys != null) {
+					keys.accept(x.item.key);
+				} else {
+					entries.accept(x.item.key, info);
 				}
 			}
-		}
-
-		// Link until there is no carry (or high is empty)
-		while (carry != null && !high.empty()) {
-			if (carry.rank == highCurr.rank) {
-				highNext = highCurr.next;
-				high.size -= (int)Math.pow(2, highCurr.rank);
-				carry = link(carry, highCurr);
-				highCurr = highNext;
+		} finally {
+			// Link the remaining trees like a binary counter, even if the sink throws
+			HeapNode[] trees = new HeapNode[32];
+			for (HeapNode carry : frontier) {
+				carry.parent = null;
+				while (trees[carry.rank] != null) {
+					HeapNode other = trees[carry.rank];
+					trees[carry.rank] = null;
+					carry = link(other, carry);
+				}
+				trees[carry.rank] = carry;
 			}
-			else {
-				addToResult(result, carry);
-				carry = null;
+			BinomialHeap forest = new BinomialHeap();
+			for (HeapNode tree : trees) {
+				if (tree != null) {
+					addToResult(forest, tree);
+				}
 			}
+			last = forest.last;
+			min = forest.min;
 		}
+		return removed;
+	}
 
-		// If carry is null and high is not empty
-		if (carry == null && !high.empty()) {
-			high.last.next = result.last.next;
-			result.last.next = highCurr;
-			result.last = high.last;
-			result.size += high.size;
+	/**
+	 * 
+	 * Create an item for insert, holding info itself or a reference into the store.
+	 *
+	 */
+	private HeapItem newItem(int key, String info)
+	{
+		return store == null ? new HeapItem(key, info) : new StoredItem(key, store.store(info));
+	}
 
-			// Update minimum if needed
-			if (result.min.item.key > high.min.item.key) {
-				result.min = high.min;
-			}
+	/**
+	 * 
+	 * Forget a removed item: drop its id and give its payload back to the store.
+	 *
+	 */
+	private void releaseItem(HeapItem item)
+	{
+		if (index != null && item instanceof IndexedItem) {
+			index.remove(((IndexedItem) item).id);
+		}
+		if (store != null) {
+			store.release(payloadOf(item));
 		}
+	}
+
+	/**
+	 * 
+	 * Return the store reference of an item in a heap with a store.
+	 *
+	 */
+	private long payloadOf(HeapItem item)
+	{
+		return item instanceof StoredItem ? ((StoredItem) item).payload : ((StoredIndexedItem) item).payload;
+	}
 
-		// If carry is not null and high is empty
-		else if (carry != null && high.empty()) {
-			addToResult(result, carry);
-			carry = null;
+	/**
+	 * 
+	 * Move heap2's linkCounter and rankSum to this heap and zero them in heap2.
+	 *
+	 */
+	private void adoptCounters(BinomialHeap heap2)
+	{
+		linkCounter += heap2.linkCounter;
+		rankSum += heap2.rankSum;
+		heap2.linkCounter = 0;
+		heap2.rankSum = 0;
+	}
+
+	/**
+	 * 
+	 * Add a new rank-0 node like incrementing a binary counter: while the lowest root has
+	 * the carry's rank, take it off the ring and link it with the carry, then put the
+	 * carry in front. Costs one step per link, with no temporary heap and no meld.
+	 *
+	 */
+	private void addRankZero(HeapNode carry)
+	{
+		size++;
+		if (last == null) {
+			last = carry;
+			carry.next = carry;
+			min = carry;
+			return;
 		}
 
-		last = result.last;
-		min = result.min;
-		size = result.size;	
+		HeapNode first = last.next;
+		while (first.rank == carry.rank) {
+			HeapNode rest = first.next;
+			boolean wasLast = first == last;
+			carry = link(first, carry);
+			if (wasLast) {
+				// The carry took every root
+				last = null;
+				break;
+			}
+			last.next = rest;
+			first = rest;
+		}
+
+		if (last == null) {
+			last = carry;
+			carry.next = carry;
+		}
+		else {
+			carry.next = last.next;
+			last.next = carry;
+		}
+		// A linked-away minimum lies under a root with an equal or smaller key
+		if (min.parent != null || carry.item.key < min.item.key) {
+			min = carry;
+		}
 	}
 
 	/**
@@ -436,7 +1028,7 @@
 	*   
 	*/
 	private void addToResult(BinomialHeap res, HeapNode node) {
-		int sizeToAdd = (int)Math.pow(2, node.rank);
+		int sizeToAdd = 1 << node.rank;
 		
 		// If result heap is empty, add node to it for the first time
 		if (res.empty()) {
@@ -492,6 +1084,7 @@
 
 		// Update rank
 		x.rank += 1;
+		linkCounter++;
 		
 		return x;
 	}
@@ -603,6 +1196,211 @@
 			 info = i;
 		 }
 	 }
+
+	/**
+	 * Walks the forest in key order through a frontier of nodes whose parents have
+	 * already been returned.
+	 */
+	private final class SortedIterator implements Iterator<HeapItem> {
+		private final PriorityQueue<HeapNode> frontier;
+
+		SortedIterator() {
+			this.frontier = new PriorityQueue<>((a, b) -> Integer.compare(a.item.key, b.item.key));
+			if (!empty()) {
+				addRing(last);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !frontier.isEmpty();
+		}
+
+		@Override
+		public HeapItem next() {
+			HeapNode node = frontier.poll();
+			if (node == null) {
+				throw new NoSuchElementException();
+			}
+			addRing(node.child);
+			return node.item;
+		}
+
+		private void addRing(HeapNode first) {
+			if (first == null) {
+				return;
+			}
+			HeapNode x = first;
+			do {
+				frontier.add(x);
+				x = x.next;
+			} while (x != first);
+		}
+	}
+
+	/**
+	 * Walks a segment of sibling trees in place, optionally after a lone node whose
+	 * subtree was handed to the segment. Within a tree, the next node is the first child,
+	 * or else the next sibling, climbing through parents at the end of each child ring.
+	 */
+	private final class ItemSpliterator implements Spliterator<HeapItem> {
+		private HeapNode lone;
+		private HeapNode first;
+		private int count;
+		private long remaining;
+		private HeapNode cursor;
+
+		ItemSpliterator(HeapNode lone, HeapNode first, int count, long remaining) {
+			this.lone = lone;
+			this.first = first;
+			this.count = count;
+			this.remaining = remaining;
+			this.cursor = null;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super HeapItem> action) {
+			HeapNode x;
+			if (lone != null) {
+				x = lone;
+				lone = null;
+			} else if (count > 0) {
+				x = cursor == null ? first : cursor;
+				cursor = successor(x, first);
+				if (cursor == null) {
+					first = first.next;
+					count--;
+				}
+			} else {
+				return false;
+			}
+			remaining--;
+			action.accept(x.item);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super HeapItem> action) {
+			HeapNode x = lone;
+			HeapNode tree = first;
+			HeapNode next = cursor;
+			int trees = count;
+			lone = null;
+			cursor = null;
+			count = 0;
+			remaining = 0;
+			if (x != null) {
+				action.accept(x.item);
+			}
+			for (; trees > 0; trees--, tree = tree.next, next = null) {
+				for (x = next == null ? tree : next; x != null; x = successor(x, tree)) {
+					action.accept(x.item);
+				}
+			}
+		}
+
+		@Override
+		public Spliterator<HeapItem> trySplit() {
+			// A tree already being walked stays with this spliterator
+			if (cursor != null || count == 0) {
+				return null;
+			}
+			if (count == 1) {
+				if (lone != null) {
+					// Keep the lone node and hand off the tree
+					ItemSpliterator tree = new ItemSpliterator(null, first, 1, remaining - 1);
+					count = 0;
+					remaining = 1;
+					return tree;
+				}
+				if (first.child == null) {
+					return null;
+				}
+				// Split the tree into its root and its child ring
+				lone = first;
+				first = lone.child;
+				count = lone.rank;
+				return trySplit();
+			}
+			// Hand off a prefix with about half the nodes, leaving at least one tree
+			long trees = remaining - (lone == null ? 0 : 1);
+			HeapNode x = first;
+			int taken = 0;
+			long takenSize = 0;
+			do {
+				takenSize += 1L << x.rank;
+				x = x.next;
+				taken++;
+			} while (taken < count - 1 && 2 * takenSize < trees);
+			ItemSpliterator prefix = new ItemSpliterator(null, first, taken, takenSize);
+			first = x;
+			count -= taken;
+			remaining -= takenSize;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return remaining;
+		}
+
+		@Override
+		public int characteristics() {
+			return SIZED | SUBSIZED | NONNULL | DISTINCT;
+		}
+
+		private HeapNode successor(HeapNode x, HeapNode root) {
+			if (x.child != null) {
+				return x.child;
+			}
+			while (x != root) {
+				if (x.next != x.parent.child) {
+					return x.next;
+				}
+				x = x.parent;
+			}
+			return null;
+		}
+	}
+
+	 /**
+	  * An item inserted with an external id.
+	  *  
+	  */
+	 class IndexedItem extends HeapItem {
+		 final long id;
+
+		 IndexedItem(int k, String i, long id) {
+			 super(k, i);
+			 this.id = id;
+		 }
+	 }
+
+	 /**
+	  * An item of a heap with a PayloadStore, holding a store reference instead of info.
+	  *  
+	  */
+	 final class StoredItem extends HeapItem {
+		 final long payload;
+
+		 StoredItem(int k, long payload) {
+			 super(k, null);
+			 this.payload = payload;
+		 }
+	 }
+
+	 /**
+	  * An item of a heap with a PayloadStore inserted with an external id.
+	  *  
+	  */
+	 final class StoredIndexedItem extends IndexedItem {
+		 final long payload;
+
+		 StoredIndexedItem(int k, long payload, long id) {
+			 super(k, null, id);
+			 this.payload = payload;
+		 }
+	 }
  
  }
  
\ No newline at end of file
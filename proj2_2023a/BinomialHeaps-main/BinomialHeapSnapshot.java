@@ -0,0 +1,213 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * BinomialHeapSnapshot
+ *
+ * A compact binary image of a BinomialHeap's forest, written through a FileChannel and
+ * restored by mapping the file, so a large heap comes back in one linear pass instead of
+ * n inserts and the melds behind them.
+ *
+ * Layout: a header of magic, version, size and root count, then one record per node in
+ * preorder, roots in ascending rank and children likewise. A record is the key, the rank,
+ * the item's external id if it has one, and the info as a UTF-8 length (-1 for null)
+ * followed by its bytes. HAS_ID is set in the rank when an id follows; version 1 files
+ * have no ids. The rank is the number of children, so the next rank records after a node
+ * are its subtrees.
+ *
+ * An element's id is the preorder index of the node holding its item. write returns the
+ * items in id order, and read returns the restored item of every id, so handles kept by
+ * id survive a restart. Items inserted with insertWithId keep their external ids.
+ */
+public final class BinomialHeapSnapshot
+{
+	private static final int MAGIC = 0x42485331;
+	private static final int VERSION = 2;
+	private static final int HAS_ID = 1 << 30;
+
+	private final BinomialHeap heap;
+	private final BinomialHeap.HeapItem[] items;
+
+	private BinomialHeapSnapshot(BinomialHeap heap, BinomialHeap.HeapItem[] items) {
+		this.heap = heap;
+		this.items = items;
+	}
+
+	/**
+	 * 
+	 * Write a snapshot of heap to path, replacing any existing file only once the new
+	 * snapshot is complete. Returns the heap's items, indexed by element id.
+	 * Payloads kept in a PayloadStore are written as strings, and restore into info.
+	 *
+	 */
+	public static BinomialHeap.HeapItem[] write(BinomialHeap heap, Path path) throws IOException
+	{
+		BinomialHeap.HeapItem[] items = new BinomialHeap.HeapItem[heap.size()];
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			SnapshotWriter out = new SnapshotWriter(channel);
+			out.putInt(MAGIC);
+			out.putInt(VERSION);
+			out.putInt(heap.size());
+			out.putInt(heap.numTrees());
+
+			// Roots from lowest to highest rank, last being the highest
+			int id = 0;
+			if (!heap.empty()) {
+				BinomialHeap.HeapNode root = heap.last.next;
+				do {
+					id = writeTree(out, heap, root, items, id);
+					root = root.next;
+				} while (root != heap.last.next);
+			}
+			out.flush();
+			channel.force(false);
+		}
+		SnapshotWriter.moveIntoPlace(temp, path);
+		return items;
+	}
+
+	/**
+	 * 
+	 * Restore a heap from a snapshot written by write.
+	 * Throws IOException if the file cannot be read or is not a valid snapshot.
+	 *
+	 */
+	public static BinomialHeapSnapshot read(Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			SnapshotReader in = new SnapshotReader(channel);
+			if (in.getInt() != MAGIC) {
+				throw new IOException("not a BinomialHeap snapshot: " + path);
+			}
+			int version = in.getInt();
+			if (version < 1 || version > VERSION) {
+				throw new IOException("unsupported snapshot version " + version);
+			}
+			int size = in.getInt();
+			int roots = in.getInt();
+
+			BinomialHeap heap = new BinomialHeap();
+			BinomialHeap.HeapItem[] items = new BinomialHeap.HeapItem[size];
+			int[] next = {0};
+			for (int r = 0; r < roots; r++) {
+				BinomialHeap.HeapNode root = readTree(in, heap, null, items, next);
+
+				// Append root after last, keeping the ring ascending by rank
+				if (heap.last == null) {
+					heap.min = root;
+				} else {
+					root.next = heap.last.next;
+					heap.last.next = root;
+					if (root.item.key < heap.min.item.key) {
+						heap.min = root;
+					}
+				}
+				heap.last = root;
+			}
+			if (next[0] != size) {
+				throw new IOException("snapshot holds " + next[0] + " nodes, header says " + size);
+			}
+			heap.size = size;
+			heap.indexItems(items);
+			return new BinomialHeapSnapshot(heap, items);
+		}
+	}
+
+	/**
+	 * 
+	 * Return the restored heap.
+	 *
+	 */
+	public BinomialHeap heap()
+	{
+		return heap;
+	}
+
+	/**
+	 * 
+	 * Return the restored item of an element id.
+	 *
+	 */
+	public BinomialHeap.HeapItem item(int id)
+	{
+		return items[id];
+	}
+
+	/**
+	 * 
+	 * Return the restored items, indexed by element id.
+	 *
+	 */
+	public BinomialHeap.HeapItem[] items()
+	{
+		return items;
+	}
+
+	// Helper functions
+
+	/**
+	 * 
+	 * Write a tree in preorder, children from lowest to highest rank.
+	 * Returns the id following the tree's last node.
+	 *
+	 */
+	private static int writeTree(SnapshotWriter out, BinomialHeap heap, BinomialHeap.HeapNode node,
+			BinomialHeap.HeapItem[] items, int id) throws IOException {
+		items[id++] = node.item;
+		out.putInt(node.item.key);
+		boolean hasId = node.item instanceof BinomialHeap.IndexedItem;
+		out.putInt(hasId ? node.rank | HAS_ID : node.rank);
+		if (hasId) {
+			out.putLong(((BinomialHeap.IndexedItem) node.item).id);
+		}
+		out.putString(heap.getInfo(node.item));
+
+		// child is the highest ranked child, so child.next is the lowest
+		if (node.child != null) {
+			BinomialHeap.HeapNode child = node.child.next;
+			do {
+				id = writeTree(out, heap, child, items, id);
+				child = child.next;
+			} while (child != node.child.next);
+		}
+		return id;
+	}
+
+	/**
+	 * 
+	 * Read a tree written by writeTree, building its child ring as it goes.
+	 *
+	 */
+	private static BinomialHeap.HeapNode readTree(SnapshotReader in, BinomialHeap heap, BinomialHeap.HeapNode parent,
+			BinomialHeap.HeapItem[] items, int[] next) throws IOException {
+		int key = in.getInt();
+		int rank = in.getInt();
+		boolean hasId = (rank & HAS_ID) != 0;
+		rank &= ~HAS_ID;
+		long id = hasId ? in.getLong() : 0;
+		String info = in.getString();
+		if (next[0] >= items.length) {
+			throw new IOException("snapshot holds more nodes than its header says");
+		}
+		BinomialHeap.HeapItem item = hasId ? heap.newIndexedItem(key, info, id) : heap.new HeapItem(key, info);
+		BinomialHeap.HeapNode node = heap.new HeapNode(item);
+		items[next[0]++] = item;
+		node.parent = parent;
+		node.rank = rank;
+		for (int i = 0; i < rank; i++) {
+			BinomialHeap.HeapNode child = readTree(in, heap, node, items, next);
+
+			// Children arrive in ascending rank; the latest read is the highest
+			if (node.child != null) {
+				child.next = node.child.next;
+				node.child.next = child;
+			}
+			node.child = child;
+		}
+		return node;
+	}
+}
@@ -0,0 +1,33 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * BinomialMeldEvent
+ *
+ * A Flight Recorder event for one BinomialHeap meld of two non-empty heaps. Every
+ * link removes one root, so links is the drop from both heaps' roots to the result's.
+ */
+@Name("BinomialHeap.Meld")
+@Label("Meld")
+@Category({"Heaps", "BinomialHeap"})
+@Description("A meld of two non-empty binomial heaps")
+public final class BinomialMeldEvent extends jdk.jfr.Event {
+
+	/** Checked before the event is created, so a disabled event costs one call. */
+	static final EventType TYPE = EventType.getEventType(BinomialMeldEvent.class);
+
+	@Label("Roots Before")
+	int rootsBefore;
+
+	@Label("Roots After")
+	int rootsAfter;
+
+	@Label("Links")
+	int links;
+
+	@Label("Heap Size")
+	int size;
+}
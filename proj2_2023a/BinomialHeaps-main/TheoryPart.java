@@ -2,14 +2,21 @@ import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 
+/**
+ * Usage: java TheoryPart [dict|arena]
+ *
+ * With an argument, the Integer.toString payloads are kept in a DictionaryPayloadStore
+ * or an ArenaPayloadStore rather than in the heap items.
+ */
 public class TheoryPart {
     public static void main(String[] args) {
-        
+        String storage = args.length > 0 ? args[0] : "";
+
         for (int i = 1; i < 7; i++) {
             System.out.println("\ni: " + i);
             int n = (int)Math.pow(3, i + 5) - 1;
             System.out.println("n: " + n);
-            BinomialHeap firstTestHeap = new BinomialHeap();
+            BinomialHeap firstTestHeap = new BinomialHeap(newStore(storage));
 
             long startTime = System.currentTimeMillis();
 
@@ -82,6 +89,17 @@ public class TheoryPart {
 
     }
 
+    public static PayloadStore newStore(String storage) {
+        switch (storage) {
+            case "dict":
+                return new DictionaryPayloadStore();
+            case "arena":
+                return new ArenaPayloadStore();
+            default:
+                return null;
+        }
+    }
+
     public static int numOfOnesInBinaryRep(int n) {
         int count = 0;
 
@@ -0,0 +1,83 @@
+/**
+ * AddressableHeap
+ *
+ * The operations shared by the heap engines: a min-heap over positive int keys with
+ * String payloads, where insert returns a handle that later addresses the element for
+ * decreaseKey and delete. The handle type H is the engine's own node or item class, so
+ * engines keep their handle-based APIs and code written against this interface can
+ * switch engines through HeapEngines without changes.
+ *
+ * meld is not part of the interface, since every engine only melds with its own kind.
+ *
+ * @param <H> The engine's handle type.
+ */
+public interface AddressableHeap<H> {
+
+    /**
+     * Insert (key, info) into the heap and return the new element's handle.
+     *
+     * @param key  The key of the new element (must be > 0).
+     * @param info The associated data for the new element.
+     * @return The handle of the new element.
+     */
+    H insert(int key, String info);
+
+    /**
+     * Return the handle of the minimal element.
+     *
+     * @return The handle of the element with the minimum key, or null if the heap is empty.
+     */
+    H findMin();
+
+    /**
+     * Delete the minimal element. Does nothing if the heap is empty.
+     */
+    void deleteMin();
+
+    /**
+     * Decrease the key of an element by diff.
+     *
+     * @param x    The handle of an element in the heap.
+     * @param diff The amount to decrease the key (must be > 0).
+     */
+    void decreaseKey(H x, int diff);
+
+    /**
+     * Delete an element from the heap.
+     *
+     * @param x The handle of an element in the heap.
+     */
+    void delete(H x);
+
+    /**
+     * Return the key of an element.
+     *
+     * @param x The handle of an element.
+     * @return The element's key.
+     */
+    int getKey(H x);
+
+    /**
+     * Return the data associated with an element.
+     *
+     * @param x The handle of an element.
+     * @return The element's info.
+     */
+    String getInfo(H x);
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The number of elements.
+     */
+    int size();
+
+    /**
+     * Return whether the heap holds no elements.
+     *
+     * @return true if the heap is empty.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,180 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * ArenaPayloadStore
+ *
+ * A PayloadStore that copies payloads as UTF-8 into direct ByteBuffer chunks, so a
+ * payload costs its encoded bytes off the Java heap and nothing the garbage collector
+ * has to trace. A reference packs the chunk, the offset in the chunk and the length:
+ *
+ *   chunk (22 bits) | offset (22 bits) | length + 1 (20 bits)
+ *
+ * so loading needs no header and NULL_REF (0) never collides with a payload, not even
+ * the empty string.
+ *
+ * Space is bump allocated. A released payload of at most REUSE_LENGTH bytes goes on a
+ * free list for its exact length and is reused by the next payload of that length,
+ * which covers the short, similar-length payloads heaps usually carry. Longer released
+ * payloads are only counted in wastedBytes.
+ */
+public class ArenaPayloadStore implements PayloadStore {
+
+    /**
+     * The longest payload, in UTF-8 bytes, the store accepts.
+     */
+    public static final int MAX_LENGTH = (1 << 20) - 2;
+
+    private static final int LENGTH_BITS = 20;
+    private static final int OFFSET_BITS = 22;
+    private static final int CHUNK_SIZE = 1 << OFFSET_BITS;
+    private static final int REUSE_LENGTH = 64;
+
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    private int position;
+    private final long[][] freeSlots;
+    private final int[] freeCounts;
+    private long wastedBytes;
+    private byte[] scratch;
+
+    /**
+     * Constructor to initialize an empty arena. The first chunk is allocated on the
+     * first non-empty payload.
+     */
+    public ArenaPayloadStore() {
+        this.chunks = new ByteBuffer[4];
+        this.chunkCount = 0;
+        this.position = CHUNK_SIZE;
+        this.freeSlots = new long[REUSE_LENGTH + 1][];
+        this.freeCounts = new int[REUSE_LENGTH + 1];
+        this.wastedBytes = 0;
+        this.scratch = new byte[64];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException If the payload is longer than MAX_LENGTH bytes.
+     */
+    @Override
+    public long store(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        int chars = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < chars && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        byte[] bytes = ascii ? null : value.getBytes(StandardCharsets.UTF_8);
+        int length = ascii ? chars : bytes.length;
+        if (length > MAX_LENGTH) {
+            throw new IllegalArgumentException("payload of " + length + " bytes exceeds " + MAX_LENGTH);
+        }
+
+        long address = allocate(length);
+        if (length > 0) {
+            ByteBuffer chunk = chunks[(int) (address >>> OFFSET_BITS)];
+            int offset = (int) address & (CHUNK_SIZE - 1);
+            if (ascii) {
+                for (int i = 0; i < length; i++) {
+                    chunk.put(offset + i, (byte) value.charAt(i));
+                }
+            } else {
+                chunk.put(offset, bytes);
+            }
+        }
+        return address << LENGTH_BITS | (length + 1);
+    }
+
+    @Override
+    public String load(long ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        int length = length(ref);
+        if (length == 0) {
+            return "";
+        }
+        long address = ref >>> LENGTH_BITS;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        chunks[(int) (address >>> OFFSET_BITS)].get((int) address & (CHUNK_SIZE - 1), scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void release(long ref) {
+        if (ref == NULL_REF) {
+            return;
+        }
+        int length = length(ref);
+        if (length == 0) {
+            return;
+        }
+        if (length > REUSE_LENGTH) {
+            wastedBytes += length;
+            return;
+        }
+        long[] slots = freeSlots[length];
+        if (slots == null) {
+            slots = freeSlots[length] = new long[16];
+        } else if (freeCounts[length] == slots.length) {
+            slots = freeSlots[length] = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[freeCounts[length]++] = ref >>> LENGTH_BITS;
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return (long) chunkCount * CHUNK_SIZE;
+    }
+
+    /**
+     * Return the bytes of released payloads that cannot be reused, plus the unused
+     * tails of full chunks.
+     *
+     * @return The wasted bytes.
+     */
+    public long wastedBytes() {
+        return wastedBytes;
+    }
+
+    // Helper functions
+
+    /**
+     * Find room for a payload: a freed slot of the same length, or the end of the
+     * current chunk, starting a new chunk if it does not fit.
+     *
+     * @param length The payload's length in bytes.
+     * @return The payload's address, chunk << OFFSET_BITS | offset.
+     */
+    private long allocate(int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (length <= REUSE_LENGTH && freeCounts[length] > 0) {
+            return freeSlots[length][--freeCounts[length]];
+        }
+        if (position + length > CHUNK_SIZE) {
+            if (chunkCount > 0) {
+                wastedBytes += CHUNK_SIZE - position;
+            }
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            position = 0;
+        }
+        long address = (long) (chunkCount - 1) << OFFSET_BITS | position;
+        position += length;
+        return address;
+    }
+
+    private static int length(long ref) {
+        return (int) (ref & ((1 << LENGTH_BITS) - 1)) - 1;
+    }
+}
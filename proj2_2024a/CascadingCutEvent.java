@@ -0,0 +1,28 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * CascadingCutEvent
+ *
+ * A Flight Recorder event for one FibonacciHeap cascading cut that cut at least one
+ * ancestor. Cascades that only mark the parent are not recorded.
+ */
+@Name("FibonacciHeap.CascadingCut")
+@Label("Cascading Cut")
+@Category({"Heaps", "FibonacciHeap"})
+@Description("A chain of cuts up a marked path")
+public final class CascadingCutEvent extends jdk.jfr.Event {
+
+    /** Checked before the event is created, so a disabled event costs one call. */
+    static final EventType TYPE = EventType.getEventType(CascadingCutEvent.class);
+
+    @Label("Depth")
+    @Description("The number of ancestors cut")
+    int depth;
+
+    @Label("Roots After")
+    int rootsAfter;
+}
@@ -0,0 +1,306 @@
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConcurrentFibonacciHeap
+ *
+ * A thread-safe Fibonacci heap built on flat combining. Each thread publishes its
+ * operation in its own request slot; whichever thread acquires the lock becomes the
+ * combiner and applies every pending request to the underlying FibonacciHeap in one
+ * pass, while the other threads wait for their slot to be answered.
+ *
+ * The underlying heap runs in deferred decreaseKey mode, so the decreaseKeys of one
+ * batch are cut together by the batch's next deleteMin.
+ *
+ * An exception thrown by one request is handed back to the thread that posted it; the
+ * rest of the batch is still applied. The slots of threads that have died are dropped
+ * when a new thread registers and every PRUNE_INTERVAL batches.
+ */
+public class ConcurrentFibonacciHeap {
+
+    private static final int NONE = 0;
+    private static final int INSERT = 1;
+    private static final int DECREASE_KEY = 2;
+    private static final int DELETE = 3;
+    private static final int DELETE_MIN = 4;
+    private static final int FIND_MIN = 5;
+
+    private static final int SPINS_BEFORE_YIELD = 64;
+    private static final int PRUNE_INTERVAL = 1024;
+
+    private final FibonacciHeap heap;
+    private final ReentrantLock lock;
+    private final ThreadLocal<Request> request;
+    private volatile Request[] requests;
+    private volatile int size;
+    private long batches;
+    private long combinedOperations;
+
+    /**
+     * Constructor to initialize an empty heap.
+     */
+    public ConcurrentFibonacciHeap() {
+        this(new FibonacciHeap());
+    }
+
+    /**
+     * Constructor to initialize a concurrent heap over a given empty heap.
+     *
+     * @param heap The heap to combine requests into, used only through this object.
+     */
+    ConcurrentFibonacciHeap(FibonacciHeap heap) {
+        this.heap = heap;
+        this.heap.setLazyDecreaseKey(true);
+        this.lock = new ReentrantLock();
+        this.request = ThreadLocal.withInitial(this::register);
+        this.requests = new Request[0];
+        this.size = 0;
+        this.batches = 0;
+        this.combinedOperations = 0;
+    }
+
+    /**
+     * Insert (key, info) into the heap and return the newly generated HeapNode.
+     *
+     * @param key  The key of the new node (must be > 0).
+     * @param info The associated data for the new node.
+     * @return The newly created HeapNode.
+     */
+    public FibonacciHeap.HeapNode insert(int key, String info) {
+        Request r = request.get();
+        r.key = key;
+        r.info = info;
+        return submit(r, INSERT);
+    }
+
+    /**
+     * Decrease the key of x by diff and fix the heap.
+     *
+     * @param x    The node whose key will be decreased; it must still be in this heap.
+     * @param diff The amount to decrease the key (must be > 0).
+     */
+    public void decreaseKey(FibonacciHeap.HeapNode x, int diff) {
+        if (diff <= 0 || x == null) {
+            return;
+        }
+        Request r = request.get();
+        r.node = x;
+        r.key = diff;
+        submit(r, DECREASE_KEY);
+    }
+
+    /**
+     * Delete x from the heap.
+     *
+     * @param x The node to delete; it must still be in this heap.
+     */
+    public void delete(FibonacciHeap.HeapNode x) {
+        if (x == null) {
+            return;
+        }
+        Request r = request.get();
+        r.node = x;
+        submit(r, DELETE);
+    }
+
+    /**
+     * Remove the minimal node and return it.
+     *
+     * @return The removed node, or null if the heap was empty.
+     */
+    public FibonacciHeap.HeapNode deleteMin() {
+        return submit(request.get(), DELETE_MIN);
+    }
+
+    /**
+     * Return the minimal HeapNode, or null if the heap is empty.
+     *
+     * @return The node with the minimum key at the time the request was combined.
+     */
+    public FibonacciHeap.HeapNode findMin() {
+        return submit(request.get(), FIND_MIN);
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The size after the most recently combined batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the average number of operations applied per combining pass.
+     *
+     * @return The mean batch size, or 0 if nothing was combined yet.
+     */
+    public double averageBatchSize() {
+        lock.lock();
+        try {
+            return batches == 0 ? 0 : (double) combinedOperations / batches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of registered request slots.
+     *
+     * @return The slots the combiner scans, including those not yet pruned.
+     */
+    int slotCount() {
+        return requests.length;
+    }
+
+    // Helper functions
+
+    /**
+     * Publish a request and wait until a combiner, possibly this thread, answers it.
+     *
+     * @param r  The calling thread's request slot, with its arguments filled in.
+     * @param op The operation to perform.
+     * @return The node produced by the operation, if any.
+     * @throws RuntimeException If applying the request threw it.
+     */
+    private FibonacciHeap.HeapNode submit(Request r, int op) {
+        // The volatile write publishes the arguments written before it
+        r.op = op;
+        int spins = 0;
+        while (true) {
+            if (lock.tryLock()) {
+                try {
+                    combine();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (r.op == NONE) {
+                FibonacciHeap.HeapNode result = r.result;
+                Throwable error = r.error;
+                r.result = null;
+                r.error = null;
+                r.node = null;
+                r.info = null;
+                if (error instanceof RuntimeException) {
+                    throw (RuntimeException) error;
+                }
+                if (error != null) {
+                    throw (Error) error;
+                }
+                return result;
+            }
+            if (++spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Apply every published request to the heap. Called with the lock held.
+     */
+    private void combine() {
+        int applied = 0;
+        for (Request r : requests) {
+            int op = r.op;
+            if (op == NONE) {
+                continue;
+            }
+            try {
+                switch (op) {
+                    case INSERT:
+                        r.result = heap.insert(r.key, r.info);
+                        break;
+                    case DECREASE_KEY:
+                        heap.decreaseKey(r.node, r.key);
+                        break;
+                    case DELETE:
+                        heap.delete(r.node);
+                        break;
+                    case DELETE_MIN:
+                        r.result = heap.findMin();
+                        heap.deleteMin();
+                        break;
+                    default:
+                        r.result = heap.findMin();
+                        break;
+                }
+            } catch (RuntimeException | Error e) {
+                // Answer the request with the failure instead of leaving its thread spinning
+                r.result = null;
+                r.error = e;
+            }
+            applied++;
+            // The volatile write hands the result back to the waiting thread
+            r.op = NONE;
+        }
+        if (applied > 0) {
+            size = heap.size();
+            batches++;
+            combinedOperations += applied;
+            if (batches % PRUNE_INTERVAL == 0) {
+                pruneDeadSlots();
+            }
+        }
+    }
+
+    /**
+     * Create the request slot of the calling thread and add it to the published array.
+     *
+     * @return The new request slot.
+     */
+    private synchronized Request register() {
+        pruneDeadSlots();
+        Request r = new Request(Thread.currentThread());
+        Request[] current = requests;
+        Request[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = r;
+        requests = grown;
+        return r;
+    }
+
+    /**
+     * Drop the slots of threads that have terminated. A dead thread has no request in
+     * flight, so its slot can go without being answered.
+     */
+    private synchronized void pruneDeadSlots() {
+        Request[] current = requests;
+        int live = 0;
+        for (Request r : current) {
+            if (r.owner.isAlive()) {
+                live++;
+            }
+        }
+        if (live == current.length) {
+            return;
+        }
+        Request[] pruned = new Request[live];
+        int i = 0;
+        for (Request r : current) {
+            if (r.owner.isAlive()) {
+                pruned[i++] = r;
+            }
+        }
+        requests = pruned;
+    }
+
+    /**
+     * A thread's request slot. op is written last by the owner and cleared last by the
+     * combiner, so its volatile accesses order the plain argument and result fields.
+     */
+    private static final class Request {
+        final Thread owner;
+        volatile int op;
+        int key;
+        String info;
+        FibonacciHeap.HeapNode node;
+        FibonacciHeap.HeapNode result;
+        Throwable error;
+
+        Request(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * ConsolidateEvent
+ *
+ * A Flight Recorder event for one FibonacciHeap consolidate pass. The event's duration
+ * is the pass itself; links is how many trees it merged.
+ */
+@Name("FibonacciHeap.Consolidate")
+@Label("Consolidate")
+@Category({"Heaps", "FibonacciHeap"})
+@Description("A consolidate pass after deleteMin")
+public final class ConsolidateEvent extends jdk.jfr.Event {
+
+    /** Checked before the event is created, so a disabled event costs one call. */
+    static final EventType TYPE = EventType.getEventType(ConsolidateEvent.class);
+
+    @Label("Roots Before")
+    int rootsBefore;
+
+    @Label("Roots After")
+    int rootsAfter;
+
+    @Label("Links")
+    int links;
+
+    @Label("Heap Size")
+    int size;
+}
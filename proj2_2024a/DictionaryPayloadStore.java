@@ -0,0 +1,107 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DictionaryPayloadStore
+ *
+ * A PayloadStore that deduplicates payloads: every distinct string is kept once and
+ * given an int code, and a reference is that code. Codes are reference counted, so a
+ * string is dropped and its code reused once its last reference is released.
+ *
+ * This pays off when many elements share few payloads, such as job types or tenant
+ * names. For payloads that are all distinct the dictionary costs more than the strings.
+ */
+public class DictionaryPayloadStore implements PayloadStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Map<String, Integer> codes;
+    private String[] values;
+    private int[] counts;
+    private int[] freeCodes;
+    private int freeCount;
+    private int nextCode;
+
+    /**
+     * Constructor to initialize an empty dictionary.
+     */
+    public DictionaryPayloadStore() {
+        this.codes = new HashMap<>();
+        this.values = new String[DEFAULT_CAPACITY];
+        this.counts = new int[DEFAULT_CAPACITY];
+        this.freeCodes = new int[DEFAULT_CAPACITY];
+        this.freeCount = 0;
+        // Code 0 is NULL_REF
+        this.nextCode = 1;
+    }
+
+    @Override
+    public long store(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            counts[existing]++;
+            return existing;
+        }
+        int code = freeCount > 0 ? freeCodes[--freeCount] : newCode();
+        values[code] = value;
+        counts[code] = 1;
+        codes.put(value, code);
+        return code;
+    }
+
+    @Override
+    public String load(long ref) {
+        return ref == NULL_REF ? null : values[(int) ref];
+    }
+
+    @Override
+    public void release(long ref) {
+        if (ref == NULL_REF) {
+            return;
+        }
+        int code = (int) ref;
+        if (--counts[code] > 0) {
+            return;
+        }
+        codes.remove(values[code]);
+        values[code] = null;
+        if (freeCount == freeCodes.length) {
+            freeCodes = Arrays.copyOf(freeCodes, freeCodes.length * 2);
+        }
+        freeCodes[freeCount++] = code;
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return 0;
+    }
+
+    /**
+     * Return the number of distinct payloads held.
+     *
+     * @return The number of live codes.
+     */
+    public int distinctPayloads() {
+        return codes.size();
+    }
+
+    // Helper functions
+
+    /**
+     * Return a never used code, growing the arrays if needed.
+     *
+     * @return The code.
+     */
+    private int newCode() {
+        if (nextCode == values.length) {
+            int newCapacity = values.length + (values.length >>> 1) + 1;
+            values = Arrays.copyOf(values, newCapacity);
+            counts = Arrays.copyOf(counts, newCapacity);
+        }
+        return nextCode++;
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * DoubleEndedFibonacciHeap
+ *
+ * A double-ended priority queue over int keys: findMin and findMax in O(1), insert in
+ * O(1), deleteMin, deleteMax and delete in O(log n) amortized. It pairs a min-heap on
+ * key with a max-heap on -key, both LongFibonacciHeaps whose payload is the shared
+ * Entry, and every Entry holds its node in each heap, so removing an element from one
+ * side removes its twin from the other with a regular delete.
+ *
+ * insertBounded keeps the heap a buffer of the best (smallest) capacity keys. Once the
+ * buffer is full, a key not smaller than the maximum is rejected in O(1) without
+ * allocating, and a smaller key evicts the maximum in O(log n) amortized. The evicted
+ * Entry and its two nodes are reused for the new element, so a full buffer stays at a
+ * fixed number of objects however long the input stream is. A handle to an evicted
+ * Entry must therefore not be used after its eviction.
+ */
+public class DoubleEndedFibonacciHeap {
+
+    private final LongFibonacciHeap<Entry> minHeap;
+    private final LongFibonacciHeap<Entry> maxHeap;
+    private long evictions;
+    private long rejections;
+
+    /**
+     * Constructor to initialize an empty heap.
+     */
+    public DoubleEndedFibonacciHeap() {
+        this.minHeap = new LongFibonacciHeap<>();
+        this.maxHeap = new LongFibonacciHeap<>();
+        this.evictions = 0;
+        this.rejections = 0;
+    }
+
+    /**
+     * Insert (key, info) into the heap and return its entry.
+     *
+     * @param key  The key of the new element.
+     * @param info The associated data for the new element.
+     * @return The new entry.
+     */
+    public Entry insert(int key, String info) {
+        Entry entry = new Entry(key, info);
+        entry.minNode = minHeap.insert(key, entry);
+        entry.maxNode = maxHeap.insert(-(long) key, entry);
+        return entry;
+    }
+
+    /**
+     * Insert (key, info) if it is among the capacity smallest keys, evicting the maximum
+     * when the heap is full.
+     *
+     * If the heap holds more than capacity elements, for example after a smaller
+     * capacity is passed, the largest ones are evicted first.
+     *
+     * @param key      The key of the new element.
+     * @param info     The associated data for the new element.
+     * @param capacity The most elements to keep (must be > 0).
+     * @return The new entry, or null if the heap is full and key is not smaller than the maximum.
+     * @throws IllegalArgumentException If capacity is not positive.
+     */
+    public Entry insertBounded(int key, String info, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        while (size() > capacity) {
+            deleteMax();
+            evictions++;
+        }
+        if (size() < capacity) {
+            return insert(key, info);
+        }
+
+        Entry max = maxHeap.findMin().info;
+        if (key >= max.key) {
+            rejections++;
+            return null;
+        }
+
+        // Evict the maximum and reuse its entry and nodes for the new element
+        maxHeap.deleteMin();
+        minHeap.delete(max.minNode);
+        evictions++;
+        max.key = key;
+        max.info = info;
+        minHeap.reinsert(max.minNode, key);
+        maxHeap.reinsert(max.maxNode, -(long) key);
+        return max;
+    }
+
+    /**
+     * Return the entry with the minimal key, or null if the heap is empty.
+     *
+     * @return The minimal entry.
+     */
+    public Entry findMin() {
+        LongFibonacciHeap.HeapNode<Entry> node = minHeap.findMin();
+        return node == null ? null : node.info;
+    }
+
+    /**
+     * Return the entry with the maximal key, or null if the heap is empty.
+     *
+     * @return The maximal entry.
+     */
+    public Entry findMax() {
+        LongFibonacciHeap.HeapNode<Entry> node = maxHeap.findMin();
+        return node == null ? null : node.info;
+    }
+
+    /**
+     * Delete the entry with the minimal key.
+     */
+    public void deleteMin() {
+        Entry entry = findMin();
+        if (entry == null) {
+            return;
+        }
+        minHeap.deleteMin();
+        maxHeap.delete(entry.maxNode);
+    }
+
+    /**
+     * Delete the entry with the maximal key.
+     */
+    public void deleteMax() {
+        Entry entry = findMax();
+        if (entry == null) {
+            return;
+        }
+        maxHeap.deleteMin();
+        minHeap.delete(entry.minNode);
+    }
+
+    /**
+     * Delete an entry from the heap.
+     *
+     * @param entry The entry to delete.
+     */
+    public void delete(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        minHeap.delete(entry.minNode);
+        maxHeap.delete(entry.maxNode);
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return minHeap.size();
+    }
+
+    /**
+     * Return the number of entries insertBounded evicted.
+     *
+     * @return The number of evictions.
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Return the number of keys insertBounded rejected because the heap was full.
+     *
+     * @return The number of rejections.
+     */
+    public long rejections() {
+        return rejections;
+    }
+
+    /**
+     * An element of the heap, linked to its node in the min-heap and in the max-heap.
+     */
+    public static final class Entry {
+        private int key;
+        private String info;
+        private LongFibonacciHeap.HeapNode<Entry> minNode;
+        private LongFibonacciHeap.HeapNode<Entry> maxNode;
+
+        private Entry(int key, String info) {
+            this.key = key;
+            this.info = info;
+        }
+
+        /**
+         * Return the key of the entry.
+         *
+         * @return The key.
+         */
+        public int getKey() {
+            return key;
+        }
+
+        /**
+         * Return the info of the entry.
+         *
+         * @return The data associated with the entry.
+         */
+        public String getInfo() {
+            return info;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/**
+ * DoubleFibonacciHeap
+ *
+ * A Fibonacci heap over double keys with arbitrary payloads. Keys are kept as
+ * primitive doubles, so no operation boxes them. NaN has no place in the order, so
+ * a NaN key is rejected.
+ *
+ * @param <V> The type of the payload stored with each key.
+ */
+public class DoubleFibonacciHeap<V> {
+
+    private HeapNode<V> min;
+    private int size;
+    private long totalLinks;
+    private long totalCuts;
+    private HeapNode<V>[] rankTable;
+
+    /**
+     * Constructor to initialize an empty heap.
+     */
+    public DoubleFibonacciHeap() {
+        this.min = null;
+        this.size = 0;
+        this.totalLinks = 0;
+        this.totalCuts = 0;
+        this.rankTable = newTable(0);
+    }
+
+    /**
+     * Insert (key, info) into the heap and return the newly generated HeapNode.
+     *
+     * @param key  The key of the new node.
+     * @param info The associated data for the new node.
+     * @return The newly created HeapNode.
+     * @throws IllegalArgumentException If key is NaN.
+     */
+    public HeapNode<V> insert(double key, V info) {
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("Key is NaN");
+        }
+        HeapNode<V> newNode = new HeapNode<>(key, info);
+        if (min == null) {
+            min = newNode;
+        } else {
+            mergeNodes(min, newNode);
+            if (key < min.key) {
+                min = newNode;
+            }
+        }
+        size++;
+        return newNode;
+    }
+
+    /**
+     * Return the minimal HeapNode, or null if the heap is empty.
+     *
+     * @return The node with the minimum key, or null if the heap is empty.
+     */
+    public HeapNode<V> findMin() {
+        return min;
+    }
+
+    /**
+     * Delete the minimal item.
+     */
+    public void deleteMin() {
+        if (min == null) {
+            return;
+        }
+
+        HeapNode<V> oldMin = min;
+        if (min.child != null) {
+            HeapNode<V> child = min.child;
+            do {
+                child.parent = null;
+                child = child.next;
+            } while (child != min.child);
+            mergeNodes(min, min.child);
+        }
+
+        removeNode(min);
+        size--;
+
+        if (size == 0) {
+            min = null;
+        } else {
+            min = oldMin.next;
+            consolidate();
+        }
+    }
+
+    /**
+     * Decrease the key of x by diff and fix the heap.
+     *
+     * @param x    The node whose key will be decreased.
+     * @param diff The amount to decrease the key (must be > 0).
+     * @throws IllegalArgumentException If diff is NaN, or the new key would be NaN.
+     */
+    public void decreaseKey(HeapNode<V> x, double diff) {
+        if (Double.isNaN(diff)) {
+            throw new IllegalArgumentException("Diff is NaN");
+        }
+        if (diff <= 0 || x == null) {
+            return;
+        }
+        // Only an infinite key decreased by an infinite diff gives NaN
+        double key = x.key - diff;
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("Decreasing " + x.key + " by " + diff + " gives NaN");
+        }
+
+        x.key = key;
+        HeapNode<V> parent = x.parent;
+        if (parent != null && x.key < parent.key) {
+            cut(x);
+            cascadingCut(parent);
+        }
+
+        if (x.key < min.key) {
+            min = x;
+        }
+    }
+
+    /**
+     * Delete x from the heap.
+     *
+     * @param x The node to delete.
+     */
+    public void delete(HeapNode<V> x) {
+        if (x == null) {
+            return;
+        }
+        if (x == min) {
+            deleteMin();
+        } else {
+            HeapNode<V> parent = x.parent;
+            if (parent != null) {
+                cut(x);
+                cascadingCut(parent);
+            }
+            // x is now a root: hand its children over to the root list
+            if (x.child != null) {
+                HeapNode<V> child = x.child;
+                do {
+                    child.parent = null;
+                    child = child.next;
+                } while (child != x.child);
+                mergeNodes(x, x.child);
+            }
+            removeNode(x);
+            size--;
+        }
+    }
+
+    /**
+     * Return the total number of links performed.
+     *
+     * @return The total number of tree merges (links) performed in the heap.
+     */
+    public long totalLinks() {
+        return totalLinks;
+    }
+
+    /**
+     * Return the total number of cuts performed.
+     *
+     * @return The total number of cuts (node separations) performed in the heap.
+     */
+    public long totalCuts() {
+        return totalCuts;
+    }
+
+    /**
+     * Meld the heap with another heap.
+     *
+     * @param heap2 The other DoubleFibonacciHeap to meld with.
+     */
+    public void meld(DoubleFibonacciHeap<V> heap2) {
+        if (heap2 == null || heap2 == this || heap2.min == null) {
+            return;
+        }
+
+        if (this.min == null) {
+            this.min = heap2.min;
+        } else {
+            mergeNodes(this.min, heap2.min);
+            if (heap2.min.key < this.min.key) {
+                this.min = heap2.min;
+            }
+        }
+
+        this.size += heap2.size;
+        heap2.size = 0;
+        heap2.min = null;
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of trees in the heap.
+     *
+     * @return The total number of trees in the heap's root list.
+     */
+    public int numTrees() {
+        int count = 0;
+        if (min == null) {
+            return count;
+        }
+
+        HeapNode<V> node = min;
+        do {
+            count++;
+            node = node.next;
+        } while (node != min);
+
+        return count;
+    }
+
+    // Helper functions
+
+    /**
+     * Consolidate trees of the same rank, reusing the rank table between calls.
+     */
+    private void consolidate() {
+        int bound = rankBound(size);
+        if (rankTable.length < bound) {
+            rankTable = newTable(bound);
+        }
+        HeapNode<V>[] aux = rankTable;
+
+        int numRoots = numTrees();
+        HeapNode<V> current = min;
+        for (int i = 0; i < numRoots; i++) {
+            HeapNode<V> next = current.next;
+            while (aux[current.rank] != null) {
+                current = link(current, aux[current.rank]);
+                aux[current.rank - 1] = null;
+            }
+            aux[current.rank] = current;
+            current = next;
+        }
+
+        min = null;
+        for (int r = 0; r < aux.length; r++) {
+            HeapNode<V> node = aux[r];
+            if (node != null) {
+                if (min == null || node.key < min.key) {
+                    min = node;
+                }
+                aux[r] = null;
+            }
+        }
+    }
+
+    /**
+     * Return a rank table length that can hold every rank of a heap with n nodes.
+     *
+     * @param n The number of nodes.
+     * @return The rank table length.
+     */
+    private static int rankBound(int n) {
+        int bits = 32 - Integer.numberOfLeadingZeros(n);
+        return bits + (bits >>> 1) + 2;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> HeapNode<V>[] newTable(int length) {
+        return (HeapNode<V>[]) new HeapNode<?>[length];
+    }
+
+    /**
+     * Link two trees of the same rank.
+     *
+     * @param a The first tree.
+     * @param b The second tree.
+     * @return The resulting tree after linking.
+     */
+    private HeapNode<V> link(HeapNode<V> a, HeapNode<V> b) {
+        if (b.key < a.key) {
+            HeapNode<V> temp = a;
+            a = b;
+            b = temp;
+        }
+        removeNode(b);
+        b.parent = a;
+        b.next = b.prev = b;
+        if (a.child == null) {
+            a.child = b;
+        } else {
+            mergeNodes(a.child, b);
+        }
+        a.rank++;
+        totalLinks++;
+        return a;
+    }
+
+    /**
+     * Cut a node from its parent and move it to the root list.
+     *
+     * @param x The node to cut.
+     */
+    private void cut(HeapNode<V> x) {
+        HeapNode<V> parent = x.parent;
+        if (parent.child == x) {
+            parent.child = x.next == x ? null : x.next;
+        }
+        removeNode(x);
+        parent.rank--;
+        x.parent = null;
+        x.mark = false;
+        x.next = x.prev = x;
+        mergeNodes(min, x);
+        totalCuts++;
+    }
+
+    /**
+     * Perform cascading cuts for a node and its ancestors.
+     *
+     * @param x The node to start cascading cuts from.
+     */
+    private void cascadingCut(HeapNode<V> x) {
+        HeapNode<V> parent = x.parent;
+        while (parent != null) {
+            if (!x.mark) {
+                x.mark = true;
+                return;
+            }
+            cut(x);
+            x = parent;
+            parent = x.parent;
+        }
+    }
+
+    /**
+     * Merge two circular doubly linked lists.
+     *
+     * @param a The first circular doubly linked list.
+     * @param b The second circular doubly linked list.
+     */
+    private void mergeNodes(HeapNode<V> a, HeapNode<V> b) {
+        HeapNode<V> aNext = a.next;
+        a.next = b.next;
+        b.next.prev = a;
+        b.next = aNext;
+        aNext.prev = b;
+    }
+
+    /**
+     * Remove a node from its circular doubly linked list.
+     *
+     * @param x The node to remove.
+     */
+    private void removeNode(HeapNode<V> x) {
+        if (x.next == x) {
+            return;
+        }
+        x.prev.next = x.next;
+        x.next.prev = x.prev;
+    }
+
+    /**
+     * Class implementing a node in a DoubleFibonacciHeap.
+     *
+     * @param <V> The type of the payload.
+     */
+    public static class HeapNode<V> {
+        public double key;
+        public V info;
+        public HeapNode<V> child;
+        public HeapNode<V> next;
+        public HeapNode<V> prev;
+        public HeapNode<V> parent;
+        public int rank;
+        public boolean mark;
+
+        /**
+         * Constructor to initialize a heap node.
+         *
+         * @param key  The key of the node.
+         * @param info The associated data for the node.
+         */
+        public HeapNode(double key, V info) {
+            this.key = key;
+            this.info = info;
+            this.child = null;
+            this.next = this;
+            this.prev = this;
+            this.parent = null;
+            this.rank = 0;
+            this.mark = false;
+        }
+    }
+}
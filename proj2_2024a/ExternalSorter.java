@@ -0,0 +1,303 @@
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ExternalSorter
+ *
+ * Sorts a file of big-endian ints that may be much larger than memory. The input is cut
+ * into runs of runElements ints, each sorted in memory with Arrays.sort and written to a
+ * temporary run file, and the runs are then merged in one pass with an IntFibonacciHeap
+ * over the runs' current heads. The heap takes any int as a key, so the input may hold
+ * negative values and both extremes.
+ *
+ * Every file is accessed through memory-mapped FileChannel windows. During the merge each
+ * run is read in blocks of blockBytes; when a run starts on a block, its following block
+ * is mapped and handed to a prefetch thread that loads it into memory, so the merge
+ * rarely waits on a page fault.
+ *
+ * Memory use is one run array plus two mapped blocks per run during the merge.
+ */
+public class ExternalSorter {
+
+    /**
+     * The default run length: 16M ints, 64 MB.
+     */
+    public static final int DEFAULT_RUN_ELEMENTS = 1 << 24;
+
+    /**
+     * The default merge block size: 4 MB per run.
+     */
+    public static final int DEFAULT_BLOCK_BYTES = 1 << 22;
+
+    private static final long OUTPUT_WINDOW_BYTES = 1L << 26;
+    private static final int OUTPUT_BUFFER_INTS = 1 << 14;
+
+    private final Path tempDir;
+    private final int runElements;
+    private final int blockBytes;
+    private int runCount;
+
+    /**
+     * Constructor for a sorter with the default run length and block size.
+     *
+     * @param tempDir The directory for the temporary run file.
+     */
+    public ExternalSorter(Path tempDir) {
+        this(tempDir, DEFAULT_RUN_ELEMENTS, DEFAULT_BLOCK_BYTES);
+    }
+
+    /**
+     * Constructor for a sorter.
+     *
+     * @param tempDir     The directory for the temporary run file.
+     * @param runElements The number of ints sorted in memory per run (at most 2^29).
+     * @param blockBytes  The bytes read per run at a time during the merge (a positive multiple of 4).
+     * @throws IllegalArgumentException If runElements or blockBytes is out of range.
+     */
+    public ExternalSorter(Path tempDir, int runElements, int blockBytes) {
+        if (runElements <= 0 || runElements > 1 << 29) {
+            throw new IllegalArgumentException("runElements must be in 1 .. 2^29");
+        }
+        if (blockBytes <= 0 || blockBytes % 4 != 0) {
+            throw new IllegalArgumentException("blockBytes must be a positive multiple of 4");
+        }
+        this.tempDir = tempDir;
+        this.runElements = runElements;
+        this.blockBytes = blockBytes;
+    }
+
+    /**
+     * Sort the ints of input into output.
+     *
+     * @param input  A file of big-endian ints.
+     * @param output The file to write the sorted ints to; it is replaced if it exists.
+     * @return The number of ints sorted.
+     * @throws IOException If a file cannot be read or written, or the input length is not a multiple of 4.
+     */
+    public long sort(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long bytes = in.size();
+            if (bytes % 4 != 0) {
+                throw new IOException("input length " + bytes + " is not a multiple of 4");
+            }
+            long count = bytes / 4;
+            Path runFile = Files.createTempFile(tempDir, "runs", ".bin");
+            try {
+                long[] runStarts = writeRuns(in, count, runFile);
+                runCount = runStarts.length - 1;
+                merge(runFile, runStarts, output);
+            } finally {
+                Files.deleteIfExists(runFile);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Return the number of runs the last sort merged.
+     *
+     * @return The run count.
+     */
+    public int runCount() {
+        return runCount;
+    }
+
+    // Helper functions
+
+    /**
+     * Sort the input run by run into the run file, which ends up as long as the input.
+     *
+     * @param in      The input.
+     * @param count   The number of ints in the input.
+     * @param runFile The run file.
+     * @return The element offset of every run, followed by count.
+     */
+    private long[] writeRuns(FileChannel in, long count, Path runFile) throws IOException {
+        int runs = (int) ((count + runElements - 1) / runElements);
+        long[] runStarts = new long[runs + 1];
+        int[] run = new int[(int) Math.min(runElements, count)];
+        try (FileChannel out = FileChannel.open(runFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int r = 0; r < runs; r++) {
+                long start = (long) r * runElements;
+                int n = (int) Math.min(runElements, count - start);
+                runStarts[r] = start;
+                in.map(FileChannel.MapMode.READ_ONLY, start * 4, n * 4L).asIntBuffer().get(run, 0, n);
+                Arrays.sort(run, 0, n);
+                out.map(FileChannel.MapMode.READ_WRITE, start * 4, n * 4L).asIntBuffer().put(run, 0, n);
+            }
+        }
+        runStarts[runs] = count;
+        return runStarts;
+    }
+
+    /**
+     * Merge the sorted runs of the run file into output.
+     *
+     * @param runFile   The run file.
+     * @param runStarts The element offset of every run, followed by the total count.
+     * @param output    The output file.
+     */
+    private void merge(Path runFile, long[] runStarts, Path output) throws IOException {
+        int k = runStarts.length - 1;
+        ExecutorService prefetcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "external-sort-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel runs = FileChannel.open(runFile, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Writer writer = new Writer(out, runStarts[k] * 4);
+            RunCursor[] cursors = new RunCursor[k];
+            IntFibonacciHeap heap = new IntFibonacciHeap(k);
+            // Handles are slots below k, so they index the run of each head directly
+            int[] runOf = new int[k];
+            for (int r = 0; r < k; r++) {
+                cursors[r] = new RunCursor(runs, prefetcher, runStarts[r] * 4, runStarts[r + 1] * 4);
+                if (cursors[r].hasNext()) {
+                    runOf[heap.insert(cursors[r].next(), null)] = r;
+                }
+            }
+
+            while (heap.size() > 0) {
+                int head = heap.findMin();
+                int r = runOf[head];
+                writer.put(heap.getKey(head));
+                heap.deleteMin();
+                RunCursor cursor = cursors[r];
+                if (heap.size() == 0) {
+                    // The last run left needs no merging
+                    while (cursor.hasNext()) {
+                        writer.put(cursor.block);
+                    }
+                } else if (cursor.hasNext()) {
+                    runOf[heap.insert(cursor.next(), null)] = r;
+                }
+            }
+            writer.flush();
+        } finally {
+            prefetcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads one run block by block, keeping the next block mapped and prefetched.
+     */
+    private final class RunCursor {
+        private final FileChannel channel;
+        private final ExecutorService prefetcher;
+        private final long end;
+        private long position;
+        private IntBuffer block;
+        private MappedByteBuffer ahead;
+
+        RunCursor(FileChannel channel, ExecutorService prefetcher, long start, long end) throws IOException {
+            this.channel = channel;
+            this.prefetcher = prefetcher;
+            this.end = end;
+            this.position = start;
+            this.block = IntBuffer.allocate(0);
+            this.ahead = mapNext();
+        }
+
+        /**
+         * Return whether the run has more ints, moving to the prefetched block when the
+         * current one is used up.
+         */
+        boolean hasNext() throws IOException {
+            if (block.hasRemaining()) {
+                return true;
+            }
+            if (ahead == null) {
+                return false;
+            }
+            block = ahead.asIntBuffer();
+            ahead = mapNext();
+            return true;
+        }
+
+        int next() {
+            return block.get();
+        }
+
+        private MappedByteBuffer mapNext() throws IOException {
+            if (position >= end) {
+                return null;
+            }
+            long size = Math.min(blockBytes, end - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            position += size;
+            prefetcher.execute(buffer::load);
+            return buffer;
+        }
+    }
+
+    /**
+     * Buffers output ints and copies them into mapped windows of the output file.
+     */
+    private static final class Writer {
+        private final FileChannel channel;
+        private final long length;
+        private final int[] buffer;
+        private int buffered;
+        private long windowEnd;
+        private IntBuffer window;
+
+        Writer(FileChannel channel, long length) {
+            this.channel = channel;
+            this.length = length;
+            this.buffer = new int[OUTPUT_BUFFER_INTS];
+            this.buffered = 0;
+            this.windowEnd = 0;
+            this.window = IntBuffer.allocate(0);
+        }
+
+        void put(int value) throws IOException {
+            buffer[buffered++] = value;
+            if (buffered == buffer.length) {
+                flush();
+            }
+        }
+
+        void put(IntBuffer values) throws IOException {
+            flush();
+            while (values.hasRemaining()) {
+                if (!window.hasRemaining()) {
+                    mapNext();
+                }
+                int n = Math.min(values.remaining(), window.remaining());
+                IntBuffer slice = values.slice();
+                slice.limit(n);
+                window.put(slice);
+                values.position(values.position() + n);
+            }
+        }
+
+        void flush() throws IOException {
+            int offset = 0;
+            while (offset < buffered) {
+                if (!window.hasRemaining()) {
+                    mapNext();
+                }
+                int n = Math.min(buffered - offset, window.remaining());
+                window.put(buffer, offset, n);
+                offset += n;
+            }
+            buffered = 0;
+        }
+
+        private void mapNext() throws IOException {
+            long size = Math.min(OUTPUT_WINDOW_BYTES, length - windowEnd);
+            window = channel.map(FileChannel.MapMode.READ_WRITE, windowEnd, size).asIntBuffer();
+            windowEnd += size;
+        }
+    }
+}
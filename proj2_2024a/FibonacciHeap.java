@@ -1,23 +1,164 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * FibonacciHeap
  *
  * An implementation of Fibonacci heap over positive integers.
+ * Implements AddressableHeap with HeapNode handles.
+ *
+ * Payloads are kept in each node's info field by default. A heap built with a
+ * PayloadStore keeps only a long reference per node instead, leaves info null and
+ * materializes the payload on getInfo, so payloads can be deduplicated or moved off
+ * the Java heap.
  */
-public class FibonacciHeap {
+public class FibonacciHeap implements AddressableHeap<FibonacciHeap.HeapNode> {
 
     private HeapNode min;
     private int size;
-    private int totalLinks;
-    private int totalCuts;
+    private long totalLinks;
+    private long totalCuts;
+    private int rootCount;
+    private int markedCount;
+    private int maxRank;
+    private HeapNode[] rankTable;
+    private final boolean recycleNodes;
+    private HeapNode freeNodes;
+    private long nodesAllocated;
+    private long nodesRecycled;
+    private boolean lazyDecreaseKey;
+    private HeapNode[] dirtyNodes;
+    private int dirtyCount;
+    private long deferredDecreaseKeys;
+    private long violatingDecreaseKeys;
+    private long deferredCuts;
+    private HeapMetrics metrics;
+    private IdIndex<HeapNode> index;
+    private final PayloadStore store;
 
     /**
      * Constructor to initialize an empty heap.
      */
     public FibonacciHeap() {
+        this(false);
+    }
+
+    /**
+     * Constructor to initialize an empty heap, optionally recycling removed nodes.
+     *
+     * With recycling on, nodes removed by deleteMin or delete are reused by later
+     * inserts, so a removed HeapNode must not be used after its removal.
+     *
+     * @param recycleNodes Whether removed nodes are pooled and reused by insert.
+     */
+    public FibonacciHeap(boolean recycleNodes) {
+        this(recycleNodes, null);
+    }
+
+    /**
+     * Constructor to initialize an empty heap that keeps its payloads in a store.
+     *
+     * A node's payload is released when the node is removed, so read it with getInfo
+     * before deleteMin or delete. Only heaps sharing the same store can be melded.
+     *
+     * @param recycleNodes Whether removed nodes are pooled and reused by insert.
+     * @param store        The payload store, or null to keep info in the nodes.
+     */
+    public FibonacciHeap(boolean recycleNodes, PayloadStore store) {
         this.min = null;
         this.size = 0;
         this.totalLinks = 0;
         this.totalCuts = 0;
+        this.rootCount = 0;
+        this.markedCount = 0;
+        this.maxRank = 0;
+        this.rankTable = new HeapNode[0];
+        this.recycleNodes = recycleNodes;
+        this.freeNodes = null;
+        this.nodesAllocated = 0;
+        this.nodesRecycled = 0;
+        this.lazyDecreaseKey = false;
+        this.dirtyNodes = new HeapNode[0];
+        this.dirtyCount = 0;
+        this.deferredDecreaseKeys = 0;
+        this.violatingDecreaseKeys = 0;
+        this.deferredCuts = 0;
+        this.metrics = null;
+        this.index = null;
+        this.store = store;
+    }
+
+    /**
+     * Start collecting runtime metrics, or return the metrics already being collected.
+     *
+     * The returned HeapMetrics can be registered as a JMX MBean. While metrics are off,
+     * every instrumented operation costs a single null check.
+     *
+     * @return The heap's metrics.
+     */
+    public HeapMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new HeapMetrics(this);
+        }
+        return metrics;
+    }
+
+    /**
+     * Stop collecting runtime metrics and unregister them from JMX.
+     */
+    public void disableMetrics() {
+        if (metrics != null) {
+            metrics.unregister();
+            metrics = null;
+        }
+    }
+
+    /**
+     * Turn the deferred decreaseKey mode on or off.
+     *
+     * In deferred mode decreaseKey only updates the key and records a node that now
+     * violates heap order as dirty. The cuts, cascading cuts and the minimum update
+     * for all dirty nodes are applied in one pass by the next findMin, deleteMin,
+     * delete, meld or numTrees. Turning the mode off applies pending work at once.
+     *
+     * @param lazy Whether decreaseKey should defer its cuts.
+     */
+    public void setLazyDecreaseKey(boolean lazy) {
+        if (!lazy) {
+            applyPendingDecreases();
+        }
+        this.lazyDecreaseKey = lazy;
+    }
+
+    /**
+     * Return the number of decreaseKey calls whose cuts were deferred.
+     *
+     * @return The number of decreaseKey calls that left a node out of heap order.
+     */
+    public long deferredDecreaseKeys() {
+        return deferredDecreaseKeys;
+    }
+
+    /**
+     * Return the number of cuts saved by deferring decreaseKey.
+     *
+     * Each deferred call that broke heap order would have cut at once; a node that was
+     * decreased several times, or whose parent was decreased below it before the batch
+     * ran, needs at most one cut or none.
+     *
+     * @return The number of deferred calls minus the cuts the batched passes made for them.
+     */
+    public long savedCuts() {
+        return violatingDecreaseKeys - deferredCuts;
     }
 
     /**
@@ -28,22 +169,163 @@ public class FibonacciHeap {
      * @return The newly created HeapNode.
      */
     public HeapNode insert(int key, String info) {
-        HeapNode newNode = new HeapNode(key, info);
+        long start = metrics == null ? 0 : System.nanoTime();
+        HeapNode newNode = newNode(key, info);
+        addRoot(newNode);
+        if (metrics != null) {
+            metrics.insert.record(System.nanoTime() - start);
+        }
+        return newNode;
+    }
+
+    /**
+     * Insert (key, info) under an external id, so the element can later be found,
+     * decreased or deleted by id alone.
+     *
+     * Ids are kept in a primitive open-addressing map that the heap updates itself on
+     * every removal and meld. The map is created by the first call, so heaps that never
+     * use ids do not pay for it. Nodes with an id are never recycled.
+     *
+     * @param id   The external id of the element.
+     * @param key  The key of the new node (must be > 0).
+     * @param info The associated data for the new node.
+     * @return The newly created HeapNode.
+     * @throws IllegalArgumentException If an element with this id is already in the heap.
+     */
+    public HeapNode insertWithId(long id, int key, String info) {
+        if (index == null) {
+            index = new IdIndex<>();
+        } else if (index.get(id) != null) {
+            throw new IllegalArgumentException("id " + id + " is already in the heap");
+        }
+        long start = metrics == null ? 0 : System.nanoTime();
+        nodesAllocated++;
+        HeapNode newNode = store == null
+                ? new IndexedNode(key, info, id)
+                : new StoredIndexedNode(key, store.store(info), id);
+        addRoot(newNode);
+        index.put(id, newNode);
+        if (metrics != null) {
+            metrics.insert.record(System.nanoTime() - start);
+        }
+        return newNode;
+    }
+
+    /**
+     * Return whether an element with this id is in the heap.
+     *
+     * @param id The external id.
+     * @return true if an element was inserted with this id and not removed.
+     */
+    public boolean containsId(long id) {
+        return index != null && index.get(id) != null;
+    }
+
+    /**
+     * Return the node of the element with this id.
+     *
+     * @param id The external id.
+     * @return The node, or null if no element has this id.
+     */
+    public HeapNode findById(long id) {
+        return index == null ? null : index.get(id);
+    }
+
+    /**
+     * Return the current key of the element with this id.
+     *
+     * @param id The external id.
+     * @return The key.
+     * @throws IllegalArgumentException If no element has this id.
+     */
+    public int getKey(long id) {
+        return nodeById(id).key;
+    }
+
+    /**
+     * Return the external id of a node.
+     *
+     * @param x A node inserted with insertWithId.
+     * @return The node's id.
+     * @throws IllegalArgumentException If x was not inserted with an id.
+     */
+    public long getId(HeapNode x) {
+        if (!(x instanceof IndexedNode)) {
+            throw new IllegalArgumentException("node has no id");
+        }
+        return ((IndexedNode) x).id;
+    }
+
+    /**
+     * Decrease the key of the element with this id by diff and fix the heap.
+     *
+     * @param id   The external id.
+     * @param diff The amount to decrease the key (must be > 0).
+     * @throws IllegalArgumentException If no element has this id.
+     */
+    public void decreaseKeyById(long id, int diff) {
+        decreaseKey(nodeById(id), diff);
+    }
+
+    /**
+     * Delete the element with this id from the heap.
+     *
+     * @param id The external id.
+     * @throws IllegalArgumentException If no element has this id.
+     */
+    public void deleteById(long id) {
+        delete(nodeById(id));
+    }
+
+    /**
+     * Insert all (keys[i], infos[i]) pairs into the heap and return the new HeapNodes.
+     *
+     * The new nodes are chained into one list and spliced into the root list at once,
+     * with a single comparison against the current minimum.
+     *
+     * @param keys  The keys of the new nodes (each must be > 0).
+     * @param infos The associated data, or null to insert every key with null info.
+     * @return The newly created HeapNodes, in the order of keys.
+     * @throws IllegalArgumentException If infos is not null and its length differs from keys.
+     */
+    public HeapNode[] insertAll(int[] keys, String[] infos) {
+        if (infos != null && infos.length != keys.length) {
+            throw new IllegalArgumentException("keys and infos must have the same length");
+        }
+        HeapNode[] nodes = new HeapNode[keys.length];
+        if (keys.length == 0) {
+            return nodes;
+        }
+
+        // Chain the new nodes into one circular list, tracking its minimum
+        HeapNode first = newNode(keys[0], infos == null ? null : infos[0]);
+        HeapNode last = first;
+        HeapNode batchMin = first;
+        nodes[0] = first;
+        for (int i = 1; i < keys.length; i++) {
+            HeapNode node = newNode(keys[i], infos == null ? null : infos[i]);
+            node.prev = last;
+            last.next = node;
+            last = node;
+            if (node.key < batchMin.key) {
+                batchMin = node;
+            }
+            nodes[i] = node;
+        }
+        last.next = first;
+        first.prev = last;
+
         if (min == null) {
-            min = newNode;
+            min = batchMin;
         } else {
-            // Add the new node to the root list
-            newNode.next = min.next;
-            newNode.prev = min;
-            min.next.prev = newNode;
-            min.next = newNode;
-            // Update the minimum pointer if necessary
-            if (key < min.key) {
-                min = newNode;
+            mergeNodes(min, first);
+            if (batchMin.key < min.key) {
+                min = batchMin;
             }
         }
-        size++;
-        return newNode;
+        size += keys.length;
+        rootCount += keys.length;
+        return nodes;
     }
 
     /**
@@ -52,6 +334,7 @@ public class FibonacciHeap {
      * @return The node with the minimum key, or null if the heap is empty.
      */
     public HeapNode findMin() {
+        applyPendingDecreases();
         return min;
     }
 
@@ -61,11 +344,17 @@ public class FibonacciHeap {
      * Removes the node with the minimum key from the heap and adjusts the structure.
      */
     public void deleteMin() {
+        long start = metrics == null ? 0 : System.nanoTime();
+        applyPendingDecreases();
         if (min == null) {
             return;
         }
 
         HeapNode oldMin = min;
+        rootCount += oldMin.rank - 1;
+        if (oldMin.mark) {
+            markedCount--;
+        }
         if (min.child != null) {
             HeapNode child = min.child;
             do {
@@ -81,10 +370,78 @@ public class FibonacciHeap {
 
         if (size == 0) {
             min = null;
+            maxRank = 0;
         } else {
             min = oldMin.next;
             consolidate();
         }
+        release(oldMin);
+        if (metrics != null) {
+            metrics.deleteMin.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Remove the k smallest items and pass their keys to sink, smallest first.
+     *
+     * The keys come out as from k calls to findMin and deleteMin, but the root list is
+     * consolidated once at the end instead of after every removal: see drainBelow.
+     *
+     * @param k    The number of items to remove (must be >= 0).
+     * @param sink Receives the removed keys in order.
+     * @return The number of items removed, min(k, size).
+     * @throws IllegalArgumentException If k is negative.
+     */
+    public int drainTo(int k, IntConsumer sink) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+        return drain(k, Integer.MAX_VALUE, sink, null);
+    }
+
+    /**
+     * Remove the k smallest items and pass their keys and infos to sink, smallest first.
+     *
+     * @param k    The number of items to remove (must be >= 0).
+     * @param sink Receives the removed (key, info) pairs in order.
+     * @return The number of items removed, min(k, size).
+     * @throws IllegalArgumentException If k is negative.
+     */
+    public int drainTo(int k, BiConsumer<Integer, String> sink) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+        return drain(k, Integer.MAX_VALUE, null, sink);
+    }
+
+    /**
+     * Remove every item with a key below threshold and pass the keys to sink, smallest first.
+     *
+     * The roots go into a frontier PriorityQueue. Each removal takes the frontier's
+     * minimum out of the root list and splices its children into the root list and the
+     * frontier, without consolidating. One consolidate pass runs at the end, so the
+     * drain costs a frontier operation per root and spliced child instead of a
+     * consolidate pass per item. Items with equal keys may come out in a different
+     * order than deleteMin would take them.
+     *
+     * @param threshold Items with keys below this value are removed.
+     * @param sink      Receives the removed keys in order.
+     * @return The number of items removed.
+     */
+    public int drainBelow(int threshold, IntConsumer sink) {
+        return drain(Integer.MAX_VALUE, threshold, sink, null);
+    }
+
+    /**
+     * Remove every item with a key below threshold and pass the keys and infos to sink,
+     * smallest first.
+     *
+     * @param threshold Items with keys below this value are removed.
+     * @param sink      Receives the removed (key, info) pairs in order.
+     * @return The number of items removed.
+     */
+    public int drainBelow(int threshold, BiConsumer<Integer, String> sink) {
+        return drain(Integer.MAX_VALUE, threshold, null, sink);
     }
 
     /**
@@ -98,14 +455,26 @@ public class FibonacciHeap {
             return;
         }
 
+        long start = metrics == null ? 0 : System.nanoTime();
         x.key -= diff;
-        if (x.parent != null && x.key < x.parent.key) {
-            cut(x);
-            cascadingCut(x.parent);
+        HeapNode parent = x.parent;
+        if (lazyDecreaseKey && parent != null) {
+            deferredDecreaseKeys++;
+            if (x.key < parent.key) {
+                violatingDecreaseKeys++;
+                markDirty(x);
+            }
+        } else {
+            if (parent != null && x.key < parent.key) {
+                cut(x);
+                cascadingCut(parent);
+            }
+            if (x.key < min.key) {
+                min = x;
+            }
         }
-
-        if (x.key < min.key) {
-            min = x;
+        if (metrics != null) {
+            metrics.decreaseKey.record(System.nanoTime() - start);
         }
     }
 
@@ -115,24 +484,137 @@ public class FibonacciHeap {
      * @param x The node to delete.
      */
     public void delete(HeapNode x) {
+        if (x == null) {
+            return;
+        }
+        applyPendingDecreases();
         if (x == min) {
             deleteMin();
         } else {
-            if (x.parent != null) {
+            HeapNode parent = x.parent;
+            if (parent != null) {
                 cut(x);
-                cascadingCut(x.parent);
+                cascadingCut(parent);
+            }
+            // x is now a root: hand its children over to the root list
+            rootCount += x.rank - 1;
+            if (x.mark) {
+                markedCount--;
+            }
+            if (x.child != null) {
+                HeapNode child = x.child;
+                do {
+                    child.parent = null;
+                    child = child.next;
+                } while (child != x.child);
+                mergeNodes(x, x.child);
             }
             removeNode(x);
             size--;
+            release(x);
         }
     }
 
+    /**
+     * Return the key of a node.
+     *
+     * @param x The node.
+     * @return The node's key.
+     */
+    public int getKey(HeapNode x) {
+        return x.key;
+    }
+
+    /**
+     * Return the data associated with a node.
+     *
+     * @param x The node.
+     * @return The node's info, materialized from the store if the heap has one.
+     */
+    public String getInfo(HeapNode x) {
+        return store == null ? x.info : store.load(payloadOf(x));
+    }
+
+    /**
+     * Return the k smallest nodes in key order without modifying the heap.
+     *
+     * Pending deferred decreaseKeys are applied first, as by findMin. Takes
+     * O(r + k log(r + k)) time for a heap with r roots.
+     *
+     * @param k The number of nodes to return (must be >= 0).
+     * @return The min(k, size) smallest nodes, smallest first.
+     * @throws IllegalArgumentException If k is negative.
+     */
+    public HeapNode[] peekSmallest(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+        HeapNode[] smallest = new HeapNode[Math.min(k, size)];
+        Iterator<HeapNode> nodes = sortedIterator();
+        for (int i = 0; i < smallest.length; i++) {
+            smallest[i] = nodes.next();
+        }
+        return smallest;
+    }
+
+    /**
+     * Return an iterator over the nodes in key order that leaves the heap untouched.
+     *
+     * The iterator keeps a frontier PriorityQueue holding the roots and the children of
+     * every node returned so far; heap order guarantees the frontier's minimum is the
+     * next node. Pending deferred decreaseKeys are applied first, as by findMin. The heap
+     * must not be modified while the iterator is in use.
+     *
+     * @return An iterator over the nodes, smallest key first.
+     */
+    public Iterator<HeapNode> sortedIterator() {
+        return new SortedIterator(findMin());
+    }
+
+    /**
+     * Return a sequential stream over the nodes, in no particular order.
+     *
+     * The stream walks the rings in place through the nodes' child, next and parent
+     * pointers, without copying nodes or applying deferred decreaseKeys. The heap must not
+     * be modified while the stream is in use.
+     *
+     * @return A stream over every node in the heap.
+     */
+    public Stream<HeapNode> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Return a parallel stream over the nodes, in no particular order.
+     *
+     * The spliterator splits root-list segments in halves and a single tree into its root
+     * and child ring, so the fork-join pool can share out a large forest. The heap must
+     * not be modified while the stream is in use.
+     *
+     * @return A parallel stream over every node in the heap.
+     */
+    public Stream<HeapNode> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Return a spliterator over the nodes, backing stream and parallelStream.
+     *
+     * It reports SIZED until it is first split; subtree sizes are not stored, so split
+     * parts estimate their sizes by taking 2^rank as the weight of a tree.
+     *
+     * @return A spliterator over every node in the heap.
+     */
+    public Spliterator<HeapNode> spliterator() {
+        return new NodeSpliterator(null, min, rootCount, -1, size, true);
+    }
+
     /**
      * Return the total number of links performed.
      *
      * @return The total number of tree merges (links) performed in the heap.
      */
-    public int totalLinks() {
+    public long totalLinks() {
         return totalLinks;
     }
 
@@ -141,28 +623,146 @@ public class FibonacciHeap {
      *
      * @return The total number of cuts (node separations) performed in the heap.
      */
-    public int totalCuts() {
+    public long totalCuts() {
         return totalCuts;
     }
 
+    /**
+     * Return the number of HeapNode objects this heap has allocated.
+     *
+     * @return The number of nodes created by insert.
+     */
+    public long nodesAllocated() {
+        return nodesAllocated;
+    }
+
+    /**
+     * Return the number of inserts served from the pool of removed nodes.
+     *
+     * @return The number of recycled nodes handed out by insert.
+     */
+    public long nodesRecycled() {
+        return nodesRecycled;
+    }
+
     /**
      * Meld the heap with another heap.
      *
+     * Ids of heap2's elements move to this heap; merging the id maps costs time linear
+     * in the smaller of the two.
+     *
      * @param heap2 The other FibonacciHeap to meld with.
+     * @throws IllegalArgumentException If both heaps hold an element with the same id, or
+     *                                  heap2 keeps its payloads in another store.
      */
     public void meld(FibonacciHeap heap2) {
-        if (heap2 == null || heap2.min == null) {
+        if (heap2 == null || heap2 == this) {
+            return;
+        }
+        if (heap2.store != store) {
+            throw new IllegalArgumentException("cannot meld heaps with different payload stores");
+        }
+        if (index != null && heap2.index != null && index.intersects(heap2.index)) {
+            throw new IllegalArgumentException("heaps share an element id");
+        }
+        long start = metrics == null ? 0 : System.nanoTime();
+        applyPendingDecreases();
+        heap2.applyPendingDecreases();
+        if (heap2.min == null) {
             return;
         }
+        FibonacciMeldEvent event = null;
+        if (FibonacciMeldEvent.TYPE.isEnabled()) {
+            event = new FibonacciMeldEvent();
+            event.begin();
+            event.heaps = 1;
+            event.rootsBefore = rootCount;
+            event.elementsAdded = heap2.size;
+        }
 
-        mergeNodes(this.min, heap2.min);
-        if (heap2.min.key < this.min.key) {
+        if (this.min == null) {
             this.min = heap2.min;
+        } else {
+            mergeNodes(this.min, heap2.min);
+            if (heap2.min.key < this.min.key) {
+                this.min = heap2.min;
+            }
         }
 
-        this.size += heap2.size;
-        heap2.size = 0;
-        heap2.min = null;
+        adopt(heap2);
+        if (event != null) {
+            event.rootsAfter = rootCount;
+            event.commit();
+        }
+        if (metrics != null) {
+            metrics.meld.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Meld the heap with many heaps at once.
+     *
+     * Each input's root list is spliced in once, and the new minimum is picked in a single
+     * scan over the inputs' minimums. Every input is left empty, as with meld.
+     *
+     * @param heaps The heaps to meld into this one; null entries and this heap are skipped.
+     * @throws IllegalArgumentException If two of the heaps hold an element with the same id,
+     *                                  or one keeps its payloads in another store; no heap
+     *                                  is changed then.
+     */
+    public void meldAll(Collection<FibonacciHeap> heaps) {
+        if (heaps == null) {
+            return;
+        }
+        for (FibonacciHeap heap2 : heaps) {
+            if (heap2 != null && heap2.store != store) {
+                throw new IllegalArgumentException("cannot meld heaps with different payload stores");
+            }
+        }
+        checkDistinctIds(heaps);
+        long start = metrics == null ? 0 : System.nanoTime();
+        applyPendingDecreases();
+        FibonacciMeldEvent event = null;
+        if (FibonacciMeldEvent.TYPE.isEnabled()) {
+            event = new FibonacciMeldEvent();
+            event.begin();
+            event.rootsBefore = rootCount;
+            event.elementsAdded = -size;
+        }
+
+        HeapNode newMin = min;
+        for (FibonacciHeap heap2 : heaps) {
+            if (heap2 == null || heap2 == this) {
+                continue;
+            }
+            heap2.applyPendingDecreases();
+            if (heap2.min == null) {
+                continue;
+            }
+
+            if (newMin == null) {
+                newMin = heap2.min;
+            } else {
+                mergeNodes(newMin, heap2.min);
+                if (heap2.min.key < newMin.key) {
+                    newMin = heap2.min;
+                }
+            }
+
+            adopt(heap2);
+            if (event != null) {
+                event.heaps++;
+            }
+        }
+        min = newMin;
+        if (event != null) {
+            event.rootsAfter = rootCount;
+            event.elementsAdded += size;
+            event.commit();
+        }
+        if (metrics != null) {
+            metrics.meld.record(System.nanoTime() - start);
+        }
     }
 
     /**
@@ -180,31 +780,322 @@ public class FibonacciHeap {
      * @return The total number of trees in the heap's root list.
      */
     public int numTrees() {
-        int count = 0;
-        if (min == null) {
-            return count;
+        applyPendingDecreases();
+        return rootCount;
+    }
+
+    /**
+     * Return the length of the root list without applying deferred decreaseKeys.
+     *
+     * @return The number of roots, maintained incrementally.
+     */
+    int rootCount() {
+        return rootCount;
+    }
+
+    /**
+     * Return the number of marked nodes.
+     *
+     * @return The marked node count, maintained incrementally.
+     */
+    int markedCount() {
+        return markedCount;
+    }
+
+    /**
+     * Return the largest root rank since the last consolidate, raised by melds.
+     *
+     * @return An upper bound on the maximum rank.
+     */
+    int maxRank() {
+        return maxRank;
+    }
+
+    /**
+     * Replace the contents of this empty heap with an already built forest, as restored
+     * from a snapshot. No links or cuts are made and the counters are taken as given.
+     *
+     * @param min        The minimal root; its ring is the root list.
+     * @param size       The number of nodes in the forest.
+     * @param roots      The number of roots.
+     * @param marked     The number of marked nodes.
+     * @param maxRank    The largest root rank.
+     * @param totalLinks The link count to continue from.
+     * @param totalCuts  The cut count to continue from.
+     */
+    void adoptForest(HeapNode min, int size, int roots, int marked, int maxRank,
+                     long totalLinks, long totalCuts) {
+        if (this.min != null) {
+            throw new IllegalStateException("heap is not empty");
         }
+        this.min = min;
+        this.size = size;
+        this.rootCount = roots;
+        this.markedCount = marked;
+        this.maxRank = maxRank;
+        this.totalLinks = totalLinks;
+        this.totalCuts = totalCuts;
+    }
 
-        HeapNode node = min;
-        do {
-            count++;
-            node = node.next;
-        } while (node != min);
+    /**
+     * Register the ids of restored nodes. Called after adoptForest for a forest holding
+     * nodes created with newIndexedNode.
+     *
+     * @param nodes The forest's nodes; nodes without an id are skipped.
+     */
+    void indexNodes(HeapNode[] nodes) {
+        for (HeapNode node : nodes) {
+            if (node instanceof IndexedNode) {
+                if (index == null) {
+                    index = new IdIndex<>();
+                }
+                index.put(((IndexedNode) node).id, node);
+            }
+        }
+    }
 
-        return count;
+    /**
+     * Create a detached node carrying an external id, for restoring a snapshot.
+     *
+     * @param key  The key of the node.
+     * @param info The associated data for the node.
+     * @param id   The external id.
+     * @return The node.
+     */
+    static HeapNode newIndexedNode(int key, String info, long id) {
+        return new IndexedNode(key, info, id);
     }
 
     // Helper functions
 
+    /**
+     * Add a detached node to the root list.
+     *
+     * @param newNode The node.
+     */
+    private void addRoot(HeapNode newNode) {
+        if (min == null) {
+            min = newNode;
+        } else {
+            // Add the new node to the root list
+            newNode.next = min.next;
+            newNode.prev = min;
+            min.next.prev = newNode;
+            min.next = newNode;
+            // Update the minimum pointer if necessary
+            if (newNode.key < min.key) {
+                min = newNode;
+            }
+        }
+        size++;
+        rootCount++;
+    }
+
+    /**
+     * Return the node of the element with this id.
+     *
+     * @param id The external id.
+     * @return The node.
+     * @throws IllegalArgumentException If no element has this id.
+     */
+    private HeapNode nodeById(long id) {
+        HeapNode node = findById(id);
+        if (node == null) {
+            throw new IllegalArgumentException("no element with id " + id);
+        }
+        return node;
+    }
+
+    /**
+     * Check that no id is held by more than one of this heap and the heaps to meld.
+     *
+     * @param heaps The heaps to meld.
+     * @throws IllegalArgumentException If an id is held twice.
+     */
+    private void checkDistinctIds(Collection<FibonacciHeap> heaps) {
+        IdIndex<HeapNode> seen = null;
+        for (FibonacciHeap heap2 : heaps) {
+            if (heap2 == null || heap2 == this || heap2.index == null || heap2.index.size() == 0) {
+                continue;
+            }
+            if ((index != null && index.intersects(heap2.index))
+                    || (seen != null && seen.intersects(heap2.index))) {
+                throw new IllegalArgumentException("heaps share an element id");
+            }
+            if (seen == null) {
+                seen = new IdIndex<>();
+            }
+            seen.putAll(heap2.index);
+        }
+    }
+
+    /**
+     * Take over heap2's size and counters after its root list was spliced in, and
+     * leave heap2 empty.
+     *
+     * @param heap2 The melded heap.
+     */
+    private void adopt(FibonacciHeap heap2) {
+        this.size += heap2.size;
+        this.rootCount += heap2.rootCount;
+        this.markedCount += heap2.markedCount;
+        this.maxRank = Math.max(this.maxRank, heap2.maxRank);
+        heap2.size = 0;
+        heap2.rootCount = 0;
+        heap2.markedCount = 0;
+        heap2.maxRank = 0;
+        heap2.min = null;
+        if (heap2.index != null && heap2.index.size() > 0) {
+            // Add the smaller map's ids to the larger map, which this heap keeps
+            IdIndex<HeapNode> larger = heap2.index;
+            IdIndex<HeapNode> smaller = index;
+            if (smaller != null && smaller.size() > larger.size()) {
+                larger = index;
+                smaller = heap2.index;
+            }
+            if (smaller != null) {
+                larger.putAll(smaller);
+                smaller.clear();
+            }
+            index = larger;
+            heap2.index = smaller;
+        }
+    }
+
+    /**
+     * Record a node that violates heap order for the next batched pass.
+     *
+     * @param x The decreased node.
+     */
+    private void markDirty(HeapNode x) {
+        if (x.dirty) {
+            return;
+        }
+        x.dirty = true;
+        if (dirtyCount == dirtyNodes.length) {
+            dirtyNodes = Arrays.copyOf(dirtyNodes, Math.max(16, dirtyCount * 2));
+        }
+        dirtyNodes[dirtyCount++] = x;
+    }
+
+    /**
+     * Apply the cuts, cascading cuts and minimum update of all deferred decreaseKeys.
+     *
+     * A dirty node whose parent was decreased below it in the same batch is back in
+     * heap order and stays a child, so min is only ever moved to a node as cut makes it
+     * a root. Cascading cuts can turn a node that was already processed into a root
+     * too, which cut covers the same way.
+     */
+    private void applyPendingDecreases() {
+        for (int i = 0; i < dirtyCount; i++) {
+            HeapNode x = dirtyNodes[i];
+            dirtyNodes[i] = null;
+            x.dirty = false;
+            HeapNode parent = x.parent;
+            if (parent != null && x.key < parent.key) {
+                cut(x);
+                cascadingCut(parent);
+                deferredCuts++;
+            }
+        }
+        dirtyCount = 0;
+    }
+
+    /**
+     * Remove up to k items with keys below threshold in key order, consolidating once.
+     *
+     * @param k         The maximum number of items to remove.
+     * @param threshold Only items with keys below this value are removed.
+     * @param keys      Receives the removed keys, or null.
+     * @param entries   Receives the removed (key, info) pairs, or null.
+     * @return The number of items removed.
+     */
+    private int drain(int k, int threshold, IntConsumer keys, BiConsumer<Integer, String> entries) {
+        applyPendingDecreases();
+        if (k == 0 || min == null || min.key >= threshold) {
+            return 0;
+        }
+
+        // The frontier holds exactly the current roots
+        PriorityQueue<HeapNode> frontier = new PriorityQueue<>(rootCount, (a, b) -> Integer.compare(a.key, b.key));
+        HeapNode root = min;
+        do {
+            frontier.add(root);
+            root = root.next;
+        } while (root != min);
+
+        int removed = 0;
+        try {
+            while (removed < k && !frontier.isEmpty() && frontier.peek().key < threshold) {
+                HeapNode x = frontier.poll();
+                rootCount += x.rank - 1;
+                if (x.mark) {
+                    markedCount--;
+                }
+                if (x.child != null) {
+                    HeapNode child = x.child;
+                    do {
+                        child.parent = null;
+                        frontier.add(child);
+                        child = child.next;
+                    } while (child != x.child);
+                    mergeNodes(x, x.child);
+                }
+                removeNode(x);
+                // Keep min pointing into the root list for the final consolidate
+                if (x == min) {
+                    min = x.next;
+                }
+                size--;
+                removed++;
+                int key = x.key;
+                // Materialize the payload before release gives it back to the store
+                String info = keys != null ? null : getInfo(x);
+                release(x);
+                if (keys != null) {
+                    keys.accept(key);
+                } else {
+                    entries.accept(key, info);
+                }
+            }
+        } finally {
+            // Restore the heap even if the sink throws
+            if (size == 0) {
+                min = null;
+                maxRank = 0;
+            } else {
+                consolidate();
+            }
+        }
+        return removed;
+    }
+
     /**
      * Consolidate trees of the same rank.
      *
      * This function merges trees in the root list to ensure that no two trees have the same rank.
+     * The rank table is kept between calls, so steady-state calls do not allocate.
      */
     private void consolidate() {
-        HeapNode[] aux = new HeapNode[size];
+        int bound = rankBound(size);
+        if (rankTable.length < bound) {
+            rankTable = new HeapNode[bound];
+        }
+        HeapNode[] aux = rankTable;
+        if (metrics != null) {
+            metrics.consolidations++;
+        }
+        ConsolidateEvent event = null;
+        if (ConsolidateEvent.TYPE.isEnabled()) {
+            event = new ConsolidateEvent();
+            event.begin();
+            event.rootsBefore = rootCount;
+            event.size = size;
+        }
+        // Take the root count up front: min itself may be linked below another root
+        int numRoots = rootCount;
         HeapNode current = min;
-        do {
+        for (int i = 0; i < numRoots; i++) {
             HeapNode next = current.next;
             while (aux[current.rank] != null) {
                 current = link(current, aux[current.rank]);
@@ -212,16 +1103,98 @@ public class FibonacciHeap {
             }
             aux[current.rank] = current;
             current = next;
-        } while (current != min);
+        }
 
+        // Find the new minimum and leave the table empty for the next call
         min = null;
-        for (HeapNode node : aux) {
+        for (int r = 0; r < aux.length; r++) {
+            HeapNode node = aux[r];
             if (node != null) {
                 if (min == null || node.key < min.key) {
                     min = node;
                 }
+                maxRank = r;
+                aux[r] = null;
             }
         }
+        if (event != null) {
+            event.rootsAfter = rootCount;
+            event.links = event.rootsBefore - rootCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * Return a rank table length that can hold every rank of a heap with n nodes.
+     * A tree of rank r has at least phi^r nodes, so r is below 1.5 * log2(n).
+     *
+     * @param n The number of nodes.
+     * @return The rank table length.
+     */
+    private static int rankBound(int n) {
+        int bits = 32 - Integer.numberOfLeadingZeros(n);
+        return bits + (bits >>> 1) + 2;
+    }
+
+    /**
+     * Return a node for insert, reusing a removed one when recycling is on.
+     *
+     * @param key  The key of the node.
+     * @param info The associated data for the node.
+     * @return A detached node holding key and info.
+     */
+    private HeapNode newNode(int key, String info) {
+        HeapNode node = freeNodes;
+        if (node == null) {
+            nodesAllocated++;
+            return store == null ? new HeapNode(key, info) : new StoredNode(key, store.store(info));
+        }
+        freeNodes = node.next;
+        node.key = key;
+        if (store == null) {
+            node.info = info;
+        } else {
+            ((StoredNode) node).payload = store.store(info);
+        }
+        node.next = node.prev = node;
+        node.rank = 0;
+        node.mark = false;
+        nodesRecycled++;
+        return node;
+    }
+
+    /**
+     * Return a node removed from the heap to the pool when recycling is on.
+     *
+     * @param x The removed node.
+     */
+    private void release(HeapNode x) {
+        if (store != null) {
+            store.release(payloadOf(x));
+        }
+        if (index != null && x instanceof IndexedNode) {
+            index.remove(((IndexedNode) x).id);
+            return;
+        }
+        if (!recycleNodes) {
+            return;
+        }
+        x.info = null;
+        x.child = null;
+        x.parent = null;
+        x.prev = null;
+        x.next = freeNodes;
+        freeNodes = x;
+    }
+
+    /**
+     * Return the store reference of a node in a heap with a store.
+     *
+     * @param x The node, a StoredNode or a StoredIndexedNode.
+     * @return The node's payload reference.
+     */
+    private static long payloadOf(HeapNode x) {
+        return x instanceof StoredNode ? ((StoredNode) x).payload : ((StoredIndexedNode) x).payload;
     }
 
     /**
@@ -247,6 +1220,7 @@ public class FibonacciHeap {
         }
         a.rank++;
         totalLinks++;
+        rootCount--;
         return a;
     }
 
@@ -263,9 +1237,18 @@ public class FibonacciHeap {
             removeNode(x);
             x.parent.rank--;
             x.parent = null;
-            x.mark = false;
+            if (x.mark) {
+                x.mark = false;
+                markedCount--;
+            }
+            x.next = x.prev = x;
             mergeNodes(min, x);
+            // Keep min a root: a deferred decrease may have left x below it
+            if (x.key < min.key) {
+                min = x;
+            }
             totalCuts++;
+            rootCount++;
         }
     }
 
@@ -275,14 +1258,31 @@ public class FibonacciHeap {
      * @param x The node to start cascading cuts from.
      */
     private void cascadingCut(HeapNode x) {
+        CascadingCutEvent event = null;
+        if (CascadingCutEvent.TYPE.isEnabled()) {
+            event = new CascadingCutEvent();
+            event.begin();
+        }
+        int depth = 0;
         HeapNode parent = x.parent;
-        if (parent != null) {
+        while (parent != null) {
             if (!x.mark) {
                 x.mark = true;
-            } else {
-                cut(x);
-                cascadingCut(parent);
+                markedCount++;
+                break;
             }
+            cut(x);
+            depth++;
+            x = parent;
+            parent = x.parent;
+        }
+        if (event != null && depth > 0) {
+            event.depth = depth;
+            event.rootsAfter = rootCount;
+            event.commit();
+        }
+        if (metrics != null) {
+            metrics.recordCascade(depth);
         }
     }
 
@@ -328,6 +1328,7 @@ public class FibonacciHeap {
         public HeapNode parent;
         public int rank;
         public boolean mark;
+        private boolean dirty;
 
         /**
          * Constructor to initialize a heap node.
@@ -346,4 +1347,237 @@ public class FibonacciHeap {
             this.mark = false;
         }
     }
+
+    /**
+     * Walks the forest in key order through a frontier of nodes whose parents have
+     * already been returned.
+     */
+    private static final class SortedIterator implements Iterator<HeapNode> {
+        private final PriorityQueue<HeapNode> frontier;
+
+        SortedIterator(HeapNode min) {
+            this.frontier = new PriorityQueue<>((a, b) -> Integer.compare(a.key, b.key));
+            addRing(min);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !frontier.isEmpty();
+        }
+
+        @Override
+        public HeapNode next() {
+            HeapNode node = frontier.poll();
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            addRing(node.child);
+            return node;
+        }
+
+        private void addRing(HeapNode first) {
+            if (first == null) {
+                return;
+            }
+            HeapNode x = first;
+            do {
+                frontier.add(x);
+                x = x.next;
+            } while (x != first);
+        }
+    }
+
+    /**
+     * Walks a segment of sibling trees in place, optionally after a lone node whose
+     * subtree was handed to the segment. Within a tree, the next node is the first child,
+     * or else the next sibling, climbing through parents at the end of each child ring.
+     */
+    private static final class NodeSpliterator implements Spliterator<HeapNode> {
+        private HeapNode lone;
+        private HeapNode first;
+        private int count;
+        private long weight;
+        private long estimate;
+        private boolean sized;
+        private HeapNode cursor;
+
+        /**
+         * @param lone     A node to return before the segment, or null.
+         * @param first    The first tree of the segment.
+         * @param count    The number of trees in the segment.
+         * @param weight   The sum of 2^rank over the segment, or -1 if not yet known.
+         * @param estimate The estimated number of nodes, lone included.
+         * @param sized    Whether the estimate is exact.
+         */
+        NodeSpliterator(HeapNode lone, HeapNode first, int count, long weight, long estimate, boolean sized) {
+            this.lone = lone;
+            this.first = first;
+            this.count = count;
+            this.weight = weight;
+            this.estimate = estimate;
+            this.sized = sized;
+            this.cursor = null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super HeapNode> action) {
+            HeapNode x;
+            if (lone != null) {
+                x = lone;
+                lone = null;
+            } else if (count > 0) {
+                x = cursor == null ? first : cursor;
+                cursor = successor(x, first);
+                if (cursor == null) {
+                    first = first.next;
+                    count--;
+                }
+            } else {
+                return false;
+            }
+            if (estimate > 0) {
+                estimate--;
+            }
+            action.accept(x);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super HeapNode> action) {
+            HeapNode x = lone;
+            HeapNode tree = first;
+            HeapNode next = cursor;
+            int trees = count;
+            lone = null;
+            cursor = null;
+            count = 0;
+            estimate = 0;
+            if (x != null) {
+                action.accept(x);
+            }
+            for (; trees > 0; trees--, tree = tree.next, next = null) {
+                for (x = next == null ? tree : next; x != null; x = successor(x, tree)) {
+                    action.accept(x);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<HeapNode> trySplit() {
+            // A tree already being walked stays with this spliterator
+            if (cursor != null || count == 0) {
+                return null;
+            }
+            if (count == 1) {
+                if (lone != null) {
+                    // Keep the lone node and hand off the tree
+                    NodeSpliterator tree = new NodeSpliterator(null, first, 1, weight, estimate - 1, false);
+                    count = 0;
+                    weight = 0;
+                    estimate = 1;
+                    sized = false;
+                    return tree;
+                }
+                if (first.child == null) {
+                    return null;
+                }
+                // Split the tree into its root and its child ring
+                lone = first;
+                first = lone.child;
+                count = lone.rank;
+                weight = -1;
+                return trySplit();
+            }
+            if (weight < 0) {
+                weight = weightOf(first, count);
+            }
+            // Hand off a prefix with about half the weight, leaving at least one tree
+            HeapNode x = first;
+            int taken = 0;
+            long takenWeight = 0;
+            do {
+                takenWeight += 1L << x.rank;
+                x = x.next;
+                taken++;
+            } while (taken < count - 1 && 2 * takenWeight < weight);
+            long trees = estimate - (lone == null ? 0 : 1);
+            long prefixEstimate = (long) ((double) trees * takenWeight / weight);
+            NodeSpliterator prefix = new NodeSpliterator(null, first, taken, takenWeight, prefixEstimate, false);
+            first = x;
+            count -= taken;
+            weight -= takenWeight;
+            estimate -= prefixEstimate;
+            sized = false;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return sized ? SIZED | NONNULL | DISTINCT : NONNULL | DISTINCT;
+        }
+
+        private static HeapNode successor(HeapNode x, HeapNode root) {
+            if (x.child != null) {
+                return x.child;
+            }
+            while (x != root) {
+                if (x.next != x.parent.child) {
+                    return x.next;
+                }
+                x = x.parent;
+            }
+            return null;
+        }
+
+        private static long weightOf(HeapNode first, int count) {
+            long weight = 0;
+            HeapNode x = first;
+            for (int i = 0; i < count; i++) {
+                weight += 1L << x.rank;
+                x = x.next;
+            }
+            return weight;
+        }
+    }
+
+    /**
+     * A node inserted with an external id.
+     */
+    static class IndexedNode extends HeapNode {
+        final long id;
+
+        IndexedNode(int key, String info, long id) {
+            super(key, info);
+            this.id = id;
+        }
+    }
+
+    /**
+     * A node of a heap with a PayloadStore, holding a store reference instead of info.
+     */
+    static final class StoredNode extends HeapNode {
+        long payload;
+
+        StoredNode(int key, long payload) {
+            super(key, null);
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * A node of a heap with a PayloadStore inserted with an external id.
+     */
+    static final class StoredIndexedNode extends IndexedNode {
+        final long payload;
+
+        StoredIndexedNode(int key, long payload, long id) {
+            super(key, null, id);
+            this.payload = payload;
+        }
+    }
 }
@@ -0,0 +1,285 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+
+/**
+ * FibonacciHeapSnapshot
+ *
+ * A compact binary image of a FibonacciHeap's forest, written through a FileChannel and
+ * restored by mapping the file, so a large heap comes back in one linear pass instead of
+ * n inserts and the consolidations that follow them.
+ *
+ * Layout: a header of magic, version, size, roots, marked count, max rank, total links
+ * and total cuts, then one record per node in preorder, roots first starting at the
+ * minimum. A record is the key, the rank, a flags byte, the node's external id if it
+ * has one, and the info as a UTF-8 length (-1 for null) followed by its bytes. The flags
+ * byte holds the mark in bit 0 and whether an id follows in bit 1; version 1 files have
+ * no ids. A node's rank is its number of children, so the shape needs no pointers: the
+ * next rank records after a node are its subtrees.
+ *
+ * Trees are walked with an explicit stack rather than by recursion, since cascading cuts
+ * can leave a tree as deep as the heap is large.
+ *
+ * An element's id is its preorder index. write returns the nodes in id order, and read
+ * returns the restored node of every id, so handles kept by id survive a restart.
+ * Nodes inserted with insertWithId are restored with their external ids, so the
+ * restored heap answers findById, decreaseKeyById and deleteById as before.
+ */
+public final class FibonacciHeapSnapshot {
+
+    private static final int MAGIC = 0x46485331;
+    private static final int VERSION = 2;
+    private static final byte MARKED = 1;
+    private static final byte HAS_ID = 2;
+
+    private final FibonacciHeap heap;
+    private final FibonacciHeap.HeapNode[] nodes;
+
+    private FibonacciHeapSnapshot(FibonacciHeap heap, FibonacciHeap.HeapNode[] nodes) {
+        this.heap = heap;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Write a snapshot of heap to path, replacing any existing file only once the new
+     * snapshot is complete. Pending deferred decreaseKeys are applied first. Payloads
+     * kept in a PayloadStore are written as strings, and restore into info.
+     *
+     * @param heap The heap to write; it is not modified otherwise.
+     * @param path The snapshot file.
+     * @return The heap's nodes, indexed by element id.
+     * @throws IOException If the file cannot be written.
+     */
+    public static FibonacciHeap.HeapNode[] write(FibonacciHeap heap, Path path) throws IOException {
+        FibonacciHeap.HeapNode min = heap.findMin();
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[heap.size()];
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SnapshotWriter out = new SnapshotWriter(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(heap.size());
+            out.putInt(heap.rootCount());
+            out.putInt(heap.markedCount());
+            out.putInt(heap.maxRank());
+            out.putLong(heap.totalLinks());
+            out.putLong(heap.totalCuts());
+
+            int id = 0;
+            if (min != null) {
+                FibonacciHeap.HeapNode root = min;
+                do {
+                    id = writeTree(out, heap, root, nodes, id);
+                    root = root.next;
+                } while (root != min);
+            }
+            out.flush();
+            channel.force(false);
+        }
+        SnapshotWriter.moveIntoPlace(temp, path);
+        return nodes;
+    }
+
+    /**
+     * Restore a heap from a snapshot written by write.
+     *
+     * @param path The snapshot file.
+     * @return The restored snapshot, holding the new heap and its nodes by id.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static FibonacciHeapSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            SnapshotReader in = new SnapshotReader(channel);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("not a FibonacciHeap snapshot: " + path);
+            }
+            int version = in.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("unsupported snapshot version " + version);
+            }
+            int size = in.getInt();
+            int roots = in.getInt();
+            int marked = in.getInt();
+            int maxRank = in.getInt();
+            long totalLinks = in.getLong();
+            long totalCuts = in.getLong();
+
+            FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[size];
+            FibonacciHeap.HeapNode min = null;
+            int[] next = {0};
+            ArrayDeque<FibonacciHeap.HeapNode> parents = new ArrayDeque<>();
+            for (int r = 0; r < roots; r++) {
+                FibonacciHeap.HeapNode root = readTree(in, nodes, next, parents);
+                if (min == null) {
+                    min = root;
+                } else {
+                    append(min, root);
+                }
+            }
+            if (next[0] != size) {
+                throw new IOException("snapshot holds " + next[0] + " nodes, header says " + size);
+            }
+
+            FibonacciHeap heap = new FibonacciHeap();
+            if (min != null) {
+                heap.adoptForest(min, size, roots, marked, maxRank, totalLinks, totalCuts);
+                heap.indexNodes(nodes);
+            }
+            return new FibonacciHeapSnapshot(heap, nodes);
+        }
+    }
+
+    /**
+     * Return the restored heap.
+     *
+     * @return The heap.
+     */
+    public FibonacciHeap heap() {
+        return heap;
+    }
+
+    /**
+     * Return the restored node of an element.
+     *
+     * @param id The element id, as indexed in the array returned by write.
+     * @return The node.
+     */
+    public FibonacciHeap.HeapNode node(int id) {
+        return nodes[id];
+    }
+
+    /**
+     * Return the restored nodes.
+     *
+     * @return The nodes, indexed by element id.
+     */
+    public FibonacciHeap.HeapNode[] nodes() {
+        return nodes;
+    }
+
+    // Helper functions
+
+    /**
+     * Write a tree in preorder.
+     *
+     * @param out   The output.
+     * @param heap  The heap, which materializes payloads kept in a store.
+     * @param root  The tree's root.
+     * @param nodes Filled with the written nodes by id.
+     * @param id    The id of root.
+     * @return The id following the tree's last node.
+     */
+    private static int writeTree(SnapshotWriter out, FibonacciHeap heap, FibonacciHeap.HeapNode root,
+                                 FibonacciHeap.HeapNode[] nodes, int id) throws IOException {
+        ArrayDeque<FibonacciHeap.HeapNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            FibonacciHeap.HeapNode node = stack.pop();
+            nodes[id++] = node;
+            out.putInt(node.key);
+            out.putInt(node.rank);
+            boolean hasId = node instanceof FibonacciHeap.IndexedNode;
+            out.putByte((byte) ((node.mark ? MARKED : 0) | (hasId ? HAS_ID : 0)));
+            if (hasId) {
+                out.putLong(((FibonacciHeap.IndexedNode) node).id);
+            }
+            out.putString(heap.getInfo(node));
+            // Push the children last to first, so the first one is written next
+            FibonacciHeap.HeapNode first = node.child;
+            if (first != null) {
+                FibonacciHeap.HeapNode child = first;
+                do {
+                    child = child.prev;
+                    stack.push(child);
+                } while (child != first);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Read a tree written by writeTree, building its child rings as it goes.
+     *
+     * A node is pushed on parents once per child it still expects, so the top of the
+     * stack is always the parent of the next record: the records of a node's subtree
+     * come before its next sibling's, and push on top of its remaining slots.
+     *
+     * @param in      The input.
+     * @param nodes   Filled with the read nodes by id.
+     * @param next    A one-element holder of the next id.
+     * @param parents An empty stack to work in; it is left empty.
+     * @return The tree's root.
+     */
+    private static FibonacciHeap.HeapNode readTree(SnapshotReader in, FibonacciHeap.HeapNode[] nodes, int[] next,
+                                                   ArrayDeque<FibonacciHeap.HeapNode> parents)
+            throws IOException {
+        FibonacciHeap.HeapNode root = readNode(in, null, nodes, next);
+        for (int i = 0; i < root.rank; i++) {
+            parents.push(root);
+        }
+        while (!parents.isEmpty()) {
+            FibonacciHeap.HeapNode parent = parents.pop();
+            FibonacciHeap.HeapNode child = readNode(in, parent, nodes, next);
+            if (parent.child == null) {
+                parent.child = child;
+            } else {
+                append(parent.child, child);
+            }
+            for (int i = 0; i < child.rank; i++) {
+                parents.push(child);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Read a single node record, leaving its child ring empty.
+     *
+     * @param in     The input.
+     * @param parent The node's parent, or null for a root.
+     * @param nodes  Filled with the read node at its id.
+     * @param next   A one-element holder of the next id.
+     * @return The node.
+     */
+    private static FibonacciHeap.HeapNode readNode(SnapshotReader in, FibonacciHeap.HeapNode parent,
+                                                   FibonacciHeap.HeapNode[] nodes, int[] next) throws IOException {
+        int key = in.getInt();
+        int rank = in.getInt();
+        byte flags = in.getByte();
+        boolean hasId = (flags & HAS_ID) != 0;
+        long id = hasId ? in.getLong() : 0;
+        String info = in.getString();
+        if (next[0] >= nodes.length) {
+            throw new IOException("snapshot holds more nodes than its header says");
+        }
+        // Every child needs a record of its own, which bounds the rank
+        if (rank < 0 || rank >= nodes.length - next[0]) {
+            throw new IOException("invalid rank " + rank + " in snapshot");
+        }
+        FibonacciHeap.HeapNode node = hasId
+                ? FibonacciHeap.newIndexedNode(key, info, id)
+                : new FibonacciHeap.HeapNode(key, info);
+        nodes[next[0]++] = node;
+        node.parent = parent;
+        node.rank = rank;
+        node.mark = (flags & MARKED) != 0;
+        return node;
+    }
+
+    /**
+     * Add a single node at the end of a ring, just before its first node.
+     *
+     * @param first The ring's first node.
+     * @param node  The node to add.
+     */
+    private static void append(FibonacciHeap.HeapNode first, FibonacciHeap.HeapNode node) {
+        FibonacciHeap.HeapNode last = first.prev;
+        last.next = node;
+        node.prev = last;
+        node.next = first;
+        first.prev = node;
+    }
+}
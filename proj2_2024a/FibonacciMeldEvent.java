@@ -0,0 +1,33 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * FibonacciMeldEvent
+ *
+ * A Flight Recorder event for one FibonacciHeap meld or meldAll.
+ */
+@Name("FibonacciHeap.Meld")
+@Label("Meld")
+@Category({"Heaps", "FibonacciHeap"})
+@Description("A meld of one or more heaps into this heap")
+public final class FibonacciMeldEvent extends jdk.jfr.Event {
+
+    /** Checked before the event is created, so a disabled event costs one call. */
+    static final EventType TYPE = EventType.getEventType(FibonacciMeldEvent.class);
+
+    @Label("Heaps")
+    @Description("The number of heaps melded in")
+    int heaps;
+
+    @Label("Roots Before")
+    int rootsBefore;
+
+    @Label("Roots After")
+    int rootsAfter;
+
+    @Label("Elements Added")
+    int elementsAdded;
+}
@@ -0,0 +1,407 @@
+import java.util.Comparator;
+
+/**
+ * GenericFibonacciHeap
+ *
+ * A Fibonacci heap over keys of any type, ordered by a Comparator (or by the
+ * keys' natural order), with arbitrary payloads.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the payload stored with each key.
+ */
+public class GenericFibonacciHeap<K, V> {
+
+    private HeapNode<K, V> min;
+    private int size;
+    private long totalLinks;
+    private long totalCuts;
+    private HeapNode<K, V>[] rankTable;
+    private final Comparator<? super K> comparator;
+
+    /**
+     * Constructor to initialize an empty heap ordered by the keys' natural order.
+     * The keys must implement Comparable.
+     */
+    @SuppressWarnings("unchecked")
+    public GenericFibonacciHeap() {
+        this((Comparator<? super K>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Constructor to initialize an empty heap ordered by a comparator.
+     *
+     * @param comparator The order of the keys.
+     */
+    public GenericFibonacciHeap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+        this.min = null;
+        this.size = 0;
+        this.totalLinks = 0;
+        this.totalCuts = 0;
+        this.rankTable = newTable(0);
+    }
+
+    /**
+     * Insert (key, info) into the heap and return the newly generated HeapNode.
+     *
+     * @param key  The key of the new node.
+     * @param info The associated data for the new node.
+     * @return The newly created HeapNode.
+     */
+    public HeapNode<K, V> insert(K key, V info) {
+        HeapNode<K, V> newNode = new HeapNode<>(key, info);
+        if (min == null) {
+            min = newNode;
+        } else {
+            mergeNodes(min, newNode);
+            if (comparator.compare(key, min.key) < 0) {
+                min = newNode;
+            }
+        }
+        size++;
+        return newNode;
+    }
+
+    /**
+     * Return the minimal HeapNode, or null if the heap is empty.
+     *
+     * @return The node with the minimum key, or null if the heap is empty.
+     */
+    public HeapNode<K, V> findMin() {
+        return min;
+    }
+
+    /**
+     * Delete the minimal item.
+     */
+    public void deleteMin() {
+        if (min == null) {
+            return;
+        }
+
+        HeapNode<K, V> oldMin = min;
+        if (min.child != null) {
+            HeapNode<K, V> child = min.child;
+            do {
+                child.parent = null;
+                child = child.next;
+            } while (child != min.child);
+            mergeNodes(min, min.child);
+        }
+
+        removeNode(min);
+        size--;
+
+        if (size == 0) {
+            min = null;
+        } else {
+            min = oldMin.next;
+            consolidate();
+        }
+    }
+
+    /**
+     * Decrease the key of x to newKey and fix the heap.
+     *
+     * @param x      The node whose key will be decreased.
+     * @param newKey The new key (must not be greater than the current key).
+     * @throws IllegalArgumentException If newKey is greater than the current key.
+     */
+    public void decreaseKey(HeapNode<K, V> x, K newKey) {
+        if (x == null) {
+            return;
+        }
+        if (comparator.compare(newKey, x.key) > 0) {
+            throw new IllegalArgumentException("New key is greater than the current key");
+        }
+
+        x.key = newKey;
+        HeapNode<K, V> parent = x.parent;
+        if (parent != null && comparator.compare(x.key, parent.key) < 0) {
+            cut(x);
+            cascadingCut(parent);
+        }
+
+        if (comparator.compare(x.key, min.key) < 0) {
+            min = x;
+        }
+    }
+
+    /**
+     * Delete x from the heap.
+     *
+     * @param x The node to delete.
+     */
+    public void delete(HeapNode<K, V> x) {
+        if (x == null) {
+            return;
+        }
+        if (x == min) {
+            deleteMin();
+        } else {
+            HeapNode<K, V> parent = x.parent;
+            if (parent != null) {
+                cut(x);
+                cascadingCut(parent);
+            }
+            // x is now a root: hand its children over to the root list
+            if (x.child != null) {
+                HeapNode<K, V> child = x.child;
+                do {
+                    child.parent = null;
+                    child = child.next;
+                } while (child != x.child);
+                mergeNodes(x, x.child);
+            }
+            removeNode(x);
+            size--;
+        }
+    }
+
+    /**
+     * Return the total number of links performed.
+     *
+     * @return The total number of tree merges (links) performed in the heap.
+     */
+    public long totalLinks() {
+        return totalLinks;
+    }
+
+    /**
+     * Return the total number of cuts performed.
+     *
+     * @return The total number of cuts (node separations) performed in the heap.
+     */
+    public long totalCuts() {
+        return totalCuts;
+    }
+
+    /**
+     * Meld the heap with another heap.
+     *
+     * @param heap2 The other GenericFibonacciHeap to meld with.
+     */
+    public void meld(GenericFibonacciHeap<K, V> heap2) {
+        if (heap2 == null || heap2 == this || heap2.min == null) {
+            return;
+        }
+
+        if (this.min == null) {
+            this.min = heap2.min;
+        } else {
+            mergeNodes(this.min, heap2.min);
+            if (comparator.compare(heap2.min.key, this.min.key) < 0) {
+                this.min = heap2.min;
+            }
+        }
+
+        this.size += heap2.size;
+        heap2.size = 0;
+        heap2.min = null;
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of trees in the heap.
+     *
+     * @return The total number of trees in the heap's root list.
+     */
+    public int numTrees() {
+        int count = 0;
+        if (min == null) {
+            return count;
+        }
+
+        HeapNode<K, V> node = min;
+        do {
+            count++;
+            node = node.next;
+        } while (node != min);
+
+        return count;
+    }
+
+    // Helper functions
+
+    /**
+     * Consolidate trees of the same rank, reusing the rank table between calls.
+     */
+    private void consolidate() {
+        int bound = rankBound(size);
+        if (rankTable.length < bound) {
+            rankTable = newTable(bound);
+        }
+        HeapNode<K, V>[] aux = rankTable;
+
+        int numRoots = numTrees();
+        HeapNode<K, V> current = min;
+        for (int i = 0; i < numRoots; i++) {
+            HeapNode<K, V> next = current.next;
+            while (aux[current.rank] != null) {
+                current = link(current, aux[current.rank]);
+                aux[current.rank - 1] = null;
+            }
+            aux[current.rank] = current;
+            current = next;
+        }
+
+        min = null;
+        for (int r = 0; r < aux.length; r++) {
+            HeapNode<K, V> node = aux[r];
+            if (node != null) {
+                if (min == null || comparator.compare(node.key, min.key) < 0) {
+                    min = node;
+                }
+                aux[r] = null;
+            }
+        }
+    }
+
+    /**
+     * Return a rank table length that can hold every rank of a heap with n nodes.
+     *
+     * @param n The number of nodes.
+     * @return The rank table length.
+     */
+    private static int rankBound(int n) {
+        int bits = 32 - Integer.numberOfLeadingZeros(n);
+        return bits + (bits >>> 1) + 2;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> HeapNode<K, V>[] newTable(int length) {
+        return (HeapNode<K, V>[]) new HeapNode<?, ?>[length];
+    }
+
+    /**
+     * Link two trees of the same rank.
+     *
+     * @param a The first tree.
+     * @param b The second tree.
+     * @return The resulting tree after linking.
+     */
+    private HeapNode<K, V> link(HeapNode<K, V> a, HeapNode<K, V> b) {
+        if (comparator.compare(b.key, a.key) < 0) {
+            HeapNode<K, V> temp = a;
+            a = b;
+            b = temp;
+        }
+        removeNode(b);
+        b.parent = a;
+        b.next = b.prev = b;
+        if (a.child == null) {
+            a.child = b;
+        } else {
+            mergeNodes(a.child, b);
+        }
+        a.rank++;
+        totalLinks++;
+        return a;
+    }
+
+    /**
+     * Cut a node from its parent and move it to the root list.
+     *
+     * @param x The node to cut.
+     */
+    private void cut(HeapNode<K, V> x) {
+        HeapNode<K, V> parent = x.parent;
+        if (parent.child == x) {
+            parent.child = x.next == x ? null : x.next;
+        }
+        removeNode(x);
+        parent.rank--;
+        x.parent = null;
+        x.mark = false;
+        x.next = x.prev = x;
+        mergeNodes(min, x);
+        totalCuts++;
+    }
+
+    /**
+     * Perform cascading cuts for a node and its ancestors.
+     *
+     * @param x The node to start cascading cuts from.
+     */
+    private void cascadingCut(HeapNode<K, V> x) {
+        HeapNode<K, V> parent = x.parent;
+        while (parent != null) {
+            if (!x.mark) {
+                x.mark = true;
+                return;
+            }
+            cut(x);
+            x = parent;
+            parent = x.parent;
+        }
+    }
+
+    /**
+     * Merge two circular doubly linked lists.
+     *
+     * @param a The first circular doubly linked list.
+     * @param b The second circular doubly linked list.
+     */
+    private void mergeNodes(HeapNode<K, V> a, HeapNode<K, V> b) {
+        HeapNode<K, V> aNext = a.next;
+        a.next = b.next;
+        b.next.prev = a;
+        b.next = aNext;
+        aNext.prev = b;
+    }
+
+    /**
+     * Remove a node from its circular doubly linked list.
+     *
+     * @param x The node to remove.
+     */
+    private void removeNode(HeapNode<K, V> x) {
+        if (x.next == x) {
+            return;
+        }
+        x.prev.next = x.next;
+        x.next.prev = x.prev;
+    }
+
+    /**
+     * Class implementing a node in a GenericFibonacciHeap.
+     *
+     * @param <K> The type of the key.
+     * @param <V> The type of the payload.
+     */
+    public static class HeapNode<K, V> {
+        public K key;
+        public V info;
+        public HeapNode<K, V> child;
+        public HeapNode<K, V> next;
+        public HeapNode<K, V> prev;
+        public HeapNode<K, V> parent;
+        public int rank;
+        public boolean mark;
+
+        /**
+         * Constructor to initialize a heap node.
+         *
+         * @param key  The key of the node.
+         * @param info The associated data for the node.
+         */
+        public HeapNode(K key, V info) {
+            this.key = key;
+            this.info = info;
+            this.child = null;
+            this.next = this;
+            this.prev = this;
+            this.parent = null;
+            this.rank = 0;
+            this.mark = false;
+        }
+    }
+}
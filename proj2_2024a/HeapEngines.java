@@ -0,0 +1,65 @@
+import java.util.List;
+
+/**
+ * HeapEngines
+ *
+ * Creates AddressableHeap engines by name, so the engine can be chosen per workload by
+ * configuration instead of in code. The names are those the benchmarks use:
+ * fibonacci, binomial, pairing and rank-pairing. radix is also accepted, but only for
+ * monotone workloads such as Dijkstra, so it is not listed in NAMES.
+ *
+ * Code that needs the handle type captures it with a generic method:
+ *
+ *   static <H> void run(AddressableHeap<H> heap) { H x = heap.insert(5, null); ... }
+ *   run(HeapEngines.configured("pairing"));
+ */
+public final class HeapEngines {
+
+    /**
+     * The system property read by configured.
+     */
+    public static final String PROPERTY = "heap.engine";
+
+    /**
+     * The names of the engines that accept any sequence of operations.
+     */
+    public static final List<String> NAMES = List.of("fibonacci", "binomial", "pairing", "rank-pairing");
+
+    private HeapEngines() {
+    }
+
+    /**
+     * Create an empty heap of the named engine.
+     *
+     * @param name The engine name.
+     * @return The new heap.
+     * @throws IllegalArgumentException If no engine has this name.
+     */
+    public static AddressableHeap<?> create(String name) {
+        switch (name) {
+            case "fibonacci":
+                return new FibonacciHeap();
+            case "binomial":
+                return new BinomialHeap();
+            case "pairing":
+                return new PairingHeap();
+            case "rank-pairing":
+                return new RankPairingHeap();
+            case "radix":
+                return new RadixHeap();
+            default:
+                throw new IllegalArgumentException("unknown heap engine " + name + ", expected one of " + NAMES);
+        }
+    }
+
+    /**
+     * Create an empty heap of the engine named by the heap.engine system property.
+     *
+     * @param defaultName The engine to use if the property is not set.
+     * @return The new heap.
+     * @throws IllegalArgumentException If the configured name is not an engine.
+     */
+    public static AddressableHeap<?> configured(String defaultName) {
+        return create(System.getProperty(PROPERTY, defaultName));
+    }
+}
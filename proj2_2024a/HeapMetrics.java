@@ -0,0 +1,240 @@
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * HeapMetrics
+ *
+ * Runtime metrics of one FibonacciHeap, exposed as a JMX MBean. Obtained from
+ * FibonacciHeap.enableMetrics(); while a heap has no metrics, each instrumented
+ * operation pays only a null check.
+ *
+ * The heap's thread updates the metrics without synchronization, so a JMX client
+ * reading them from another thread may see values a few operations old.
+ */
+public class HeapMetrics implements HeapMetricsMBean {
+
+    private final FibonacciHeap heap;
+    final LatencyHistogram insert;
+    final LatencyHistogram deleteMin;
+    final LatencyHistogram decreaseKey;
+    final LatencyHistogram meld;
+    long cascadingCuts;
+    long maxCascadingCutDepth;
+    long consolidations;
+    private ObjectName name;
+
+    /**
+     * Constructor to initialize the metrics of a heap.
+     *
+     * @param heap The heap being measured.
+     */
+    HeapMetrics(FibonacciHeap heap) {
+        this.heap = heap;
+        this.insert = new LatencyHistogram();
+        this.deleteMin = new LatencyHistogram();
+        this.decreaseKey = new LatencyHistogram();
+        this.meld = new LatencyHistogram();
+        this.cascadingCuts = 0;
+        this.maxCascadingCutDepth = 0;
+        this.consolidations = 0;
+        this.name = null;
+    }
+
+    /**
+     * Register the metrics with the platform MBean server under
+     * FibonacciHeap:type=HeapMetrics,name=&lt;name&gt;.
+     *
+     * @param name The name distinguishing this heap from others.
+     * @return The object name the metrics were registered under.
+     * @throws IllegalStateException If the metrics are already registered or the
+     *                               name is invalid or taken.
+     */
+    public synchronized ObjectName register(String name) {
+        if (this.name != null) {
+            throw new IllegalStateException("already registered as " + this.name);
+        }
+        try {
+            ObjectName objectName = new ObjectName("FibonacciHeap:type=HeapMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.name = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("cannot register heap metrics as " + name, e);
+        }
+    }
+
+    /**
+     * Remove the metrics from the platform MBean server, if registered.
+     */
+    public synchronized void unregister() {
+        if (name == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("cannot unregister " + name, e);
+        } finally {
+            name = null;
+        }
+    }
+
+    /**
+     * Return the total number of links performed.
+     *
+     * @return The number of links.
+     */
+    @Override
+    public long getLinks() {
+        return heap.totalLinks();
+    }
+
+    /**
+     * Return the total number of cuts performed, cascading ones included.
+     *
+     * @return The number of cuts.
+     */
+    @Override
+    public long getCuts() {
+        return heap.totalCuts();
+    }
+
+    /**
+     * Return the number of cuts made by cascading cuts, that is, the summed depth of
+     * every cascade since the metrics were enabled.
+     *
+     * @return The number of cascading cuts.
+     */
+    @Override
+    public long getCascadingCuts() {
+        return cascadingCuts;
+    }
+
+    /**
+     * Return the length of the longest cascade of cuts since the metrics were enabled.
+     *
+     * @return The maximum cascading cut depth.
+     */
+    @Override
+    public long getMaxCascadingCutDepth() {
+        return maxCascadingCutDepth;
+    }
+
+    /**
+     * Return the number of consolidate passes since the metrics were enabled.
+     *
+     * @return The number of consolidations.
+     */
+    @Override
+    public long getConsolidations() {
+        return consolidations;
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The heap size.
+     */
+    @Override
+    public int getSize() {
+        return heap.size();
+    }
+
+    /**
+     * Return the length of the root list, as maintained by the heap. Deferred
+     * decreaseKeys that have not been applied yet are not counted.
+     *
+     * @return The number of trees.
+     */
+    @Override
+    public int getNumTrees() {
+        return heap.rootCount();
+    }
+
+    /**
+     * Return the number of marked nodes.
+     *
+     * @return The marked node count.
+     */
+    @Override
+    public int getMarkedNodes() {
+        return heap.markedCount();
+    }
+
+    /**
+     * Return the largest root rank seen since the last consolidate. Cuts made since
+     * then may have lowered the actual maximum, so this is an upper bound.
+     *
+     * @return The maximum rank.
+     */
+    @Override
+    public int getMaxRank() {
+        return heap.maxRank();
+    }
+
+    @Override
+    public long[] getInsertLatency() {
+        return summary(insert);
+    }
+
+    @Override
+    public long[] getDeleteMinLatency() {
+        return summary(deleteMin);
+    }
+
+    @Override
+    public long[] getDecreaseKeyLatency() {
+        return summary(decreaseKey);
+    }
+
+    @Override
+    public long[] getMeldLatency() {
+        return summary(meld);
+    }
+
+    /**
+     * Forget every recorded latency.
+     */
+    @Override
+    public void resetLatencies() {
+        insert.reset();
+        deleteMin.reset();
+        decreaseKey.reset();
+        meld.reset();
+    }
+
+    /**
+     * Record the depth of one cascade of cuts.
+     *
+     * @param depth The number of cuts the cascade made.
+     */
+    void recordCascade(int depth) {
+        cascadingCuts += depth;
+        if (depth > maxCascadingCutDepth) {
+            maxCascadingCutDepth = depth;
+        }
+    }
+
+    /**
+     * Summarize a histogram as {count, mean, p50, p90, p99, p999, max}.
+     *
+     * @param histogram The histogram.
+     * @return The summary, in nanoseconds.
+     */
+    private static long[] summary(LatencyHistogram histogram) {
+        return new long[]{
+                histogram.count(),
+                Math.round(histogram.mean()),
+                histogram.percentile(0.5),
+                histogram.percentile(0.9),
+                histogram.percentile(0.99),
+                histogram.percentile(0.999),
+                histogram.max()
+        };
+    }
+}
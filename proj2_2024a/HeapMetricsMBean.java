@@ -0,0 +1,36 @@
+/**
+ * HeapMetricsMBean
+ *
+ * The JMX management interface of HeapMetrics. Latency attributes are arrays of
+ * {count, mean, p50, p90, p99, p999, max}, with every duration in nanoseconds.
+ */
+public interface HeapMetricsMBean {
+
+    long getLinks();
+
+    long getCuts();
+
+    long getCascadingCuts();
+
+    long getMaxCascadingCutDepth();
+
+    long getConsolidations();
+
+    int getSize();
+
+    int getNumTrees();
+
+    int getMarkedNodes();
+
+    int getMaxRank();
+
+    long[] getInsertLatency();
+
+    long[] getDeleteMinLatency();
+
+    long[] getDecreaseKeyLatency();
+
+    long[] getMeldLatency();
+
+    void resetLatencies();
+}
@@ -0,0 +1,355 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HeapScheduler
+ *
+ * A timer scheduler that keeps pending timers in a LongFibonacciHeap keyed by deadline in
+ * nanoseconds. Rescheduling a timer earlier is a decreaseKey, O(1) amortized, and
+ * cancelling it is a delete, O(log n) amortized; rescheduling later is a delete followed
+ * by reinserting the same node, so no operation after schedule allocates.
+ *
+ * One dispatcher thread sleeps until the earliest deadline, removes every due timer and
+ * hands its task to the executor. By default the executor starts a virtual thread per
+ * task when the runtime has them, and otherwise falls back to a fixed pool of one daemon
+ * thread per processor. All heap access is under one lock.
+ */
+public class HeapScheduler implements AutoCloseable {
+
+    private final LongFibonacciHeap<Timer> heap;
+    private final ReentrantLock lock;
+    private final Condition wakeup;
+    private final ExecutorService executor;
+    private final Thread dispatcher;
+    private final long origin;
+    private boolean closed;
+    private long fired;
+    private long cancelled;
+    private long rescheduled;
+
+    /**
+     * Constructor for a scheduler that runs tasks on virtual threads when available.
+     */
+    public HeapScheduler() {
+        this(newTaskExecutor());
+    }
+
+    /**
+     * Constructor for a scheduler that runs tasks on executor.
+     *
+     * @param executor The executor due tasks are handed to; it is shut down by close.
+     */
+    public HeapScheduler(ExecutorService executor) {
+        this.heap = new LongFibonacciHeap<>();
+        this.lock = new ReentrantLock();
+        this.wakeup = lock.newCondition();
+        this.executor = executor;
+        this.origin = System.nanoTime();
+        this.dispatcher = new Thread(this::dispatch, "heap-scheduler");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Schedule task to run once after delay.
+     *
+     * @param task  The task to run.
+     * @param delay The delay from now; a negative delay counts as zero.
+     * @param unit  The unit of delay.
+     * @return The timer, for rescheduling or cancelling the task.
+     * @throws IllegalStateException If the scheduler is closed.
+     */
+    public Timer schedule(Runnable task, long delay, TimeUnit unit) {
+        Timer timer = new Timer(task);
+        long deadline = deadline(delay, unit);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("scheduler is closed");
+            }
+            timer.node = heap.insert(deadline, timer);
+            signalIfFirst(timer);
+        } finally {
+            lock.unlock();
+        }
+        return timer;
+    }
+
+    /**
+     * Move a pending timer's deadline to delay from now.
+     *
+     * @param timer The timer.
+     * @param delay The new delay from now; a negative delay counts as zero.
+     * @param unit  The unit of delay.
+     * @return Whether the timer was still pending, and so was rescheduled.
+     */
+    public boolean reschedule(Timer timer, long delay, TimeUnit unit) {
+        long deadline = deadline(delay, unit);
+        lock.lock();
+        try {
+            LongFibonacciHeap.HeapNode<Timer> node = timer.node;
+            if (node == null) {
+                return false;
+            }
+            if (deadline < node.key) {
+                heap.decreaseKey(node, node.key - deadline);
+                signalIfFirst(timer);
+            } else if (deadline > node.key) {
+                heap.delete(node);
+                heap.reinsert(node, deadline);
+            }
+            rescheduled++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancel a pending timer, so its task never runs.
+     *
+     * @param timer The timer.
+     * @return Whether the timer was still pending, and so was cancelled.
+     */
+    public boolean cancel(Timer timer) {
+        lock.lock();
+        try {
+            LongFibonacciHeap.HeapNode<Timer> node = timer.node;
+            if (node == null) {
+                return false;
+            }
+            heap.delete(node);
+            timer.node = null;
+            cancelled++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return whether a timer is pending.
+     *
+     * @param timer The timer.
+     * @return Whether the timer has neither fired nor been cancelled.
+     */
+    public boolean isPending(Timer timer) {
+        lock.lock();
+        try {
+            return timer.node != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of pending timers.
+     *
+     * @return The number of timers neither fired nor cancelled.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of timers whose task was handed to the executor.
+     *
+     * @return The number of fired timers.
+     */
+    public long fired() {
+        lock.lock();
+        try {
+            return fired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of timers cancelled.
+     *
+     * @return The number of successful cancels.
+     */
+    public long cancelled() {
+        lock.lock();
+        try {
+            return cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of successful reschedules.
+     *
+     * @return The number of reschedules of pending timers.
+     */
+    public long rescheduled() {
+        lock.lock();
+        try {
+            return rescheduled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop the dispatcher and shut down the executor. Pending timers never fire; tasks
+     * already handed to the executor still run.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            wakeup.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Return whether Executors.newVirtualThreadPerTaskExecutor exists in this runtime.
+     *
+     * @return Whether the default executor runs tasks on virtual threads.
+     */
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // Helper functions
+
+    /**
+     * The dispatcher loop: wait for the earliest deadline, then hand every due task to
+     * the executor outside the lock.
+     */
+    private void dispatch() {
+        List<Runnable> due = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                while (!closed && due.isEmpty()) {
+                    LongFibonacciHeap.HeapNode<Timer> first = heap.findMin();
+                    if (first == null) {
+                        wakeup.awaitUninterruptibly();
+                        continue;
+                    }
+                    long now = System.nanoTime() - origin;
+                    if (first.key > now) {
+                        wakeup.awaitNanos(first.key - now);
+                        continue;
+                    }
+                    // Drain every timer that is due by now
+                    while (first != null && first.key <= now) {
+                        heap.deleteMin();
+                        first.info.node = null;
+                        due.add(first.info.task);
+                        first = heap.findMin();
+                    }
+                    fired += due.size();
+                }
+                if (closed) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                // Only close stops the dispatcher
+                continue;
+            } finally {
+                lock.unlock();
+            }
+            for (Runnable task : due) {
+                executor.execute(task);
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * Wake the dispatcher if timer is now the earliest, so it waits for the new deadline.
+     * Called with the lock held.
+     *
+     * @param timer The timer just scheduled or moved earlier.
+     */
+    private void signalIfFirst(Timer timer) {
+        if (heap.findMin() == timer.node) {
+            wakeup.signal();
+        }
+    }
+
+    /**
+     * Return the heap key of a deadline delay from now, in nanoseconds since origin.
+     *
+     * @param delay The delay; a negative delay counts as zero.
+     * @param unit  The unit of delay.
+     * @return The deadline, saturated at Long.MAX_VALUE.
+     */
+    private long deadline(long delay, TimeUnit unit) {
+        long now = System.nanoTime() - origin;
+        long nanos = Math.max(0, unit.toNanos(delay));
+        return nanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + nanos;
+    }
+
+    /**
+     * Return an executor that starts a virtual thread per task, or a fixed pool of daemon
+     * threads if the runtime has no virtual threads. A cached pool would hand every task
+     * to its thread through a SynchronousQueue, which costs a context switch per timer
+     * when many fire at once. Looked up reflectively so the class still compiles and runs
+     * on runtimes before Java 21.
+     *
+     * @return The executor.
+     */
+    private static ExecutorService newTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+                Thread thread = new Thread(task, "heap-scheduler-task");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * A scheduled task. Its node is set while the timer is pending and cleared once it
+     * fires or is cancelled, under the scheduler's lock.
+     */
+    public static final class Timer {
+        private final Runnable task;
+        private LongFibonacciHeap.HeapNode<Timer> node;
+
+        private Timer(Runnable task) {
+            this.task = task;
+        }
+
+        /**
+         * Return the task this timer runs.
+         *
+         * @return The task.
+         */
+        public Runnable getTask() {
+            return task;
+        }
+    }
+}
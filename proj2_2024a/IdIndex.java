@@ -0,0 +1,176 @@
+/**
+ * IdIndex
+ *
+ * Open-addressing map from a long id to an element, shared by FibonacciHeap (whose
+ * elements are nodes) and BinomialHeap (whose elements are items). Ids and elements are
+ * kept in parallel long and Object arrays with linear probing and backward-shift
+ * deletion, so lookups neither box ids nor allocate. A null element marks an empty slot.
+ *
+ * @param <T> The type of the indexed elements.
+ */
+final class IdIndex<T> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] ids;
+    private Object[] elements;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructor to initialize an empty index.
+     */
+    IdIndex() {
+        clear();
+    }
+
+    /**
+     * Return the number of indexed ids.
+     *
+     * @return The number of ids.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Return the element of an id.
+     *
+     * @param id The id.
+     * @return The element, or null if the id is not indexed.
+     */
+    @SuppressWarnings("unchecked")
+    T get(long id) {
+        int i = slot(id);
+        Object element;
+        while ((element = elements[i]) != null) {
+            if (ids[i] == id) {
+                return (T) element;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Map an id to an element, replacing any element it had.
+     *
+     * @param id      The id.
+     * @param element The element, not null.
+     */
+    void put(long id, T element) {
+        insert(id, element);
+    }
+
+    /**
+     * Remove an id, if it is indexed.
+     *
+     * @param id The id.
+     */
+    void remove(long id) {
+        int i = slot(id);
+        while (elements[i] != null && ids[i] != id) {
+            i = (i + 1) & mask;
+        }
+        if (elements[i] == null) {
+            return;
+        }
+        size--;
+        // Shift later entries of the probe run back into the hole
+        int hole = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (elements[j] == null) {
+                break;
+            }
+            int home = slot(ids[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                ids[hole] = ids[j];
+                elements[hole] = elements[j];
+                hole = j;
+            }
+        }
+        elements[hole] = null;
+    }
+
+    /**
+     * Return whether the two indexes share an id, probing the larger with the smaller.
+     *
+     * @param other The other index.
+     * @return True if some id is in both.
+     */
+    boolean intersects(IdIndex<?> other) {
+        IdIndex<?> small = size <= other.size ? this : other;
+        IdIndex<?> large = small == this ? other : this;
+        for (int i = 0; i < small.elements.length; i++) {
+            if (small.elements[i] != null && large.get(small.ids[i]) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add every entry of another index.
+     *
+     * @param other The index to copy from.
+     */
+    void putAll(IdIndex<? extends T> other) {
+        for (int i = 0; i < other.elements.length; i++) {
+            if (other.elements[i] != null) {
+                insert(other.ids[i], other.elements[i]);
+            }
+        }
+    }
+
+    /**
+     * Remove every id and shrink back to the minimum capacity.
+     */
+    void clear() {
+        ids = new long[MIN_CAPACITY];
+        elements = new Object[MIN_CAPACITY];
+        size = 0;
+        mask = MIN_CAPACITY - 1;
+    }
+
+    // Helper functions
+
+    private void insert(long id, Object element) {
+        // Grow at a load factor of 1/2, which keeps probe sequences short
+        if (2 * (size + 1) > elements.length) {
+            resize(elements.length * 2);
+        }
+        int i = slot(id);
+        while (elements[i] != null) {
+            if (ids[i] == id) {
+                elements[i] = element;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        ids[i] = id;
+        elements[i] = element;
+        size++;
+    }
+
+    private int slot(long id) {
+        // Fibonacci hashing, folding the high bits in so sequential ids spread out
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        Object[] oldElements = elements;
+        ids = new long[capacity];
+        elements = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldElements.length; i++) {
+            if (oldElements[i] != null) {
+                insert(oldIds[i], oldElements[i]);
+            }
+        }
+    }
+}
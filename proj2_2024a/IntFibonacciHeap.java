@@ -0,0 +1,633 @@
+import java.util.Arrays;
+
+/**
+ * IntFibonacciHeap
+ *
+ * A Fibonacci heap over int keys that keeps its nodes in primitive
+ * arrays instead of allocating one HeapNode object per element. Nodes are
+ * addressed by int handles (array slots) returned from insert. Keys are only
+ * compared, never used as sentinels, so any int is a valid key, including
+ * Integer.MIN_VALUE and Integer.MAX_VALUE.
+ *
+ * The int fields of a node (key, links, rank and mark) are packed next to each
+ * other in a single int[], so following a link touches one cache line rather
+ * than one line per field array.
+ *
+ * The structure and the counters follow FibonacciHeap operation by operation,
+ * so totalLinks() and totalCuts() match for the same sequence of calls.
+ *
+ * Payloads are kept as String references by default. A heap built with a PayloadStore
+ * keeps only a long reference per node instead and materializes info on getInfo, so
+ * payloads can be deduplicated or moved off the Java heap.
+ */
+public class IntFibonacciHeap {
+
+    /**
+     * Handle value meaning "no node".
+     */
+    public static final int NONE = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Layout of one node record in the nodes array
+    private static final int KEY = 0;
+    private static final int CHILD = 1;
+    private static final int NEXT = 2;
+    private static final int PREV = 3;
+    private static final int PARENT = 4;
+    private static final int RANK = 5; // rank << 1 | mark
+    private static final int STRIDE = 6;
+
+    private int[] nodes;
+    private String[] info;
+    private long[] payloads;
+    private final PayloadStore store;
+
+    private int min;
+    private int size;
+    private int slots;
+    private int freeHead;
+    private long totalLinks;
+    private long totalCuts;
+    private int[] rankTable;
+
+    /**
+     * Constructor to initialize an empty heap.
+     */
+    public IntFibonacciHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor to initialize an empty heap with room for a given number of nodes.
+     *
+     * @param initialCapacity The number of nodes to reserve space for.
+     */
+    public IntFibonacciHeap(int initialCapacity) {
+        this(initialCapacity, null);
+    }
+
+    /**
+     * Constructor to initialize an empty heap that keeps its payloads in a store.
+     *
+     * @param initialCapacity The number of nodes to reserve space for.
+     * @param store           The payload store, or null to keep info as String references.
+     */
+    public IntFibonacciHeap(int initialCapacity, PayloadStore store) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.nodes = new int[capacity * STRIDE];
+        this.store = store;
+        if (store == null) {
+            this.info = new String[capacity];
+        } else {
+            this.payloads = new long[capacity];
+        }
+        this.rankTable = new int[0];
+        this.min = NONE;
+        this.size = 0;
+        this.slots = 0;
+        this.freeHead = NONE;
+        this.totalLinks = 0;
+        this.totalCuts = 0;
+    }
+
+    /**
+     * Insert (key, info) into the heap and return the handle of the new node.
+     *
+     * @param k   The key of the new node (any int).
+     * @param inf The associated data for the new node.
+     * @return The handle of the newly created node.
+     */
+    public int insert(int k, String inf) {
+        int x = allocate();
+        if (store == null) {
+            info[x] = inf;
+        } else {
+            payloads[x] = store.store(inf);
+        }
+        int base = x * STRIDE;
+        nodes[base + KEY] = k;
+        nodes[base + CHILD] = NONE;
+        nodes[base + NEXT] = x;
+        nodes[base + PREV] = x;
+        nodes[base + PARENT] = NONE;
+        nodes[base + RANK] = 0;
+        if (min == NONE) {
+            min = x;
+        } else {
+            // Add the new node to the root list
+            mergeLists(min, x);
+            // Update the minimum pointer if necessary
+            if (k < key(min)) {
+                min = x;
+            }
+        }
+        size++;
+        return x;
+    }
+
+    /**
+     * Return the handle of the minimal node, or NONE if the heap is empty.
+     *
+     * @return The handle of the node with the minimum key, or NONE if the heap is empty.
+     */
+    public int findMin() {
+        return min;
+    }
+
+    /**
+     * Return the key of a node.
+     *
+     * @param x The handle of the node.
+     * @return The current key of the node.
+     */
+    public int getKey(int x) {
+        return key(x);
+    }
+
+    /**
+     * Return the info of a node.
+     *
+     * @param x The handle of the node.
+     * @return The data associated with the node.
+     */
+    public String getInfo(int x) {
+        return store == null ? info[x] : store.load(payloads[x]);
+    }
+
+    /**
+     * Delete the minimal item.
+     *
+     * The handle of the removed node becomes invalid and may be reused by a later insert.
+     */
+    public void deleteMin() {
+        if (min == NONE) {
+            return;
+        }
+
+        int z = min;
+        int c = child(z);
+        if (c != NONE) {
+            int x = c;
+            do {
+                setParent(x, NONE);
+                x = next(x);
+            } while (x != c);
+            // Add the children to the root list
+            mergeLists(z, c);
+        }
+
+        removeFromList(z);
+        size--;
+
+        if (size == 0) {
+            min = NONE;
+        } else {
+            min = next(z);
+            consolidate();
+        }
+        release(z);
+    }
+
+    /**
+     * Decrease the key of x by diff and fix the heap.
+     *
+     * @param x    The handle of the node whose key will be decreased.
+     * @param diff The amount to decrease the key (must be > 0, and must not take the
+     *             key below Integer.MIN_VALUE).
+     */
+    public void decreaseKey(int x, int diff) {
+        if (diff <= 0 || x == NONE) {
+            return;
+        }
+
+        nodes[x * STRIDE + KEY] -= diff;
+        int p = parent(x);
+        if (p != NONE && key(x) < key(p)) {
+            cut(x);
+            cascadingCut(p);
+        }
+
+        if (key(x) < key(min)) {
+            min = x;
+        }
+    }
+
+    /**
+     * Delete x from the heap.
+     *
+     * @param x The handle of the node to delete.
+     */
+    public void delete(int x) {
+        if (x == NONE) {
+            return;
+        }
+        if (x == min) {
+            deleteMin();
+            return;
+        }
+
+        int p = parent(x);
+        if (p != NONE) {
+            cut(x);
+            cascadingCut(p);
+        }
+        // x is now a root: hand its children over to the root list
+        int c = child(x);
+        if (c != NONE) {
+            int y = c;
+            do {
+                setParent(y, NONE);
+                y = next(y);
+            } while (y != c);
+            mergeLists(x, c);
+        }
+        removeFromList(x);
+        size--;
+        release(x);
+    }
+
+    /**
+     * Return the total number of links performed.
+     *
+     * @return The total number of tree merges (links) performed in the heap.
+     */
+    public long totalLinks() {
+        return totalLinks;
+    }
+
+    /**
+     * Return the total number of cuts performed.
+     *
+     * @return The total number of cuts (node separations) performed in the heap.
+     */
+    public long totalCuts() {
+        return totalCuts;
+    }
+
+    /**
+     * Meld the heap with another heap.
+     *
+     * The nodes of heap2 are copied into this heap's arrays, so a handle h that was
+     * valid in heap2 is valid in this heap as h + offset, where offset is the
+     * returned value. heap2 is left empty.
+     *
+     * @param heap2 The other IntFibonacciHeap to meld with.
+     * @return The offset to add to heap2's handles.
+     * @throws IllegalArgumentException If heap2 keeps its payloads in another store.
+     */
+    public int meld(IntFibonacciHeap heap2) {
+        if (heap2 == null || heap2 == this) {
+            return 0;
+        }
+        if (heap2.store != store) {
+            throw new IllegalArgumentException("cannot meld heaps with different payload stores");
+        }
+        if (heap2.min == NONE) {
+            return 0;
+        }
+
+        int offset = slots;
+        int count = heap2.slots;
+        ensureCapacity(offset + count);
+
+        if (store == null) {
+            System.arraycopy(heap2.info, 0, info, offset, count);
+        } else {
+            System.arraycopy(heap2.payloads, 0, payloads, offset, count);
+        }
+        int[] other = heap2.nodes;
+        for (int i = 0; i < count * STRIDE; i += STRIDE) {
+            int j = offset * STRIDE + i;
+            nodes[j + KEY] = other[i + KEY];
+            nodes[j + CHILD] = shift(other[i + CHILD], offset);
+            nodes[j + NEXT] = shift(other[i + NEXT], offset);
+            nodes[j + PREV] = shift(other[i + PREV], offset);
+            nodes[j + PARENT] = shift(other[i + PARENT], offset);
+            nodes[j + RANK] = other[i + RANK];
+        }
+        slots = offset + count;
+
+        // Keep heap2's free slots reusable
+        if (heap2.freeHead != NONE) {
+            int tail = heap2.freeHead + offset;
+            while (next(tail) != NONE) {
+                tail = next(tail);
+            }
+            setNext(tail, freeHead);
+            freeHead = heap2.freeHead + offset;
+        }
+
+        int otherMin = heap2.min + offset;
+        if (min == NONE) {
+            min = otherMin;
+        } else {
+            mergeLists(min, otherMin);
+            if (key(otherMin) < key(min)) {
+                min = otherMin;
+            }
+        }
+
+        this.size += heap2.size;
+        if (store == null) {
+            Arrays.fill(heap2.info, 0, count, null);
+        }
+        heap2.size = 0;
+        heap2.min = NONE;
+        heap2.slots = 0;
+        heap2.freeHead = NONE;
+        return offset;
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of trees in the heap.
+     *
+     * @return The total number of trees in the heap's root list.
+     */
+    public int numTrees() {
+        int count = 0;
+        if (min == NONE) {
+            return count;
+        }
+
+        int x = min;
+        do {
+            count++;
+            x = next(x);
+        } while (x != min);
+
+        return count;
+    }
+
+    // Helper functions
+
+    /**
+     * Consolidate trees of the same rank.
+     *
+     * Uses a rank table kept between calls, sized by the O(log n) bound on ranks.
+     */
+    private void consolidate() {
+        int bound = rankBound(size);
+        if (rankTable.length < bound) {
+            rankTable = new int[bound];
+            Arrays.fill(rankTable, NONE);
+        }
+        int[] aux = rankTable;
+
+        int numRoots = numTrees();
+        int current = min;
+        for (int i = 0; i < numRoots; i++) {
+            int nextRoot = next(current);
+            while (aux[rank(current)] != NONE) {
+                current = link(current, aux[rank(current)]);
+                aux[rank(current) - 1] = NONE;
+            }
+            aux[rank(current)] = current;
+            current = nextRoot;
+        }
+
+        // Find the new minimum and leave the table empty for the next call
+        min = NONE;
+        for (int r = 0; r < aux.length; r++) {
+            int x = aux[r];
+            if (x != NONE) {
+                if (min == NONE || key(x) < key(min)) {
+                    min = x;
+                }
+                aux[r] = NONE;
+            }
+        }
+    }
+
+    /**
+     * Return a table length that can hold every rank of a heap with n nodes.
+     * A tree of rank r has at least phi^r nodes, so r is below 1.5 * log2(n).
+     *
+     * @param n The number of nodes.
+     * @return The rank table length.
+     */
+    private static int rankBound(int n) {
+        int bits = 32 - Integer.numberOfLeadingZeros(n);
+        return bits + (bits >>> 1) + 2;
+    }
+
+    /**
+     * Link two trees of the same rank.
+     *
+     * @param a The first tree.
+     * @param b The second tree.
+     * @return The resulting tree after linking.
+     */
+    private int link(int a, int b) {
+        if (key(b) < key(a)) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        removeFromList(b);
+        setParent(b, a);
+        setNext(b, b);
+        setPrev(b, b);
+        if (child(a) == NONE) {
+            setChild(a, b);
+        } else {
+            mergeLists(child(a), b);
+        }
+        addRank(a, 1);
+        totalLinks++;
+        return a;
+    }
+
+    /**
+     * Cut a node from its parent and move it to the root list.
+     *
+     * @param x The node to cut.
+     */
+    private void cut(int x) {
+        int p = parent(x);
+        if (child(p) == x) {
+            setChild(p, next(x) == x ? NONE : next(x));
+        }
+        removeFromList(x);
+        addRank(p, -1);
+        setParent(x, NONE);
+        clearMark(x);
+        setNext(x, x);
+        setPrev(x, x);
+        mergeLists(min, x);
+        totalCuts++;
+    }
+
+    /**
+     * Perform cascading cuts for a node and its ancestors.
+     *
+     * @param x The node to start cascading cuts from.
+     */
+    private void cascadingCut(int x) {
+        int p = parent(x);
+        while (p != NONE) {
+            if (!isMarked(x)) {
+                setMark(x);
+                return;
+            }
+            cut(x);
+            x = p;
+            p = parent(x);
+        }
+    }
+
+    /**
+     * Merge two circular doubly linked lists.
+     *
+     * @param a A node of the first list.
+     * @param b A node of the second list.
+     */
+    private void mergeLists(int a, int b) {
+        int aNext = next(a);
+        int bNext = next(b);
+        setNext(a, bNext);
+        setPrev(bNext, a);
+        setNext(b, aNext);
+        setPrev(aNext, b);
+    }
+
+    /**
+     * Remove a node from its circular doubly linked list.
+     *
+     * @param x The node to remove.
+     */
+    private void removeFromList(int x) {
+        int xNext = next(x);
+        if (xNext == x) {
+            return;
+        }
+        int xPrev = prev(x);
+        setNext(xPrev, xNext);
+        setPrev(xNext, xPrev);
+    }
+
+    /**
+     * Return a free slot, growing the arrays if needed.
+     *
+     * @return The slot for a new node.
+     */
+    private int allocate() {
+        if (freeHead != NONE) {
+            int x = freeHead;
+            freeHead = next(x);
+            return x;
+        }
+        if (slots == nodes.length / STRIDE) {
+            ensureCapacity(slots + 1);
+        }
+        return slots++;
+    }
+
+    /**
+     * Put a removed node's slot on the free list.
+     *
+     * @param x The slot to release.
+     */
+    private void release(int x) {
+        if (store == null) {
+            info[x] = null;
+        } else {
+            store.release(payloads[x]);
+            payloads[x] = PayloadStore.NULL_REF;
+        }
+        setChild(x, NONE);
+        setParent(x, NONE);
+        setNext(x, freeHead);
+        freeHead = x;
+    }
+
+    /**
+     * Grow the arrays so they can hold at least the given number of nodes.
+     *
+     * @param capacity The required number of slots.
+     */
+    private void ensureCapacity(int capacity) {
+        int current = nodes.length / STRIDE;
+        if (capacity <= current) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, current + (current >>> 1) + 1);
+        nodes = Arrays.copyOf(nodes, newCapacity * STRIDE);
+        if (store == null) {
+            info = Arrays.copyOf(info, newCapacity);
+        } else {
+            payloads = Arrays.copyOf(payloads, newCapacity);
+        }
+    }
+
+    private static int shift(int x, int offset) {
+        return x == NONE ? NONE : x + offset;
+    }
+
+    // Field accessors for the packed node records
+
+    private int key(int x) {
+        return nodes[x * STRIDE + KEY];
+    }
+
+    private int child(int x) {
+        return nodes[x * STRIDE + CHILD];
+    }
+
+    private void setChild(int x, int c) {
+        nodes[x * STRIDE + CHILD] = c;
+    }
+
+    private int next(int x) {
+        return nodes[x * STRIDE + NEXT];
+    }
+
+    private void setNext(int x, int n) {
+        nodes[x * STRIDE + NEXT] = n;
+    }
+
+    private int prev(int x) {
+        return nodes[x * STRIDE + PREV];
+    }
+
+    private void setPrev(int x, int p) {
+        nodes[x * STRIDE + PREV] = p;
+    }
+
+    private int parent(int x) {
+        return nodes[x * STRIDE + PARENT];
+    }
+
+    private void setParent(int x, int p) {
+        nodes[x * STRIDE + PARENT] = p;
+    }
+
+    private int rank(int x) {
+        return nodes[x * STRIDE + RANK] >>> 1;
+    }
+
+    private void addRank(int x, int delta) {
+        nodes[x * STRIDE + RANK] += delta << 1;
+    }
+
+    private boolean isMarked(int x) {
+        return (nodes[x * STRIDE + RANK] & 1) != 0;
+    }
+
+    private void setMark(int x) {
+        nodes[x * STRIDE + RANK] |= 1;
+    }
+
+    private void clearMark(int x) {
+        nodes[x * STRIDE + RANK] &= ~1;
+    }
+}
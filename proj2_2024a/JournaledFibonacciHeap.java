@@ -0,0 +1,668 @@
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * JournaledFibonacciHeap
+ *
+ * A durable FibonacciHeap. Every insert, decreaseKey, delete and deleteMin appends a
+ * record to a write-ahead log in a directory, and reopening the directory replays the
+ * log to rebuild the heap. Elements are addressed by a long id assigned on insert, which
+ * stays the same across restarts.
+ *
+ * Appends are group committed: a flusher thread collects the records of all threads
+ * into one batch, writes it and forces it to disk once. A batch is flushed when it
+ * reaches MAX_BATCH_BYTES or when its first record has waited the latency budget, so
+ * the budget bounds how much latency group commit adds to an operation. With
+ * awaitDurable on, each operation returns only once its record is on disk; with it off,
+ * operations return at once and sync() waits for everything appended so far.
+ *
+ * A log batch is framed by its length and CRC32. Recovery stops at the first torn or
+ * corrupt batch and truncates the log there, so a crash mid-write loses only operations
+ * that were never reported durable.
+ *
+ * checkpoint() writes a FibonacciHeapSnapshot of the heap and starts an empty log, so
+ * recovery restores the snapshot and replays only the log written after it. Ids are
+ * kept in the heap's own id index, which the snapshot records with every node.
+ *
+ * All methods are thread-safe.
+ */
+public class JournaledFibonacciHeap implements Closeable {
+
+    private static final byte INSERT = 1;
+    private static final byte DECREASE_KEY = 2;
+    private static final byte DELETE = 3;
+    private static final byte DELETE_MIN = 4;
+
+    private static final int MAX_BATCH_BYTES = 1 << 20;
+    private static final String CHECKPOINT_FILE = "CHECKPOINT";
+
+    private final Path dir;
+    private final long latencyBudgetNanos;
+    private final boolean awaitDurable;
+    private final FibonacciHeap heap;
+    private final ReentrantLock lock;
+    private final Condition pending;
+    private final Condition flushed;
+    private final Thread flusher;
+    private final CRC32 crc;
+
+    private long nextId;
+    private long generation;
+    private FileChannel log;
+    private ByteBuffer batch;
+    private ByteBuffer spare;
+    private long batchStartNanos;
+    private long appendedRecords;
+    private long durableRecords;
+    private long batches;
+    private boolean closed;
+    private IOException failure;
+
+    private JournaledFibonacciHeap(Path dir, long latencyBudgetNanos, boolean awaitDurable) {
+        this.dir = dir;
+        this.latencyBudgetNanos = latencyBudgetNanos;
+        this.awaitDurable = awaitDurable;
+        this.heap = new FibonacciHeap();
+        this.lock = new ReentrantLock();
+        this.pending = lock.newCondition();
+        this.flushed = lock.newCondition();
+        this.flusher = new Thread(this::flushLoop, "heap-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.crc = new CRC32();
+        this.batch = ByteBuffer.allocate(64 * 1024);
+        this.spare = ByteBuffer.allocate(64 * 1024);
+    }
+
+    /**
+     * Open the heap stored in dir with a 2 ms latency budget, waiting for durability on
+     * every operation.
+     *
+     * @param dir The journal directory; it is created if missing.
+     * @return The recovered heap.
+     * @throws IOException If the journal cannot be read or opened for writing.
+     */
+    public static JournaledFibonacciHeap open(Path dir) throws IOException {
+        return open(dir, TimeUnit.MILLISECONDS.toNanos(2), true);
+    }
+
+    /**
+     * Open the heap stored in dir, recovering it from the latest checkpoint and log.
+     *
+     * @param dir                The journal directory; it is created if missing.
+     * @param latencyBudgetNanos The longest a record waits for its batch to fill up.
+     * @param awaitDurable       Whether each operation waits until its record is on disk.
+     * @return The recovered heap.
+     * @throws IOException If the journal cannot be read or opened for writing.
+     */
+    public static JournaledFibonacciHeap open(Path dir, long latencyBudgetNanos, boolean awaitDurable)
+            throws IOException {
+        Files.createDirectories(dir);
+        JournaledFibonacciHeap journaled = new JournaledFibonacciHeap(dir, latencyBudgetNanos, awaitDurable);
+        journaled.recover();
+        journaled.flusher.start();
+        return journaled;
+    }
+
+    /**
+     * Insert (key, info) into the heap.
+     *
+     * @param key  The key of the new element (must be > 0).
+     * @param info The associated data for the new element.
+     * @return The id of the new element.
+     */
+    public long insert(int key, String info) {
+        long record;
+        long id;
+        lock.lock();
+        try {
+            ensureOpen();
+            id = nextId++;
+            byte[] bytes = info == null ? null : info.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer out = reserve(1 + 8 + 4 + 4 + (bytes == null ? 0 : bytes.length));
+            out.put(INSERT).putLong(id).putInt(key);
+            putBytes(out, bytes);
+            record = ++appendedRecords;
+            heap.insertWithId(id, key, info);
+        } finally {
+            lock.unlock();
+        }
+        awaitIfRequired(record);
+        return id;
+    }
+
+    /**
+     * Decrease the key of an element by diff.
+     *
+     * @param id   The id of the element.
+     * @param diff The amount to decrease the key (must be > 0).
+     * @throws IllegalArgumentException If no element has this id.
+     */
+    public void decreaseKey(long id, int diff) {
+        if (diff <= 0) {
+            return;
+        }
+        long record;
+        lock.lock();
+        try {
+            ensureOpen();
+            FibonacciHeap.HeapNode node = nodeOf(id);
+            reserve(1 + 8 + 4).put(DECREASE_KEY).putLong(id).putInt(diff);
+            record = ++appendedRecords;
+            heap.decreaseKey(node, diff);
+        } finally {
+            lock.unlock();
+        }
+        awaitIfRequired(record);
+    }
+
+    /**
+     * Delete an element.
+     *
+     * @param id The id of the element.
+     * @throws IllegalArgumentException If no element has this id.
+     */
+    public void delete(long id) {
+        long record;
+        lock.lock();
+        try {
+            ensureOpen();
+            FibonacciHeap.HeapNode node = nodeOf(id);
+            reserve(1 + 8).put(DELETE).putLong(id);
+            record = ++appendedRecords;
+            heap.delete(node);
+        } finally {
+            lock.unlock();
+        }
+        awaitIfRequired(record);
+    }
+
+    /**
+     * Remove the minimal element and return it.
+     *
+     * @return The removed node, or null if the heap was empty.
+     */
+    public FibonacciHeap.HeapNode deleteMin() {
+        long record;
+        FibonacciHeap.HeapNode min;
+        lock.lock();
+        try {
+            ensureOpen();
+            min = heap.findMin();
+            if (min == null) {
+                return null;
+            }
+            reserve(1 + 8).put(DELETE_MIN).putLong(heap.getId(min));
+            record = ++appendedRecords;
+            heap.deleteMin();
+        } finally {
+            lock.unlock();
+        }
+        awaitIfRequired(record);
+        return min;
+    }
+
+    /**
+     * Return the minimal element, or null if the heap is empty.
+     *
+     * @return The node with the minimum key.
+     */
+    public FibonacciHeap.HeapNode findMin() {
+        lock.lock();
+        try {
+            return heap.findMin();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the id of the minimal element.
+     *
+     * @return The id, or -1 if the heap is empty.
+     */
+    public long findMinId() {
+        lock.lock();
+        try {
+            FibonacciHeap.HeapNode min = heap.findMin();
+            return min == null ? -1 : heap.getId(min);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return whether an element with this id is in the heap.
+     *
+     * @param id The id.
+     * @return true if the element has been inserted and not removed.
+     */
+    public boolean contains(long id) {
+        lock.lock();
+        try {
+            return heap.containsId(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The size.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of batches written to the log since the heap was opened.
+     *
+     * @return The number of group commits.
+     */
+    public long batches() {
+        lock.lock();
+        try {
+            return batches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until every operation that has returned is on disk.
+     *
+     * @throws UncheckedIOException If writing the log failed.
+     */
+    public void sync() {
+        long record;
+        lock.lock();
+        try {
+            record = appendedRecords;
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(record);
+    }
+
+    /**
+     * Write a snapshot of the heap and start an empty log after it.
+     *
+     * The checkpoint becomes the recovery point only once its snapshot is complete, so a
+     * crash during a checkpoint recovers from the previous one.
+     *
+     * @throws IOException If the checkpoint cannot be written.
+     */
+    public void checkpoint() throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            while (durableRecords < appendedRecords && failure == null) {
+                flushed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+
+            long next = generation + 1;
+            FibonacciHeapSnapshot.write(heap, snapshotFile(next));
+            FileChannel nextLog = openLog(next);
+            writeCheckpointMarker(next);
+
+            FileChannel previous = log;
+            long previousGeneration = generation;
+            log = nextLog;
+            generation = next;
+            previous.close();
+            Files.deleteIfExists(logFile(previousGeneration));
+            Files.deleteIfExists(snapshotFile(previousGeneration));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flush every appended record and close the log. Further operations throw.
+     *
+     * @throws IOException If the final flush failed.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            log.close();
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Recovery
+
+    /**
+     * Restore the latest checkpoint, if any, then replay its log.
+     */
+    private void recover() throws IOException {
+        Path marker = dir.resolve(CHECKPOINT_FILE);
+        if (Files.exists(marker)) {
+            // The marker holds the generation and the next id to assign
+            String[] fields = new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).trim().split("\\s+");
+            generation = Long.parseLong(fields[0]);
+            nextId = Long.parseLong(fields[1]);
+        }
+        if (generation > 0) {
+            heap.meld(FibonacciHeapSnapshot.read(snapshotFile(generation)).heap());
+        }
+
+        Path file = logFile(generation);
+        long valid = 0;
+        if (Files.exists(file)) {
+            valid = replay(file);
+        }
+        log = openLog(generation);
+        if (log.size() > valid) {
+            // Drop a torn or corrupt tail so new batches follow the last valid one
+            log.truncate(valid);
+            log.force(true);
+        }
+        log.position(valid);
+    }
+
+    /**
+     * Apply every complete batch of a log to the heap.
+     *
+     * @param file The log file.
+     * @return The length of the log's valid prefix.
+     */
+    private long replay(Path file) throws IOException {
+        long valid = 0;
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            DataInputStream in = new DataInputStream(stream);
+            byte[] data = new byte[0];
+            while (true) {
+                int length;
+                int checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < 0) {
+                        break;
+                    }
+                    if (data.length < length) {
+                        data = new byte[length];
+                    }
+                    in.readFully(data, 0, length);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(data, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                apply(ByteBuffer.wrap(data, 0, length));
+                valid += 8 + length;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Apply the records of one batch to the heap.
+     *
+     * @param records The batch contents.
+     */
+    private void apply(ByteBuffer records) throws IOException {
+        while (records.hasRemaining()) {
+            byte type = records.get();
+            long id = records.getLong();
+            switch (type) {
+                case INSERT: {
+                    int key = records.getInt();
+                    int length = records.getInt();
+                    String info = null;
+                    if (length >= 0) {
+                        info = new String(records.array(), records.arrayOffset() + records.position(), length,
+                                StandardCharsets.UTF_8);
+                        records.position(records.position() + length);
+                    }
+                    heap.insertWithId(id, key, info);
+                    nextId = Math.max(nextId, id + 1);
+                    break;
+                }
+                case DECREASE_KEY:
+                    heap.decreaseKey(nodeOf(id), records.getInt());
+                    break;
+                case DELETE:
+                case DELETE_MIN:
+                    heap.delete(nodeOf(id));
+                    break;
+                default:
+                    throw new IOException("unknown journal record type " + type);
+            }
+        }
+    }
+
+    // Group commit
+
+    /**
+     * The flusher thread: wait for records, let the batch fill up for at most the
+     * latency budget, then write and force it.
+     */
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer full;
+            long records;
+            FileChannel channel;
+            lock.lock();
+            try {
+                while (!closed && batch.position() == 0) {
+                    pending.awaitUninterruptibly();
+                }
+                if (batch.position() == 0) {
+                    return;
+                }
+                long deadline = batchStartNanos + latencyBudgetNanos;
+                long remaining;
+                while (!closed && batch.position() < MAX_BATCH_BYTES
+                        && (remaining = deadline - System.nanoTime()) > 0) {
+                    try {
+                        pending.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                full = batch;
+                batch = spare;
+                spare = null;
+                records = appendedRecords;
+                channel = log;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                write(channel, full);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableRecords = records;
+                    batches++;
+                }
+                full.clear();
+                spare = full;
+                flushed.signalAll();
+                if (failure != null && closed) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Frame one batch with its length and checksum, write it and force it to disk.
+     */
+    private void write(FileChannel channel, ByteBuffer full) throws IOException {
+        full.flip();
+        crc.reset();
+        crc.update(full.array(), full.arrayOffset(), full.limit());
+        ByteBuffer header = ByteBuffer.allocate(8);
+        header.putInt(full.limit()).putInt((int) crc.getValue()).flip();
+        ByteBuffer[] buffers = {header, full};
+        while (full.hasRemaining()) {
+            channel.write(buffers);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Return the batch with room for a record of the given size, waking the flusher
+     * when the batch starts or fills up. Called with the lock held.
+     *
+     * @param bytes The record size.
+     * @return The batch buffer, positioned for the record.
+     */
+    private ByteBuffer reserve(int bytes) {
+        if (batch.position() == 0) {
+            batchStartNanos = System.nanoTime();
+            pending.signal();
+        }
+        if (batch.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(batch.capacity() * 2, batch.position() + bytes));
+            batch.flip();
+            grown.put(batch);
+            batch = grown;
+        }
+        if (batch.position() + bytes >= MAX_BATCH_BYTES) {
+            pending.signal();
+        }
+        return batch;
+    }
+
+    private void awaitIfRequired(long record) {
+        if (awaitDurable) {
+            awaitDurable(record);
+        }
+    }
+
+    /**
+     * Wait until the given number of records is on disk.
+     *
+     * @param record The count of records that must be durable.
+     */
+    private void awaitDurable(long record) {
+        lock.lock();
+        try {
+            while (durableRecords < record && failure == null) {
+                flushed.awaitUninterruptibly();
+            }
+            if (failure != null && durableRecords < record) {
+                throw new UncheckedIOException("journal write failed", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Helper functions
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("journal is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("journal write failed", failure);
+        }
+    }
+
+    private FibonacciHeap.HeapNode nodeOf(long id) {
+        FibonacciHeap.HeapNode node = heap.findById(id);
+        if (node == null) {
+            throw new IllegalArgumentException("no element with id " + id);
+        }
+        return node;
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private FileChannel openLog(long generation) throws IOException {
+        FileChannel channel = FileChannel.open(logFile(generation), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.READ);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private void writeCheckpointMarker(long generation) throws IOException {
+        Path temp = dir.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, (generation + " " + nextId).getBytes(StandardCharsets.UTF_8));
+        forceFile(temp);
+        Files.move(temp, dir.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void forceFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private Path logFile(long generation) {
+        return dir.resolve("journal-" + generation + ".log");
+    }
+
+    private Path snapshotFile(long generation) {
+        return dir.resolve("snapshot-" + generation + ".snap");
+    }
+}
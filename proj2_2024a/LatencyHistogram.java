@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+/**
+ * LatencyHistogram
+ *
+ * A fixed-size log-linear histogram of durations in nanoseconds. Each power of two is
+ * split into SUB_BUCKETS equal buckets, so a recorded value is reported with at most
+ * 1 / SUB_BUCKETS relative error. Recording is a few shifts and an array increment and
+ * never allocates.
+ *
+ * One thread records; other threads may read at any time and see slightly stale counts.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * Constructor to initialize an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+        this.count = 0;
+        this.sum = 0;
+        this.max = 0;
+    }
+
+    /**
+     * Record one duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts[bucket(nanos)]++;
+        count++;
+        sum += nanos;
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    /**
+     * Return the number of recorded durations.
+     *
+     * @return The count.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Return the mean recorded duration.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Return the largest recorded duration.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Return the duration below which a fraction q of the recorded durations fall.
+     *
+     * @param q The quantile, between 0 and 1.
+     * @return The upper bound of the bucket holding the quantile, in nanoseconds.
+     */
+    public long percentile(double q) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return Math.min(upperBound(b), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Forget every recorded duration.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    // Helper functions
+
+    /**
+     * Return the bucket of a value: values below SUB_BUCKETS get a bucket each, and
+     * every higher power of two is split into SUB_BUCKETS buckets.
+     *
+     * @param value A non-negative value.
+     * @return The bucket index.
+     */
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int sub = (int) (value >>> exponent) & (SUB_BUCKETS - 1);
+        return (exponent + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Return the largest value that falls into a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The bucket's inclusive upper bound.
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + sub) << exponent;
+        return lower + (1L << exponent) - 1;
+    }
+}
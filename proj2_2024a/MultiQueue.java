@@ -0,0 +1,273 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * MultiQueue
+ *
+ * A relaxed concurrent priority queue made of k independently locked FibonacciHeap
+ * shards. insert goes to a random shard; deleteMin looks at two random shards and
+ * pops the smaller of their minimums. The popped key is not always the global
+ * minimum, in exchange for threads rarely contending on the same lock.
+ *
+ * When both sampled shards are empty the queue is draining: if it holds fewer elements
+ * than shards, the non-empty shards are collapsed into one with meld, so the tail is
+ * popped in exact order rather than by repeatedly sampling empty shards.
+ */
+public class MultiQueue {
+
+    private static final long EMPTY = Long.MAX_VALUE;
+
+    private final Shard[] shards;
+    private final AtomicInteger size;
+    private final boolean measureRankError;
+    private final LongAdder deletes;
+    private final LongAdder rankErrorSum;
+    private final LongAccumulator rankErrorMax;
+    private final LongAdder collapses;
+
+    /**
+     * Constructor to initialize an empty queue.
+     *
+     * @param shardCount The number of shards, typically a small multiple of the thread count.
+     */
+    public MultiQueue(int shardCount) {
+        this(shardCount, false);
+    }
+
+    /**
+     * Constructor to initialize an empty queue, optionally measuring rank error.
+     *
+     * Measuring reads every shard's cached minimum on each deleteMin, which costs O(k).
+     *
+     * @param shardCount       The number of shards (must be > 0).
+     * @param measureRankError Whether deleteMin should record its rank error.
+     */
+    public MultiQueue(int shardCount, boolean measureRankError) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.size = new AtomicInteger();
+        this.measureRankError = measureRankError;
+        this.deletes = new LongAdder();
+        this.rankErrorSum = new LongAdder();
+        this.rankErrorMax = new LongAccumulator(Math::max, 0);
+        this.collapses = new LongAdder();
+    }
+
+    /**
+     * Insert (key, info) into a random shard.
+     *
+     * @param key  The key of the new element (must be > 0).
+     * @param info The associated data for the new element.
+     */
+    public void insert(int key, String info) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Shard shard = shards[random.nextInt(shards.length)];
+            if (shard.lock.tryLock()) {
+                try {
+                    shard.heap.insert(key, info);
+                    shard.publishMin();
+                } finally {
+                    shard.lock.unlock();
+                }
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove and return the smaller minimum of two random shards.
+     *
+     * @return The removed node, or null if the queue is empty.
+     */
+    public FibonacciHeap.HeapNode deleteMin() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (size.get() > 0) {
+            Shard first = shards[random.nextInt(shards.length)];
+            Shard second = shards[random.nextInt(shards.length)];
+            Shard chosen = first.minKey <= second.minKey ? first : second;
+            if (chosen.minKey == EMPTY) {
+                chosen = drainingShard();
+                if (chosen == null) {
+                    // An insert has counted its element but not yet published it
+                    Thread.onSpinWait();
+                    continue;
+                }
+            }
+            if (!chosen.lock.tryLock()) {
+                continue;
+            }
+            FibonacciHeap.HeapNode node;
+            try {
+                node = chosen.heap.findMin();
+                if (node == null) {
+                    continue;
+                }
+                chosen.heap.deleteMin();
+                chosen.publishMin();
+            } finally {
+                chosen.lock.unlock();
+            }
+            size.decrementAndGet();
+            deletes.increment();
+            if (measureRankError) {
+                recordRankError(node.key);
+            }
+            return node;
+        }
+        return null;
+    }
+
+    /**
+     * Meld every shard into the largest one.
+     *
+     * Locks are taken in shard order, so concurrent collapses cannot deadlock.
+     */
+    public void collapse() {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+        }
+        try {
+            Shard target = shards[0];
+            for (Shard shard : shards) {
+                if (shard.heap.size() > target.heap.size()) {
+                    target = shard;
+                }
+            }
+            List<FibonacciHeap> heaps = new ArrayList<>(shards.length);
+            for (Shard shard : shards) {
+                heaps.add(shard.heap);
+            }
+            target.heap.meldAll(heaps);
+            for (Shard shard : shards) {
+                shard.publishMin();
+            }
+            collapses.increment();
+        } finally {
+            for (Shard shard : shards) {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Return the number of elements in the queue.
+     *
+     * @return The number of inserted elements not yet removed.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Return the mean rank error of deleteMin.
+     *
+     * The rank error of one deleteMin is the number of shards whose minimum was smaller
+     * than the popped key, a lower bound on how many smaller elements were passed over.
+     *
+     * @return The mean rank error, or 0 if it is not measured or nothing was removed.
+     */
+    public double averageRankError() {
+        long count = deletes.sum();
+        return !measureRankError || count == 0 ? 0 : (double) rankErrorSum.sum() / count;
+    }
+
+    /**
+     * Return the largest rank error of any deleteMin.
+     *
+     * @return The maximum rank error, or 0 if it is not measured.
+     */
+    public long maxRankError() {
+        return rankErrorMax.get();
+    }
+
+    /**
+     * Return the number of times the shards were collapsed.
+     *
+     * @return The number of collapse passes.
+     */
+    public long collapses() {
+        return collapses.sum();
+    }
+
+    // Helper functions
+
+    /**
+     * Pick a shard to pop from after sampling two empty shards, collapsing the shards
+     * first if few elements remain spread over several of them.
+     *
+     * @return The non-empty shard with the smallest minimum, or null if none is published.
+     */
+    private Shard drainingShard() {
+        if (size.get() < shards.length && nonEmptyShards() > 1) {
+            collapse();
+        }
+        Shard best = null;
+        for (Shard shard : shards) {
+            if (shard.minKey != EMPTY && (best == null || shard.minKey < best.minKey)) {
+                best = shard;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Count the shards whose published minimum shows they hold elements.
+     *
+     * @return The number of non-empty shards.
+     */
+    private int nonEmptyShards() {
+        int count = 0;
+        for (Shard shard : shards) {
+            if (shard.minKey != EMPTY) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Record the rank error of a popped key against the shards' published minimums.
+     *
+     * @param key The popped key.
+     */
+    private void recordRankError(int key) {
+        int smaller = 0;
+        for (Shard shard : shards) {
+            if (shard.minKey < key) {
+                smaller++;
+            }
+        }
+        rankErrorSum.add(smaller);
+        rankErrorMax.accumulate(smaller);
+    }
+
+    /**
+     * One independently locked heap. minKey caches the heap's minimum so other threads
+     * can compare shards without taking the lock.
+     */
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final FibonacciHeap heap = new FibonacciHeap();
+        volatile long minKey = EMPTY;
+
+        /**
+         * Refresh minKey from the heap. Called with the lock held.
+         */
+        void publishMin() {
+            FibonacciHeap.HeapNode min = heap.findMin();
+            minKey = min == null ? EMPTY : min.key;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/**
+ * PairingHeap
+ *
+ * A pairing heap over positive integers: a single heap-ordered tree in which every node
+ * keeps its first child and its siblings in a doubly linked list. insert and
+ * decreaseKey are one link with the root; deleteMin combines the root's children with
+ * the two-pass rule, pairing them left to right and then folding the pairs right to
+ * left. Amortized, insert is O(1), deleteMin and delete are O(log n), and decreaseKey
+ * is o(log n); in practice decreaseKey costs one cut and one link, with no cascading.
+ */
+public class PairingHeap implements AddressableHeap<PairingHeap.HeapNode> {
+
+    private HeapNode root;
+    private int size;
+    private long totalLinks;
+
+    /**
+     * Constructor to initialize an empty heap.
+     */
+    public PairingHeap() {
+        this.root = null;
+        this.size = 0;
+        this.totalLinks = 0;
+    }
+
+    /**
+     * Insert (key, info) into the heap and return the newly generated HeapNode.
+     *
+     * @param key  The key of the new node (must be > 0).
+     * @param info The associated data for the new node.
+     * @return The newly created HeapNode.
+     */
+    public HeapNode insert(int key, String info) {
+        HeapNode node = new HeapNode(key, info);
+        root = root == null ? node : link(root, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Return the minimal HeapNode, or null if the heap is empty.
+     *
+     * @return The node with the minimum key, or null if the heap is empty.
+     */
+    public HeapNode findMin() {
+        return root;
+    }
+
+    /**
+     * Delete the minimal item.
+     */
+    public void deleteMin() {
+        if (root == null) {
+            return;
+        }
+        HeapNode oldRoot = root;
+        root = combine(oldRoot.child);
+        oldRoot.child = null;
+        size--;
+    }
+
+    /**
+     * Decrease the key of x by diff and fix the heap.
+     *
+     * @param x    The node whose key will be decreased.
+     * @param diff The amount to decrease the key (must be > 0).
+     */
+    public void decreaseKey(HeapNode x, int diff) {
+        if (diff <= 0 || x == null) {
+            return;
+        }
+        x.key -= diff;
+        if (x != root) {
+            detach(x);
+            root = link(root, x);
+        }
+    }
+
+    /**
+     * Delete x from the heap.
+     *
+     * @param x The node to delete.
+     */
+    public void delete(HeapNode x) {
+        if (x == null) {
+            return;
+        }
+        if (x == root) {
+            deleteMin();
+            return;
+        }
+        detach(x);
+        HeapNode subtree = combine(x.child);
+        x.child = null;
+        if (subtree != null) {
+            root = link(root, subtree);
+        }
+        size--;
+    }
+
+    /**
+     * Meld the heap with heap2, which is left empty.
+     *
+     * @param heap2 The heap to merge into this one.
+     */
+    public void meld(PairingHeap heap2) {
+        if (heap2 == this || heap2.root == null) {
+            return;
+        }
+        root = root == null ? heap2.root : link(root, heap2.root);
+        size += heap2.size;
+        totalLinks += heap2.totalLinks;
+        heap2.root = null;
+        heap2.size = 0;
+        heap2.totalLinks = 0;
+    }
+
+    /**
+     * Return the key of a node.
+     *
+     * @param x The node.
+     * @return The node's key.
+     */
+    public int getKey(HeapNode x) {
+        return x.key;
+    }
+
+    /**
+     * Return the data associated with a node.
+     *
+     * @param x The node.
+     * @return The node's info.
+     */
+    public String getInfo(HeapNode x) {
+        return x.info;
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the total number of links performed.
+     *
+     * @return The total number of tree merges (links) performed in the heap.
+     */
+    public long totalLinks() {
+        return totalLinks;
+    }
+
+    // Helper functions
+
+    /**
+     * Link two roots: the one with the larger key becomes the first child of the other.
+     *
+     * @param a A root with no siblings.
+     * @param b Another root with no siblings.
+     * @return The new root.
+     */
+    private HeapNode link(HeapNode a, HeapNode b) {
+        totalLinks++;
+        if (b.key < a.key) {
+            HeapNode temp = a;
+            a = b;
+            b = temp;
+        }
+        b.prev = a;
+        b.next = a.child;
+        if (a.child != null) {
+            a.child.prev = b;
+        }
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * Cut the subtree rooted at x out of its sibling list.
+     *
+     * @param x A node other than the root.
+     */
+    private void detach(HeapNode x) {
+        if (x.prev.child == x) {
+            x.prev.child = x.next;
+        } else {
+            x.prev.next = x.next;
+        }
+        if (x.next != null) {
+            x.next.prev = x.prev;
+        }
+        x.prev = null;
+        x.next = null;
+    }
+
+    /**
+     * Combine a sibling list into one tree with the two-pass rule. The first pass links
+     * pairs left to right, keeping the winners on a stack threaded through next; the
+     * second pass pops the stack, so it links the pairs right to left.
+     *
+     * @param first The first node of the list, or null.
+     * @return The combined tree's root, or null if the list is empty.
+     */
+    private HeapNode combine(HeapNode first) {
+        if (first == null) {
+            return null;
+        }
+        HeapNode stack = null;
+        HeapNode a = first;
+        while (a != null) {
+            HeapNode b = a.next;
+            a.prev = null;
+            a.next = null;
+            if (b == null) {
+                a.next = stack;
+                stack = a;
+                break;
+            }
+            HeapNode rest = b.next;
+            b.prev = null;
+            b.next = null;
+            HeapNode winner = link(a, b);
+            winner.next = stack;
+            stack = winner;
+            a = rest;
+        }
+
+        HeapNode result = stack;
+        stack = stack.next;
+        result.next = null;
+        while (stack != null) {
+            HeapNode nextPair = stack.next;
+            stack.next = null;
+            result = link(result, stack);
+            stack = nextPair;
+        }
+        return result;
+    }
+
+    /**
+     * A node of the heap. prev is the previous sibling, or the parent for a first child.
+     */
+    public static class HeapNode {
+        public int key;
+        public String info;
+        HeapNode child;
+        HeapNode next;
+        HeapNode prev;
+
+        /**
+         * Constructor to initialize a heap node.
+         *
+         * @param key  The key of the node.
+         * @param info The associated data for the node.
+         */
+        public HeapNode(int key, String info) {
+            this.key = key;
+            this.info = info;
+        }
+    }
+}
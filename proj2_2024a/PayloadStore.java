@@ -0,0 +1,46 @@
+/**
+ * PayloadStore
+ *
+ * Keeps node payloads outside the nodes that own them. A payload is stored once and
+ * addressed by a long reference; the string is only materialized again when load is
+ * called. References are only meaningful to the store that issued them.
+ *
+ * Implementations are not thread-safe.
+ */
+public interface PayloadStore {
+
+    /**
+     * The reference of a null payload.
+     */
+    long NULL_REF = 0;
+
+    /**
+     * Store a payload.
+     *
+     * @param value The payload, or null.
+     * @return The reference to pass to load and release; NULL_REF for null.
+     */
+    long store(String value);
+
+    /**
+     * Materialize a stored payload.
+     *
+     * @param ref A reference returned by store and not yet released.
+     * @return The payload.
+     */
+    String load(long ref);
+
+    /**
+     * Give up a reference. The store may reuse its space afterwards.
+     *
+     * @param ref A reference returned by store and not yet released.
+     */
+    void release(long ref);
+
+    /**
+     * Return the bytes the store holds outside the Java heap.
+     *
+     * @return The off-heap bytes allocated.
+     */
+    long offHeapBytes();
+}
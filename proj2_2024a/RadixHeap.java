@@ -0,0 +1,322 @@
+/**
+ * RadixHeap
+ *
+ * A monotone priority queue over non-negative integers: every key inserted or decreased
+ * to must be at least the last key deleteMin removed, which holds for Dijkstra and other
+ * label-setting searches over non-negative integer weights.
+ *
+ * Nodes sit in 33 buckets, each a doubly linked list. Bucket 0 holds the keys equal to
+ * last, the last removed key, and bucket i > 0 the keys whose highest bit differing from
+ * last is bit i - 1. insert and decreaseKey compute the bucket from key ^ last and link
+ * the node there, O(1). When bucket 0 runs empty, deleteMin takes the first non-empty
+ * bucket, makes its smallest key the new last and redistributes the bucket's nodes into
+ * lower buckets. A node only ever moves to lower buckets, so deleteMin is O(log C)
+ * amortized for keys below C, with no trees and no links.
+ *
+ * A key below last would land in the wrong bucket and break findMin. The check for it
+ * costs a comparison per insert and decreaseKey and is on by default when assertions are
+ * enabled (java -ea); an IllegalArgumentException then reports the violation.
+ */
+public class RadixHeap implements AddressableHeap<RadixHeap.HeapNode> {
+
+    private static final int BUCKETS = 33;
+
+    private final HeapNode[] buckets;
+    private final boolean checkMonotone;
+    private int last;
+    private int size;
+    private HeapNode min;
+    private long redistributed;
+
+    /**
+     * Constructor to initialize an empty heap, checking monotonicity if assertions are
+     * enabled for this class.
+     */
+    public RadixHeap() {
+        this(RadixHeap.class.desiredAssertionStatus());
+    }
+
+    /**
+     * Constructor to initialize an empty heap.
+     *
+     * @param checkMonotone Whether insert and decreaseKey should reject keys below the
+     *                      last removed key.
+     */
+    public RadixHeap(boolean checkMonotone) {
+        this.buckets = new HeapNode[BUCKETS];
+        this.checkMonotone = checkMonotone;
+        this.last = 0;
+        this.size = 0;
+        this.min = null;
+        this.redistributed = 0;
+    }
+
+    /**
+     * Insert (key, info) into the heap and return the newly generated HeapNode.
+     *
+     * @param key  The key of the new node (must be >= the last removed key).
+     * @param info The associated data for the new node.
+     * @return The newly created HeapNode.
+     * @throws IllegalArgumentException If the check is on and key is below the last removed key.
+     */
+    public HeapNode insert(int key, String info) {
+        checkKey(key);
+        HeapNode node = new HeapNode(key, info);
+        link(node, bucketOf(key));
+        size++;
+        if (min != null && key < min.key) {
+            min = node;
+        }
+        return node;
+    }
+
+    /**
+     * Return the minimal HeapNode, or null if the heap is empty.
+     *
+     * The minimum is cached; after a deleteMin empties bucket 0 the next call scans the
+     * first non-empty bucket once.
+     *
+     * @return The node with the minimum key, or null if the heap is empty.
+     */
+    public HeapNode findMin() {
+        if (min == null && size > 0) {
+            min = smallest(firstBucket());
+        }
+        return min;
+    }
+
+    /**
+     * Delete the minimal item.
+     */
+    public void deleteMin() {
+        // Remove the node findMin returned, not just any node of the same key
+        HeapNode node = findMin();
+        if (node == null) {
+            return;
+        }
+        if (node.bucket != 0) {
+            redistribute(node.bucket, node.key);
+        }
+        unlink(node);
+        size--;
+        min = buckets[0];
+    }
+
+    /**
+     * Decrease the key of x by diff, moving it to its new bucket.
+     *
+     * @param x    The node whose key will be decreased.
+     * @param diff The amount to decrease the key (must be > 0).
+     * @throws IllegalArgumentException If the check is on and the new key is below the last removed key.
+     */
+    public void decreaseKey(HeapNode x, int diff) {
+        if (diff <= 0 || x == null) {
+            return;
+        }
+        int key = x.key - diff;
+        checkKey(key);
+        x.key = key;
+        int bucket = bucketOf(key);
+        if (bucket != x.bucket) {
+            unlink(x);
+            link(x, bucket);
+        }
+        if (min != null && key < min.key) {
+            min = x;
+        }
+    }
+
+    /**
+     * Delete x from the heap.
+     *
+     * @param x The node to delete.
+     */
+    public void delete(HeapNode x) {
+        if (x == null) {
+            return;
+        }
+        unlink(x);
+        size--;
+        if (x == min) {
+            min = null;
+        }
+    }
+
+    /**
+     * Return the key of a node.
+     *
+     * @param x The node.
+     * @return The node's key.
+     */
+    public int getKey(HeapNode x) {
+        return x.key;
+    }
+
+    /**
+     * Return the data associated with a node.
+     *
+     * @param x The node.
+     * @return The node's info.
+     */
+    public String getInfo(HeapNode x) {
+        return x.info;
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the last key removed by deleteMin, the lower bound for new keys.
+     *
+     * @return The last removed key, or 0 if nothing was removed yet.
+     */
+    public int lastKey() {
+        return last;
+    }
+
+    /**
+     * Return the total number of node moves made by redistributing buckets.
+     *
+     * @return The number of nodes moved to a lower bucket by deleteMin.
+     */
+    public long totalRedistributed() {
+        return redistributed;
+    }
+
+    // Helper functions
+
+    /**
+     * Reject a key below the last removed key, if the check is on.
+     *
+     * @param key The new key.
+     */
+    private void checkKey(int key) {
+        if (checkMonotone && key < last) {
+            throw new IllegalArgumentException("key " + key + " is below the last removed key " + last);
+        }
+    }
+
+    /**
+     * Return the bucket of a key relative to last.
+     *
+     * @param key The key.
+     * @return 0 if key equals last, otherwise one more than the highest differing bit.
+     */
+    private int bucketOf(int key) {
+        return 32 - Integer.numberOfLeadingZeros(key ^ last);
+    }
+
+    /**
+     * Return the lowest non-empty bucket. Called only with size > 0.
+     *
+     * @return The bucket index.
+     */
+    private int firstBucket() {
+        if (buckets[0] != null) {
+            return 0;
+        }
+        int i = 1;
+        while (buckets[i] == null) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Return the node with the smallest key in a bucket.
+     *
+     * @param bucket A non-empty bucket.
+     * @return The smallest node.
+     */
+    private HeapNode smallest(int bucket) {
+        HeapNode best = buckets[bucket];
+        for (HeapNode x = best.next; x != null; x = x.next) {
+            if (x.key < best.key) {
+                best = x;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Make the smallest key of a bucket the new last and move the bucket's nodes to
+     * their buckets relative to it, all of which are lower.
+     *
+     * @param bucket   A non-empty bucket above 0.
+     * @param smallest The smallest key in the bucket.
+     */
+    private void redistribute(int bucket, int smallest) {
+        last = smallest;
+        HeapNode x = buckets[bucket];
+        buckets[bucket] = null;
+        while (x != null) {
+            HeapNode next = x.next;
+            link(x, bucketOf(x.key));
+            redistributed++;
+            x = next;
+        }
+    }
+
+    /**
+     * Push a node onto the front of a bucket.
+     *
+     * @param x      The node, in no bucket.
+     * @param bucket The bucket.
+     */
+    private void link(HeapNode x, int bucket) {
+        HeapNode head = buckets[bucket];
+        x.bucket = bucket;
+        x.prev = null;
+        x.next = head;
+        if (head != null) {
+            head.prev = x;
+        }
+        buckets[bucket] = x;
+    }
+
+    /**
+     * Remove a node from its bucket.
+     *
+     * @param x The node.
+     */
+    private void unlink(HeapNode x) {
+        if (x.prev == null) {
+            buckets[x.bucket] = x.next;
+        } else {
+            x.prev.next = x.next;
+        }
+        if (x.next != null) {
+            x.next.prev = x.prev;
+        }
+        x.prev = null;
+        x.next = null;
+    }
+
+    /**
+     * A node of the heap, kept in the bucket list its key falls in.
+     */
+    public static class HeapNode {
+        public int key;
+        public String info;
+        HeapNode next;
+        HeapNode prev;
+        int bucket;
+
+        /**
+         * Constructor to initialize a heap node.
+         *
+         * @param key  The key of the node.
+         * @param info The associated data for the node.
+         */
+        public HeapNode(int key, String info) {
+            this.key = key;
+            this.info = info;
+        }
+    }
+}
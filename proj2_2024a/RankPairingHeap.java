@@ -0,0 +1,359 @@
+import java.util.Arrays;
+
+/**
+ * RankPairingHeap
+ *
+ * A type-1 rank-pairing heap over positive integers (Haeupler, Sen and Tarjan). The heap
+ * is a ring of half-trees: binary trees whose root has only a left subtree, where every
+ * node's key is at most the keys in its left subtree. Roots are kept in a circular list
+ * threaded through their otherwise unused right pointer.
+ *
+ * insert adds a root. deleteMin takes the minimum's left spine apart into new roots and
+ * links roots of equal rank in one pass, each pair at most once, as Fibonacci
+ * consolidation would but without repeating. decreaseKey cuts the node with its left
+ * subtree to a new root, moves its right subtree into its place, and lowers ranks along
+ * the path upwards only while they change, instead of cascading cuts. Amortized, insert,
+ * decreaseKey and meld are O(1), deleteMin and delete are O(log n).
+ *
+ * Ranks follow the type-1 rule: a root's rank is its left child's rank plus one, and
+ * another node's rank is the larger of its children's ranks, plus one if the two differ
+ * by at most one. A missing child has rank -1.
+ */
+public class RankPairingHeap implements AddressableHeap<RankPairingHeap.HeapNode> {
+
+    private HeapNode min;
+    private int size;
+    private long totalLinks;
+    private HeapNode[] rankTable;
+
+    /**
+     * Constructor to initialize an empty heap.
+     */
+    public RankPairingHeap() {
+        this.min = null;
+        this.size = 0;
+        this.totalLinks = 0;
+        this.rankTable = new HeapNode[rankBound(0)];
+    }
+
+    /**
+     * Insert (key, info) into the heap and return the newly generated HeapNode.
+     *
+     * @param key  The key of the new node (must be > 0).
+     * @param info The associated data for the new node.
+     * @return The newly created HeapNode.
+     */
+    public HeapNode insert(int key, String info) {
+        HeapNode node = new HeapNode(key, info);
+        addRoot(node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Return the minimal HeapNode, or null if the heap is empty.
+     *
+     * @return The node with the minimum key, or null if the heap is empty.
+     */
+    public HeapNode findMin() {
+        return min;
+    }
+
+    /**
+     * Delete the minimal item.
+     */
+    public void deleteMin() {
+        if (min == null) {
+            return;
+        }
+        HeapNode oldMin = min;
+        size--;
+
+        // Gather the other roots and the minimum's left spine into one pending list
+        HeapNode pending = null;
+        HeapNode next;
+        for (HeapNode root = oldMin.right; root != oldMin; root = next) {
+            next = root.right;
+            root.right = pending;
+            pending = root;
+        }
+        for (HeapNode spine = oldMin.left; spine != null; spine = next) {
+            next = spine.right;
+            spine.parent = null;
+            spine.rank = rank(spine.left) + 1;
+            spine.right = pending;
+            pending = spine;
+        }
+        oldMin.left = null;
+        oldMin.right = null;
+        min = null;
+
+        // One pass: a root meeting another of its rank is linked and leaves the pass
+        int bound = rankBound(size);
+        if (rankTable.length < bound) {
+            rankTable = new HeapNode[bound];
+        }
+        HeapNode[] table = rankTable;
+        for (HeapNode x = pending; x != null; x = next) {
+            next = x.right;
+            if (x.rank >= table.length) {
+                table = rankTable = Arrays.copyOf(table, x.rank + 1);
+            }
+            HeapNode other = table[x.rank];
+            if (other == null) {
+                table[x.rank] = x;
+            } else {
+                table[x.rank] = null;
+                addRoot(link(x, other));
+            }
+        }
+        for (int r = 0; r < table.length; r++) {
+            if (table[r] != null) {
+                addRoot(table[r]);
+                table[r] = null;
+            }
+        }
+    }
+
+    /**
+     * Decrease the key of x by diff and fix the heap.
+     *
+     * @param x    The node whose key will be decreased.
+     * @param diff The amount to decrease the key (must be > 0).
+     */
+    public void decreaseKey(HeapNode x, int diff) {
+        if (diff <= 0 || x == null) {
+            return;
+        }
+        x.key -= diff;
+        if (x.parent == null) {
+            if (x.key < min.key) {
+                min = x;
+            }
+        } else {
+            cutToRoot(x);
+        }
+    }
+
+    /**
+     * Delete x from the heap.
+     *
+     * @param x The node to delete.
+     */
+    public void delete(HeapNode x) {
+        if (x == null) {
+            return;
+        }
+        if (x.parent != null) {
+            cutToRoot(x);
+        }
+        // Removing x as if its key were minus infinity
+        min = x;
+        deleteMin();
+    }
+
+    /**
+     * Meld the heap with heap2, which is left empty.
+     *
+     * @param heap2 The heap to merge into this one.
+     */
+    public void meld(RankPairingHeap heap2) {
+        if (heap2 == this || heap2.min == null) {
+            return;
+        }
+        if (min == null) {
+            min = heap2.min;
+        } else {
+            HeapNode first = min.right;
+            min.right = heap2.min.right;
+            heap2.min.right = first;
+            if (heap2.min.key < min.key) {
+                min = heap2.min;
+            }
+        }
+        size += heap2.size;
+        totalLinks += heap2.totalLinks;
+        heap2.min = null;
+        heap2.size = 0;
+        heap2.totalLinks = 0;
+    }
+
+    /**
+     * Return the key of a node.
+     *
+     * @param x The node.
+     * @return The node's key.
+     */
+    public int getKey(HeapNode x) {
+        return x.key;
+    }
+
+    /**
+     * Return the data associated with a node.
+     *
+     * @param x The node.
+     * @return The node's info.
+     */
+    public String getInfo(HeapNode x) {
+        return x.info;
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return The total number of nodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the total number of links performed.
+     *
+     * @return The total number of tree merges (links) performed in the heap.
+     */
+    public long totalLinks() {
+        return totalLinks;
+    }
+
+    // Helper functions
+
+    /**
+     * Add a half-tree to the root ring, updating the minimum.
+     *
+     * @param x A node with no parent.
+     */
+    private void addRoot(HeapNode x) {
+        if (min == null) {
+            x.right = x;
+            min = x;
+        } else {
+            x.right = min.right;
+            min.right = x;
+            if (x.key < min.key) {
+                min = x;
+            }
+        }
+    }
+
+    /**
+     * Link two half-trees of equal rank: the loser becomes the winner's left child, and
+     * the winner's old left subtree becomes the loser's right subtree.
+     *
+     * @param a A root.
+     * @param b Another root of the same rank.
+     * @return The winner, with no place in the root ring yet.
+     */
+    private HeapNode link(HeapNode a, HeapNode b) {
+        totalLinks++;
+        if (b.key < a.key) {
+            HeapNode temp = a;
+            a = b;
+            b = temp;
+        }
+        b.right = a.left;
+        if (b.right != null) {
+            b.right.parent = b;
+        }
+        b.parent = a;
+        a.left = b;
+        a.rank = b.rank + 1;
+        return a;
+    }
+
+    /**
+     * Cut x and its left subtree to a new root, put its right subtree in its place and
+     * restore the ranks above it.
+     *
+     * @param x A node that is not a root.
+     */
+    private void cutToRoot(HeapNode x) {
+        HeapNode parent = x.parent;
+        HeapNode right = x.right;
+        if (parent.left == x) {
+            parent.left = right;
+        } else {
+            parent.right = right;
+        }
+        if (right != null) {
+            right.parent = parent;
+        }
+        x.parent = null;
+        x.rank = rank(x.left) + 1;
+        addRoot(x);
+        repairRanks(parent);
+    }
+
+    /**
+     * Lower ranks from u upwards by the type-1 rule, stopping at the first node whose
+     * rank does not change or at a root.
+     *
+     * @param u The parent of the node that was cut.
+     */
+    private static void repairRanks(HeapNode u) {
+        while (true) {
+            int k;
+            if (u.parent == null) {
+                k = rank(u.left) + 1;
+            } else {
+                int a = rank(u.left);
+                int b = rank(u.right);
+                k = Math.abs(a - b) > 1 ? Math.max(a, b) : Math.max(a, b) + 1;
+            }
+            if (k >= u.rank) {
+                return;
+            }
+            u.rank = k;
+            if (u.parent == null) {
+                return;
+            }
+            u = u.parent;
+        }
+    }
+
+    /**
+     * Return the rank of a possibly missing node.
+     *
+     * @param x The node, or null.
+     * @return The node's rank, or -1 for null.
+     */
+    private static int rank(HeapNode x) {
+        return x == null ? -1 : x.rank;
+    }
+
+    /**
+     * Return the initial rank table length for a heap with n nodes. Ranks are
+     * O(log n), and deleteMin grows the table if a rank does not fit anyway.
+     *
+     * @param n The number of nodes.
+     * @return The rank table length.
+     */
+    private static int rankBound(int n) {
+        int bits = 32 - Integer.numberOfLeadingZeros(n);
+        return bits + (bits >>> 1) + 2;
+    }
+
+    /**
+     * A node of the heap. For a root, right links the root ring; otherwise left and
+     * right are the node's children in its half-tree.
+     */
+    public static class HeapNode {
+        public int key;
+        public String info;
+        HeapNode left;
+        HeapNode right;
+        HeapNode parent;
+        int rank;
+
+        /**
+         * Constructor to initialize a heap node.
+         *
+         * @param key  The key of the node.
+         * @param info The associated data for the node.
+         */
+        public HeapNode(int key, String info) {
+            this.key = key;
+            this.info = info;
+        }
+    }
+}
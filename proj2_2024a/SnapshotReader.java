@@ -0,0 +1,80 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * SnapshotReader
+ *
+ * Big-endian reader over a FileChannel, shared by FibonacciHeapSnapshot and
+ * BinomialHeapSnapshot. The file is mapped in windows of at most WINDOW_SIZE bytes,
+ * since one MappedByteBuffer cannot exceed 2 GB.
+ */
+final class SnapshotReader {
+
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long length;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Constructor for a reader from the start of the channel.
+     *
+     * @param channel The channel to read from.
+     * @throws IOException If the file cannot be mapped.
+     */
+    SnapshotReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.length = channel.size();
+        map(0);
+    }
+
+    int getInt() throws IOException {
+        require(4);
+        return window.getInt();
+    }
+
+    long getLong() throws IOException {
+        require(8);
+        return window.getLong();
+    }
+
+    byte getByte() throws IOException {
+        require(1);
+        return window.get();
+    }
+
+    String getString() throws IOException {
+        int bytes = getInt();
+        if (bytes < 0) {
+            return null;
+        }
+        require(bytes);
+        if (scratch.length < bytes) {
+            scratch = new byte[Math.max(bytes, scratch.length * 2)];
+        }
+        window.get(scratch, 0, bytes);
+        return new String(scratch, 0, bytes, StandardCharsets.UTF_8);
+    }
+
+    private void require(int bytes) throws IOException {
+        if (window.remaining() >= bytes) {
+            return;
+        }
+        long position = windowStart + window.position();
+        if (position + bytes > length) {
+            throw new EOFException("snapshot is truncated");
+        }
+        map(position);
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                Math.min(WINDOW_SIZE, length - position));
+    }
+}
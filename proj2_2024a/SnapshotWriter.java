@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SnapshotWriter
+ *
+ * Buffered big-endian writer over a FileChannel, shared by FibonacciHeapSnapshot and
+ * BinomialHeapSnapshot. A snapshot is written to a temporary file and moved into place
+ * with moveIntoPlace once it is complete.
+ */
+final class SnapshotWriter {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor for a writer at the channel's current position.
+     *
+     * @param channel The channel to write to.
+     */
+    SnapshotWriter(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    void putInt(int value) throws IOException {
+        reserve(4);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        reserve(8);
+        buffer.putLong(value);
+    }
+
+    void putByte(byte value) throws IOException {
+        reserve(1);
+        buffer.put(value);
+    }
+
+    void putString(String value) throws IOException {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        if (bytes.length > buffer.capacity()) {
+            flush();
+            drain(ByteBuffer.wrap(bytes));
+        } else {
+            reserve(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        drain(buffer);
+        buffer.clear();
+    }
+
+    private void reserve(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void drain(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    /**
+     * Move a complete snapshot over path, then force the directory so the new entry
+     * survives a crash. Some platforms cannot open a directory as a channel; there the
+     * rename is left to the file system.
+     *
+     * @param temp The complete snapshot, already forced to disk.
+     * @param path The snapshot file to replace.
+     * @throws IOException If the file cannot be moved.
+     */
+    static void moveIntoPlace(Path temp, Path path) throws IOException {
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        try (FileChannel channel = FileChannel.open(path.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The snapshot is in place; only its durability across a crash is weaker
+        }
+    }
+}
@@ -0,0 +1,167 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class AddressableHeapTest {
+    public static void main(String[] args) {
+        AddressableHeapTest tester = new AddressableHeapTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testBasicOperations();
+            testRandomAgainstTreeMap();
+            testPairingMeld();
+            testRankPairingMeld();
+            testConfiguredEngine();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testBasicOperations() {
+        System.out.println("Testing basic operations...");
+        for (String engine : HeapEngines.NAMES) {
+            basicOperations(engine, HeapEngines.create(engine));
+        }
+        System.out.println("✅ Basic operations test passed");
+    }
+
+    private static <H> void basicOperations(String engine, AddressableHeap<H> heap) {
+        assert heap.isEmpty() && heap.findMin() == null : engine + ": a new heap should be empty";
+        H five = heap.insert(5, "five");
+        H three = heap.insert(3, "three");
+        H eight = heap.insert(8, "eight");
+        heap.insert(7, "seven");
+        assert heap.size() == 4 : engine + ": size should be 4";
+        assert heap.findMin() == three : engine + ": minimum should be 3";
+
+        heap.deleteMin();
+        assert heap.getKey(heap.findMin()) == 5 : engine + ": after deleteMin, minimum should be 5";
+        heap.decreaseKey(eight, 7);
+        assert heap.findMin() == eight : engine + ": decreased node should be the minimum";
+        assert heap.getKey(eight) == 1 && heap.getInfo(eight).equals("eight") : engine + ": key and info should follow";
+        heap.delete(five);
+        assert heap.size() == 2 : engine + ": size should be 2 after delete";
+        heap.deleteMin();
+        assert heap.getInfo(heap.findMin()).equals("seven") : engine + ": the last element should be 7";
+        heap.deleteMin();
+        assert heap.isEmpty() : engine + ": heap should be empty";
+        heap.deleteMin();
+        assert heap.findMin() == null : engine + ": deleteMin on an empty heap should do nothing";
+    }
+
+    private void testRandomAgainstTreeMap() {
+        System.out.println("Testing random operations against a TreeMap...");
+        for (String engine : HeapEngines.NAMES) {
+            for (int seed = 0; seed < 3; seed++) {
+                randomOperations(engine, HeapEngines.create(engine), new Random(seed));
+            }
+        }
+        System.out.println("✅ Random operations test passed");
+    }
+
+    private static <H> void randomOperations(String engine, AddressableHeap<H> heap, Random random) {
+        // Distinct keys: key * 20000 + serial, so a TreeMap is an exact model
+        TreeMap<Integer, H> expected = new TreeMap<>();
+        List<H> live = new ArrayList<>();
+        int serial = 0;
+        for (int op = 0; op < 20000; op++) {
+            int pick = random.nextInt(10);
+            if (pick < 4 || live.isEmpty()) {
+                int key = (1 + random.nextInt(50000)) * 20000 + serial++;
+                H handle = heap.insert(key, "v" + key);
+                expected.put(key, handle);
+                live.add(handle);
+            } else if (pick < 6) {
+                H min = heap.findMin();
+                assert heap.getKey(min) == expected.firstKey() : engine + ": findMin should match the TreeMap";
+                expected.remove(heap.getKey(min));
+                live.remove(min);
+                heap.deleteMin();
+            } else if (pick < 9) {
+                H handle = live.get(random.nextInt(live.size()));
+                int key = heap.getKey(handle);
+                int diff = 20000 * (1 + random.nextInt(Math.max(1, key / 20000 / 2)));
+                if (key - diff > 0) {
+                    expected.remove(key);
+                    heap.decreaseKey(handle, diff);
+                    expected.put(key - diff, handle);
+                }
+            } else {
+                H handle = live.remove(random.nextInt(live.size()));
+                expected.remove(heap.getKey(handle));
+                heap.delete(handle);
+            }
+            assert heap.size() == expected.size() : engine + ": size should match the TreeMap";
+        }
+        while (!expected.isEmpty()) {
+            H min = heap.findMin();
+            assert heap.getKey(min) == expected.firstKey() : engine + ": drain should follow key order";
+            assert heap.getInfo(min) != null : engine + ": info should survive";
+            expected.pollFirstEntry();
+            heap.deleteMin();
+        }
+        assert heap.isEmpty() : engine + ": heap should be empty after draining";
+    }
+
+    private void testPairingMeld() {
+        System.out.println("Testing pairing heap meld...");
+        PairingHeap heap1 = new PairingHeap();
+        PairingHeap heap2 = new PairingHeap();
+        for (int i = 1; i <= 50; i++) {
+            heap1.insert(2 * i, null);
+            heap2.insert(2 * i - 1, null);
+        }
+        heap2.deleteMin();
+        heap1.meld(heap2);
+        assert heap1.size() == 99 && heap2.size() == 0 : "Meld should move every element";
+        for (int expected = 2; expected <= 100; expected++) {
+            assert heap1.findMin().key == expected : "Melded heap should pop " + expected;
+            heap1.deleteMin();
+        }
+        System.out.println("✅ Pairing heap meld test passed");
+    }
+
+    private void testRankPairingMeld() {
+        System.out.println("Testing rank-pairing heap meld...");
+        RankPairingHeap heap1 = new RankPairingHeap();
+        RankPairingHeap heap2 = new RankPairingHeap();
+        for (int i = 1; i <= 50; i++) {
+            heap1.insert(2 * i, null);
+            heap2.insert(2 * i - 1, null);
+        }
+        heap1.deleteMin();
+        heap2.deleteMin();
+        heap1.meld(heap2);
+        assert heap1.size() == 98 && heap2.size() == 0 : "Meld should move every element";
+        assert heap1.totalLinks() > 0 : "deleteMin should have linked trees";
+        for (int expected = 3; expected <= 100; expected++) {
+            assert heap1.findMin().key == expected : "Melded heap should pop " + expected;
+            heap1.deleteMin();
+        }
+        System.out.println("✅ Rank-pairing heap meld test passed");
+    }
+
+    private void testConfiguredEngine() {
+        System.out.println("Testing configured engine...");
+        assert HeapEngines.configured("pairing") instanceof PairingHeap : "Default engine should be used";
+        System.setProperty(HeapEngines.PROPERTY, "rank-pairing");
+        try {
+            assert HeapEngines.configured("pairing") instanceof RankPairingHeap : "Property should pick the engine";
+        } finally {
+            System.clearProperty(HeapEngines.PROPERTY);
+        }
+        try {
+            HeapEngines.create("splay");
+            assert false : "Unknown engine should throw";
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        System.out.println("✅ Configured engine test passed");
+    }
+}
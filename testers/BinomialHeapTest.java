@@ -0,0 +1,467 @@
+public class BinomialHeapTest {
+    public static void main(String[] args) {
+        BinomialHeapTest tester = new BinomialHeapTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testBasicOperations();
+            testNumTrees();
+            testDecreaseKeyAndDelete();
+            testMeld();
+            testInsertAll();
+            testMeldAll();
+            testIdIndex();
+            testSortedIteration();
+            testStreams();
+            testDrain();
+            testCarryInsertAndMeld();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testBasicOperations() {
+        System.out.println("Testing basic operations...");
+        BinomialHeap heap = new BinomialHeap();
+        assert heap.empty() : "New heap should be empty";
+        assert heap.findMin() == null : "Empty heap should have null minimum";
+
+        heap.insert(4, "four");
+        heap.insert(2, "two");
+        heap.insert(6, "six");
+        assert heap.findMin().key == 2 : "Minimum should be 2";
+        assert heap.size() == 3 : "Size should be 3";
+
+        heap.deleteMin();
+        assert heap.findMin().key == 4 : "After deleteMin, minimum should be 4";
+        assert heap.size() == 2 : "After deleteMin, size should be 2";
+
+        System.out.println("✅ Basic operations test passed");
+    }
+
+    private void testNumTrees() {
+        System.out.println("Testing number of trees...");
+        BinomialHeap heap = new BinomialHeap();
+        for (int i = 1; i <= 100; i++) {
+            heap.insert(i, "key" + i);
+            assert heap.numTrees() == Integer.bitCount(i) : "Trees should follow the binary representation of " + i;
+        }
+
+        System.out.println("✅ Number of trees test passed");
+    }
+
+    private void testDecreaseKeyAndDelete() {
+        System.out.println("Testing decreaseKey and delete...");
+        BinomialHeap heap = new BinomialHeap();
+        BinomialHeap.HeapItem[] items = new BinomialHeap.HeapItem[32];
+        for (int i = 0; i < 32; i++) {
+            items[i] = heap.insert(100 + i, "key" + i);
+        }
+
+        heap.decreaseKey(items[31], 50);
+        assert heap.findMin() == items[31] : "Decreased item should be minimum";
+        assert heap.findMin().key == 81 : "Minimum should be 81";
+
+        heap.delete(items[10]);
+        heap.delete(items[31]);
+        assert heap.size() == 30 : "Size should be 30 after two deletes";
+        assert heap.findMin().key == 100 : "Minimum should be 100 after deletes";
+
+        System.out.println("✅ DecreaseKey and delete test passed");
+    }
+
+    private void testMeld() {
+        System.out.println("Testing meld...");
+        BinomialHeap heap1 = new BinomialHeap();
+        BinomialHeap heap2 = new BinomialHeap();
+        for (int i = 0; i < 13; i++) {
+            heap1.insert(20 + i, null);
+        }
+        for (int i = 0; i < 7; i++) {
+            heap2.insert(10 + i, null);
+        }
+
+        heap1.meld(heap2);
+        assert heap1.size() == 20 : "Size should be 20 after meld";
+        assert heap1.numTrees() == Integer.bitCount(20) : "Trees should follow the binary representation of 20";
+        assert heap1.findMin().key == 10 : "Minimum should be 10 after meld";
+        assert heap2.empty() : "heap2 should be empty after meld";
+
+        System.out.println("✅ Meld test passed");
+    }
+
+    private void testInsertAll() {
+        System.out.println("Testing insertAll...");
+        java.util.Random rand = new java.util.Random(42);
+        BinomialHeap heap = new BinomialHeap();
+        for (int i = 0; i < 5; i++) {
+            heap.insert(rand.nextInt(1000) + 1, null);
+        }
+
+        int[] keys = new int[1000];
+        String[] infos = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = rand.nextInt(1000) + 1;
+            infos[i] = "key" + keys[i];
+        }
+        BinomialHeap.HeapItem[] items = heap.insertAll(keys, infos);
+
+        assert items.length == keys.length : "insertAll should return one item per key";
+        assert items[7].key == keys[7] && items[7].info.equals(infos[7]) : "Items should follow the order of keys";
+        assert heap.size() == 1005 : "Size should be 1005 after insertAll";
+        assert heap.numTrees() == Integer.bitCount(1005) : "Trees should follow the binary representation of 1005";
+
+        heap.decreaseKey(items[500], items[500].key);
+        assert heap.findMin() == items[500] : "Returned items should work as handles";
+
+        int previous = Integer.MIN_VALUE;
+        while (!heap.empty()) {
+            assert heap.findMin().key >= previous : "Keys should come out in order";
+            previous = heap.findMin().key;
+            heap.deleteMin();
+        }
+
+        System.out.println("✅ InsertAll test passed");
+    }
+
+    private void testMeldAll() {
+        System.out.println("Testing meldAll...");
+        java.util.Random rand = new java.util.Random(11);
+        BinomialHeap heap = new BinomialHeap();
+        java.util.List<BinomialHeap> others = new java.util.ArrayList<>();
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        for (int i = 0; i < 5; i++) {
+            int key = rand.nextInt(1000) + 1;
+            heap.insert(key, null);
+            expected.add(key);
+        }
+        for (int h = 0; h < 8; h++) {
+            BinomialHeap other = new BinomialHeap();
+            for (int i = 0; i < h * 3; i++) {
+                int key = rand.nextInt(1000) + 1;
+                other.insert(key, null);
+                expected.add(key);
+            }
+            others.add(other);
+        }
+        others.add(null);
+        others.add(heap);
+
+        heap.meldAll(others);
+        assert heap.size() == expected.size() : "Size should be the sum of all sizes";
+        assert heap.numTrees() == Integer.bitCount(expected.size()) : "Trees should follow the binary representation of the size";
+        for (BinomialHeap other : others) {
+            assert other == null || other == heap || other.empty() : "Inputs should be empty after meldAll";
+            assert other == null || other == heap || other.linkCounter == 0 : "Inputs' counters should move over";
+        }
+        // Starting from single nodes, every link anywhere removed one tree
+        assert heap.linkCounter == expected.size() - Integer.bitCount(expected.size()) : "meldAll should collect every link";
+        while (!expected.isEmpty()) {
+            int next = expected.poll();
+            assert heap.findMin().key == next : "deleteMin order should match after meldAll";
+            heap.deleteMin();
+        }
+        assert heap.empty() : "Heap should be empty after deleting every element";
+
+        System.out.println("✅ MeldAll test passed");
+    }
+
+    private void testIdIndex() {
+        System.out.println("Testing operations by id...");
+        java.util.Random rand = new java.util.Random(19);
+        BinomialHeap heap = new BinomialHeap();
+        java.util.Map<Long, Integer> expected = new java.util.HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            int key = rand.nextInt(1_000_000) + 1000;
+            heap.insertWithId(id * 1_000_003, key, null);
+            expected.put(id * 1_000_003, key);
+        }
+
+        java.util.List<Long> ids = new java.util.ArrayList<>(expected.keySet());
+        for (int round = 0; round < 1500; round++) {
+            long id = ids.get(rand.nextInt(ids.size()));
+            if (!expected.containsKey(id)) {
+                continue;
+            }
+            int op = rand.nextInt(3);
+            if (op == 0) {
+                // Sifting up swaps items between nodes; the id must follow the item
+                int diff = rand.nextInt(expected.get(id) / 2) + 1;
+                heap.decreaseKeyById(id, diff);
+                expected.put(id, expected.get(id) - diff);
+                assert heap.findById(id).node.item == heap.findById(id) : "Item and node should point at each other";
+            } else if (op == 1) {
+                heap.deleteById(id);
+                expected.remove(id);
+            } else {
+                long minId = heap.getId(heap.findMin());
+                heap.deleteMin();
+                Integer removed = expected.remove(minId);
+                assert removed != null : "deleteMin should remove an indexed element";
+            }
+        }
+
+        BinomialHeap other = new BinomialHeap();
+        other.insertWithId(-7, 2, null);
+        heap.meldAll(java.util.List.of(other));
+        expected.put(-7L, 2);
+        assert heap.containsId(-7) && !other.containsId(-7) : "meldAll should move ids to the melded heap";
+        assert heap.getId(heap.findMin()) == -7 : "The melded element should be the minimum";
+
+        BinomialHeap clash = new BinomialHeap();
+        clash.insertWithId(-7, 9, null);
+        try {
+            heap.meld(clash);
+            assert false : "Melding a heap with a duplicate id should throw";
+        } catch (IllegalArgumentException e) {
+            assert clash.size() == 1 : "A rejected meld should leave heap2 unchanged";
+        }
+
+        for (java.util.Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assert heap.getKey(entry.getKey()) == entry.getValue() : "getKey should return the current key";
+        }
+        for (long id : ids) {
+            assert heap.containsId(id) == expected.containsKey(id) : "Removed ids should be gone";
+        }
+        assert heap.size() == expected.size() : "Size should match";
+
+        System.out.println("✅ Operations by id test passed");
+    }
+
+    private void testSortedIteration() {
+        System.out.println("Testing peekSmallest and sortedIterator...");
+        java.util.Random rand = new java.util.Random(29);
+        BinomialHeap heap = new BinomialHeap();
+        java.util.List<BinomialHeap.HeapItem> items = new java.util.ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            items.add(heap.insert(rand.nextInt(1_000_000) + 1000, "n" + i));
+        }
+        for (int i = 0; i < 500; i++) {
+            BinomialHeap.HeapItem item = items.get(rand.nextInt(items.size()));
+            heap.decreaseKey(item, rand.nextInt(item.key / 2) + 1);
+        }
+
+        BinomialHeap.HeapItem[] peeked = heap.peekSmallest(100);
+        int size = heap.size();
+        int trees = heap.numTrees();
+
+        java.util.List<Integer> sorted = new java.util.ArrayList<>();
+        java.util.Iterator<BinomialHeap.HeapItem> it = heap.sortedIterator();
+        while (it.hasNext()) {
+            sorted.add(it.next().key);
+        }
+        assert sorted.size() == size : "sortedIterator should visit every item";
+        for (int i = 1; i < sorted.size(); i++) {
+            assert sorted.get(i - 1) <= sorted.get(i) : "sortedIterator should return keys in order";
+        }
+        for (int i = 0; i < peeked.length; i++) {
+            assert peeked[i].key == sorted.get(i) : "peekSmallest should return the smallest keys in order";
+        }
+        assert heap.size() == size && heap.numTrees() == trees : "Peeking should not change the heap";
+
+        for (BinomialHeap.HeapItem item : peeked) {
+            assert heap.findMin().key == item.key : "deleteMin should agree with peekSmallest";
+            heap.deleteMin();
+        }
+        assert heap.peekSmallest(size * 2).length == heap.size() : "peekSmallest should stop at the heap size";
+        assert new BinomialHeap().peekSmallest(5).length == 0 : "An empty heap should peek nothing";
+
+        System.out.println("✅ peekSmallest and sortedIterator test passed");
+    }
+
+    private void testStreams() {
+        System.out.println("Testing stream and spliterator...");
+        java.util.Random rand = new java.util.Random(37);
+        BinomialHeap heap = new BinomialHeap();
+        java.util.List<BinomialHeap.HeapItem> items = new java.util.ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(heap.insert(rand.nextInt(1_000_000) + 1000, "n" + i));
+        }
+        for (int i = 0; i < 333; i++) {
+            items.remove(heap.findMin());
+            heap.deleteMin();
+        }
+        for (int i = 0; i < 800; i++) {
+            BinomialHeap.HeapItem item = items.get(rand.nextInt(items.size()));
+            heap.decreaseKey(item, rand.nextInt(item.key / 2) + 1);
+        }
+        long expectedSum = 0;
+        for (BinomialHeap.HeapItem item : items) {
+            expectedSum += item.key;
+        }
+
+        assert heap.stream().count() == items.size() : "stream should visit every item";
+        assert heap.stream().mapToLong(item -> item.key).sum() == expectedSum : "stream should see every key";
+        assert heap.parallelStream().mapToLong(item -> item.key).sum() == expectedSum : "parallelStream should see every key";
+
+        // Split down to single items; sizes stay exact and every item comes out once
+        java.util.Set<BinomialHeap.HeapItem> seen = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+        java.util.ArrayDeque<java.util.Spliterator<BinomialHeap.HeapItem>> parts = new java.util.ArrayDeque<>();
+        parts.push(heap.spliterator());
+        while (!parts.isEmpty()) {
+            java.util.Spliterator<BinomialHeap.HeapItem> part = parts.pop();
+            long before = part.estimateSize();
+            java.util.Spliterator<BinomialHeap.HeapItem> prefix = part.trySplit();
+            if (prefix != null) {
+                assert prefix.estimateSize() + part.estimateSize() == before : "Split sizes should add up";
+                assert prefix.estimateSize() > 0 && part.estimateSize() > 0 : "Both parts should be non-empty";
+                parts.push(part);
+                parts.push(prefix);
+            } else if (rand.nextBoolean()) {
+                // Advance one item, then offer the rest for splitting again
+                if (part.tryAdvance(item -> assertAdded(seen, item))) {
+                    assert part.estimateSize() == before - 1 : "tryAdvance should count down the size";
+                    parts.push(part);
+                }
+            } else {
+                int[] visited = {0};
+                part.forEachRemaining(item -> {
+                    assertAdded(seen, item);
+                    visited[0]++;
+                });
+                assert visited[0] == before : "forEachRemaining should visit exactly the reported size";
+            }
+        }
+        assert seen.size() == items.size() && seen.containsAll(items) : "Splitting should cover every item once";
+
+        assert new BinomialHeap().stream().count() == 0 : "An empty heap should stream nothing";
+        assert new BinomialHeap().parallelStream().count() == 0 : "An empty heap should stream nothing in parallel";
+
+        System.out.println("✅ Stream and spliterator test passed");
+    }
+
+    private void testDrain() {
+        System.out.println("Testing drainTo and drainBelow...");
+        java.util.Random rand = new java.util.Random(43);
+        BinomialHeap drained = new BinomialHeap();
+        BinomialHeap expected = new BinomialHeap();
+        // Distinct keys, so drained and expected must agree on infos as well
+        java.util.List<Integer> keys = new java.util.ArrayList<>();
+        for (int i = 0; i < 12000; i++) {
+            keys.add(i * 10 + 1000);
+        }
+        java.util.Collections.shuffle(keys, rand);
+        for (int key : keys) {
+            drained.insert(key, "v" + key);
+            expected.insert(key, "v" + key);
+        }
+        drained.deleteMin();
+        expected.deleteMin();
+
+        for (int k : new int[] {0, 1, 100, 3000}) {
+            java.util.List<String> got = new java.util.ArrayList<>();
+            int removed = drained.drainTo(k, (key, info) -> got.add(key + ":" + info));
+            assert removed == k && got.size() == k : "drainTo should remove k items";
+            for (String entry : got) {
+                BinomialHeap.HeapItem min = expected.findMin();
+                assert entry.equals(min.key + ":" + min.info) : "drainTo should match deleteMin";
+                expected.deleteMin();
+            }
+            assert drained.size() == expected.size() : "Sizes should match after drainTo";
+            assert drained.numTrees() == Integer.bitCount(drained.size()) : "The forest should be rebuilt";
+            assert drained.findMin().key == expected.findMin().key : "Minimum should match after drainTo";
+        }
+
+        int threshold = expected.findMin().key + 20000;
+        java.util.List<Integer> below = new java.util.ArrayList<>();
+        int removed = drained.drainBelow(threshold, (java.util.function.IntConsumer) below::add);
+        assert removed == below.size() && removed > 0 : "drainBelow should report what it removed";
+        for (int key : below) {
+            assert key < threshold && expected.findMin().key == key : "drainBelow should match deleteMin";
+            expected.deleteMin();
+        }
+        assert expected.findMin().key >= threshold : "drainBelow should remove every key below threshold";
+
+        int[] last = {0};
+        int rest = drained.drainTo(Integer.MAX_VALUE, key -> {
+            assert expected.findMin().key == key : "Draining everything should match deleteMin";
+            expected.deleteMin();
+            assert key > last[0] : "Keys should come out in order";
+            last[0] = key;
+        });
+        assert rest > 0 && drained.empty() && drained.findMin() == null : "drainTo should empty the heap";
+        drained.insert(5, "five");
+        assert drained.findMin().key == 5 && drained.size() == 1 : "A drained heap should be reusable";
+
+        System.out.println("✅ drainTo and drainBelow test passed");
+    }
+
+    private void testCarryInsertAndMeld() {
+        System.out.println("Testing carry insert and in-place meld...");
+        BinomialHeap counter = new BinomialHeap();
+        for (int n = 1; n <= 1000; n++) {
+            counter.insert(n % 37 + 1, null);
+            assert counter.numTrees() == Integer.bitCount(n) : "Roots should follow the bits of the size";
+            assert counter.linkCounter == n - Integer.bitCount(n) : "Inserts should link like a binary counter";
+        }
+
+        java.util.Random rand = new java.util.Random(47);
+        for (int trial = 0; trial < 200; trial++) {
+            BinomialHeap heap1 = new BinomialHeap();
+            BinomialHeap heap2 = new BinomialHeap();
+            java.util.List<Integer> expected = new java.util.ArrayList<>();
+            int size1 = rand.nextInt(300);
+            int size2 = rand.nextInt(300);
+            for (int i = 0; i < size1; i++) {
+                int key = rand.nextInt(50) + 1;
+                heap1.insert(key, null);
+                expected.add(key);
+            }
+            for (int i = 0; i < size2; i++) {
+                int key = rand.nextInt(50) + 1;
+                heap2.insert(key, null);
+                expected.add(key);
+            }
+            long links = heap1.linkCounter + heap2.linkCounter;
+            heap1.meld(heap2);
+            assert heap1.size() == size1 + size2 && heap2.empty() : "Meld should move every item";
+            assert heap1.numTrees() == Integer.bitCount(size1 + size2) : "Meld should leave one tree per bit";
+            assert heap1.linkCounter == links + Integer.bitCount(size1) + Integer.bitCount(size2)
+                    - Integer.bitCount(size1 + size2) : "Every meld link should remove one root";
+            assert heap2.linkCounter == 0 : "The melded heap's counters should move over";
+
+            java.util.Collections.sort(expected);
+            long ranks = 0;
+            for (int key : expected) {
+                assert heap1.findMin().key == key : "Melded heap should pop keys in order";
+                ranks += heap1.findMin().node.rank;
+                heap1.deleteMin();
+            }
+            assert heap1.rankSum == ranks : "rankSum should add the ranks of deleted roots";
+        }
+
+        // Counters move on every meld path, also into or from an empty heap
+        BinomialHeap source = new BinomialHeap();
+        for (int i = 1; i <= 6; i++) {
+            source.insert(i, null);
+        }
+        source.deleteMin();
+        long sourceLinks = source.linkCounter;
+        long sourceRanks = source.rankSum;
+        BinomialHeap target = new BinomialHeap();
+        target.meld(source);
+        assert target.linkCounter == sourceLinks && target.rankSum == sourceRanks : "Counters should move into an empty heap";
+        assert source.linkCounter == 0 && source.rankSum == 0 : "Counters should be zeroed after meld";
+        while (!target.empty()) {
+            target.deleteMin();
+        }
+        long drainedLinks = target.linkCounter;
+        long drainedRanks = target.rankSum;
+        BinomialHeap receiver = new BinomialHeap();
+        receiver.insert(1, null);
+        receiver.meld(target);
+        assert receiver.linkCounter == drainedLinks && receiver.rankSum == drainedRanks : "Counters should move from an empty heap";
+        assert target.linkCounter == 0 && target.rankSum == 0 : "An empty melded heap's counters should be zeroed";
+
+        System.out.println("✅ Carry insert and in-place meld test passed");
+    }
+
+    private static void assertAdded(java.util.Set<BinomialHeap.HeapItem> seen, BinomialHeap.HeapItem item) {
+        boolean fresh = seen.add(item);
+        assert fresh : "An item should be visited once";
+    }
+}
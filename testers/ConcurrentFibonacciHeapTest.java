@@ -0,0 +1,232 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ConcurrentFibonacciHeapTest {
+    public static void main(String[] args) {
+        ConcurrentFibonacciHeapTest tester = new ConcurrentFibonacciHeapTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testSingleThread();
+            testConcurrentInsertThenDrain();
+            testConcurrentDecreaseKey();
+            testRandomMixAgainstModel();
+            testFailingRequest();
+            testDeadThreadSlots();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError | InterruptedException e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testSingleThread() {
+        System.out.println("Testing single-threaded operations...");
+        ConcurrentFibonacciHeap heap = new ConcurrentFibonacciHeap();
+        FibonacciHeap.HeapNode none = heap.deleteMin();
+        assert none == null : "Empty heap should return null";
+
+        heap.insert(5, "five");
+        FibonacciHeap.HeapNode three = heap.insert(3, "three");
+        heap.insert(8, "eight");
+        assert heap.findMin() == three : "Minimum should be 3";
+
+        FibonacciHeap.HeapNode removed = heap.deleteMin();
+        assert removed == three : "deleteMin should return the removed minimum";
+        assert heap.size() == 2 : "Size should be 2";
+
+        System.out.println("✅ Single-threaded test passed");
+    }
+
+    private void testConcurrentInsertThenDrain() throws InterruptedException {
+        System.out.println("Testing concurrent insert and drain...");
+        ConcurrentFibonacciHeap heap = new ConcurrentFibonacciHeap();
+        int threads = 4;
+        int perThread = 5000;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers.add(new Thread(() -> {
+                for (int i = 1; i <= perThread; i++) {
+                    heap.insert(base + i, null);
+                }
+            }));
+        }
+        runAll(workers);
+        assert heap.size() == threads * perThread : "All inserts should be applied";
+
+        List<List<Integer>> drained = new ArrayList<>();
+        workers.clear();
+        for (int t = 0; t < threads; t++) {
+            List<Integer> keys = new ArrayList<>();
+            drained.add(keys);
+            workers.add(new Thread(() -> {
+                FibonacciHeap.HeapNode node;
+                while ((node = heap.deleteMin()) != null) {
+                    keys.add(node.key);
+                }
+            }));
+        }
+        runAll(workers);
+
+        Set<Integer> seen = new HashSet<>();
+        for (List<Integer> keys : drained) {
+            for (int i = 1; i < keys.size(); i++) {
+                assert keys.get(i - 1) < keys.get(i) : "Each thread should see increasing minimums";
+            }
+            for (int key : keys) {
+                boolean fresh = seen.add(key);
+                assert fresh : "Key " + key + " was removed twice";
+            }
+        }
+        assert seen.size() == threads * perThread : "Every key should be removed exactly once";
+        assert heap.size() == 0 : "Heap should be empty after the drain";
+
+        System.out.println("✅ Concurrent insert and drain test passed");
+    }
+
+    private void testConcurrentDecreaseKey() throws InterruptedException {
+        System.out.println("Testing concurrent decreaseKey...");
+        ConcurrentFibonacciHeap heap = new ConcurrentFibonacciHeap();
+        int n = 4000;
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = heap.insert(1_000_000 + i, null);
+        }
+        heap.deleteMin();
+        heap.insert(1_000_000, null);
+
+        int threads = 4;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            workers.add(new Thread(() -> {
+                for (int i = first; i < n; i += threads) {
+                    if (i != 0) {
+                        heap.decreaseKey(nodes[i], 999_000);
+                    }
+                }
+            }));
+        }
+        runAll(workers);
+
+        int previous = Integer.MIN_VALUE;
+        int count = 0;
+        FibonacciHeap.HeapNode node;
+        while ((node = heap.deleteMin()) != null) {
+            assert node.key >= previous : "Keys should come out in order";
+            previous = node.key;
+            count++;
+        }
+        assert count == n : "Every node should be drained";
+
+        System.out.println("✅ Concurrent decreaseKey test passed");
+    }
+
+    private void runAll(List<Thread> workers) throws InterruptedException {
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void testRandomMixAgainstModel() {
+        System.out.println("Testing a random single-threaded mix...");
+        for (int seed = 0; seed < 5; seed++) {
+            java.util.Random rand = new java.util.Random(seed);
+            ConcurrentFibonacciHeap heap = new ConcurrentFibonacciHeap();
+            List<FibonacciHeap.HeapNode> live = new ArrayList<>();
+            for (int step = 0; step < 20000; step++) {
+                int pick = rand.nextInt(10);
+                if (pick < 4 || live.isEmpty()) {
+                    live.add(heap.insert(rand.nextInt(100_000) + 100_000, null));
+                } else if (pick < 7) {
+                    FibonacciHeap.HeapNode node = live.get(rand.nextInt(live.size()));
+                    heap.decreaseKey(node, rand.nextInt(Math.max(1, node.key / 2)) + 1);
+                } else {
+                    int expected = Integer.MAX_VALUE;
+                    for (FibonacciHeap.HeapNode node : live) {
+                        expected = Math.min(expected, node.key);
+                    }
+                    FibonacciHeap.HeapNode removed = heap.deleteMin();
+                    assert removed.key == expected : "deleteMin should return a minimal node";
+                    live.remove(removed);
+                }
+            }
+            assert heap.size() == live.size() : "Size should match the model";
+        }
+        System.out.println("✅ Random single-threaded mix test passed");
+    }
+
+    private void testFailingRequest() throws InterruptedException {
+        System.out.println("Testing a failing request...");
+        FibonacciHeap failing = new FibonacciHeap() {
+            @Override
+            public HeapNode insert(int key, String info) {
+                if (key == 13) {
+                    throw new IllegalStateException("unlucky key");
+                }
+                return super.insert(key, info);
+            }
+        };
+        ConcurrentFibonacciHeap heap = new ConcurrentFibonacciHeap(failing);
+        int threads = 4;
+        int perThread = 2000;
+        int[] failures = new int[threads];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    try {
+                        heap.insert(i % 20 + 1, null);
+                    } catch (IllegalStateException e) {
+                        failures[id]++;
+                    }
+                }
+            }));
+        }
+        runAll(workers);
+        for (int count : failures) {
+            assert count == perThread / 20 : "Each thread should get back exactly its own failures";
+        }
+        assert heap.size() == threads * (perThread - perThread / 20) : "Other requests should still be applied";
+        try {
+            heap.insert(13, null);
+            assert false : "The caller should see the exception";
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assert heap.findMin().key == 1 : "The heap should keep working after a failure";
+        System.out.println("✅ Failing request test passed");
+    }
+
+    private void testDeadThreadSlots() throws InterruptedException {
+        System.out.println("Testing slots of dead threads...");
+        ConcurrentFibonacciHeap heap = new ConcurrentFibonacciHeap();
+        heap.insert(1, null);
+        for (int round = 0; round < 10; round++) {
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < 20; t++) {
+                int key = round * 20 + t + 2;
+                workers.add(new Thread(() -> heap.insert(key, null)));
+            }
+            runAll(workers);
+        }
+        assert heap.size() == 201 : "Every insert should be applied";
+        // Registering a new thread drops the slots of the threads that have died
+        Thread late = new Thread(() -> heap.insert(500, null));
+        runAll(java.util.Collections.singletonList(late));
+        assert heap.slotCount() <= 2 : "Dead threads' slots should be reclaimed, found " + heap.slotCount();
+        FibonacciHeap.HeapNode min = heap.deleteMin();
+        assert min.key == 1 : "The heap should be intact";
+        System.out.println("✅ Dead thread slots test passed");
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class DoubleEndedFibonacciHeapTest {
+    public static void main(String[] args) {
+        DoubleEndedFibonacciHeapTest tester = new DoubleEndedFibonacciHeapTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testBasicOperations();
+            testRandomAgainstTreeMap();
+            testBoundedKeepsSmallest();
+            testBoundedReusesEntries();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testBasicOperations() {
+        System.out.println("Testing basic operations...");
+        DoubleEndedFibonacciHeap heap = new DoubleEndedFibonacciHeap();
+        assert heap.findMin() == null && heap.findMax() == null : "Empty heap should have no min or max";
+
+        heap.insert(4, "four");
+        DoubleEndedFibonacciHeap.Entry two = heap.insert(2, "two");
+        heap.insert(9, "nine");
+        DoubleEndedFibonacciHeap.Entry six = heap.insert(6, "six");
+        assert heap.findMin() == two : "Minimum should be 2";
+        assert heap.findMax().getKey() == 9 : "Maximum should be 9";
+
+        heap.deleteMax();
+        assert heap.findMax() == six : "After deleteMax, maximum should be 6";
+        heap.deleteMin();
+        assert heap.findMin().getInfo().equals("four") : "After deleteMin, minimum should be 4";
+        heap.delete(six);
+        assert heap.size() == 1 : "Size should be 1";
+        assert heap.findMin() == heap.findMax() : "A single entry is both min and max";
+
+        System.out.println("✅ Basic operations test passed");
+    }
+
+    private void testRandomAgainstTreeMap() {
+        System.out.println("Testing random operations against a TreeMap...");
+        Random rand = new Random(23);
+        DoubleEndedFibonacciHeap heap = new DoubleEndedFibonacciHeap();
+        TreeMap<Integer, DoubleEndedFibonacciHeap.Entry> expected = new TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int op = rand.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                int key = rand.nextInt(Integer.MAX_VALUE) - rand.nextInt(Integer.MAX_VALUE);
+                if (!expected.containsKey(key)) {
+                    expected.put(key, heap.insert(key, null));
+                }
+            } else if (op < 7) {
+                assert heap.findMin() == expected.firstEntry().getValue() : "findMin should match";
+                heap.deleteMin();
+                expected.pollFirstEntry();
+            } else if (op < 9) {
+                assert heap.findMax() == expected.lastEntry().getValue() : "findMax should match";
+                heap.deleteMax();
+                expected.pollLastEntry();
+            } else {
+                List<Integer> keys = new ArrayList<>(expected.keySet());
+                int key = keys.get(rand.nextInt(keys.size()));
+                heap.delete(expected.remove(key));
+            }
+            assert heap.size() == expected.size() : "Size should match";
+        }
+
+        System.out.println("✅ Random operations test passed");
+    }
+
+    private void testBoundedKeepsSmallest() {
+        System.out.println("Testing bounded insert...");
+        Random rand = new Random(29);
+        int capacity = 100;
+        DoubleEndedFibonacciHeap heap = new DoubleEndedFibonacciHeap();
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            int key = rand.nextInt(1_000_000_000);
+            all.add(key);
+            heap.insertBounded(key, null, capacity);
+            assert heap.size() == Math.min(i + 1, capacity) : "Size should never exceed the capacity";
+        }
+        assert heap.evictions() + heap.rejections() == all.size() - capacity : "Every extra key is evicted or rejected";
+
+        Collections.sort(all);
+        for (int i = 0; i < capacity; i++) {
+            assert heap.findMin().getKey() == all.get(i) : "The buffer should keep the smallest keys";
+            heap.deleteMin();
+        }
+
+        heap.insert(5, null);
+        heap.insert(6, null);
+        heap.insert(7, null);
+        DoubleEndedFibonacciHeap.Entry kept = heap.insertBounded(1, null, 2);
+        assert kept != null : "A smaller key should be kept";
+        assert heap.size() == 2 : "A smaller capacity should evict down to it";
+        assert heap.findMax().getKey() == 5 : "The largest keys should be evicted";
+
+        System.out.println("✅ Bounded insert test passed");
+    }
+
+    private void testBoundedReusesEntries() {
+        System.out.println("Testing bounded insert reuses entries...");
+        Random rand = new Random(31);
+        int capacity = 64;
+        DoubleEndedFibonacciHeap heap = new DoubleEndedFibonacciHeap();
+        Map<DoubleEndedFibonacciHeap.Entry, Boolean> allocated = new IdentityHashMap<>();
+        for (int i = 0; i < capacity; i++) {
+            allocated.put(heap.insertBounded(rand.nextInt(), null, capacity), true);
+        }
+        for (int i = 0; i < 100000; i++) {
+            DoubleEndedFibonacciHeap.Entry entry = heap.insertBounded(rand.nextInt(), "x", capacity);
+            assert entry == null || allocated.containsKey(entry) : "A full buffer should reuse evicted entries";
+        }
+        assert heap.evictions() > 0 : "Some keys should have been evicted";
+
+        System.out.println("✅ Bounded entry reuse test passed");
+    }
+}
@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ExternalSorterTest {
+    public static void main(String[] args) {
+        ExternalSorterTest tester = new ExternalSorterTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("external-sort");
+            testManyRuns(dir);
+            testRunBoundaries(dir);
+            testExtremeValues(dir);
+            testEmptyInput(dir);
+            testInvalidInput(dir);
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.err.println("Test failed: " + e);
+            e.printStackTrace();
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    private void testManyRuns(Path dir) throws IOException {
+        System.out.println("Testing a sort with many runs...");
+        Random rand = new Random(37);
+        int[] values = new int[200_000];
+        for (int i = 0; i < values.length; i++) {
+            // Include duplicates and the extreme values
+            values[i] = i % 97 == 0 ? Integer.MIN_VALUE : i % 89 == 0 ? Integer.MAX_VALUE : rand.nextInt(5000) - 2500;
+        }
+        ExternalSorter sorter = new ExternalSorter(dir, 700, 256);
+        assertSorts(sorter, dir, values);
+        assert sorter.runCount() == (values.length + 699) / 700 : "Every run should be merged";
+
+        System.out.println("✅ Many runs test passed");
+    }
+
+    private void testRunBoundaries(Path dir) throws IOException {
+        System.out.println("Testing run and block boundaries...");
+        Random rand = new Random(41);
+        for (int n : new int[]{1, 63, 64, 65, 128, 1000}) {
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = rand.nextInt();
+            }
+            assertSorts(new ExternalSorter(dir, 64, 16), dir, values);
+            assertSorts(new ExternalSorter(dir, 1_000_000, 4), dir, values);
+        }
+
+        System.out.println("✅ Run and block boundaries test passed");
+    }
+
+    private void testExtremeValues(Path dir) throws IOException {
+        System.out.println("Testing negative and extreme values...");
+        // Runs of 4 whose heads are the extremes, so the merge heap holds them as keys
+        int[] values = {
+                Integer.MAX_VALUE, Integer.MAX_VALUE, 0, -1,
+                Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, 7,
+                -7, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1, -2_000_000_000,
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                -1, -1, -1, Integer.MIN_VALUE};
+        assertSorts(new ExternalSorter(dir, 4, 4), dir, values);
+
+        int[] negatives = new int[1000];
+        for (int i = 0; i < negatives.length; i++) {
+            negatives[i] = -1 - i * 2_000_000;
+        }
+        assertSorts(new ExternalSorter(dir, 64, 16), dir, negatives);
+
+        System.out.println("✅ Negative and extreme values test passed");
+    }
+
+    private void testEmptyInput(Path dir) throws IOException {
+        System.out.println("Testing an empty input...");
+        assertSorts(new ExternalSorter(dir, 16, 16), dir, new int[0]);
+
+        System.out.println("✅ Empty input test passed");
+    }
+
+    private void testInvalidInput(Path dir) throws IOException {
+        System.out.println("Testing an invalid input...");
+        Path input = dir.resolve("odd.bin");
+        Files.write(input, new byte[]{1, 2, 3, 4, 5});
+        boolean thrown = false;
+        try {
+            new ExternalSorter(dir).sort(input, dir.resolve("odd.out"));
+        } catch (IOException e) {
+            thrown = true;
+        }
+        assert thrown : "An input that is not a whole number of ints should be rejected";
+
+        thrown = false;
+        try {
+            new ExternalSorter(dir, 16, 6);
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assert thrown : "A block size that is not a multiple of 4 should be rejected";
+
+        System.out.println("✅ Invalid input test passed");
+    }
+
+    private static void assertSorts(ExternalSorter sorter, Path dir, int[] values) throws IOException {
+        Path input = dir.resolve("input.bin");
+        Path output = dir.resolve("output.bin");
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * 4);
+        bytes.asIntBuffer().put(values);
+        Files.write(input, bytes.array());
+
+        long count = sorter.sort(input, output);
+        assert count == values.length : "sort should report " + values.length + " ints";
+
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        int[] actual = new int[values.length];
+        ByteBuffer.wrap(Files.readAllBytes(output)).asIntBuffer().get(actual);
+        assert Files.size(output) == values.length * 4L : "Output should be as long as the input";
+        assert Arrays.equals(actual, expected) : "Output should be the sorted input";
+    }
+
+    private static void deleteAll(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        } catch (IOException e) {
+            System.err.println("Could not clean up " + dir + ": " + e);
+        }
+    }
+}
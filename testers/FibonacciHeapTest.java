@@ -19,6 +19,15 @@ public class FibonacciHeapTest {
             testFindMin();
             testInsert();
             testDeleteMin();
+            testNodeRecycling();
+            testInsertAll();
+            testLazyDecreaseKey();
+            testMeldAll();
+            testMetrics();
+            testIdIndex();
+            testSortedIteration();
+            testStreams();
+            testDrain();
             System.out.println("All tests passed successfully! ✅");
         } catch (AssertionError e) {
             System.err.println("Test failed: " + e.getMessage());
@@ -317,4 +326,643 @@ public class FibonacciHeapTest {
 
         System.out.println("✅ DeleteMin test passed");
     }
-}
\ No newline at end of file
+
+    private void testNodeRecycling() {
+        System.out.println("Testing node recycling...");
+        FibonacciHeap heap = new FibonacciHeap(true);
+
+        FibonacciHeap.HeapNode first = heap.insert(5, "five");
+        heap.insert(7, "seven");
+        heap.deleteMin();
+        FibonacciHeap.HeapNode reused = heap.insert(3, "three");
+
+        assert reused == first : "Insert should reuse the node freed by deleteMin";
+        assert reused.key == 3 && reused.info.equals("three") : "Reused node should hold the new key and info";
+        assert heap.nodesAllocated() == 2 : "Only two nodes should have been allocated";
+        assert heap.nodesRecycled() == 1 : "One node should have been recycled";
+
+        java.util.Random rand = new java.util.Random(42);
+        FibonacciHeap plain = new FibonacciHeap();
+        plain.insert(7, "seven");
+        plain.insert(3, "three");
+        for (int round = 0; round < 2000; round++) {
+            int key = rand.nextInt(1000) + 1;
+            heap.insert(key, "key" + key);
+            plain.insert(key, "key" + key);
+            if (round % 3 == 0) {
+                heap.deleteMin();
+                plain.deleteMin();
+            }
+            assert heap.findMin().key == plain.findMin().key : "Recycling heap should keep the same minimum";
+        }
+        assert heap.size() == plain.size() : "Recycling heap should keep the same size";
+        assert heap.totalLinks() == plain.totalLinks() : "Recycling should not change the number of links";
+
+        System.out.println("✅ Node recycling test passed");
+    }
+
+    private void testInsertAll() {
+        System.out.println("Testing insertAll...");
+        FibonacciHeap heap = new FibonacciHeap();
+        heap.insert(50, "fifty");
+
+        int[] keys = {30, 70, 10, 90, 20};
+        String[] infos = {"thirty", "seventy", "ten", "ninety", "twenty"};
+        FibonacciHeap.HeapNode[] nodes = heap.insertAll(keys, infos);
+
+        assert nodes.length == keys.length : "insertAll should return one node per key";
+        for (int i = 0; i < keys.length; i++) {
+            assert nodes[i].key == keys[i] && nodes[i].info.equals(infos[i]) : "Nodes should follow the order of keys";
+        }
+        assert heap.size() == 6 : "Size should be 6 after insertAll";
+        assert heap.numTrees() == 6 : "insertAll should add every node as a root";
+        assert heap.findMin() == nodes[2] : "Minimum should be the node holding 10";
+
+        heap.decreaseKey(nodes[3], 85);
+        assert heap.findMin() == nodes[3] : "Returned nodes should work as handles";
+
+        int[] expected = {5, 10, 20, 30, 50, 70};
+        for (int key : expected) {
+            assert heap.findMin().key == key : "Keys should come out in order, expected " + key;
+            heap.deleteMin();
+        }
+
+        FibonacciHeap empty = new FibonacciHeap();
+        FibonacciHeap.HeapNode[] none = empty.insertAll(new int[0], null);
+        assert none.length == 0 : "Empty insertAll should return no nodes";
+        empty.insertAll(new int[]{3, 1, 2}, null);
+        assert empty.findMin().key == 1 && empty.findMin().info == null : "Null infos should insert null info";
+
+        System.out.println("✅ InsertAll test passed");
+    }
+
+    private void testLazyDecreaseKey() {
+        System.out.println("Testing lazy decreaseKey...");
+        java.util.Random rand = new java.util.Random(42);
+        FibonacciHeap eager = new FibonacciHeap();
+        FibonacciHeap lazy = new FibonacciHeap();
+        lazy.setLazyDecreaseKey(true);
+
+        int n = 2000;
+        FibonacciHeap.HeapNode[] eagerNodes = new FibonacciHeap.HeapNode[n];
+        FibonacciHeap.HeapNode[] lazyNodes = new FibonacciHeap.HeapNode[n];
+        boolean[] removed = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            int key = rand.nextInt(1_000_000) + 1_000_000;
+            eagerNodes[i] = eager.insert(key, String.valueOf(i));
+            lazyNodes[i] = lazy.insert(key, String.valueOf(i));
+        }
+
+        for (int step = 0; step < 20000; step++) {
+            int i = rand.nextInt(n);
+            if (step % 10 == 0 && eager.size() > 0) {
+                assert lazy.findMin().key == eager.findMin().key : "Lazy and eager minimums should match";
+                removed[Integer.parseInt(eager.findMin().info)] = true;
+                removed[Integer.parseInt(lazy.findMin().info)] = true;
+                eager.delete(eagerNodes[Integer.parseInt(lazy.findMin().info)]);
+                lazy.deleteMin();
+            } else if (!removed[i]) {
+                int diff = rand.nextInt(1000) + 1;
+                eager.decreaseKey(eagerNodes[i], diff);
+                lazy.decreaseKey(lazyNodes[i], diff);
+            }
+        }
+        assert lazy.size() == eager.size() : "Lazy and eager sizes should match";
+        assert lazy.deferredDecreaseKeys() > 0 : "Some decreaseKeys should have been deferred";
+
+        // A child decreased several times before the batch runs needs only one cut
+        FibonacciHeap heap = new FibonacciHeap();
+        heap.setLazyDecreaseKey(true);
+        heap.insert(1, "one");
+        heap.insert(10, "ten");
+        FibonacciHeap.HeapNode child = heap.insert(20, "twenty");
+        heap.deleteMin();
+        assert child.parent != null : "20 should have been linked below 10";
+        heap.decreaseKey(child, 11);
+        heap.decreaseKey(child, 1);
+        heap.decreaseKey(child, 1);
+        assert heap.totalCuts() == 0 : "Lazy decreaseKey should not cut before the batch runs";
+        assert heap.findMin().key == 7 : "findMin should apply the pending decreases";
+        assert heap.totalCuts() == 1 : "The batch should cut the child once";
+        assert heap.savedCuts() == 2 : "Two of three cuts should have been saved";
+
+        heap.setLazyDecreaseKey(false);
+        heap.decreaseKey(heap.findMin(), 2);
+        assert heap.findMin().key == 5 : "Eager mode should be restored";
+
+        // A parent decreased below its already dirty child puts the child back in order
+        FibonacciHeap nested = new FibonacciHeap();
+        nested.setLazyDecreaseKey(true);
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[9];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = nested.insert(100 * (i + 1), String.valueOf(i));
+        }
+        nested.deleteMin();
+        FibonacciHeap.HeapNode grandchild = null;
+        for (FibonacciHeap.HeapNode node : nodes) {
+            if (node.parent != null && node.parent.parent != null) {
+                grandchild = node;
+            }
+        }
+        assert grandchild != null : "Eight nodes should consolidate into a tree of depth three";
+        FibonacciHeap.HeapNode parentNode = grandchild.parent;
+        // The child drops below every root, then its parent drops below the child
+        nested.decreaseKey(grandchild, grandchild.key - 50);
+        nested.decreaseKey(parentNode, parentNode.key - 1);
+        assert grandchild.key > parentNode.key : "The child should be back in heap order";
+        assert nested.findMin() == parentNode : "Only the cut parent should become the minimum";
+        assert grandchild.parent == parentNode : "The child in heap order should not be cut";
+        int last = 0;
+        for (int i = 1; i < nodes.length; i++) {
+            FibonacciHeap.HeapNode min = nested.findMin();
+            assert min.key >= last : "The heap should drain in key order";
+            last = min.key;
+            nested.deleteMin();
+        }
+        assert nested.size() == 0 && nested.numTrees() == 0 : "The heap should drain completely";
+
+        // A random lazy mix against a sorted model
+        FibonacciHeap mixed = new FibonacciHeap();
+        mixed.setLazyDecreaseKey(true);
+        java.util.List<FibonacciHeap.HeapNode> live = new java.util.ArrayList<>();
+        for (int step = 0; step < 30000; step++) {
+            int pick = rand.nextInt(10);
+            if (pick < 4 || live.isEmpty()) {
+                live.add(mixed.insert(rand.nextInt(1_000_000) + 1_000_000, null));
+            } else if (pick < 6) {
+                FibonacciHeap.HeapNode min = mixed.findMin();
+                for (FibonacciHeap.HeapNode node : live) {
+                    assert min.key <= node.key : "findMin should return a minimal node";
+                }
+                live.remove(min);
+                mixed.deleteMin();
+            } else if (pick < 9) {
+                FibonacciHeap.HeapNode node = live.get(rand.nextInt(live.size()));
+                mixed.decreaseKey(node, rand.nextInt(Math.max(1, node.key / 2)) + 1);
+            } else {
+                mixed.delete(live.remove(rand.nextInt(live.size())));
+            }
+        }
+        assert mixed.size() == live.size() : "Lazy mix size should match";
+
+        System.out.println("✅ Lazy decreaseKey test passed");
+    }
+
+    private void testMeldAll() {
+        System.out.println("Testing meldAll...");
+        java.util.Random rand = new java.util.Random(11);
+        FibonacciHeap heap = new FibonacciHeap();
+        heap.setLazyDecreaseKey(true);
+        java.util.List<FibonacciHeap> others = new java.util.ArrayList<>();
+        java.util.PriorityQueue<Integer> expected = new java.util.PriorityQueue<>();
+        for (int i = 0; i < 5; i++) {
+            int key = rand.nextInt(1000) + 100;
+            heap.insert(key, null);
+            expected.add(key);
+        }
+        heap.deleteMin();
+        expected.poll();
+        for (int h = 0; h < 8; h++) {
+            FibonacciHeap other = new FibonacciHeap();
+            for (int i = 0; i < h * 3; i++) {
+                int key = rand.nextInt(1000) + 100;
+                other.insert(key, null);
+                expected.add(key);
+            }
+            others.add(other);
+        }
+        others.add(null);
+        others.add(heap);
+
+        heap.meldAll(others);
+        assert heap.size() == expected.size() : "Size should be the sum of all sizes";
+        for (FibonacciHeap other : others) {
+            assert other == null || other == heap || other.size() == 0 : "Inputs should be empty after meldAll";
+        }
+        while (!expected.isEmpty()) {
+            int next = expected.poll();
+            assert heap.findMin().key == next : "deleteMin order should match after meldAll";
+            heap.deleteMin();
+        }
+        assert heap.size() == 0 : "Heap should be empty after deleting every element";
+
+        System.out.println("✅ MeldAll test passed");
+    }
+
+    private void testMetrics() {
+        System.out.println("Testing metrics...");
+        java.util.Random rand = new java.util.Random(5);
+        FibonacciHeap heap = new FibonacciHeap();
+        HeapMetrics metrics = heap.enableMetrics();
+        HeapMetrics again = heap.enableMetrics();
+        assert again == metrics : "enableMetrics should return the same metrics";
+
+        java.util.List<FibonacciHeap.HeapNode> nodes = new java.util.ArrayList<>();
+        int inserts = 0;
+        int deleteMins = 0;
+        int decreases = 0;
+        for (int i = 0; i < 5000; i++) {
+            int op = rand.nextInt(10);
+            if (op < 5 || nodes.isEmpty()) {
+                nodes.add(heap.insert(rand.nextInt(100000) + 1000, null));
+                inserts++;
+            } else if (op < 7) {
+                nodes.remove(heap.findMin());
+                heap.deleteMin();
+                deleteMins++;
+            } else {
+                FibonacciHeap.HeapNode node = nodes.get(rand.nextInt(nodes.size()));
+                if (node.key > 1) {
+                    heap.decreaseKey(node, rand.nextInt(node.key - 1) + 1);
+                    decreases++;
+                }
+            }
+            if (i % 250 == 0) {
+                checkGauges(heap, metrics);
+            }
+        }
+        checkGauges(heap, metrics);
+
+        FibonacciHeap other = new FibonacciHeap();
+        for (int i = 0; i < 20; i++) {
+            other.insert(i + 1, null);
+        }
+        other.deleteMin();
+        heap.meld(other);
+        checkGauges(heap, metrics);
+
+        assert metrics.getInsertLatency()[0] == inserts : "Every insert should be timed";
+        assert metrics.getDeleteMinLatency()[0] == deleteMins : "Every deleteMin should be timed";
+        assert metrics.getDecreaseKeyLatency()[0] == decreases : "Every decreaseKey should be timed";
+        assert metrics.getMeldLatency()[0] == 1 : "The meld should be timed";
+        long[] latency = metrics.getDeleteMinLatency();
+        assert latency[2] <= latency[4] && latency[4] <= latency[6] : "Percentiles should be ordered";
+        assert metrics.getLinks() == heap.totalLinks() : "Links should match totalLinks";
+        assert metrics.getCuts() == heap.totalCuts() : "Cuts should match totalCuts";
+        assert metrics.getCascadingCuts() <= metrics.getCuts() : "Cascading cuts are a subset of cuts";
+        assert metrics.getConsolidations() > 0 : "deleteMin should consolidate";
+
+        try {
+            javax.management.ObjectName name = metrics.register("test");
+            javax.management.MBeanServer server = java.lang.management.ManagementFactory.getPlatformMBeanServer();
+            assert server.getAttribute(name, "Size").equals(heap.size()) : "JMX should report the size";
+            assert server.getAttribute(name, "NumTrees").equals(heap.numTrees()) : "JMX should report numTrees";
+            heap.disableMetrics();
+            assert !server.isRegistered(name) : "disableMetrics should unregister the MBean";
+        } catch (javax.management.JMException e) {
+            throw new AssertionError("JMX access failed: " + e);
+        }
+
+        heap.insert(7, null);
+        assert metrics.getInsertLatency()[0] == inserts : "Disabled metrics should not record";
+
+        System.out.println("✅ Metrics test passed");
+    }
+
+    private void testIdIndex() {
+        System.out.println("Testing operations by id...");
+        java.util.Random rand = new java.util.Random(13);
+        FibonacciHeap heap = new FibonacciHeap(true);
+        java.util.Map<Long, Integer> expected = new java.util.HashMap<>();
+        for (long id = 0; id < 3000; id++) {
+            // Spread ids over the whole long range, including negatives
+            long externalId = id * 0x9E3779B97F4A7C15L;
+            int key = rand.nextInt(1_000_000) + 1000;
+            heap.insertWithId(externalId, key, "job-" + id);
+            expected.put(externalId, key);
+        }
+        heap.insert(5, "no id");
+
+        try {
+            heap.insertWithId(0, 1, null);
+            assert false : "Inserting a duplicate id should throw";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        java.util.List<Long> ids = new java.util.ArrayList<>(expected.keySet());
+        for (int round = 0; round < 2000; round++) {
+            long id = ids.get(rand.nextInt(ids.size()));
+            if (!expected.containsKey(id)) {
+                continue;
+            }
+            int op = rand.nextInt(3);
+            if (op == 0) {
+                int diff = rand.nextInt(expected.get(id) / 2) + 1;
+                heap.decreaseKeyById(id, diff);
+                expected.put(id, expected.get(id) - diff);
+            } else if (op == 1) {
+                heap.deleteById(id);
+                expected.remove(id);
+            } else {
+                FibonacciHeap.HeapNode min = heap.findMin();
+                if (min.key != 5) {
+                    long minId = heap.getId(min);
+                    heap.deleteMin();
+                    Integer removed = expected.remove(minId);
+                    assert removed != null : "deleteMin should remove an indexed element";
+                }
+            }
+        }
+
+        FibonacciHeap other = new FibonacciHeap();
+        other.insertWithId(-1, 3, "other");
+        heap.meld(other);
+        expected.put(-1L, 3);
+        assert heap.containsId(-1) && !other.containsId(-1) : "meld should move ids to the melded heap";
+
+        FibonacciHeap clash = new FibonacciHeap();
+        clash.insertWithId(-1, 9, null);
+        try {
+            heap.meld(clash);
+            assert false : "Melding a heap with a duplicate id should throw";
+        } catch (IllegalArgumentException e) {
+            assert clash.size() == 1 : "A rejected meld should leave heap2 unchanged";
+        }
+
+        for (java.util.Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assert heap.containsId(entry.getKey()) : "Live id " + entry.getKey() + " should be found";
+            assert heap.getKey(entry.getKey()) == entry.getValue() : "getKey should return the current key";
+        }
+        for (long id : ids) {
+            assert heap.containsId(id) == expected.containsKey(id) : "Removed ids should be gone";
+        }
+        assert heap.size() == expected.size() + 1 : "Size should count the element without an id";
+
+        // Recycling must not hand an indexed node out to a plain insert
+        FibonacciHeap.HeapNode plain = heap.insert(1, "plain");
+        assert !heap.containsId(0) || heap.findById(0) != plain : "A plain node should not carry an id";
+
+        System.out.println("✅ Operations by id test passed");
+    }
+
+    private void testSortedIteration() {
+        System.out.println("Testing peekSmallest and sortedIterator...");
+        java.util.Random rand = new java.util.Random(23);
+        FibonacciHeap heap = new FibonacciHeap();
+        heap.setLazyDecreaseKey(true);
+        java.util.List<FibonacciHeap.HeapNode> nodes = new java.util.ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            nodes.add(heap.insert(rand.nextInt(1_000_000) + 1000, "n" + i));
+        }
+        for (int i = 0; i < 300; i++) {
+            nodes.remove(heap.findMin());
+            heap.deleteMin();
+        }
+        // Deferred decreases must be applied before the forest is walked
+        for (int i = 0; i < 500; i++) {
+            FibonacciHeap.HeapNode node = nodes.get(rand.nextInt(nodes.size()));
+            if (node.key > 500) {
+                heap.decreaseKey(node, rand.nextInt(node.key / 2) + 1);
+            }
+        }
+
+        FibonacciHeap.HeapNode[] peeked = heap.peekSmallest(100);
+        int size = heap.size();
+        int trees = heap.numTrees();
+        long links = heap.totalLinks();
+        long cuts = heap.totalCuts();
+
+        java.util.List<Integer> sorted = new java.util.ArrayList<>();
+        java.util.Iterator<FibonacciHeap.HeapNode> it = heap.sortedIterator();
+        while (it.hasNext()) {
+            sorted.add(it.next().key);
+        }
+        assert sorted.size() == size : "sortedIterator should visit every node";
+        for (int i = 1; i < sorted.size(); i++) {
+            assert sorted.get(i - 1) <= sorted.get(i) : "sortedIterator should return keys in order";
+        }
+        assert peeked.length == 100 : "peekSmallest should return k nodes";
+        for (int i = 0; i < peeked.length; i++) {
+            assert peeked[i].key == sorted.get(i) : "peekSmallest should return the smallest keys in order";
+        }
+        assert heap.size() == size && heap.numTrees() == trees : "Peeking should not change the heap";
+        assert heap.totalLinks() == links && heap.totalCuts() == cuts : "Peeking should not link or cut";
+
+        for (FibonacciHeap.HeapNode node : peeked) {
+            assert heap.findMin().key == node.key : "deleteMin should agree with peekSmallest";
+            heap.deleteMin();
+        }
+        assert heap.peekSmallest(size * 2).length == heap.size() : "peekSmallest should stop at the heap size";
+        assert new FibonacciHeap().peekSmallest(5).length == 0 : "An empty heap should peek nothing";
+        assert !new FibonacciHeap().sortedIterator().hasNext() : "An empty heap should iterate nothing";
+        try {
+            heap.peekSmallest(-1);
+            assert false : "Negative k should throw";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        System.out.println("✅ peekSmallest and sortedIterator test passed");
+    }
+
+    private void testStreams() {
+        System.out.println("Testing stream and spliterator...");
+        java.util.Random rand = new java.util.Random(31);
+        FibonacciHeap heap = new FibonacciHeap();
+        java.util.List<FibonacciHeap.HeapNode> nodes = new java.util.ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            nodes.add(heap.insert(rand.nextInt(1_000_000) + 1000, "n" + i));
+        }
+        for (int i = 0; i < 200; i++) {
+            nodes.remove(heap.findMin());
+            heap.deleteMin();
+        }
+        for (int i = 0; i < 800; i++) {
+            FibonacciHeap.HeapNode node = nodes.get(rand.nextInt(nodes.size()));
+            heap.decreaseKey(node, rand.nextInt(node.key / 2) + 1);
+        }
+        // Unconsolidated roots and deferred decreases are walked as they are
+        for (int i = 0; i < 300; i++) {
+            nodes.add(heap.insert(rand.nextInt(1_000_000) + 1000, "m" + i));
+        }
+        heap.setLazyDecreaseKey(true);
+        for (int i = 0; i < 100; i++) {
+            FibonacciHeap.HeapNode node = nodes.get(rand.nextInt(nodes.size()));
+            heap.decreaseKey(node, rand.nextInt(node.key / 2) + 1);
+        }
+        long expectedSum = 0;
+        for (FibonacciHeap.HeapNode node : nodes) {
+            expectedSum += node.key;
+        }
+        long links = heap.totalLinks();
+        long cuts = heap.totalCuts();
+
+        assert heap.stream().count() == nodes.size() : "stream should visit every node";
+        assert heap.stream().mapToLong(node -> node.key).sum() == expectedSum : "stream should see every key";
+        assert heap.parallelStream().mapToLong(node -> node.key).sum() == expectedSum : "parallelStream should see every key";
+        assert heap.parallelStream().filter(node -> node.info.startsWith("m")).count() == 300 : "parallelStream should see every info";
+        assert heap.spliterator().estimateSize() == nodes.size() : "The unsplit spliterator should be sized";
+
+        // Split down to single nodes; every node must come out exactly once
+        java.util.Set<FibonacciHeap.HeapNode> seen = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+        java.util.ArrayDeque<java.util.Spliterator<FibonacciHeap.HeapNode>> parts = new java.util.ArrayDeque<>();
+        parts.push(heap.spliterator());
+        int splits = 0;
+        while (!parts.isEmpty()) {
+            java.util.Spliterator<FibonacciHeap.HeapNode> part = parts.pop();
+            java.util.Spliterator<FibonacciHeap.HeapNode> prefix = part.trySplit();
+            if (prefix != null) {
+                splits++;
+                parts.push(part);
+                parts.push(prefix);
+            } else if (rand.nextBoolean()) {
+                // Advance one node, then offer the rest for splitting again
+                if (part.tryAdvance(node -> assertAdded(seen, node))) {
+                    parts.push(part);
+                }
+            } else {
+                part.forEachRemaining(node -> assertAdded(seen, node));
+            }
+        }
+        assert seen.size() == nodes.size() && seen.containsAll(nodes) : "Splitting should cover every node once";
+        assert splits > nodes.size() / 2 : "The forest should split down to small parts";
+        assert heap.totalLinks() == links && heap.totalCuts() == cuts : "Streaming should not link or cut";
+
+        java.util.Spliterator<FibonacciHeap.HeapNode> partial = heap.spliterator();
+        int advanced = 0;
+        while (advanced < 10 && partial.tryAdvance(node -> { })) {
+            advanced++;
+        }
+        long rest = java.util.stream.StreamSupport.stream(partial, false).count();
+        assert advanced + rest == nodes.size() : "forEachRemaining should resume after tryAdvance";
+
+        assert new FibonacciHeap().stream().count() == 0 : "An empty heap should stream nothing";
+        assert new FibonacciHeap().parallelStream().count() == 0 : "An empty heap should stream nothing in parallel";
+
+        System.out.println("✅ Stream and spliterator test passed");
+    }
+
+    private void testDrain() {
+        System.out.println("Testing drainTo and drainBelow...");
+        for (boolean recycle : new boolean[] {false, true}) {
+            java.util.Random rand = new java.util.Random(41);
+            FibonacciHeap drained = new FibonacciHeap(recycle);
+            FibonacciHeap expected = new FibonacciHeap(recycle);
+            drained.setLazyDecreaseKey(true);
+            // Distinct keys, so drained and expected must agree on infos as well
+            java.util.List<Integer> keys = new java.util.ArrayList<>();
+            for (int i = 0; i < 20000; i++) {
+                keys.add(i * 10 + 1000);
+            }
+            java.util.Collections.shuffle(keys, rand);
+            java.util.List<FibonacciHeap.HeapNode> drainedNodes = new java.util.ArrayList<>();
+            java.util.List<FibonacciHeap.HeapNode> expectedNodes = new java.util.ArrayList<>();
+            for (int i = 0; i < 10000; i++) {
+                drainedNodes.add(drained.insert(keys.get(i), "v" + keys.get(i)));
+                expectedNodes.add(expected.insert(keys.get(i), "v" + keys.get(i)));
+            }
+            drained.deleteMin();
+            expected.deleteMin();
+            for (int i = 0; i < 500; i++) {
+                int j = 1 + rand.nextInt(drainedNodes.size() - 1);
+                int diff = 1 + rand.nextInt(9);
+                drained.decreaseKey(drainedNodes.get(j), diff);
+                expected.decreaseKey(expectedNodes.get(j), diff);
+                drainedNodes.remove(j);
+                expectedNodes.remove(j);
+            }
+            for (int i = 10000; i < 12000; i++) {
+                drained.insert(keys.get(i), "v" + keys.get(i));
+                expected.insert(keys.get(i), "v" + keys.get(i));
+            }
+
+            for (int k : new int[] {0, 1, 100, 3000}) {
+                java.util.List<String> got = new java.util.ArrayList<>();
+                int removed = drained.drainTo(k, (key, info) -> got.add(key + ":" + info));
+                assert removed == k && got.size() == k : "drainTo should remove k items";
+                for (String entry : got) {
+                    FibonacciHeap.HeapNode min = expected.findMin();
+                    assert entry.equals(min.key + ":" + min.info) : "drainTo should match deleteMin";
+                    expected.deleteMin();
+                }
+                assert drained.size() == expected.size() : "Sizes should match after drainTo";
+                assert drained.findMin().key == expected.findMin().key : "Minimum should match after drainTo";
+            }
+
+            int threshold = expected.findMin().key + 20000;
+            java.util.List<Integer> below = new java.util.ArrayList<>();
+            int removed = drained.drainBelow(threshold, (java.util.function.IntConsumer) below::add);
+            assert removed == below.size() && removed > 0 : "drainBelow should report what it removed";
+            for (int key : below) {
+                assert key < threshold && expected.findMin().key == key : "drainBelow should match deleteMin";
+                expected.deleteMin();
+            }
+            assert expected.findMin().key >= threshold : "drainBelow should remove every key below threshold";
+            int left = drained.drainBelow(threshold, key -> { });
+            assert left == 0 : "Nothing should be left below threshold";
+
+            // A throwing sink leaves a consistent heap
+            try {
+                drained.drainTo(10, key -> {
+                    if (key > 0) {
+                        throw new IllegalStateException("sink failed");
+                    }
+                });
+                assert false : "The sink's exception should propagate";
+            } catch (IllegalStateException e) {
+                expected.deleteMin();
+            }
+            assert drained.size() == expected.size() : "A failed drain should remove only what it passed on";
+
+            int[] last = {0};
+            int rest = drained.drainTo(Integer.MAX_VALUE, key -> {
+                assert expected.findMin().key == key : "Draining everything should match deleteMin";
+                expected.deleteMin();
+                assert key > last[0] : "Keys should come out in order";
+                last[0] = key;
+            });
+            assert rest > 0 && drained.size() == 0 && drained.findMin() == null : "drainTo should empty the heap";
+            assert drained.numTrees() == 0 : "An empty heap should have no trees";
+        }
+        try {
+            new FibonacciHeap().drainTo(-1, key -> { });
+            assert false : "Negative k should throw";
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        int none = new FibonacciHeap().drainTo(5, key -> { });
+        assert none == 0 : "An empty heap should drain nothing";
+
+        System.out.println("✅ drainTo and drainBelow test passed");
+    }
+
+    private static void assertAdded(java.util.Set<FibonacciHeap.HeapNode> seen, FibonacciHeap.HeapNode node) {
+        boolean fresh = seen.add(node);
+        assert fresh : "A node should be visited once";
+    }
+
+    private void checkGauges(FibonacciHeap heap, HeapMetrics metrics) {
+        int roots = 0;
+        int maxRank = 0;
+        FibonacciHeap.HeapNode min = heap.findMin();
+        if (min != null) {
+            FibonacciHeap.HeapNode node = min;
+            do {
+                roots++;
+                maxRank = Math.max(maxRank, node.rank);
+                node = node.next;
+            } while (node != min);
+        }
+        assert heap.numTrees() == roots : "numTrees should match the walked root list";
+        assert metrics.getNumTrees() == roots : "The numTrees gauge should match the walked root list";
+        assert metrics.getMarkedNodes() == countMarked(min) : "The marked gauge should match the marked nodes";
+        assert metrics.getMaxRank() >= maxRank : "The max rank gauge should bound every root rank";
+    }
+
+    private int countMarked(FibonacciHeap.HeapNode first) {
+        if (first == null) {
+            return 0;
+        }
+        int count = 0;
+        FibonacciHeap.HeapNode node = first;
+        do {
+            if (node.mark) {
+                count++;
+            }
+            count += countMarked(node.child);
+            node = node.next;
+        } while (node != first);
+        return count;
+    }
+}
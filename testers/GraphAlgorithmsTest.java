@@ -0,0 +1,189 @@
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+public class GraphAlgorithmsTest {
+    public static void main(String[] args) {
+        GraphAlgorithmsTest tester = new GraphAlgorithmsTest();
+        tester.runAllTests();
+    }
+
+    private static final String[] NAMES = {"fibonacci", "fibonacci lazy", "binomial", "priority queue", "pairing",
+            "rank-pairing"};
+
+    public void runAllTests() {
+        try {
+            testCsrGraph();
+            testDijkstra();
+            testPrim();
+            testAStar();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static IntFunction<VertexQueue> queue(int i) {
+        switch (i) {
+            case 0:
+                return FibonacciVertexQueue::new;
+            case 1:
+                return n -> new FibonacciVertexQueue(n, true);
+            case 2:
+                return BinomialVertexQueue::new;
+            case 3:
+                return PriorityVertexQueue::new;
+            default:
+                return n -> AddressableVertexQueue.of(NAMES[i], n);
+        }
+    }
+
+    private void testCsrGraph() {
+        System.out.println("Testing CSR graph...");
+        CsrGraph graph = CsrGraph.fromEdges(4, new int[]{0, 0, 2}, new int[]{1, 2, 3},
+                new int[]{5, 7, 1}, true);
+        assert graph.vertexCount() == 4 : "Graph should have 4 vertices";
+        assert graph.edgeCount() == 6 : "Undirected edges should be stored twice";
+        assert graph.edgeEnd(0) - graph.edgeStart(0) == 2 : "Vertex 0 should have 2 neighbours";
+        assert graph.edgeEnd(2) - graph.edgeStart(2) == 2 : "Vertex 2 should have 2 neighbours";
+        int e = graph.edgeStart(3);
+        assert graph.target(e) == 2 && graph.weight(e) == 1 : "Vertex 3 should reach 2 with weight 1";
+
+        CsrGraph grid = GraphGenerators.grid(3, 4, 9, 1);
+        assert grid.vertexCount() == 12 : "3x4 grid should have 12 vertices";
+        assert grid.edgeCount() == 2 * (3 * 3 + 2 * 4) : "3x4 grid should have 17 undirected edges";
+
+        System.out.println("✅ CSR graph test passed");
+    }
+
+    private void testDijkstra() {
+        System.out.println("Testing Dijkstra...");
+        for (int seed = 0; seed < 5; seed++) {
+            CsrGraph graph = seed % 2 == 0
+                    ? GraphGenerators.random(300, 6, 100, seed)
+                    : GraphGenerators.grid(15, 20, 100, seed);
+            int[] expected = bellmanFord(graph, 0);
+            for (int i = 0; i < NAMES.length; i++) {
+                int[] dist = GraphAlgorithms.dijkstra(graph, 0, queue(i).apply(graph.vertexCount()));
+                assert Arrays.equals(dist, expected) : "Dijkstra on " + NAMES[i] + " should match Bellman-Ford";
+            }
+        }
+
+        CsrGraph disconnected = CsrGraph.fromEdges(3, new int[]{0}, new int[]{1}, new int[]{4}, true);
+        int[] dist = GraphAlgorithms.dijkstra(disconnected, 0, new FibonacciVertexQueue(3));
+        assert dist[1] == 4 : "Vertex 1 should be at distance 4";
+        assert dist[2] == GraphAlgorithms.UNREACHABLE : "Vertex 2 should be unreachable";
+
+        System.out.println("✅ Dijkstra test passed");
+    }
+
+    private void testPrim() {
+        System.out.println("Testing Prim...");
+        for (int seed = 0; seed < 5; seed++) {
+            CsrGraph graph = seed % 2 == 0
+                    ? GraphGenerators.random(200, 8, 1000, seed)
+                    : GraphGenerators.grid(12, 15, 1000, seed);
+            long expected = denseMstWeight(graph);
+            for (int i = 0; i < NAMES.length; i++) {
+                int n = graph.vertexCount();
+                int[] parent = new int[n];
+                long total = GraphAlgorithms.prim(graph, parent, queue(i).apply(n));
+                assert total == expected : "Prim on " + NAMES[i] + " should find the minimum weight";
+                long sum = 0;
+                int roots = 0;
+                for (int v = 0; v < n; v++) {
+                    if (parent[v] < 0) {
+                        roots++;
+                    } else {
+                        sum += edgeWeight(graph, parent[v], v);
+                    }
+                }
+                assert roots == 1 : "A connected graph should give a single tree";
+                assert sum == total : "Parent edges should add up to the total weight";
+            }
+        }
+
+        CsrGraph forest = CsrGraph.fromEdges(4, new int[]{0, 2}, new int[]{1, 3}, new int[]{3, 5}, true);
+        assert GraphAlgorithms.prim(forest, null, new BinomialVertexQueue(4)) == 8 : "Forest weight should be 8";
+
+        System.out.println("✅ Prim test passed");
+    }
+
+    private void testAStar() {
+        System.out.println("Testing A*...");
+        int rows = 20;
+        int cols = 25;
+        CsrGraph graph = GraphGenerators.grid(rows, cols, 10, 3);
+        int[] dist = GraphAlgorithms.dijkstra(graph, 0, new PriorityVertexQueue(graph.vertexCount()));
+        int[] targets = {1, cols, rows * cols - 1, 7 * cols + 13};
+        for (int target : targets) {
+            for (int i = 0; i < NAMES.length; i++) {
+                int found = GraphAlgorithms.aStar(graph, 0, target,
+                        GraphGenerators.gridHeuristic(cols, target), queue(i).apply(graph.vertexCount()));
+                assert found == dist[target] : "A* on " + NAMES[i] + " should match Dijkstra";
+            }
+        }
+
+        System.out.println("✅ A* test passed");
+    }
+
+    private static int[] bellmanFord(CsrGraph graph, int source) {
+        int n = graph.vertexCount();
+        int[] dist = new int[n];
+        Arrays.fill(dist, GraphAlgorithms.UNREACHABLE);
+        dist[source] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int u = 0; u < n; u++) {
+                if (dist[u] == GraphAlgorithms.UNREACHABLE) {
+                    continue;
+                }
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int v = graph.target(e);
+                    if (dist[u] + graph.weight(e) < dist[v]) {
+                        dist[v] = dist[u] + graph.weight(e);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return dist;
+    }
+
+    private static long denseMstWeight(CsrGraph graph) {
+        int n = graph.vertexCount();
+        int[] best = new int[n];
+        Arrays.fill(best, Integer.MAX_VALUE);
+        boolean[] inTree = new boolean[n];
+        best[0] = 0;
+        long total = 0;
+        for (int step = 0; step < n; step++) {
+            int u = -1;
+            for (int v = 0; v < n; v++) {
+                if (!inTree[v] && (u < 0 || best[v] < best[u])) {
+                    u = v;
+                }
+            }
+            inTree[u] = true;
+            total += best[u];
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.target(e);
+                if (!inTree[v] && graph.weight(e) < best[v]) {
+                    best[v] = graph.weight(e);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static int edgeWeight(CsrGraph graph, int u, int v) {
+        int min = Integer.MAX_VALUE;
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+            if (graph.target(e) == v) {
+                min = Math.min(min, graph.weight(e));
+            }
+        }
+        return min;
+    }
+}
@@ -0,0 +1,160 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class HeapEventsTest {
+    public static void main(String[] args) {
+        HeapEventsTest tester = new HeapEventsTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testDisabledEvents();
+            testFibonacciEvents();
+            testBinomialEvents();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.err.println("Test failed: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    private void testDisabledEvents() {
+        System.out.println("Testing disabled events...");
+        assert !ConsolidateEvent.TYPE.isEnabled() : "Consolidate events should be off without a recording";
+        assert !CascadingCutEvent.TYPE.isEnabled() : "Cascading cut events should be off without a recording";
+        assert !FibonacciMeldEvent.TYPE.isEnabled() : "Fibonacci meld events should be off without a recording";
+        assert !BinomialMeldEvent.TYPE.isEnabled() : "Binomial meld events should be off without a recording";
+        assert !BinomialDeleteMinEvent.TYPE.isEnabled() : "Binomial deleteMin events should be off without a recording";
+
+        System.out.println("✅ Disabled events test passed");
+    }
+
+    private void testFibonacciEvents() throws IOException {
+        System.out.println("Testing FibonacciHeap events...");
+        List<RecordedEvent> events;
+        long links;
+        try (Recording recording = new Recording()) {
+            recording.enable(ConsolidateEvent.class).withoutThreshold();
+            recording.enable(CascadingCutEvent.class).withoutThreshold();
+            recording.enable(FibonacciMeldEvent.class).withoutThreshold();
+            recording.start();
+
+            FibonacciHeap heap = new FibonacciHeap();
+            for (int i = 0; i < 16; i++) {
+                heap.insert(100 + i, null);
+            }
+            heap.deleteMin();
+            // Cutting two children of one non-root node cuts the node as well
+            FibonacciHeap.HeapNode node = childOfRank(rootOfRank(heap.findMin(), 3), 2);
+            heap.decreaseKey(node.child, 90);
+            heap.decreaseKey(node.child, 90);
+
+            FibonacciHeap other = new FibonacciHeap();
+            other.insert(1, null);
+            other.insert(2, null);
+            heap.meld(other);
+            links = heap.totalLinks();
+
+            recording.stop();
+            events = dump(recording);
+        }
+
+        RecordedEvent consolidate = find(events, "FibonacciHeap.Consolidate");
+        assert consolidate != null : "deleteMin should record a consolidate event";
+        assert consolidate.getInt("rootsBefore") == 15 : "Consolidate should start with 15 roots";
+        assert consolidate.getInt("rootsAfter") == 4 : "15 nodes should consolidate into 4 trees";
+        assert consolidate.getInt("links") == links : "Consolidate should report every link";
+
+        RecordedEvent cascade = find(events, "FibonacciHeap.CascadingCut");
+        assert cascade != null : "The second cut should record a cascading cut event";
+        assert cascade.getInt("depth") == 1 : "The cascade should cut the marked parent only";
+
+        RecordedEvent meld = find(events, "FibonacciHeap.Meld");
+        assert meld != null : "meld should record a meld event";
+        assert meld.getInt("heaps") == 1 && meld.getInt("elementsAdded") == 2 : "Meld should report one heap of 2";
+        assert meld.getInt("rootsAfter") == meld.getInt("rootsBefore") + 2 : "Meld should add 2 roots";
+
+        System.out.println("✅ FibonacciHeap events test passed");
+    }
+
+    private void testBinomialEvents() throws IOException {
+        System.out.println("Testing BinomialHeap events...");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(BinomialMeldEvent.class).withoutThreshold();
+            recording.enable(BinomialDeleteMinEvent.class).withoutThreshold();
+            recording.start();
+
+            BinomialHeap heap = new BinomialHeap();
+            for (int i = 0; i < 15; i++) {
+                heap.insert(100 + i, null);
+            }
+            BinomialHeap other = new BinomialHeap();
+            other.insert(1, null);
+            heap.meld(other);
+            heap.deleteMin();
+
+            recording.stop();
+            events = dump(recording);
+        }
+
+        RecordedEvent meld = null;
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals("BinomialHeap.Meld") && event.getInt("size") == 16) {
+                meld = event;
+            }
+        }
+        assert meld != null : "Melding 15 and 1 elements should record a meld event";
+        assert meld.getInt("rootsBefore") == 5 : "The meld should start with 4 + 1 roots";
+        assert meld.getInt("rootsAfter") == 1 : "16 elements should form a single tree";
+        assert meld.getInt("links") == 4 : "The carry should link 4 times";
+
+        RecordedEvent deleteMin = find(events, "BinomialHeap.DeleteMin");
+        assert deleteMin != null : "deleteMin should record an event";
+        assert deleteMin.getInt("removedRank") == 4 : "The removed root should have rank 4";
+        assert deleteMin.getInt("rootsAfter") == 4 : "15 elements should form 4 trees";
+        assert deleteMin.getInt("links") == 0 : "The children already have distinct ranks";
+
+        System.out.println("✅ BinomialHeap events test passed");
+    }
+
+    private static List<RecordedEvent> dump(Recording recording) throws IOException {
+        Path file = Files.createTempFile("heap-events", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    private static FibonacciHeap.HeapNode rootOfRank(FibonacciHeap.HeapNode first, int rank) {
+        FibonacciHeap.HeapNode node = first;
+        while (node.rank != rank) {
+            node = node.next;
+        }
+        return node;
+    }
+
+    private static FibonacciHeap.HeapNode childOfRank(FibonacciHeap.HeapNode parent, int rank) {
+        return rootOfRank(parent.child, rank);
+    }
+}
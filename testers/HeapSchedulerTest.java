@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class HeapSchedulerTest {
+    public static void main(String[] args) {
+        HeapSchedulerTest tester = new HeapSchedulerTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testFiresInDeadlineOrder();
+            testRescheduleEarlier();
+            testRescheduleLater();
+            testCancel();
+            testDefaultExecutor();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            System.err.println("Test failed: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    private void testFiresInDeadlineOrder() throws InterruptedException {
+        System.out.println("Testing deadline order...");
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(5);
+        try (HeapScheduler scheduler = new HeapScheduler(Executors.newSingleThreadExecutor())) {
+            int[] delays = {40, 10, 50, 20, 30};
+            for (int delay : delays) {
+                scheduler.schedule(() -> {
+                    order.add(delay);
+                    done.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+            boolean fired = done.await(5, TimeUnit.SECONDS);
+            assert fired : "Every timer should fire";
+            assert order.equals(List.of(10, 20, 30, 40, 50)) : "Timers should fire in deadline order, got " + order;
+            assert scheduler.size() == 0 : "No timer should be pending";
+            assert scheduler.fired() == 5 : "Five timers should have fired";
+        }
+        System.out.println("✅ Deadline order test passed");
+    }
+
+    private void testRescheduleEarlier() throws InterruptedException {
+        System.out.println("Testing reschedule earlier...");
+        CountDownLatch done = new CountDownLatch(1);
+        try (HeapScheduler scheduler = new HeapScheduler(Executors.newSingleThreadExecutor())) {
+            HeapScheduler.Timer timer = scheduler.schedule(done::countDown, 1, TimeUnit.HOURS);
+            assert scheduler.isPending(timer) : "A scheduled timer should be pending";
+            boolean fired = done.await(50, TimeUnit.MILLISECONDS);
+            assert !fired : "The timer should not fire before its deadline";
+
+            long start = System.nanoTime();
+            boolean moved = scheduler.reschedule(timer, 20, TimeUnit.MILLISECONDS);
+            assert moved : "A pending timer should reschedule";
+            fired = done.await(5, TimeUnit.SECONDS);
+            assert fired : "The rescheduled timer should fire";
+            assert System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20) : "The timer should wait for its new deadline";
+            assert !scheduler.isPending(timer) : "A fired timer should not be pending";
+            moved = scheduler.reschedule(timer, 1, TimeUnit.SECONDS);
+            assert !moved : "A fired timer should not reschedule";
+            boolean stopped = scheduler.cancel(timer);
+            assert !stopped : "A fired timer should not cancel";
+        }
+        System.out.println("✅ Reschedule earlier test passed");
+    }
+
+    private void testRescheduleLater() throws InterruptedException {
+        System.out.println("Testing reschedule later...");
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+        try (HeapScheduler scheduler = new HeapScheduler(Executors.newSingleThreadExecutor())) {
+            HeapScheduler.Timer first = scheduler.schedule(() -> {
+                order.add("first");
+                done.countDown();
+            }, 20, TimeUnit.MILLISECONDS);
+            scheduler.schedule(() -> {
+                order.add("second");
+                done.countDown();
+            }, 60, TimeUnit.MILLISECONDS);
+            boolean moved = scheduler.reschedule(first, 120, TimeUnit.MILLISECONDS);
+            assert moved : "A pending timer should reschedule";
+            boolean fired = done.await(5, TimeUnit.SECONDS);
+            assert fired : "Both timers should fire";
+            assert order.equals(List.of("second", "first")) : "The postponed timer should fire last, got " + order;
+            assert scheduler.rescheduled() == 1 : "One reschedule should be counted";
+        }
+        System.out.println("✅ Reschedule later test passed");
+    }
+
+    private void testCancel() throws InterruptedException {
+        System.out.println("Testing cancel...");
+        CountDownLatch kept = new CountDownLatch(1);
+        boolean[] ran = new boolean[1];
+        try (HeapScheduler scheduler = new HeapScheduler(Executors.newSingleThreadExecutor())) {
+            HeapScheduler.Timer cancelled = scheduler.schedule(() -> ran[0] = true, 10, TimeUnit.MILLISECONDS);
+            scheduler.schedule(kept::countDown, 50, TimeUnit.MILLISECONDS);
+            boolean stopped = scheduler.cancel(cancelled);
+            assert stopped : "A pending timer should cancel";
+            stopped = scheduler.cancel(cancelled);
+            assert !stopped : "A timer should cancel only once";
+            assert scheduler.size() == 1 : "One timer should be pending";
+            boolean fired = kept.await(5, TimeUnit.SECONDS);
+            assert fired : "The other timer should fire";
+            assert !ran[0] : "A cancelled timer should never run";
+            assert scheduler.cancelled() == 1 && scheduler.fired() == 1 : "One cancel and one fire should be counted";
+        }
+        System.out.println("✅ Cancel test passed");
+    }
+
+    private void testDefaultExecutor() throws InterruptedException {
+        System.out.println("Testing default executor...");
+        int n = 1000;
+        CountDownLatch done = new CountDownLatch(n);
+        HeapScheduler scheduler = new HeapScheduler();
+        for (int i = 0; i < n; i++) {
+            HeapScheduler.Timer timer = scheduler.schedule(done::countDown, 1, TimeUnit.HOURS);
+            scheduler.reschedule(timer, i % 20, TimeUnit.MILLISECONDS);
+        }
+        boolean fired = done.await(10, TimeUnit.SECONDS);
+        assert fired : "Every rescheduled timer should fire";
+        scheduler.close();
+        try {
+            scheduler.schedule(() -> { }, 1, TimeUnit.MILLISECONDS);
+            assert false : "schedule after close should throw";
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        System.out.println("✅ Default executor test passed");
+    }
+}
@@ -0,0 +1,262 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class HeapSnapshotTest {
+    public static void main(String[] args) {
+        HeapSnapshotTest tester = new HeapSnapshotTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("heap-snapshot");
+            testFibonacciRoundTrip(dir);
+            testFibonacciEmpty(dir);
+            testBinomialRoundTrip(dir);
+            testExternalIds(dir);
+            testDeepTree(dir);
+            testInvalidSnapshot(dir);
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.err.println("Test failed: " + e);
+            e.printStackTrace();
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    private void testFibonacciRoundTrip(Path dir) throws IOException {
+        System.out.println("Testing FibonacciHeap snapshot...");
+        Random rand = new Random(13);
+        FibonacciHeap heap = new FibonacciHeap();
+        List<FibonacciHeap.HeapNode> live = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            live.add(heap.insert(rand.nextInt(100000) + 1000, i % 7 == 0 ? null : "info-" + i + "-é"));
+            if (i % 5 == 4) {
+                live.remove(heap.findMin());
+                heap.deleteMin();
+            }
+            if (i % 3 == 2) {
+                FibonacciHeap.HeapNode node = live.get(rand.nextInt(live.size()));
+                heap.decreaseKey(node, rand.nextInt(node.key / 2) + 1);
+            }
+        }
+
+        Path file = dir.resolve("fibonacci.snap");
+        FibonacciHeap.HeapNode[] written = FibonacciHeapSnapshot.write(heap, file);
+        assert written.length == heap.size() : "write should return every node";
+        FibonacciHeapSnapshot snapshot = FibonacciHeapSnapshot.read(file);
+        FibonacciHeap restored = snapshot.heap();
+
+        assert restored.size() == heap.size() : "Restored size should match";
+        assert restored.numTrees() == heap.numTrees() : "Restored numTrees should match";
+        assert restored.totalLinks() == heap.totalLinks() : "Restored totalLinks should match";
+        assert restored.totalCuts() == heap.totalCuts() : "Restored totalCuts should match";
+        for (int id = 0; id < written.length; id++) {
+            FibonacciHeap.HeapNode a = written[id];
+            FibonacciHeap.HeapNode b = snapshot.node(id);
+            assert a.key == b.key : "Key of element " + id + " should match";
+            assert a.rank == b.rank && a.mark == b.mark : "Rank and mark of element " + id + " should match";
+            assert a.info == null ? b.info == null : a.info.equals(b.info) : "Info of element " + id + " should match";
+            assert (a.parent == null) == (b.parent == null) : "Element " + id + " should have the same parent";
+        }
+
+        // Decrease the same element by id in both heaps, then drain both
+        int id = written.length / 2;
+        heap.decreaseKey(written[id], written[id].key - 1);
+        restored.decreaseKey(snapshot.node(id), snapshot.node(id).key - 1);
+        while (heap.size() > 0) {
+            assert restored.findMin().key == heap.findMin().key : "Restored heap should drain in the same order";
+            heap.deleteMin();
+            restored.deleteMin();
+        }
+        assert restored.size() == 0 : "Restored heap should be empty after draining";
+
+        System.out.println("✅ FibonacciHeap snapshot test passed");
+    }
+
+    private void testFibonacciEmpty(Path dir) throws IOException {
+        System.out.println("Testing empty snapshot...");
+        Path file = dir.resolve("empty.snap");
+        FibonacciHeapSnapshot.write(new FibonacciHeap(), file);
+        FibonacciHeap restored = FibonacciHeapSnapshot.read(file).heap();
+        assert restored.size() == 0 && restored.findMin() == null : "Empty heap should restore empty";
+        restored.insert(5, "five");
+        assert restored.findMin().key == 5 : "Restored empty heap should accept inserts";
+
+        System.out.println("✅ Empty snapshot test passed");
+    }
+
+    private void testBinomialRoundTrip(Path dir) throws IOException {
+        System.out.println("Testing BinomialHeap snapshot...");
+        Random rand = new Random(17);
+        BinomialHeap heap = new BinomialHeap();
+        List<BinomialHeap.HeapItem> live = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            live.add(heap.insert(rand.nextInt(100000) + 1000, "item-" + i));
+            if (i % 4 == 3) {
+                live.remove(heap.findMin());
+                heap.deleteMin();
+            }
+            if (i % 3 == 2) {
+                BinomialHeap.HeapItem item = live.get(rand.nextInt(live.size()));
+                heap.decreaseKey(item, rand.nextInt(item.key / 2) + 1);
+            }
+        }
+
+        Path file = dir.resolve("binomial.snap");
+        BinomialHeap.HeapItem[] written = BinomialHeapSnapshot.write(heap, file);
+        BinomialHeapSnapshot snapshot = BinomialHeapSnapshot.read(file);
+        BinomialHeap restored = snapshot.heap();
+
+        assert restored.size() == heap.size() : "Restored size should match";
+        assert restored.numTrees() == heap.numTrees() : "Restored numTrees should match";
+        assert restored.last.rank == heap.last.rank : "The last root should have the highest rank";
+        for (int id = 0; id < written.length; id++) {
+            BinomialHeap.HeapItem a = written[id];
+            BinomialHeap.HeapItem b = snapshot.item(id);
+            assert a.key == b.key && a.info.equals(b.info) : "Element " + id + " should match";
+            assert a.node.rank == b.node.rank : "Rank of element " + id + " should match";
+            assert b.node.item == b : "Restored item and node should point at each other";
+        }
+
+        int id = written.length / 3;
+        heap.decreaseKey(written[id], written[id].key - 1);
+        restored.decreaseKey(snapshot.item(id), snapshot.item(id).key - 1);
+        while (!heap.empty()) {
+            assert restored.findMin().key == heap.findMin().key : "Restored heap should drain in the same order";
+            heap.deleteMin();
+            restored.deleteMin();
+        }
+        assert restored.empty() : "Restored heap should be empty after draining";
+
+        System.out.println("✅ BinomialHeap snapshot test passed");
+    }
+
+    private void testExternalIds(Path dir) throws IOException {
+        System.out.println("Testing snapshots of external ids...");
+        FibonacciHeap fibonacci = new FibonacciHeap();
+        BinomialHeap binomial = new BinomialHeap();
+        for (int i = 1; i <= 500; i++) {
+            fibonacci.insertWithId(-i, i + 10, "f" + i);
+            binomial.insertWithId(-i, i + 10, "b" + i);
+        }
+        fibonacci.insert(5, "no id");
+        fibonacci.deleteMin();
+        fibonacci.insert(7, "no id");
+        binomial.insert(7, "no id");
+
+        Path fibonacciFile = dir.resolve("fibonacci-ids.snap");
+        Path binomialFile = dir.resolve("binomial-ids.snap");
+        FibonacciHeapSnapshot.write(fibonacci, fibonacciFile);
+        BinomialHeapSnapshot.write(binomial, binomialFile);
+        FibonacciHeap restoredFibonacci = FibonacciHeapSnapshot.read(fibonacciFile).heap();
+        BinomialHeap restoredBinomial = BinomialHeapSnapshot.read(binomialFile).heap();
+
+        for (int i = 1; i <= 500; i++) {
+            assert restoredFibonacci.getKey(-i) == fibonacci.getKey(-i) : "Fibonacci id " + -i + " should survive";
+            assert restoredBinomial.getKey(-i) == i + 10 : "Binomial id " + -i + " should survive";
+        }
+        restoredFibonacci.decreaseKeyById(-250, 258);
+        restoredBinomial.decreaseKeyById(-250, 258);
+        assert restoredFibonacci.getId(restoredFibonacci.findMin()) == -250 : "Restored ids should stay usable";
+        assert restoredBinomial.getId(restoredBinomial.findMin()) == -250 : "Restored ids should stay usable";
+        restoredFibonacci.deleteById(-250);
+        restoredBinomial.deleteById(-250);
+        assert restoredFibonacci.findMin().info.equals("no id") : "The element without an id should be restored";
+        assert restoredBinomial.findMin().info.equals("no id") : "The element without an id should be restored";
+
+        System.out.println("✅ External id snapshot test passed");
+    }
+
+    private void testDeepTree(Path dir) throws IOException {
+        System.out.println("Testing snapshot of a deep tree...");
+        // Grow a single path: link the old tree under a new root, then cut away the
+        // new root's other child, so each round adds one level
+        int depth = 100000;
+        FibonacciHeap heap = new FibonacciHeap();
+        heap.insert(4 * depth, "bottom");
+        for (int i = 1; i < depth; i++) {
+            int base = 4 * (depth - i);
+            heap.insert(base - 3, null);
+            FibonacciHeap.HeapNode top = heap.insert(base - 2, "level-" + i);
+            FibonacciHeap.HeapNode spare = heap.insert(base - 1, null);
+            heap.deleteMin();
+            assert spare.parent == top : "The spare node should be linked under the new root";
+            heap.delete(spare);
+        }
+        assert heap.size() == depth && heap.numTrees() == 1 : "The heap should be a single tree";
+
+        Path file = dir.resolve("deep.snap");
+        FibonacciHeap.HeapNode[] written = FibonacciHeapSnapshot.write(heap, file);
+        FibonacciHeapSnapshot snapshot = FibonacciHeapSnapshot.read(file);
+        FibonacciHeap restored = snapshot.heap();
+        for (int id = 0; id < depth; id++) {
+            FibonacciHeap.HeapNode a = written[id];
+            FibonacciHeap.HeapNode b = snapshot.node(id);
+            assert a.key == b.key && a.rank == b.rank : "Element " + id + " should match";
+            assert id == 0 ? b.parent == null : b.parent == snapshot.node(id - 1) : "Element " + id + " should hang under the previous one";
+        }
+        while (heap.size() > 0) {
+            assert restored.findMin().key == heap.findMin().key : "Restored heap should drain in the same order";
+            heap.deleteMin();
+            restored.deleteMin();
+        }
+        assert restored.size() == 0 : "Restored heap should be empty after draining";
+
+        System.out.println("✅ Deep tree snapshot test passed");
+    }
+
+    private void testInvalidSnapshot(Path dir) throws IOException {
+        System.out.println("Testing invalid snapshots...");
+        Path file = dir.resolve("fibonacci.snap");
+        FibonacciHeap heap = new FibonacciHeap();
+        for (int i = 1; i <= 100; i++) {
+            heap.insert(i, "x");
+        }
+        FibonacciHeapSnapshot.write(heap, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = dir.resolve("truncated.snap");
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length / 2));
+        assert fails(truncated, false) : "A truncated snapshot should be rejected";
+        assert fails(file, true) : "A Fibonacci snapshot should not restore as a binomial heap";
+
+        System.out.println("✅ Invalid snapshot test passed");
+    }
+
+    private static boolean fails(Path file, boolean binomial) {
+        try {
+            if (binomial) {
+                BinomialHeapSnapshot.read(file);
+            } else {
+                FibonacciHeapSnapshot.read(file);
+            }
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static void deleteAll(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        } catch (IOException e) {
+            System.err.println("Could not clean up " + dir + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+public class IntFibonacciHeapTest {
+    public static void main(String[] args) {
+        IntFibonacciHeapTest tester = new IntFibonacciHeapTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testBasicOperations();
+            testDecreaseKeyAndDelete();
+            testAnyIntKeys();
+            testMeld();
+            testSlotReuse();
+            testMatchesNodeHeap();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testBasicOperations() {
+        System.out.println("Testing basic operations...");
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+
+        assert heap.findMin() == IntFibonacciHeap.NONE : "Empty heap should have no minimum";
+
+        heap.insert(4, "four");
+        int two = heap.insert(2, "two");
+        heap.insert(6, "six");
+        assert heap.findMin() == two : "Minimum should be the node holding 2";
+        assert heap.getInfo(heap.findMin()).equals("two") : "Minimum info should be two";
+        assert heap.size() == 3 : "Size should be 3";
+
+        heap.deleteMin();
+        assert heap.getKey(heap.findMin()) == 4 : "After deleteMin, minimum should be 4";
+        assert heap.size() == 2 : "After deleteMin, size should be 2";
+
+        System.out.println("✅ Basic operations test passed");
+    }
+
+    private void testDecreaseKeyAndDelete() {
+        System.out.println("Testing decreaseKey and delete...");
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        int[] handles = new int[20];
+        for (int i = 0; i < 20; i++) {
+            handles[i] = heap.insert(100 + i, "key" + i);
+        }
+        heap.deleteMin();
+
+        heap.decreaseKey(handles[19], 100);
+        assert heap.getKey(heap.findMin()) == 19 : "After decreaseKey, minimum should be 19";
+        assert heap.findMin() == handles[19] : "After decreaseKey, handle 19 should be minimum";
+
+        heap.delete(handles[19]);
+        heap.delete(handles[5]);
+        assert heap.size() == 17 : "Size should be 17 after two deletes";
+        assert heap.getKey(heap.findMin()) == 101 : "Minimum should be 101 after deletes";
+
+        System.out.println("✅ DecreaseKey and delete test passed");
+    }
+
+    private void testAnyIntKeys() {
+        System.out.println("Testing negative and extreme keys...");
+        IntFibonacciHeap heap = new IntFibonacciHeap();
+        int five = IntFibonacciHeap.NONE;
+        int[] keys = {0, Integer.MAX_VALUE, -5, Integer.MIN_VALUE, 12, -1, Integer.MIN_VALUE + 1};
+        for (int key : keys) {
+            int x = heap.insert(key, null);
+            if (key == -5) {
+                five = x;
+            }
+        }
+        heap.deleteMin();
+        assert heap.getKey(heap.findMin()) == Integer.MIN_VALUE + 1 : "MIN_VALUE + 1 should be next";
+
+        // Decrease exactly down to Integer.MIN_VALUE
+        heap.decreaseKey(five, Integer.MAX_VALUE - 4);
+        assert heap.findMin() == five && heap.getKey(five) == Integer.MIN_VALUE : "The decreased key should be the minimum";
+
+        int[] expected = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 12, Integer.MAX_VALUE};
+        for (int key : expected) {
+            assert heap.getKey(heap.findMin()) == key : "Keys should come out in order, expected " + key;
+            heap.deleteMin();
+        }
+        assert heap.size() == 0 : "Heap should be empty after draining";
+
+        System.out.println("✅ Negative and extreme keys test passed");
+    }
+
+    private void testMeld() {
+        System.out.println("Testing meld operation...");
+        IntFibonacciHeap heap1 = new IntFibonacciHeap();
+        IntFibonacciHeap heap2 = new IntFibonacciHeap();
+
+        heap1.insert(3, "three");
+        heap1.insert(5, "five");
+        heap2.insert(4, "four");
+        int one = heap2.insert(1, "one");
+
+        int offset = heap1.meld(heap2);
+
+        assert heap1.findMin() == one + offset : "Melded handle should be shifted by the offset";
+        assert heap1.getInfo(one + offset).equals("one") : "Melded handle should keep its info";
+        assert heap1.size() == 4 : "After meld, size should be sum of original sizes";
+        assert heap2.size() == 0 : "After meld, heap2 should be empty";
+        assert heap2.findMin() == IntFibonacciHeap.NONE : "After meld, heap2 should have no minimum";
+
+        System.out.println("✅ Meld test passed");
+    }
+
+    private void testSlotReuse() {
+        System.out.println("Testing slot reuse...");
+        IntFibonacciHeap heap = new IntFibonacciHeap(4);
+        for (int round = 0; round < 1000; round++) {
+            heap.insert(round + 1, null);
+            heap.insert(round + 2, null);
+            heap.deleteMin();
+            heap.deleteMin();
+        }
+        int handle = heap.insert(7, "seven");
+        assert handle < 4 : "Freed slots should be reused instead of growing the arrays";
+
+        System.out.println("✅ Slot reuse test passed");
+    }
+
+    private void testMatchesNodeHeap() {
+        System.out.println("Testing against FibonacciHeap...");
+        java.util.Random rand = new java.util.Random(42);
+        FibonacciHeap nodeHeap = new FibonacciHeap();
+        IntFibonacciHeap intHeap = new IntFibonacciHeap();
+
+        int n = 5000;
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[n];
+        int[] handles = new int[n];
+        boolean[] alive = new boolean[n];
+        int inserted = 0;
+
+        for (int step = 0; step < 40000; step++) {
+            int op = rand.nextInt(10);
+            if (op < 4 && inserted < n) {
+                int key = rand.nextInt(100000) + 1;
+                nodes[inserted] = nodeHeap.insert(key, "key" + key);
+                handles[inserted] = intHeap.insert(key, "key" + key);
+                alive[inserted] = true;
+                inserted++;
+            } else if (op < 7 && inserted > 0) {
+                int i = rand.nextInt(inserted);
+                if (alive[i]) {
+                    int diff = rand.nextInt(50) + 1;
+                    nodeHeap.decreaseKey(nodes[i], diff);
+                    intHeap.decreaseKey(handles[i], diff);
+                }
+            } else if (op < 8 && inserted > 0) {
+                int i = rand.nextInt(inserted);
+                if (alive[i]) {
+                    nodeHeap.delete(nodes[i]);
+                    intHeap.delete(handles[i]);
+                    alive[i] = false;
+                }
+            } else if (nodeHeap.size() > 0) {
+                FibonacciHeap.HeapNode minNode = nodeHeap.findMin();
+                for (int i = 0; i < inserted; i++) {
+                    if (nodes[i] == minNode) {
+                        assert intHeap.findMin() == handles[i] : "Both heaps should pick the same minimum";
+                        alive[i] = false;
+                    }
+                }
+                nodeHeap.deleteMin();
+                intHeap.deleteMin();
+            }
+
+            assert nodeHeap.size() == intHeap.size() : "Sizes should match";
+            if (nodeHeap.size() > 0) {
+                assert nodeHeap.findMin().key == intHeap.getKey(intHeap.findMin()) : "Minimums should match";
+            }
+        }
+
+        assert nodeHeap.totalLinks() == intHeap.totalLinks() : "totalLinks should match";
+        assert nodeHeap.totalCuts() == intHeap.totalCuts() : "totalCuts should match";
+        assert nodeHeap.numTrees() == intHeap.numTrees() : "numTrees should match";
+
+        System.out.println("✅ FibonacciHeap equivalence test passed");
+    }
+}
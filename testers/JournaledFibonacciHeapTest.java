@@ -0,0 +1,217 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class JournaledFibonacciHeapTest {
+    public static void main(String[] args) {
+        JournaledFibonacciHeapTest tester = new JournaledFibonacciHeapTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testReplay();
+            testTornTail();
+            testCheckpoint();
+            testConcurrentGroupCommit();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Test failed: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    private void testReplay() throws IOException {
+        System.out.println("Testing log replay...");
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            TreeMap<Integer, String> expected = new TreeMap<>();
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir, 0, false)) {
+                runWorkload(heap, expected, new Random(1), 2000);
+                heap.sync();
+            }
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir)) {
+                assertContents(heap, expected);
+            }
+        } finally {
+            deleteAll(dir);
+        }
+
+        System.out.println("✅ Log replay test passed");
+    }
+
+    private void testTornTail() throws IOException {
+        System.out.println("Testing torn log tail...");
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            TreeMap<Integer, String> expected = new TreeMap<>();
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir, 0, true)) {
+                runWorkload(heap, expected, new Random(2), 300);
+            }
+            // A crash in the middle of a batch leaves a partial frame behind
+            try (FileChannel log = FileChannel.open(dir.resolve("journal-0.log"), StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                log.write(java.nio.ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 1, 0, 0}));
+            }
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir, 0, true)) {
+                long id = heap.insert(999_999, "after crash");
+                expected.put(999_999, "after crash");
+                assert heap.contains(id) : "The new element should be present";
+            }
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir)) {
+                assertContents(heap, expected);
+            }
+        } finally {
+            deleteAll(dir);
+        }
+
+        System.out.println("✅ Torn log tail test passed");
+    }
+
+    private void testCheckpoint() throws IOException {
+        System.out.println("Testing checkpoint...");
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            TreeMap<Integer, String> expected = new TreeMap<>();
+            Random random = new Random(3);
+            long keptId;
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir, 100_000, false)) {
+                runWorkload(heap, expected, random, 1500);
+                keptId = heap.insert(500_000, "kept");
+                expected.put(500_000, "kept");
+                heap.checkpoint();
+                assert !Files.exists(dir.resolve("journal-0.log")) : "The old log should be deleted";
+                runWorkload(heap, expected, random, 500);
+            }
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir)) {
+                assert heap.contains(keptId) : "Ids should survive a checkpoint and restart";
+                heap.decreaseKey(keptId, 400_000);
+                expected.remove(500_000);
+                expected.put(100_000, "kept");
+            }
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir)) {
+                assertContents(heap, expected);
+            }
+        } finally {
+            deleteAll(dir);
+        }
+
+        System.out.println("✅ Checkpoint test passed");
+    }
+
+    private void testConcurrentGroupCommit() throws IOException, InterruptedException {
+        System.out.println("Testing concurrent group commit...");
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            int threads = 4;
+            int perThread = 200;
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir, 1_000_000, true)) {
+                List<Thread> workers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int base = (t + 1) * 100_000;
+                    Thread worker = new Thread(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            heap.insert(base + i, null);
+                        }
+                    });
+                    workers.add(worker);
+                    worker.start();
+                }
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+                assert heap.batches() < threads * perThread : "Concurrent inserts should share batches";
+            }
+            try (JournaledFibonacciHeap heap = JournaledFibonacciHeap.open(dir)) {
+                assert heap.size() == threads * perThread : "Every acknowledged insert should be recovered";
+            }
+        } finally {
+            deleteAll(dir);
+        }
+
+        System.out.println("✅ Concurrent group commit test passed");
+    }
+
+    private static void runWorkload(JournaledFibonacciHeap heap, TreeMap<Integer, String> expected,
+                                    Random random, int operations) {
+        List<Long> ids = new ArrayList<>();
+        TreeMap<Long, Integer> keys = new TreeMap<>();
+        for (int i = 0; i < operations; i++) {
+            int op = random.nextInt(10);
+            if (op < 5 || ids.isEmpty()) {
+                int key = uniqueKey(expected, random);
+                String info = random.nextBoolean() ? null : "job-" + key;
+                long id = heap.insert(key, info);
+                ids.add(id);
+                keys.put(id, key);
+                expected.put(key, info);
+            } else if (op < 7) {
+                long id = heap.findMinId();
+                FibonacciHeap.HeapNode min = heap.deleteMin();
+                if (min != null) {
+                    assert min.key == expected.firstKey() : "deleteMin should remove the smallest key";
+                    expected.remove(min.key);
+                    ids.remove(id);
+                    keys.remove(id);
+                }
+            } else if (op < 9) {
+                long id = ids.get(random.nextInt(ids.size()));
+                int key = keys.get(id);
+                int lower = uniqueKey(expected, random);
+                if (lower < key) {
+                    heap.decreaseKey(id, key - lower);
+                    expected.put(lower, expected.remove(key));
+                    keys.put(id, lower);
+                }
+            } else {
+                long id = ids.remove(random.nextInt(ids.size()));
+                heap.delete(id);
+                expected.remove(keys.remove(id));
+            }
+        }
+    }
+
+    private static int uniqueKey(TreeMap<Integer, String> expected, Random random) {
+        int key;
+        do {
+            key = random.nextInt(1_000_000) + 1;
+        } while (expected.containsKey(key));
+        return key;
+    }
+
+    private static void assertContents(JournaledFibonacciHeap heap, TreeMap<Integer, String> expected) {
+        assert heap.size() == expected.size() : "Recovered size should be " + expected.size() + " but is " + heap.size();
+        TreeMap<Integer, String> remaining = new TreeMap<>(expected);
+        while (!remaining.isEmpty()) {
+            FibonacciHeap.HeapNode min = heap.deleteMin();
+            java.util.Map.Entry<Integer, String> first = remaining.pollFirstEntry();
+            assert min.key == first.getKey() : "Recovered heap should drain in key order";
+            assert min.info == null ? first.getValue() == null : min.info.equals(first.getValue())
+                    : "Recovered info should match";
+        }
+        // Put the drained contents back so a later reopen sees them again
+        for (java.util.Map.Entry<Integer, String> entry : expected.entrySet()) {
+            heap.insert(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void deleteAll(Path dir) {
+        try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        } catch (IOException e) {
+            System.err.println("Could not clean up " + dir + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+public class KeyedFibonacciHeapTest {
+    public static void main(String[] args) {
+        KeyedFibonacciHeapTest tester = new KeyedFibonacciHeapTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testLongKeys();
+            testDoubleKeys();
+            testComparatorKeys();
+            testRandomAgainstLong();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testLongKeys() {
+        System.out.println("Testing long keys...");
+        LongFibonacciHeap<Object> heap = new LongFibonacciHeap<>();
+        Object payload = new Object();
+
+        LongFibonacciHeap.HeapNode<Object> big = heap.insert(5_000_000_000L, payload);
+        heap.insert(3_000_000_000L, null);
+        heap.insert(4_000_000_000L, null);
+        assert heap.findMin().key == 3_000_000_000L : "Minimum should be 3e9";
+
+        heap.deleteMin();
+        heap.decreaseKey(big, 2_000_000_000L);
+        assert heap.findMin() == big : "Decreased node should be minimum";
+        assert heap.findMin().info == payload : "Payload should be kept";
+
+        heap.delete(big);
+        assert heap.size() == 1 : "Size should be 1 after delete";
+        assert heap.findMin().key == 4_000_000_000L : "Minimum should be 4e9 after delete";
+
+        System.out.println("✅ Long keys test passed");
+    }
+
+    private void testDoubleKeys() {
+        System.out.println("Testing double keys...");
+        DoubleFibonacciHeap<String> heap = new DoubleFibonacciHeap<>();
+
+        DoubleFibonacciHeap.HeapNode<String> node = heap.insert(2.5, "a");
+        heap.insert(1.25, "b");
+        heap.insert(0.75, "c");
+        assert heap.findMin().key == 0.75 : "Minimum should be 0.75";
+
+        boolean rejected = rejects(() -> heap.insert(Double.NaN, "nan"));
+        assert rejected : "A NaN key should be rejected";
+        rejected = rejects(() -> heap.decreaseKey(node, Double.NaN));
+        assert rejected : "A NaN diff should be rejected";
+        assert node.key == 2.5 : "A rejected decrease should leave the key";
+        DoubleFibonacciHeap.HeapNode<String> infinite = heap.insert(Double.POSITIVE_INFINITY, "inf");
+        rejected = rejects(() -> heap.decreaseKey(infinite, Double.POSITIVE_INFINITY));
+        assert rejected : "A NaN result should be rejected";
+        assert infinite.key == Double.POSITIVE_INFINITY : "A rejected decrease should leave the key";
+        heap.delete(infinite);
+        assert heap.size() == 3 : "Rejected inserts should not change the size";
+
+        heap.decreaseKey(node, 2.0);
+        assert heap.findMin() == node : "Decreased node should be minimum";
+        assert heap.findMin().key == 0.5 : "Minimum should be 0.5";
+
+        heap.deleteMin();
+        assert heap.findMin().info.equals("c") : "Minimum should be c after deleteMin";
+
+        System.out.println("✅ Double keys test passed");
+    }
+
+    private static boolean rejects(Runnable action) {
+        try {
+            action.run();
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private void testComparatorKeys() {
+        System.out.println("Testing comparator keys...");
+        GenericFibonacciHeap<String, Integer> natural = new GenericFibonacciHeap<>();
+        natural.insert("pear", 1);
+        GenericFibonacciHeap.HeapNode<String, Integer> plum = natural.insert("plum", 2);
+        natural.insert("fig", 3);
+        assert natural.findMin().key.equals("fig") : "Natural order minimum should be fig";
+
+        natural.decreaseKey(plum, "apple");
+        assert natural.findMin() == plum : "Decreased node should be minimum";
+
+        boolean thrown = false;
+        try {
+            natural.decreaseKey(plum, "zebra");
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assert thrown : "Increasing a key should be rejected";
+
+        GenericFibonacciHeap<String, Integer> byLength =
+                new GenericFibonacciHeap<>(java.util.Comparator.comparingInt(String::length));
+        byLength.insert("banana", 1);
+        byLength.insert("kiwi", 2);
+        byLength.insert("cherry", 3);
+        byLength.deleteMin();
+        assert byLength.findMin().key.length() == 6 : "Comparator order minimum should have length 6";
+
+        System.out.println("✅ Comparator keys test passed");
+    }
+
+    private void testRandomAgainstLong() {
+        System.out.println("Testing generic heap against long heap...");
+        java.util.Random rand = new java.util.Random(42);
+        LongFibonacciHeap<Integer> primitive = new LongFibonacciHeap<>();
+        GenericFibonacciHeap<Long, Integer> boxed = new GenericFibonacciHeap<>();
+
+        int n = 2000;
+        @SuppressWarnings("unchecked")
+        LongFibonacciHeap.HeapNode<Integer>[] a =
+                (LongFibonacciHeap.HeapNode<Integer>[]) new LongFibonacciHeap.HeapNode<?>[n];
+        @SuppressWarnings("unchecked")
+        GenericFibonacciHeap.HeapNode<Long, Integer>[] b =
+                (GenericFibonacciHeap.HeapNode<Long, Integer>[]) new GenericFibonacciHeap.HeapNode<?, ?>[n];
+        for (int i = 0; i < n; i++) {
+            long key = rand.nextLong() >>> 8;
+            a[i] = primitive.insert(key, i);
+            b[i] = boxed.insert(key, i);
+        }
+        boolean[] removed = new boolean[n];
+        for (int step = 0; step < 3000; step++) {
+            int i = rand.nextInt(n);
+            if (step % 5 == 0) {
+                assert primitive.findMin().info.equals(boxed.findMin().info) : "Minimums should match";
+                removed[primitive.findMin().info] = true;
+                primitive.deleteMin();
+                boxed.deleteMin();
+            } else if (!removed[i]) {
+                long diff = rand.nextInt(1 << 20) + 1;
+                primitive.decreaseKey(a[i], diff);
+                boxed.decreaseKey(b[i], b[i].key - diff);
+            }
+        }
+        assert primitive.size() == boxed.size() : "Sizes should match";
+        assert primitive.totalLinks() == boxed.totalLinks() : "totalLinks should match";
+        assert primitive.totalCuts() == boxed.totalCuts() : "totalCuts should match";
+
+        System.out.println("✅ Generic against long test passed");
+    }
+}
@@ -0,0 +1,128 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class MultiQueueTest {
+    public static void main(String[] args) {
+        MultiQueueTest tester = new MultiQueueTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testSingleShardIsExact();
+            testDrainReturnsEverything();
+            testCollapse();
+            testConcurrentInsertAndDelete();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError | InterruptedException e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testSingleShardIsExact() {
+        System.out.println("Testing single shard...");
+        MultiQueue queue = new MultiQueue(1, true);
+        int[] keys = {5, 3, 9, 1, 7};
+        for (int key : keys) {
+            queue.insert(key, null);
+        }
+        int[] expected = {1, 3, 5, 7, 9};
+        for (int key : expected) {
+            FibonacciHeap.HeapNode node = queue.deleteMin();
+            assert node.key == key : "One shard should pop in exact order";
+        }
+        FibonacciHeap.HeapNode none = queue.deleteMin();
+        assert none == null : "Empty queue should return null";
+        assert queue.averageRankError() == 0 : "One shard should have no rank error";
+
+        System.out.println("✅ Single shard test passed");
+    }
+
+    private void testDrainReturnsEverything() {
+        System.out.println("Testing drain...");
+        MultiQueue queue = new MultiQueue(8, true);
+        int n = 10000;
+        for (int i = 1; i <= n; i++) {
+            queue.insert(i, null);
+        }
+        assert queue.size() == n : "Size should be " + n;
+
+        Set<Integer> seen = new HashSet<>();
+        FibonacciHeap.HeapNode node;
+        while ((node = queue.deleteMin()) != null) {
+            boolean fresh = seen.add(node.key);
+            assert fresh : "Key " + node.key + " was removed twice";
+        }
+        assert seen.size() == n : "Every key should be removed once";
+        assert queue.size() == 0 : "Queue should be empty";
+        assert queue.averageRankError() < 8 : "Rank error should stay below the shard count";
+        assert queue.collapses() > 0 : "The draining tail should have been collapsed";
+
+        System.out.println("✅ Drain test passed");
+    }
+
+    private void testCollapse() {
+        System.out.println("Testing collapse...");
+        MultiQueue queue = new MultiQueue(16);
+        for (int i = 100; i > 0; i--) {
+            queue.insert(i, null);
+        }
+        queue.collapse();
+        for (int i = 1; i <= 100; i++) {
+            FibonacciHeap.HeapNode node = queue.deleteMin();
+            assert node.key == i : "A collapsed queue should pop in exact order";
+        }
+
+        System.out.println("✅ Collapse test passed");
+    }
+
+    private void testConcurrentInsertAndDelete() throws InterruptedException {
+        System.out.println("Testing concurrent insert and delete...");
+        MultiQueue queue = new MultiQueue(8);
+        int threads = 4;
+        int perThread = 5000;
+        List<Set<Integer>> removed = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            Set<Integer> mine = new HashSet<>();
+            removed.add(mine);
+            workers.add(new Thread(() -> {
+                for (int i = 1; i <= perThread; i++) {
+                    queue.insert(base + i, null);
+                    if ((i & 1) == 0) {
+                        FibonacciHeap.HeapNode node = queue.deleteMin();
+                        if (node != null) {
+                            mine.add(node.key);
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Set<Integer> all = new HashSet<>();
+        for (Set<Integer> mine : removed) {
+            for (int key : mine) {
+                boolean fresh = all.add(key);
+                assert fresh : "Key " + key + " was removed twice";
+            }
+        }
+        FibonacciHeap.HeapNode node;
+        while ((node = queue.deleteMin()) != null) {
+            boolean fresh = all.add(node.key);
+            assert fresh : "Key " + node.key + " was removed twice";
+        }
+        assert all.size() == threads * perThread : "Every key should be removed once";
+
+        System.out.println("✅ Concurrent insert and delete test passed");
+    }
+}
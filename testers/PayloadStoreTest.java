@@ -0,0 +1,328 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class PayloadStoreTest {
+    public static void main(String[] args) {
+        PayloadStoreTest tester = new PayloadStoreTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testRoundTrip(new DictionaryPayloadStore());
+            testRoundTrip(new ArenaPayloadStore());
+            testDictionaryDeduplication();
+            testArenaReuse();
+            testHeapWithStore(new DictionaryPayloadStore());
+            testHeapWithStore(new ArenaPayloadStore());
+            testMeldRequiresSameStore();
+            testFibonacciHeapWithStore(new DictionaryPayloadStore(), false);
+            testFibonacciHeapWithStore(new DictionaryPayloadStore(), true);
+            testFibonacciHeapWithStore(new ArenaPayloadStore(), true);
+            testBinomialHeapWithStore(new DictionaryPayloadStore());
+            testBinomialHeapWithStore(new ArenaPayloadStore());
+            testNodeHeapMeldRequiresSameStore();
+            testSnapshotWithStore();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError | IOException e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testRoundTrip(PayloadStore store) {
+        String name = store.getClass().getSimpleName();
+        System.out.println("Testing " + name + " round trip...");
+        String[] values = {null, "", "a", "12345", "héllo wörld", "日本語", "x".repeat(100_000)};
+        long[] refs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            refs[i] = store.store(values[i]);
+        }
+        assert refs[0] == PayloadStore.NULL_REF : "null should be stored as NULL_REF";
+        for (int i = 1; i < values.length; i++) {
+            assert refs[i] != PayloadStore.NULL_REF : "Non-null payloads should not get NULL_REF";
+        }
+        for (int i = 0; i < values.length; i++) {
+            String loaded = store.load(refs[i]);
+            assert values[i] == null ? loaded == null : values[i].equals(loaded)
+                    : "Payload " + i + " should load back unchanged";
+        }
+        for (long ref : refs) {
+            store.release(ref);
+        }
+
+        System.out.println("✅ " + name + " round trip test passed");
+    }
+
+    private void testDictionaryDeduplication() {
+        System.out.println("Testing dictionary deduplication...");
+        DictionaryPayloadStore store = new DictionaryPayloadStore();
+        long first = store.store(new String("job"));
+        long second = store.store(new String("job"));
+        long other = store.store("other");
+        assert first == second : "Equal payloads should share a code";
+        assert first != other : "Different payloads should get different codes";
+        assert store.distinctPayloads() == 2 : "The dictionary should hold 2 payloads";
+
+        store.release(first);
+        assert store.load(second).equals("job") : "A payload should stay while it is referenced";
+        store.release(second);
+        assert store.distinctPayloads() == 1 : "A payload should be dropped with its last reference";
+        long reused = store.store("new");
+        assert reused == first : "A dropped code should be reused";
+        assert store.load(other).equals("other") : "Other payloads should be unaffected";
+
+        System.out.println("✅ Dictionary deduplication test passed");
+    }
+
+    private void testArenaReuse() {
+        System.out.println("Testing arena reuse...");
+        ArenaPayloadStore store = new ArenaPayloadStore();
+        long a = store.store("abcd");
+        long b = store.store("wxyz");
+        store.release(a);
+        long c = store.store("1234");
+        assert store.load(c).equals("1234") : "A reused slot should hold the new payload";
+        assert store.load(b).equals("wxyz") : "Other payloads should be unaffected";
+        assert store.offHeapBytes() > 0 : "The arena should allocate off-heap chunks";
+
+        // Fill more than one chunk and check payloads on both sides of the boundary
+        long[] refs = new long[600_000];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = store.store("payload-" + i);
+        }
+        for (int i = 0; i < refs.length; i += 997) {
+            assert store.load(refs[i]).equals("payload-" + i) : "Payload " + i + " should survive chunk growth";
+        }
+        assert store.offHeapBytes() > 4 << 20 : "The arena should have grown past one chunk";
+
+        System.out.println("✅ Arena reuse test passed");
+    }
+
+    private void testHeapWithStore(PayloadStore store) {
+        String name = store.getClass().getSimpleName();
+        System.out.println("Testing IntFibonacciHeap with " + name + "...");
+        IntFibonacciHeap heap = new IntFibonacciHeap(4, store);
+        IntFibonacciHeap plain = new IntFibonacciHeap(4);
+        Random random = new Random(7);
+        int[] handles = new int[1000];
+        for (int i = 0; i < handles.length; i++) {
+            int key = random.nextInt(1_000_000) + 1;
+            String info = i % 10 == 0 ? null : "job-" + (key % 50);
+            handles[i] = heap.insert(key, info);
+            plain.insert(key, info);
+        }
+        for (int i = 0; i < handles.length; i += 3) {
+            assert heap.getInfo(handles[i]) == null ? plain.getInfo(handles[i]) == null
+                    : heap.getInfo(handles[i]).equals(plain.getInfo(handles[i])) : "Info should match";
+        }
+
+        IntFibonacciHeap other = new IntFibonacciHeap(4, store);
+        int h = other.insert(5, "melded");
+        int offset = heap.meld(other);
+        assert heap.getInfo(h + offset).equals("melded") : "Melded info should follow its handle";
+        plain.insert(5, "melded");
+
+        while (heap.size() > 0) {
+            int min = heap.findMin();
+            int plainMin = plain.findMin();
+            assert heap.getKey(min) == plain.getKey(plainMin) : "Keys should drain in the same order";
+            heap.deleteMin();
+            plain.deleteMin();
+        }
+        if (store instanceof DictionaryPayloadStore) {
+            assert ((DictionaryPayloadStore) store).distinctPayloads() == 0 : "Every payload should be released";
+        }
+
+        System.out.println("✅ IntFibonacciHeap with " + name + " test passed");
+    }
+
+    private void testMeldRequiresSameStore() {
+        System.out.println("Testing meld across stores...");
+        IntFibonacciHeap heap1 = new IntFibonacciHeap(4, new ArenaPayloadStore());
+        IntFibonacciHeap heap2 = new IntFibonacciHeap(4, new ArenaPayloadStore());
+        heap2.insert(1, "one");
+        boolean thrown = false;
+        try {
+            heap1.meld(heap2);
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assert thrown : "Melding heaps with different stores should throw";
+        assert heap2.size() == 1 : "A rejected meld should leave heap2 unchanged";
+
+        System.out.println("✅ Meld across stores test passed");
+    }
+
+    private void testFibonacciHeapWithStore(PayloadStore store, boolean recycleNodes) {
+        String name = store.getClass().getSimpleName() + (recycleNodes ? " and recycling" : "");
+        System.out.println("Testing FibonacciHeap with " + name + "...");
+        FibonacciHeap heap = new FibonacciHeap(recycleNodes, store);
+        Map<Integer, String> model = new HashMap<>();
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[1000];
+        for (int i = 0; i < nodes.length; i++) {
+            int key = 3 * i + 1;
+            String info = i % 10 == 0 ? null : "job-" + (i % 50);
+            nodes[i] = i % 4 == 0 ? heap.insertWithId(i, key, info) : heap.insert(key, info);
+            model.put(key, info);
+        }
+        for (FibonacciHeap.HeapNode node : nodes) {
+            assert node.info == null : "Info should stay null in store mode";
+            String expected = model.get(node.key);
+            String info = heap.getInfo(node);
+            assert expected == null ? info == null : expected.equals(info) : "Info should load from the store";
+        }
+
+        // Remove some nodes and insert again, reusing recycled nodes when recycling is on
+        for (int i = 0; i < 200; i++) {
+            int key = heap.findMin().key;
+            heap.deleteMin();
+            model.remove(key);
+        }
+        heap.deleteById(400);
+        model.remove(3 * 400 + 1);
+        for (int i = 0; i < 200; i++) {
+            int key = 3 * i + 2;
+            heap.insert(key, "again-" + i);
+            model.put(key, "again-" + i);
+        }
+
+        int drained = heap.drainTo(heap.size(), (key, info) -> {
+            String expected = model.remove(key);
+            assert expected == null ? info == null : expected.equals(info) : "Drained info should match";
+        });
+        assert drained == 1000 - 1 : "Every node should drain";
+        assert model.isEmpty() : "Every key should drain once";
+        if (store instanceof DictionaryPayloadStore) {
+            assert ((DictionaryPayloadStore) store).distinctPayloads() == 0 : "Every payload should be released";
+        }
+
+        System.out.println("✅ FibonacciHeap with " + name + " test passed");
+    }
+
+    private void testBinomialHeapWithStore(PayloadStore store) {
+        String name = store.getClass().getSimpleName();
+        System.out.println("Testing BinomialHeap with " + name + "...");
+        BinomialHeap heap = new BinomialHeap(store);
+        Map<Integer, String> model = new HashMap<>();
+        BinomialHeap.HeapItem[] items = new BinomialHeap.HeapItem[1000];
+        for (int i = 0; i < items.length; i++) {
+            int key = 3 * i + 1;
+            String info = i % 10 == 0 ? null : Integer.toString(key);
+            items[i] = i % 4 == 0 ? heap.insertWithId(i, key, info) : heap.insert(key, info);
+            model.put(key, info);
+        }
+        int[] keys = {1_000_001, 1_000_002, 1_000_003};
+        String[] infos = {"bulk-1", null, "bulk-3"};
+        BinomialHeap.HeapItem[] bulk = heap.insertAll(keys, infos);
+        for (int i = 0; i < keys.length; i++) {
+            model.put(keys[i], infos[i]);
+            assert bulk[i].info == null : "Info should stay null in store mode";
+        }
+        for (BinomialHeap.HeapItem item : items) {
+            assert item.info == null : "Info should stay null in store mode";
+            String expected = model.get(item.key);
+            String info = heap.getInfo(item);
+            assert expected == null ? info == null : expected.equals(info) : "Info should load from the store";
+        }
+
+        BinomialHeap other = new BinomialHeap(store);
+        other.insert(2, "melded");
+        model.put(2, "melded");
+        heap.meld(other);
+
+        for (int i = 0; i < 200; i++) {
+            int key = heap.findMin().key;
+            heap.deleteMin();
+            model.remove(key);
+        }
+        heap.deleteById(400);
+        model.remove(3 * 400 + 1);
+
+        int size = heap.size();
+        int drained = heap.drainTo(size, (key, info) -> {
+            String expected = model.remove(key);
+            assert expected == null ? info == null : expected.equals(info) : "Drained info should match";
+        });
+        assert drained == size : "Every item should drain";
+        assert model.isEmpty() : "Every key should drain once";
+        if (store instanceof DictionaryPayloadStore) {
+            assert ((DictionaryPayloadStore) store).distinctPayloads() == 0 : "Every payload should be released";
+        }
+
+        System.out.println("✅ BinomialHeap with " + name + " test passed");
+    }
+
+    private void testNodeHeapMeldRequiresSameStore() {
+        System.out.println("Testing node heap meld across stores...");
+        PayloadStore shared = new DictionaryPayloadStore();
+        FibonacciHeap fibonacci = new FibonacciHeap(false, shared);
+        FibonacciHeap fibonacci2 = new FibonacciHeap(false, new DictionaryPayloadStore());
+        fibonacci2.insert(1, "one");
+        boolean thrown = false;
+        try {
+            fibonacci.meld(fibonacci2);
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assert thrown : "Melding FibonacciHeaps with different stores should throw";
+        assert fibonacci2.size() == 1 : "A rejected meld should leave heap2 unchanged";
+
+        BinomialHeap binomial = new BinomialHeap(shared);
+        BinomialHeap binomial2 = new BinomialHeap();
+        binomial2.insert(1, "one");
+        thrown = false;
+        try {
+            binomial.meld(binomial2);
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assert thrown : "Melding a BinomialHeap without a store into one with a store should throw";
+        assert binomial2.size() == 1 : "A rejected meld should leave heap2 unchanged";
+
+        System.out.println("✅ Node heap meld across stores test passed");
+    }
+
+    private void testSnapshotWithStore() throws IOException {
+        System.out.println("Testing snapshots of heaps with a store...");
+        Path dir = Files.createTempDirectory("payload-snapshot");
+        try {
+            FibonacciHeap fibonacci = new FibonacciHeap(false, new ArenaPayloadStore());
+            fibonacci.insert(5, "five");
+            fibonacci.insert(3, null);
+            fibonacci.insertWithId(9, 7, "seven");
+            FibonacciHeapSnapshot.write(fibonacci, dir.resolve("fibonacci.snap"));
+            FibonacciHeap restored = FibonacciHeapSnapshot.read(dir.resolve("fibonacci.snap")).heap();
+            assert restored.findMin().info == null : "The null payload should restore as null";
+            assert "seven".equals(restored.getInfo(restored.findById(9))) : "Stored payloads should restore";
+
+            BinomialHeap binomial = new BinomialHeap(new ArenaPayloadStore());
+            binomial.insert(5, "five");
+            binomial.insert(3, "three");
+            binomial.insertWithId(9, 7, "seven");
+            BinomialHeapSnapshot.write(binomial, dir.resolve("binomial.snap"));
+            BinomialHeap restoredBinomial = BinomialHeapSnapshot.read(dir.resolve("binomial.snap")).heap();
+            assert "three".equals(restoredBinomial.findMin().info) : "Stored payloads should restore into info";
+            assert "seven".equals(restoredBinomial.findById(9).info) : "Stored payloads should restore";
+        } finally {
+            deleteAll(dir);
+        }
+
+        System.out.println("✅ Snapshots of heaps with a store test passed");
+    }
+
+    private static void deleteAll(Path dir) {
+        try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        } catch (IOException e) {
+            System.err.println("Could not clean up " + dir + ": " + e);
+        }
+    }
+}
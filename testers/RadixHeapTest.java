@@ -0,0 +1,147 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class RadixHeapTest {
+    public static void main(String[] args) {
+        RadixHeapTest tester = new RadixHeapTest();
+        tester.runAllTests();
+    }
+
+    public void runAllTests() {
+        try {
+            testBasicOperations();
+            testMonotoneRandomAgainstTreeMap();
+            testMonotoneCheck();
+            testDijkstra();
+            System.out.println("All tests passed successfully! ✅");
+        } catch (AssertionError e) {
+            System.err.println("Test failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void testBasicOperations() {
+        System.out.println("Testing basic operations...");
+        RadixHeap heap = new RadixHeap(true);
+        assert heap.findMin() == null : "Empty heap should have no minimum";
+        RadixHeap.HeapNode ten = heap.insert(10, "ten");
+        heap.insert(7, "seven");
+        RadixHeap.HeapNode twelve = heap.insert(12, "twelve");
+        heap.insert(7, "seven again");
+        assert heap.findMin().key == 7 : "Minimum should be 7";
+
+        heap.deleteMin();
+        assert heap.lastKey() == 7 : "Last removed key should be 7";
+        assert heap.findMin().key == 7 : "The second 7 should be the minimum";
+        heap.deleteMin();
+        assert heap.findMin() == ten : "Minimum should be 10";
+
+        heap.decreaseKey(twelve, 4);
+        assert heap.findMin() == twelve && twelve.key == 8 : "Decreased node should be the minimum";
+        heap.delete(twelve);
+        assert heap.findMin() == ten : "After delete, minimum should be 10";
+        heap.deleteMin();
+        assert heap.size() == 0 && heap.findMin() == null : "Heap should be empty";
+        heap.deleteMin();
+        assert heap.size() == 0 : "deleteMin on an empty heap should do nothing";
+
+        System.out.println("✅ Basic operations test passed");
+    }
+
+    private void testMonotoneRandomAgainstTreeMap() {
+        System.out.println("Testing monotone random operations against a TreeMap...");
+        for (int seed = 0; seed < 5; seed++) {
+            Random random = new Random(seed);
+            RadixHeap heap = new RadixHeap(true);
+            // Keys are kept distinct, so a TreeMap is an exact model
+            TreeMap<Integer, RadixHeap.HeapNode> expected = new TreeMap<>();
+            List<RadixHeap.HeapNode> live = new ArrayList<>();
+            int serial = 0;
+            int floor = 0;
+            for (int op = 0; op < 20000; op++) {
+                int pick = random.nextInt(10);
+                if (pick < 4 || live.isEmpty()) {
+                    int key = (floor / 1024 + 1 + random.nextInt(100)) * 1024 + serial++ % 1024;
+                    if (expected.containsKey(key)) {
+                        continue;
+                    }
+                    RadixHeap.HeapNode node = heap.insert(key, null);
+                    expected.put(key, node);
+                    live.add(node);
+                } else if (pick < 7) {
+                    RadixHeap.HeapNode min = heap.findMin();
+                    assert min.key == expected.firstKey() : "findMin should match the TreeMap";
+                    floor = min.key;
+                    heap.deleteMin();
+                    expected.remove(floor);
+                    live.remove(min);
+                } else if (pick < 9) {
+                    RadixHeap.HeapNode node = live.get(random.nextInt(live.size()));
+                    int room = node.key / 1024 - floor / 1024 - 1;
+                    int diff = room > 0 ? 1024 * (1 + random.nextInt(room)) : 0;
+                    if (diff > 0 && !expected.containsKey(node.key - diff)) {
+                        expected.remove(node.key);
+                        heap.decreaseKey(node, diff);
+                        expected.put(node.key, node);
+                    }
+                } else {
+                    RadixHeap.HeapNode node = live.remove(random.nextInt(live.size()));
+                    expected.remove(node.key);
+                    heap.delete(node);
+                }
+                assert heap.size() == expected.size() : "Size should match the TreeMap";
+            }
+            while (!expected.isEmpty()) {
+                int next = expected.pollFirstEntry().getKey();
+                assert heap.findMin().key == next : "Drain should follow key order";
+                heap.deleteMin();
+            }
+            assert heap.totalRedistributed() > 0 : "deleteMin should have redistributed buckets";
+        }
+        System.out.println("✅ Monotone random operations test passed");
+    }
+
+    private void testMonotoneCheck() {
+        System.out.println("Testing monotonicity check...");
+        RadixHeap heap = new RadixHeap(true);
+        RadixHeap.HeapNode node = heap.insert(20, null);
+        heap.insert(10, null);
+        heap.deleteMin();
+        try {
+            heap.insert(9, null);
+            assert false : "Inserting below the last removed key should throw";
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            heap.decreaseKey(node, 11);
+            assert false : "Decreasing below the last removed key should throw";
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        assert node.key == 20 : "A rejected decreaseKey should leave the key unchanged";
+        heap.decreaseKey(node, 10);
+        assert heap.findMin() == node && node.key == 10 : "Decreasing to the last removed key is allowed";
+
+        RadixHeap unchecked = new RadixHeap(false);
+        unchecked.insert(10, null);
+        unchecked.deleteMin();
+        unchecked.insert(5, null);
+        assert unchecked.size() == 1 : "Without the check, a low key is not rejected";
+        System.out.println("✅ Monotonicity check test passed");
+    }
+
+    private void testDijkstra() {
+        System.out.println("Testing Dijkstra on a radix heap...");
+        for (int seed = 0; seed < 3; seed++) {
+            CsrGraph graph = GraphGenerators.random(2000, 6, 1000, seed);
+            int[] expected = GraphAlgorithms.dijkstra(graph, 0, new PriorityVertexQueue(graph.vertexCount()));
+            int[] dist = GraphAlgorithms.dijkstra(graph, 0, AddressableVertexQueue.of("radix", graph.vertexCount()));
+            assert Arrays.equals(dist, expected) : "Radix Dijkstra should match the PriorityQueue distances";
+        }
+        System.out.println("✅ Dijkstra test passed");
+    }
+}